@@ -0,0 +1,35 @@
+package com.travelmate.config;
+
+import com.travelmate.service.PresenceService;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 클라이언트 인바운드 메시지(하트비트 포함)로 세션 활동 시각 갱신
+ */
+@Component
+public class PresenceChannelInterceptor implements ChannelInterceptor {
+
+    private final PresenceService presenceService;
+
+    // PresenceService가 SimpMessagingTemplate에 의존하므로 브로커 설정과의 순환 참조를 피하기 위해 지연 주입
+    public PresenceChannelInterceptor(@Lazy PresenceService presenceService) {
+        this.presenceService = presenceService;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        if (messageType != SimpMessageType.CONNECT && messageType != SimpMessageType.DISCONNECT) {
+            presenceService.touch(
+                    SimpMessageHeaderAccessor.getSessionId(message.getHeaders()),
+                    SimpMessageHeaderAccessor.getUser(message.getHeaders()));
+        }
+        return message;
+    }
+}
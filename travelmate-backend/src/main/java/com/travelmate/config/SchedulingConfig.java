@@ -3,15 +3,43 @@ package com.travelmate.config;
 // import com.travelmate.security.RateLimitingFilter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
+/**
+ * @Scheduled 작업 전용 스케줄러
+ *
+ * 지정하지 않으면 STOMP 브로커가 만든 messageBrokerTaskScheduler(하트비트 전송)를 같이 쓰게 되어
+ * 오래 걸리는 작업(보관 정리, 색인 재구축 등)이 하트비트를 굶길 수 있다.
+ */
 @Configuration
 @EnableScheduling
 @RequiredArgsConstructor
 @Slf4j
-public class SchedulingConfig {
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    @Value("${app.scheduling.pool-size:8}")
+    private int poolSize;
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduled-");
+        scheduler.setErrorHandler(e -> log.error("예약 작업 실패", e));
+        return scheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.setTaskScheduler(taskScheduler());
+    }
 
     // private final RateLimitingFilter rateLimitingFilter;
 
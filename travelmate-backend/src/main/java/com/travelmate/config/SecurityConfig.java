@@ -2,9 +2,11 @@ package com.travelmate.config;
 
 import com.travelmate.security.JwtAuthenticationEntryPoint;
 import com.travelmate.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -20,6 +22,7 @@ import java.util.Arrays;
 
 @Configuration
 @EnableWebSecurity
+@EnableMethodSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
     
@@ -39,6 +42,8 @@ public class SecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .exceptionHandling(exception -> exception.authenticationEntryPoint(jwtAuthenticationEntryPoint))
             .authorizeHttpRequests(auth -> auth
+                // 비동기 응답(SSE)의 완료/오류 디스패치는 최초 요청에서 이미 인증됨
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                 // 공개 엔드포인트 (context-path가 /api이므로 실제 path는 /users/register가 됨)
                 .requestMatchers("/", "/index.html").permitAll()
                 .requestMatchers("/health", "/health/**").permitAll() // Health Check
@@ -52,6 +57,9 @@ public class SecurityConfig {
                 .requestMatchers("/ws/**").permitAll() // WebSocket
                 .requestMatchers("/error").permitAll()
 
+                // 관리자 전용 (컨트롤러의 @PreAuthorize와 함께 이중으로 막음)
+                .requestMatchers("/api/search/reindex", "/api/search/reindex/**").hasRole("ADMIN")
+
                 // 인증이 필요한 엔드포인트
                 .requestMatchers("/**").authenticated()
                 .anyRequest().authenticated()
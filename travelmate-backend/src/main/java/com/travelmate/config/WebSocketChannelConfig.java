@@ -0,0 +1,243 @@
+package com.travelmate.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebSocket 채널 실행기 및 세션 전송 제한 설정
+ *
+ * - 인바운드/아웃바운드 채널에 크기와 대기열이 제한된 전용 실행기 사용
+ *   (대기열이 가득 차면 호출 스레드에서 실행하여 생산자 속도를 늦춤)
+ * - virtual-threads를 켜면 메시지마다 가상 스레드를 쓰고, 동시 처리 수를 max-pool-size + queue-capacity로
+ *   제한한다 (한도에 이르면 호출 스레드가 빈자리를 기다려 생산자 속도를 늦춤)
+ * - 세션별 전송 버퍼/전송 시간 제한을 넘는 느린 클라이언트는 연결 종료
+ * - 대기열 길이, 포화 횟수, 느린 클라이언트 종료 횟수를 지표로 노출
+ */
+@Configuration
+@Slf4j
+public class WebSocketChannelConfig implements WebSocketMessageBrokerConfigurer {
+
+    private static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    @Value("${app.websocket.channel.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.websocket.channel.inbound.core-pool-size:0}")
+    private int inboundCorePoolSize;
+
+    @Value("${app.websocket.channel.inbound.max-pool-size:0}")
+    private int inboundMaxPoolSize;
+
+    @Value("${app.websocket.channel.inbound.queue-capacity:1000}")
+    private int inboundQueueCapacity;
+
+    @Value("${app.websocket.channel.outbound.core-pool-size:0}")
+    private int outboundCorePoolSize;
+
+    @Value("${app.websocket.channel.outbound.max-pool-size:0}")
+    private int outboundMaxPoolSize;
+
+    @Value("${app.websocket.channel.outbound.queue-capacity:1000}")
+    private int outboundQueueCapacity;
+
+    @Value("${app.websocket.channel.keep-alive-seconds:60}")
+    private int keepAliveSeconds;
+
+    @Value("${app.websocket.transport.send-time-limit-ms:10000}")
+    private int sendTimeLimit;
+
+    @Value("${app.websocket.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${app.websocket.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${app.websocket.transport.time-to-first-message-ms:60000}")
+    private int timeToFirstMessage;
+
+    private final AtomicLong inboundRejected = new AtomicLong();
+    private final AtomicLong outboundRejected = new AtomicLong();
+    private final AtomicLong slowConsumerEvictions = new AtomicLong();
+
+    private ThreadPoolTaskExecutor inboundExecutor;
+    private ThreadPoolTaskExecutor outboundExecutor;
+
+    @PostConstruct
+    public void init() {
+        inboundExecutor = createChannelExecutor("ws-inbound-",
+                inboundCorePoolSize, inboundMaxPoolSize, inboundQueueCapacity, inboundRejected);
+        outboundExecutor = createChannelExecutor("ws-outbound-",
+                outboundCorePoolSize, outboundMaxPoolSize, outboundQueueCapacity, outboundRejected);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(inboundExecutor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(outboundExecutor);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimit)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .setTimeToFirstMessage(timeToFirstMessage)
+                .addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+                    @Override
+                    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                        // 전송 버퍼/시간 제한 초과로 서버가 종료한 세션
+                        if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+                            slowConsumerEvictions.incrementAndGet();
+                            log.warn("느린 WebSocket 클라이언트 연결 종료: session={}", session.getId());
+                        }
+                        super.afterConnectionClosed(session, closeStatus);
+                    }
+                });
+    }
+
+    @Bean
+    public MeterBinder webSocketChannelMetrics() {
+        return registry -> {
+            bindExecutorMetrics(registry, "inbound", inboundExecutor, inboundRejected);
+            bindExecutorMetrics(registry, "outbound", outboundExecutor, outboundRejected);
+            FunctionCounter.builder("websocket.session.slow.evicted", slowConsumerEvictions, AtomicLong::get)
+                    .description("전송 제한 초과로 종료된 WebSocket 세션 수")
+                    .register(registry);
+        };
+    }
+
+    private void bindExecutorMetrics(MeterRegistry registry, String channel,
+                                     ThreadPoolTaskExecutor executor, AtomicLong rejected) {
+        Gauge.builder("websocket.channel.queue.size", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .tag("channel", channel)
+                .description("채널 실행기 대기열 길이")
+                .register(registry);
+        Gauge.builder("websocket.channel.active.threads", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("channel", channel)
+                .description("채널 실행기 활성 스레드 수")
+                .register(registry);
+        FunctionCounter.builder("websocket.channel.rejected", rejected, AtomicLong::get)
+                .tag("channel", channel)
+                .description("대기열 포화로 호출 스레드에서 실행되거나 대기한 메시지 수")
+                .register(registry);
+    }
+
+    private ThreadPoolTaskExecutor createChannelExecutor(String threadNamePrefix, int corePoolSize, int maxPoolSize,
+                                                         int queueCapacity, AtomicLong rejected) {
+        int core = corePoolSize > 0 ? corePoolSize : DEFAULT_POOL_SIZE;
+        int max = Math.max(core, maxPoolSize > 0 ? maxPoolSize : core);
+
+        if (virtualThreads) {
+            try {
+                // 풀 스레드 수 + 대기열만큼을 동시에 처리 중인 메시지 상한으로 사용 (플랫폼 스레드 설정과 같은 양을 버퍼링)
+                ThreadPoolTaskExecutor executor =
+                        new VirtualThreadChannelExecutor(threadNamePrefix, max + queueCapacity, rejected);
+                log.info("WebSocket 채널 실행기 {}: virtualThreads=true, concurrencyLimit={}",
+                        threadNamePrefix, max + queueCapacity);
+                return executor;
+            } catch (UnsupportedOperationException e) {
+                log.warn("가상 스레드를 지원하지 않는 JDK입니다 (JDK 21 이상 필요). 플랫폼 스레드를 사용합니다: {}", threadNamePrefix);
+            }
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(core);
+        executor.setMaxPoolSize(max);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setKeepAliveSeconds(keepAliveSeconds);
+        executor.setThreadNamePrefix(threadNamePrefix);
+
+        // 대기열이 가득 차면 메시지를 버리지 않고 호출 스레드에서 실행 (생산자 쪽으로 역압 전달)
+        ThreadPoolExecutor.CallerRunsPolicy callerRuns = new ThreadPoolExecutor.CallerRunsPolicy();
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.incrementAndGet();
+            callerRuns.rejectedExecution(task, pool);
+        });
+
+        log.info("WebSocket 채널 실행기 {}: core={}, max={}, queue={}", threadNamePrefix, core, max, queueCapacity);
+        return executor;
+    }
+
+    /**
+     * 가상 스레드 채널 실행기
+     *
+     * ChannelRegistration은 ThreadPoolTaskExecutor만 받으므로 작업 실행만 SimpleAsyncTaskExecutor(가상 스레드,
+     * 동시 실행 제한)로 넘긴다. 상속한 스레드 풀은 지표 조회용으로만 초기화되고 작업을 받지 않는다.
+     */
+    static final class VirtualThreadChannelExecutor extends ThreadPoolTaskExecutor {
+
+        private final SimpleAsyncTaskExecutor delegate;
+        private final int concurrencyLimit;
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicLong throttled;
+
+        VirtualThreadChannelExecutor(String threadNamePrefix, int concurrencyLimit, AtomicLong throttled) {
+            this.delegate = new SimpleAsyncTaskExecutor(threadNamePrefix);
+            delegate.setVirtualThreads(true);
+            delegate.setConcurrencyLimit(concurrencyLimit);
+            this.concurrencyLimit = concurrencyLimit;
+            this.throttled = throttled;
+
+            setCorePoolSize(1);
+            setMaxPoolSize(1);
+            setQueueCapacity(0);
+            setThreadNamePrefix(threadNamePrefix);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            if (active.get() >= concurrencyLimit) {
+                throttled.incrementAndGet();
+            }
+            // 한도에 이르면 빈자리가 날 때까지 호출 스레드에서 대기
+            delegate.execute(() -> {
+                active.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    active.decrementAndGet();
+                }
+            });
+        }
+
+        @Override
+        public Future<?> submit(Runnable task) {
+            return delegate.submit(task);
+        }
+
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            return delegate.submit(task);
+        }
+
+        @Override
+        public int getActiveCount() {
+            return active.get();
+        }
+    }
+}
@@ -1,18 +1,106 @@
 package com.travelmate.config;
 
+import com.travelmate.security.StompAuthChannelInterceptor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+/**
+ * STOMP 메시지 브로커 설정
+ *
+ * app.websocket.broker.mode
+ * - simple: 인메모리 브로커 (단일 인스턴스 전용, 기본값)
+ * - relay: 외부 STOMP 브로커(RabbitMQ, ActiveMQ Artemis 등)로 릴레이
+ *
+ * relay 모드에서는 사용자 세션 레지스트리를 브로커를 통해 노드 간에 공유하므로
+ * convertAndSendToUser가 다른 인스턴스에 연결된 세션에도 전달된다.
+ */
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
+@Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    private final PresenceChannelInterceptor presenceChannelInterceptor;
+
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    @Value("${app.websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${app.websocket.broker.relay-host:localhost}")
+    private String relayHost;
+
+    @Value("${app.websocket.broker.relay-port:61613}")
+    private int relayPort;
+
+    @Value("${app.websocket.broker.virtual-host:}")
+    private String virtualHost;
+
+    @Value("${app.websocket.broker.client-login:guest}")
+    private String clientLogin;
+
+    @Value("${app.websocket.broker.client-passcode:guest}")
+    private String clientPasscode;
+
+    @Value("${app.websocket.broker.system-login:guest}")
+    private String systemLogin;
+
+    @Value("${app.websocket.broker.system-passcode:guest}")
+    private String systemPasscode;
+
+    @Value("${app.websocket.broker.heartbeat-interval:10000}")
+    private long heartbeatInterval;
+
+    // 인메모리 브로커 하트비트용 (브로커 설정이 만드는 스케줄러를 지연 주입)
+    @Autowired
+    public void setMessageBrokerTaskScheduler(
+            @Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler messageBrokerTaskScheduler) {
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic", "/queue");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            StompBrokerRelayRegistration relay = config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(clientLogin)
+                    .setClientPasscode(clientPasscode)
+                    .setSystemLogin(systemLogin)
+                    .setSystemPasscode(systemPasscode)
+                    .setSystemHeartbeatSendInterval(heartbeatInterval)
+                    .setSystemHeartbeatReceiveInterval(heartbeatInterval)
+                    // 다른 노드에서 해석되지 못한 사용자 목적지를 브로커로 전파
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    // 로컬 사용자 세션 정보를 주기적으로 브로드캐스트하여 노드 간 레지스트리 공유
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+
+            if (virtualHost != null && !virtualHost.isEmpty()) {
+                relay.setVirtualHost(virtualHost);
+            }
+
+            log.info("STOMP 브로커 릴레이 사용: {}:{}", relayHost, relayPort);
+        } else {
+            // 클라이언트 하트비트가 접속 상태의 활동 신호가 되도록 하트비트 협상
+            config.enableSimpleBroker("/topic", "/queue")
+                    .setHeartbeatValue(new long[]{heartbeatInterval, heartbeatInterval})
+                    .setTaskScheduler(messageBrokerTaskScheduler);
+            log.info("인메모리 STOMP 브로커 사용");
+        }
+
         config.setApplicationDestinationPrefixes("/app");
         config.setUserDestinationPrefix("/user");
     }
@@ -23,4 +111,9 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
-}
\ No newline at end of file
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthChannelInterceptor, presenceChannelInterceptor);
+    }
+}
@@ -39,4 +39,10 @@ public class ChatController {
     public void leaveChatRoom(@Payload ChatDto.LeaveRequest request) {
         chatService.leaveChatRoom(request);
     }
+    
+    @MessageMapping("/chat.typing")
+    public void updateTypingStatus(@Payload ChatDto.TypingRequest request) {
+        chatService.updateTypingStatus(request.getChatRoomId(), request.getUserId(),
+                Boolean.TRUE.equals(request.getIsTyping()));
+    }
 }
\ No newline at end of file
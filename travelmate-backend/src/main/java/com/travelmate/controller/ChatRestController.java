@@ -1,6 +1,7 @@
 package com.travelmate.controller;
 
 import com.travelmate.dto.ChatDto;
+import com.travelmate.service.ChatSearchService;
 import com.travelmate.service.ChatService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +17,7 @@ import java.util.List;
 public class ChatRestController {
 
     private final ChatService chatService;
+    private final ChatSearchService chatSearchService;
 
     @PostMapping("/rooms")
     public ResponseEntity<ChatDto.ChatRoomResponse> createChatRoom(
@@ -43,6 +45,21 @@ public class ChatRestController {
         return ResponseEntity.ok(messages);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<ChatDto.MessageSearchResponse> searchMessages(
+            @AuthenticationPrincipal String userId,
+            @RequestParam String keyword,
+            @RequestParam(required = false) Long roomId,
+            @RequestParam(required = false) Long senderId,
+            @RequestParam(defaultValue = "relevance") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Long userIdLong = Long.parseLong(userId);
+        ChatDto.MessageSearchResponse response = chatSearchService.search(
+                userIdLong, keyword, roomId, senderId, sort, page, size);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/rooms/{roomId}/read")
     public ResponseEntity<Void> markAsRead(
             @PathVariable Long roomId,
@@ -5,9 +5,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -57,6 +59,17 @@ public class NotificationController {
         return ResponseEntity.ok(Map.of("count", count));
     }
 
+    /**
+     * 알림/배지 SSE 스트림 (재연결 시 Last-Event-ID 이후 알림을 다시 보냄)
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(
+            @AuthenticationPrincipal String userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        return notificationService.openStream(Long.parseLong(userId), parseEventId(lastEventId));
+    }
+
     /**
      * 알림 읽음 처리
      */
@@ -91,4 +104,15 @@ public class NotificationController {
         notificationService.deleteNotification(id, Long.parseLong(userId));
         return ResponseEntity.ok().build();
     }
+
+    private Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
@@ -2,7 +2,10 @@ package com.travelmate.controller;
 
 import com.travelmate.dto.SearchRequestDto;
 import com.travelmate.dto.SearchResultDto;
-import com.travelmate.service.ElasticsearchService;
+import com.travelmate.service.AutocompleteService;
+import com.travelmate.service.GroupSearchService;
+import com.travelmate.service.SearchReindexService;
+import com.travelmate.service.TrendingTagService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -11,7 +14,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
 /**
- * Elasticsearch 검색 REST API
+ * 여행 그룹 검색 REST API
  */
 @RestController
 @RequestMapping("/api/search")
@@ -19,15 +22,19 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class SearchController {
 
-    private final ElasticsearchService elasticsearchService;
+    private final GroupSearchService groupSearchService;
+    private final AutocompleteService autocompleteService;
+    private final TrendingTagService trendingTagService;
+    private final SearchReindexService searchReindexService;
 
     /**
-     * 고급 검색
+     * 고급 검색 (ES 장애 시 로컬 색인으로 자동 전환)
      * POST /api/search
      */
     @PostMapping
     public ResponseEntity<SearchResultDto> search(@RequestBody SearchRequestDto request) {
-        SearchResultDto results = elasticsearchService.advancedSearch(request);
+        trendingTagService.recordSearch(request.getTags());
+        SearchResultDto results = groupSearchService.search(request);
         return ResponseEntity.ok(results);
     }
 
@@ -47,38 +54,47 @@ public class SearchController {
                 .size(size)
                 .build();
 
-        SearchResultDto results = elasticsearchService.advancedSearch(request);
+        SearchResultDto results = groupSearchService.search(request);
         return ResponseEntity.ok(results);
     }
 
     /**
-     * 자동완성
+     * 자동완성 (프로세스 내 트라이, 입력 중인 한글/초성 지원)
      * GET /api/search/autocomplete?prefix=제주
      */
     @GetMapping("/autocomplete")
     public ResponseEntity<List<String>> autocomplete(@RequestParam String prefix) {
-        List<String> suggestions = elasticsearchService.autocomplete(prefix);
+        List<String> suggestions = autocompleteService.suggest(prefix);
         return ResponseEntity.ok(suggestions);
     }
 
     /**
-     * 인기 태그
+     * 인기 태그 (최근 검색/참여 기준, 시간이 지날수록 감쇠)
      * GET /api/search/popular-tags
      */
     @GetMapping("/popular-tags")
-    public ResponseEntity<List<String>> getPopularTags() {
-        List<String> tags = elasticsearchService.getPopularTags();
+    public ResponseEntity<List<String>> getPopularTags(@RequestParam(defaultValue = "10") int limit) {
+        List<String> tags = trendingTagService.getTrendingTags(Math.min(Math.max(limit, 1), 50));
         return ResponseEntity.ok(tags);
     }
 
     /**
-     * 전체 재색인 (관리자 전용)
+     * 전체 재색인 시작 (관리자 전용, 새 인덱스 적재 후 alias 전환)
      * POST /api/search/reindex
      */
     @PostMapping("/reindex")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<String> reindex() {
-        elasticsearchService.reindexAllGroups();
-        return ResponseEntity.ok("Reindexing started");
+    public ResponseEntity<SearchReindexService.ReindexStatus> reindex() {
+        return ResponseEntity.accepted().body(searchReindexService.start());
+    }
+
+    /**
+     * 재색인 진행 상황 (처리 건수, 진행률, 초당 처리량)
+     * GET /api/search/reindex
+     */
+    @GetMapping("/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SearchReindexService.ReindexStatus> reindexStatus() {
+        return ResponseEntity.ok(searchReindexService.getStatus());
     }
 }
@@ -1,14 +1,19 @@
 package com.travelmate.controller;
 
 import com.travelmate.dto.UserDto;
+import com.travelmate.service.PresenceService;
 import com.travelmate.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.http.HttpStatus;
 
@@ -19,6 +24,7 @@ import org.springframework.http.HttpStatus;
 public class UserController {
     
     private final UserService userService;
+    private final PresenceService presenceService;
     
     @PostMapping("/register")
     public ResponseEntity<UserDto.Response> register(@Valid @RequestBody UserDto.RegisterRequest request) {
@@ -50,6 +56,22 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/search")
+    public ResponseEntity<Page<UserDto.SearchResult>> searchUsers(
+            @RequestParam String keyword,
+            Pageable pageable) {
+        Page<UserDto.SearchResult> users = userService.searchUsers(keyword, pageable);
+        return ResponseEntity.ok(users);
+    }
+    
+    @GetMapping("/presence")
+    public ResponseEntity<Map<Long, Boolean>> getPresence(@RequestParam List<Long> userIds) {
+        Set<Long> onlineUserIds = presenceService.getOnlineUserIds(userIds);
+        Map<Long, Boolean> presence = new LinkedHashMap<>();
+        userIds.forEach(id -> presence.put(id, onlineUserIds.contains(id)));
+        return ResponseEntity.ok(presence);
+    }
+    
     @PutMapping("/location")
     public ResponseEntity<Void> updateLocation(@Valid @RequestBody UserDto.LocationUpdateRequest request) {
         userService.updateUserLocation(request);
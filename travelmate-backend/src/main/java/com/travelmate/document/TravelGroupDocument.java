@@ -1,5 +1,6 @@
 package com.travelmate.document;
 
+import com.travelmate.entity.TravelGroup;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -8,20 +9,24 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.elasticsearch.annotations.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Elasticsearch용 여행 그룹 문서
+ *
+ * 인덱스는 시작 시 자동 생성하지 않고 색인 워커가 처음 bulk 요청 전에 생성한다. (ES 없이도 기동 가능)
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Document(indexName = "travel_groups")
+@Document(indexName = "travel_groups", createIndex = false)
 @Setting(settingPath = "elasticsearch/travel-group-settings.json")
 public class TravelGroupDocument {
 
     @Id
+    @Field(type = FieldType.Keyword)  // 정렬 동점 처리용 (search_after)
     private String id;
 
     @MultiField(
@@ -56,6 +61,10 @@ public class TravelGroupDocument {
     @Field(type = FieldType.Integer)
     private Integer maxMembers;
 
+    // 모집률 (추천 순위 가산용, 마감된 그룹은 0)
+    @Field(type = FieldType.Float)
+    private Float fillRate;
+
     @Field(type = FieldType.Date, format = DateFormat.date_time)
     private LocalDateTime startDate;
 
@@ -80,6 +89,43 @@ public class TravelGroupDocument {
     @Field(type = FieldType.Text)
     private String creatorName;
 
+    /**
+     * TravelGroup -> TravelGroupDocument 변환 (creator는 미리 로딩되어 있어야 함)
+     */
+    public static TravelGroupDocument from(TravelGroup group) {
+        GeoPoint location = null;
+        if (group.getMeetingLatitude() != null && group.getMeetingLongitude() != null) {
+            location = GeoPoint.of(group.getMeetingLatitude(), group.getMeetingLongitude());
+        }
+
+        return TravelGroupDocument.builder()
+            .id(group.getId().toString())
+            .name(group.getTitle())
+            .description(group.getDescription())
+            .destination(group.getDestination())
+            .travelStyle(group.getTravelStyle() != null ? group.getTravelStyle().name() : null)
+            .tags(new ArrayList<>())
+            .currentMembers(group.getCurrentMembers())
+            .maxMembers(group.getMaxMembers())
+            .fillRate(fillRate(group.getCurrentMembers(), group.getMaxMembers()))
+            .startDate(group.getStartDate() != null ? group.getStartDate().atStartOfDay() : null)
+            .endDate(group.getEndDate() != null ? group.getEndDate().atStartOfDay() : null)
+            .createdAt(group.getCreatedAt())
+            .location(location)
+            .isPublic(group.getIsPublic())
+            .isActive(group.getIsActive())
+            .creatorId(group.getCreator() != null ? group.getCreator().getId() : null)
+            .creatorName(group.getCreator() != null ? group.getCreator().getNickname() : null)
+            .build();
+    }
+
+    private static float fillRate(Integer currentMembers, Integer maxMembers) {
+        if (currentMembers == null || maxMembers == null || maxMembers <= 0 || currentMembers >= maxMembers) {
+            return 0f;
+        }
+        return (float) currentMembers / maxMembers;
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
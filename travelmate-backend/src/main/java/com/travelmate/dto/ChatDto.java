@@ -110,6 +110,18 @@ public class ChatDto {
         private Boolean isTyping;
     }
     
+    @Data
+    public static class TypingStatusResponse {
+        private Long chatRoomId;
+        private List<TypingUserDto> typingUsers;
+    }
+    
+    @Data
+    public static class TypingUserDto {
+        private Long userId;
+        private String nickname;
+    }
+    
     @Data
     public static class ChatRoomDetailResponse extends ChatRoomResponse {
         private List<MessageResponse> recentMessages;
@@ -123,6 +135,26 @@ public class ChatDto {
         private List<ReadStatusDto> readStatuses;
     }
     
+    @Data
+    public static class ReadReceiptUpdate {
+        private Long chatRoomId;
+        private List<ReadWatermarkDto> watermarks;
+    }
+    
+    @Data
+    public static class ReadWatermarkDto {
+        private Long userId;
+        private Long lastReadMessageId;
+        private LocalDateTime readAt;
+    }
+    
+    @Data
+    public static class PresenceUpdate {
+        private Long chatRoomId;
+        private List<Long> onlineUserIds;
+        private List<Long> offlineUserIds;
+    }
+    
     @Data
     public static class ReadStatusDto {
         private Long userId;
@@ -130,6 +162,28 @@ public class ChatDto {
         private LocalDateTime readAt;
     }
     
+    @Data
+    public static class MessageSearchResult {
+        private Long messageId;
+        private Long chatRoomId;
+        private Long senderId;
+        private String senderNickname;
+        private String content;
+        private String highlightedContent;
+        private LocalDateTime sentAt;
+        private Float score;
+    }
+    
+    @Data
+    public static class MessageSearchResponse {
+        private String keyword;
+        private Long totalHits;
+        private Integer page;
+        private Integer size;
+        private Long tookMs;
+        private List<MessageSearchResult> results;
+    }
+    
     @Data
     public static class MessageDeleteRequest {
         @NotNull
@@ -39,10 +39,11 @@ public class SearchRequestDto {
     private Double radius; // km 단위
 
     // 정렬
-    private String sortBy; // createdAt, currentMembers, startDate
+    private String sortBy; // createdAt, currentMembers, startDate, relevance, recommended
     private String sortOrder; // asc, desc
 
-    // 페이징
+    // 페이징 (page는 얕은 페이지용, 깊은 페이지는 이전 응답의 nextCursor 사용)
     private Integer page;
     private Integer size;
+    private String cursor;
 }
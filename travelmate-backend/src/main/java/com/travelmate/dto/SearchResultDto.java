@@ -22,6 +22,7 @@ public class SearchResultDto {
     private Integer page;
     private Integer size;
     private Float took; // 검색 소요 시간 (초)
+    private String nextCursor; // 다음 페이지 요청용 (마지막 페이지면 null)
 
     @Data
     @Builder
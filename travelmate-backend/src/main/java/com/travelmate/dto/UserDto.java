@@ -86,6 +86,22 @@ public class UserDto {
         private LocalDateTime createdAt;
     }
     
+    // 사용자 검색 결과 (공개 프로필 정보만)
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SearchResult {
+        private Long id;
+        private String nickname;
+        private String fullName;
+        private String profileImageUrl;
+        private String bio;
+        private User.TravelStyle travelStyle;
+        private Double rating;
+        private Integer reviewCount;
+    }
+    
     @Data
     public static class LocationUpdateRequest {
         @NotNull
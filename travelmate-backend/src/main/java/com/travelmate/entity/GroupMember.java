@@ -1,5 +1,6 @@
 package com.travelmate.entity;
 
+import com.travelmate.service.search.GroupIndexChangeListener;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -20,7 +21,7 @@ import java.time.LocalDateTime;
         @UniqueConstraint(name = "uk_travel_group_user", columnNames = {"travel_group_id", "user_id"})
     }
 )
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, GroupIndexChangeListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "notifications", indexes = {
         @Index(name = "idx_user_created", columnList = "user_id, created_at DESC"),
-        @Index(name = "idx_user_read", columnList = "user_id, is_read")
+        @Index(name = "idx_user_read", columnList = "user_id, is_read"),
+        @Index(name = "idx_notifications_created_at", columnList = "created_at")
 })
 @Data
 @NoArgsConstructor
@@ -72,6 +73,8 @@ public class Notification {
         LIKE("좋아요"),
         REVIEW("리뷰"),
         FRIEND_REQUEST("친구 요청"),
+        MATCHING("매칭"),
+        NEARBY_TRAVELERS("주변 여행자"),
         SYSTEM("시스템 알림");
 
         private final String displayName;
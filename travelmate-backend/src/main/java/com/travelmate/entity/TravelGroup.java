@@ -1,5 +1,6 @@
 package com.travelmate.entity;
 
+import com.travelmate.service.search.GroupIndexChangeListener;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -22,9 +23,10 @@ import java.util.List;
     @Index(name = "idx_travel_groups_active", columnList = "is_active"),
     @Index(name = "idx_travel_groups_public", columnList = "is_public"),
     @Index(name = "idx_travel_groups_travel_style", columnList = "travel_style"),
-    @Index(name = "idx_travel_groups_created_at", columnList = "created_at")
+    @Index(name = "idx_travel_groups_created_at", columnList = "created_at"),
+    @Index(name = "idx_travel_groups_updated_at", columnList = "updated_at, id")
 })
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, GroupIndexChangeListener.class})
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
@@ -113,6 +115,11 @@ public class TravelGroup {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // 검색 문서 버전 (GroupIndexChangeListener가 변경 트랜잭션 안에서 올림, JPA는 이 컬럼을 쓰지 않음)
+    @Column(name = "index_version", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0")
+    private Long indexVersion = 0L;
+
     public enum Purpose {
         LEISURE,
         BUSINESS,
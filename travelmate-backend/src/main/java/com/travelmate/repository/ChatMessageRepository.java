@@ -7,7 +7,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
@@ -16,6 +19,12 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     
     ChatMessage findTopByChatRoomIdOrderBySentAtDesc(Long chatRoomId);
     
+    @Query("SELECT MAX(cm.id) FROM ChatMessage cm WHERE cm.chatRoom.id = :chatRoomId")
+    Long findLatestMessageIdByChatRoomId(@Param("chatRoomId") Long chatRoomId);
+    
+    @Query("SELECT cm.chatRoom.id FROM ChatMessage cm WHERE cm.id = :messageId")
+    Optional<Long> findChatRoomIdById(@Param("messageId") Long messageId);
+    
     Integer countByChatRoomIdAndIsDeletedFalse(Long chatRoomId);
     
     Integer countByChatRoomIdAndIdGreaterThanAndIsDeletedFalse(Long chatRoomId, Long messageId);
@@ -25,5 +34,26 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
            "ORDER BY cm.sentAt DESC")
     List<ChatMessage> findRecentMessagesByRoomId(@Param("chatRoomId") Long chatRoomId, Pageable pageable);
     
+    // 아카이브 대상 채팅방 (지정 시각 이전 메시지가 남아 있는 방)
+    @Query("SELECT DISTINCT cm.chatRoom.id FROM ChatMessage cm WHERE cm.sentAt < :cutoff")
+    List<Long> findChatRoomIdsWithMessagesBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    // 아카이브 대상 메시지 (id keyset 오름차순, 발신자 함께 조회)
+    @Query("SELECT cm FROM ChatMessage cm LEFT JOIN FETCH cm.sender " +
+           "WHERE cm.chatRoom.id = :chatRoomId AND cm.sentAt < :cutoff AND cm.id > :afterId ORDER BY cm.id ASC")
+    List<ChatMessage> findArchivableMessages(@Param("chatRoomId") Long chatRoomId,
+                                             @Param("cutoff") LocalDateTime cutoff,
+                                             @Param("afterId") Long afterId,
+                                             Pageable pageable);
+    
+    // 검색 색인 재구축용 (id 오름차순, 발신자 함께 조회)
+    @Query("SELECT cm FROM ChatMessage cm LEFT JOIN FETCH cm.sender " +
+           "WHERE cm.id > :lastId AND cm.isDeleted = false ORDER BY cm.id ASC")
+    List<ChatMessage> findIndexableMessagesAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 검색 결과 중 삭제된 메시지 확인용
+    @Query("SELECT cm.id FROM ChatMessage cm WHERE cm.id IN :ids AND cm.isDeleted = true")
+    List<Long> findDeletedIdsIn(@Param("ids") Collection<Long> ids);
+    
     void deleteByChatRoomId(Long chatRoomId);
 }
\ No newline at end of file
@@ -2,8 +2,11 @@ package com.travelmate.repository;
 
 import com.travelmate.entity.ChatParticipant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,9 +19,17 @@ public interface ChatParticipantRepository extends JpaRepository<ChatParticipant
     
     List<ChatParticipant> findByChatRoomId(Long chatRoomId);
 
+    // 읽음 워터마크 적재용 (userId, lastReadMessageId, lastReadAt)
+    @Query("SELECT p.user.id, p.lastReadMessageId, p.lastReadAt FROM ChatParticipant p WHERE p.chatRoom.id = :chatRoomId")
+    List<Object[]> findReadWatermarksByChatRoomId(@Param("chatRoomId") Long chatRoomId);
+
     List<ChatParticipant> findByChatRoomIdAndIsActiveTrue(Long chatRoomId);
 
     List<ChatParticipant> findByUserIdAndIsActiveTrue(Long userId);
+
+    // 접속 상태 브로드캐스트 대상 채팅방 (userId, chatRoomId)
+    @Query("SELECT p.user.id, p.chatRoom.id FROM ChatParticipant p WHERE p.user.id IN :userIds AND p.isActive = true")
+    List<Object[]> findActiveRoomIdsByUserIds(@Param("userIds") Collection<Long> userIds);
     
     void deleteByChatRoomId(Long chatRoomId);
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,6 +18,10 @@ public interface GroupMemberRepository extends JpaRepository<GroupMember, Long>
     
     @Query("SELECT COUNT(gm) FROM GroupMember gm WHERE gm.travelGroup.id = :groupId AND gm.status = 'ACCEPTED'")
     Long countAcceptedMembersByGroupId(@Param("groupId") Long groupId);
+
+    // 그룹 알림 대상 (수락된 멤버의 사용자 ID)
+    @Query("SELECT gm.user.id FROM GroupMember gm WHERE gm.travelGroup.id = :groupId AND gm.status = 'ACCEPTED'")
+    List<Long> findAcceptedMemberUserIds(@Param("groupId") Long groupId);
     
     void deleteByTravelGroupIdAndUserId(Long travelGroupId, Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.travelmate.repository;
+
+import com.travelmate.entity.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    long countByStatus(NotificationOutbox.Status status);
+
+    // 가장 오래된 대기 요청 생성 시각 (처리 지연 측정용)
+    @Query("SELECT MIN(o.createdAt) FROM NotificationOutbox o WHERE o.status = 'PENDING'")
+    LocalDateTime findOldestPendingCreatedAt();
+}
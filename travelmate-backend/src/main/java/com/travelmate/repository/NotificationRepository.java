@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,12 +22,19 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     // 읽지 않은 알림 조회
     List<Notification> findByUserIdAndIsReadFalseOrderByCreatedAtDesc(Long userId);
 
+    // 특정 알림 이후에 생성된 알림 (SSE 재연결 시 재전송)
+    List<Notification> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long id, Pageable pageable);
+
     // 읽지 않은 알림 개수
     long countByUserIdAndIsReadFalse(Long userId);
 
+    // 여러 사용자의 읽지 않은 알림 개수 (카운터 보정용) - [userId, count]
+    @Query("SELECT n.user.id, COUNT(n) FROM Notification n WHERE n.user.id IN :userIds AND n.isRead = false GROUP BY n.user.id")
+    List<Object[]> countUnreadByUserIds(@Param("userIds") Collection<Long> userIds);
+
     // 알림 읽음 처리
     @Modifying
-    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt WHERE n.id IN :ids AND n.user.id = :userId")
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt WHERE n.id IN :ids AND n.user.id = :userId AND n.isRead = false")
     int markAsRead(@Param("ids") List<Long> ids, @Param("userId") Long userId, @Param("readAt") LocalDateTime readAt);
 
     // 모든 알림 읽음 처리
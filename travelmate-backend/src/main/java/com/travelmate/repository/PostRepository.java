@@ -16,14 +16,58 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     
     Page<Post> findByCategory(Post.Category category, Pageable pageable);
     
+    /**
+     * 전문 검색용 tsvector 식 (V6의 GIN 식 색인과 글자 그대로 같아야 색인을 탐)
+     */
+    String SEARCH_VECTOR = "(setweight(to_tsvector('simple', coalesce(p.title, '')), 'A') || " +
+                           "setweight(to_tsvector('simple', coalesce(p.content, '')), 'B'))";
+
+    String SEARCH_FILTER =
+           "(CAST(:category AS text) IS NULL OR p.category = CAST(:category AS text)) AND " +
+           "(CAST(:location AS text) IS NULL OR p.location_name ILIKE CONCAT('%', CAST(:location AS text), '%'))";
+
+    String SEARCH_CONDITION =
+           SEARCH_FILTER + " AND (" + SEARCH_VECTOR + " @@ to_tsquery('simple', :tsQuery) OR p.title % :keyword)";
+
+    String FULL_TEXT_CONDITION =
+           SEARCH_FILTER + " AND " + SEARCH_VECTOR + " @@ to_tsquery('simple', :tsQuery)";
+
     @Query("SELECT p FROM Post p WHERE " +
            "(:category IS NULL OR p.category = :category) AND " +
-           "(:keyword IS NULL OR p.title LIKE %:keyword% OR p.content LIKE %:keyword%) AND " +
            "(:location IS NULL OR p.locationName LIKE %:location%)")
     Page<Post> findPostsWithFilters(@Param("category") Post.Category category,
-                                   @Param("keyword") String keyword,
                                    @Param("location") String location,
                                    Pageable pageable);
+
+    /**
+     * 키워드 전문 검색 (관련도 순)
+     *
+     * 제목/본문 단어의 접두어 일치(tsQuery, 예: '제주:* & 맛집:*')와 제목 오타 허용(trigram 유사도)을
+     * 각각 GIN 색인으로 찾고, 일치한 게시글만 순위를 매기므로 전체 게시글 수와 무관하다.
+     * 순서가 고정되어 있으므로 정렬 없는 pageable을 넘긴다.
+     */
+    @Query(value = "SELECT p.* FROM posts p WHERE " + SEARCH_CONDITION + " " +
+                   "ORDER BY ts_rank(" + SEARCH_VECTOR + ", to_tsquery('simple', :tsQuery)) + " +
+                   "similarity(p.title, :keyword) DESC, p.created_at DESC",
+           countQuery = "SELECT count(*) FROM posts p WHERE " + SEARCH_CONDITION,
+           nativeQuery = true)
+    Page<Post> searchPosts(@Param("category") String category,
+                           @Param("tsQuery") String tsQuery,
+                           @Param("keyword") String keyword,
+                           @Param("location") String location,
+                           Pageable pageable);
+
+    /**
+     * pg_trgm 확장이 없는 DB용 키워드 검색 (제목 오타 허용 없이 전문 검색만, 관련도 순)
+     */
+    @Query(value = "SELECT p.* FROM posts p WHERE " + FULL_TEXT_CONDITION + " " +
+                   "ORDER BY ts_rank(" + SEARCH_VECTOR + ", to_tsquery('simple', :tsQuery)) DESC, p.created_at DESC",
+           countQuery = "SELECT count(*) FROM posts p WHERE " + FULL_TEXT_CONDITION,
+           nativeQuery = true)
+    Page<Post> searchPostsWithoutTrigram(@Param("category") String category,
+                                         @Param("tsQuery") String tsQuery,
+                                         @Param("location") String location,
+                                         Pageable pageable);
     
     @Query("SELECT p FROM Post p WHERE p.locationLatitude IS NOT NULL AND p.locationLongitude IS NOT NULL " +
            "AND (6371 * acos(cos(radians(:latitude)) * cos(radians(p.locationLatitude)) * " +
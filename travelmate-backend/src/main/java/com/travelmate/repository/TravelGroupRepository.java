@@ -1,11 +1,14 @@
 package com.travelmate.repository;
 
 import com.travelmate.entity.TravelGroup;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -31,4 +34,32 @@ public interface TravelGroupRepository extends JpaRepository<TravelGroup, Long>
     List<TravelGroup> findByCreatorId(@Param("userId") Long userId);
     
     List<TravelGroup> findByStatus(TravelGroup.Status status);
+
+    /**
+     * 검색 색인용 일괄 조회 (작성자 닉네임까지 한 번에 로딩)
+     */
+    @Query("SELECT tg FROM TravelGroup tg LEFT JOIN FETCH tg.creator WHERE tg.id IN :ids")
+    List<TravelGroup> findAllWithCreatorByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 재색인용 keyset 페이지 조회 (id 순, afterId 다음부터)
+     */
+    @Query("SELECT tg FROM TravelGroup tg LEFT JOIN FETCH tg.creator WHERE tg.id > :afterId ORDER BY tg.id")
+    List<TravelGroup> findPageWithCreatorAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 증분 동기화용 변경 조회 ((updatedAt, id) keyset 순, 기준 위치 다음부터)
+     */
+    @Query("SELECT tg FROM TravelGroup tg LEFT JOIN FETCH tg.creator " +
+           "WHERE tg.updatedAt > :updatedAt OR (tg.updatedAt = :updatedAt AND tg.id > :afterId) " +
+           "ORDER BY tg.updatedAt, tg.id")
+    List<TravelGroup> findChangedWithCreatorAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                                  @Param("afterId") Long afterId,
+                                                  Pageable pageable);
+
+    /**
+     * 주어진 ID 중 아직 존재하는 그룹 ID (삭제된 그룹 정리용)
+     */
+    @Query("SELECT tg.id FROM TravelGroup tg WHERE tg.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.travelmate.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * pg_trgm 확장(%, <%, similarity, word_similarity) 사용 가능 여부
+ *
+ * 운영 DB는 마이그레이션을 수동으로 적용하므로 확장이 없을 수 있다. 처음 호출할 때 현재 search_path에서
+ * 연산자를 실제로 실행해 확인하고, 없으면 trigram 조건을 뺀 검색 쿼리를 쓰도록 한다.
+ * (확장을 설치한 뒤에는 재기동해야 반영됨)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrigramSupport {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean available;
+
+    public boolean isAvailable() {
+        Boolean current = available;
+        if (current == null) {
+            current = probe();
+            available = current;
+        }
+        return current;
+    }
+
+    private boolean probe() {
+        try {
+            jdbcTemplate.queryForObject("SELECT similarity('travelmate', 'travelmate')", Double.class);
+            return true;
+        } catch (Exception e) {
+            log.warn("pg_trgm 확장을 사용할 수 없어 게시글/사용자 검색에서 유사도 검색을 생략합니다. " +
+                    "(CREATE EXTENSION IF NOT EXISTS pg_trgm 후 재기동) - {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -2,10 +2,12 @@ package com.travelmate.repository;
 
 import com.travelmate.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,4 +42,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findUsersForShake(@Param("latitude") Double latitude,
                                 @Param("longitude") Double longitude,
                                 @Param("radiusKm") Double radiusKm);
-}
\ No newline at end of file
+    
+    // 푸시 알림 일괄 발송용 (userId, fcmToken)
+    @Query("SELECT u.id, u.fcmToken FROM User u WHERE u.id IN :userIds AND u.fcmToken IS NOT NULL AND u.fcmToken <> ''")
+    List<Object[]> findFcmTokensByIdIn(@Param("userIds") Collection<Long> userIds);
+
+    // 유효하지 않은 FCM 토큰 일괄 삭제
+    @Modifying
+    @Query("UPDATE User u SET u.fcmToken = NULL WHERE u.fcmToken IN :tokens")
+    int clearFcmTokens(@Param("tokens") Collection<String> tokens);
+}
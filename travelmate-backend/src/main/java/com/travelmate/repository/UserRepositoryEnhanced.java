@@ -33,11 +33,38 @@ public interface UserRepositoryEnhanced extends JpaRepository<User, Long> {
     Optional<User> findByProviderAndProviderId(User.AuthProvider provider, String providerId);
     
     // Search and filtering
-    @Query("SELECT u FROM User u WHERE u.isActive = true AND u.privacyProfileVisible = true AND (" +
-           "LOWER(u.nickname) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(u.fullName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(u.bio) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+    // 사용자 검색 (pg_trgm GIN 색인, V7). 공개 프로필 조건은 부분 색인 조건과 같아야 색인을 탐
+    String SEARCHABLE_USER = "u.is_active = true AND u.privacy_profile_visible = true";
+
+    // 단어 앞부분/오타 허용 일치 (검색어 길이와 무관하게 색인 사용)
+    String WORD_MATCH = ":keyword <% u.nickname OR :keyword <% u.full_name OR :keyword <% u.bio";
+
+    // 부분 문자열 일치 (3글자 이상이어야 trigram 색인으로 후보를 좁힐 수 있음)
+    String INFIX_MATCH = "u.nickname ILIKE :pattern OR u.full_name ILIKE :pattern OR u.bio ILIKE :pattern";
+
+    // 닉네임 > 이름 > 소개 순 가중치
+    String USER_RANK = "GREATEST(word_similarity(:keyword, u.nickname) * 2, " +
+                       "word_similarity(:keyword, coalesce(u.full_name, '')) * 1.5, " +
+                       "word_similarity(:keyword, coalesce(u.bio, '')))";
+
+    @Query(value = "SELECT u.* FROM users u WHERE " + SEARCHABLE_USER + " AND (" + WORD_MATCH + ") " +
+                   "ORDER BY " + USER_RANK + " DESC, u.id",
+           countQuery = "SELECT count(*) FROM users u WHERE " + SEARCHABLE_USER + " AND (" + WORD_MATCH + ")",
+           nativeQuery = true)
     Page<User> searchUsers(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query(value = "SELECT u.* FROM users u WHERE " + SEARCHABLE_USER + " AND (" + WORD_MATCH + " OR " + INFIX_MATCH + ") " +
+                   "ORDER BY " + USER_RANK + " DESC, u.id",
+           countQuery = "SELECT count(*) FROM users u WHERE " + SEARCHABLE_USER + " AND (" + WORD_MATCH + " OR " + INFIX_MATCH + ")",
+           nativeQuery = true)
+    Page<User> searchUsersWithInfix(@Param("keyword") String keyword, @Param("pattern") String pattern, Pageable pageable);
+
+    // pg_trgm 확장이 없는 DB용 부분 문자열 검색 (오타 허용 없음, 닉네임 > 이름 > 소개 일치 순)
+    @Query(value = "SELECT u.* FROM users u WHERE " + SEARCHABLE_USER + " AND (" + INFIX_MATCH + ") " +
+                   "ORDER BY CASE WHEN u.nickname ILIKE :pattern THEN 0 WHEN u.full_name ILIKE :pattern THEN 1 ELSE 2 END, u.id",
+           countQuery = "SELECT count(*) FROM users u WHERE " + SEARCHABLE_USER + " AND (" + INFIX_MATCH + ")",
+           nativeQuery = true)
+    Page<User> searchUsersByPattern(@Param("pattern") String pattern, Pageable pageable);
     
     @Query("SELECT u FROM User u WHERE u.isActive = true AND u.privacyProfileVisible = true " +
            "AND u.travelStyle = :travelStyle")
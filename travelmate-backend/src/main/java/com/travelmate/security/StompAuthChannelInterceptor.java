@@ -0,0 +1,56 @@
+package com.travelmate.security;
+
+import com.travelmate.service.JwtService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Collections;
+
+/**
+ * STOMP CONNECT 프레임의 JWT로 세션 Principal 설정
+ *
+ * Principal 이름(userId)이 사용자 세션 레지스트리의 키가 되므로
+ * convertAndSendToUser(userId, ...)가 해당 사용자의 세션으로 라우팅된다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private final JwtService jwtService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+
+        if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
+            String jwt = getJwtFromHeaders(accessor);
+
+            if (StringUtils.hasText(jwt) && jwtService.validateToken(jwt)) {
+                Long userId = jwtService.getUserIdFromToken(jwt);
+                accessor.setUser(new UsernamePasswordAuthenticationToken(
+                        userId.toString(), null, Collections.emptyList()));
+                log.debug("STOMP 인증 성공: userId={}, session={}", userId, accessor.getSessionId());
+            }
+        }
+
+        return message;
+    }
+
+    private String getJwtFromHeaders(StompHeaderAccessor accessor) {
+        String bearerToken = accessor.getFirstNativeHeader("Authorization");
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+}
@@ -25,6 +25,7 @@ public class AdvancedRecommendationService {
     private final TravelGroupRepository travelGroupRepository;
     private final UserReviewRepository userReviewRepository;
     private final NotificationService notificationService;
+    private final PresenceService presenceService;
     
     /**
      * AI 기반 사용자 추천 시스템
@@ -45,9 +46,11 @@ public class AdvancedRecommendationService {
             10.0
         );
         
-        // 2. 다중 요인 점수 계산 및 정렬
+        // 2. 다중 요인 점수 계산 및 정렬 (접속 상태는 한 번에 조회)
+        Set<Long> onlineUserIds = presenceService.getOnlineUserIds(
+            candidates.stream().map(User::getId).collect(Collectors.toList()));
         List<UserScore> scoredUsers = candidates.stream()
-            .map(user -> calculateCompatibilityScore(currentUser, user))
+            .map(user -> calculateCompatibilityScore(currentUser, user, onlineUserIds.contains(user.getId())))
             .sorted((a, b) -> Double.compare(b.getScore(), a.getScore()))
             .limit(10)
             .collect(Collectors.toList());
@@ -103,10 +106,10 @@ public class AdvancedRecommendationService {
         // 3. 매칭 알림 발송
         if (!immediateMatches.isEmpty()) {
             for (User match : immediateMatches) {
-                notificationService.sendMatchingNotification(
+                notificationService.notifyMatched(
                     userId, match.getId(), match.getNickname()
                 );
-                notificationService.sendMatchingNotification(
+                notificationService.notifyMatched(
                     match.getId(), userId, currentUser.getNickname()
                 );
             }
@@ -115,16 +118,14 @@ public class AdvancedRecommendationService {
         
         // 4. 잠재적 매칭에 대한 추천 알림
         if (!potentialMatches.isEmpty()) {
-            String message = String.format("근처에 %d명의 관심사가 비슷한 여행자가 있습니다!", 
-                potentialMatches.size());
-            notificationService.sendNotification(userId, message);
+            notificationService.notifyPotentialMatches(userId, potentialMatches.size());
         }
     }
     
     /**
      * 호환성 점수 계산 (0~100점)
      */
-    private UserScore calculateCompatibilityScore(User currentUser, User targetUser) {
+    private UserScore calculateCompatibilityScore(User currentUser, User targetUser, boolean online) {
         double score = 0.0;
         
         // 1. 거리 점수 (40점 배점) - 가까울수록 높은 점수
@@ -147,7 +148,7 @@ public class AdvancedRecommendationService {
         score += ratingScore;
         
         // 4. 활동성 점수 (10점 배점)
-        double activityScore = calculateActivityScore(targetUser);
+        double activityScore = calculateActivityScore(targetUser, online);
         score += activityScore;
         
         return new UserScore(targetUser, Math.min(100.0, score));
@@ -176,7 +177,8 @@ public class AdvancedRecommendationService {
         return 10.0; // 약한 호환성
     }
     
-    private double calculateActivityScore(User user) {
+    private double calculateActivityScore(User user, boolean online) {
+        if (online) return 10.0;  // 현재 접속 중
         if (user.getLastActivityAt() == null) return 5.0;
         
         long hoursInactive = java.time.Duration.between(user.getLastActivityAt(), LocalDateTime.now()).toHours();
@@ -228,14 +230,18 @@ public class AdvancedRecommendationService {
     }
     
     private List<User> findPotentialMatches(User currentUser) {
-        return userRepository.findNearbyUsers(
+        List<User> nearbyUsers = userRepository.findNearbyUsers(
             currentUser.getId(),
             currentUser.getCurrentLatitude(),
             currentUser.getCurrentLongitude(),
             5.0  // 5km 이내
-        ).stream()
+        );
+        Set<Long> onlineUserIds = presenceService.getOnlineUserIds(
+            nearbyUsers.stream().map(User::getId).collect(Collectors.toList()));
+        
+        return nearbyUsers.stream()
             .filter(user -> user.getIsMatchingEnabled())
-            .filter(user -> calculateCompatibilityScore(currentUser, user).getScore() >= 60.0)
+            .filter(user -> calculateCompatibilityScore(currentUser, user, onlineUserIds.contains(user.getId())).getScore() >= 60.0)
             .limit(5)
             .collect(Collectors.toList());
     }
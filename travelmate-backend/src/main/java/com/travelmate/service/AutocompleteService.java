@@ -0,0 +1,389 @@
+package com.travelmate.service;
+
+import com.travelmate.document.TravelGroupDocument;
+import com.travelmate.entity.TravelGroup;
+import com.travelmate.repository.TravelGroupRepository;
+import com.travelmate.service.search.GroupIndexEvent;
+import com.travelmate.util.CompactPrefixTrie;
+import com.travelmate.util.HangulJamo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 프로세스 내 자동완성 (그룹 이름, 목적지, 태그)
+ *
+ * 검색 색인 변경 흐름(GroupIndexEvent)을 받아 용어별 인기도(해당 용어를 가진 공개 그룹의 1 + 현재 인원 합)를
+ * 그룹 단위로 갱신하고, 변경이 있으면 주기적으로 압축 트라이 스냅샷을 새로 만들어 교체한다.
+ * 조회는 불변 스냅샷만 읽으므로 잠금 없이 접두어 길이에 비례하는 시간에 끝난다. (ES 요청 없음)
+ *
+ * GroupIndexEvent는 색인 워커가 돈 노드에서만 발생하므로 (색인 워커가 꺼져 있으면 아예 없음)
+ * 각 노드는 sync-interval-ms마다 updated_at 기준으로 DB 변경분을 직접 읽고,
+ * prune-interval-ms마다 삭제된 그룹의 기여분을 정리한다.
+ *
+ * - 키는 자모 단위로 분해해서 입력 중인 글자도 매칭 ("젲" -> 제주)
+ * - 초성만 입력하면 초성 트라이에서 검색 ("ㅈㅈ" -> 제주)
+ * - 용어 중간 단어로 시작해도 매칭 ("제주" -> "즐거운 제주 여행")
+ */
+@Service
+@Slf4j
+public class AutocompleteService {
+
+    private final TravelGroupRepository travelGroupRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int maxSuggestions;
+    private final int loadPageSize;
+    private final long syncOverlapSeconds;
+
+    private final Object lock = new Object();
+    // 정규화된 용어 -> 표시 문자열과 인기도
+    private final Map<String, Term> terms = new HashMap<>();
+    // 그룹 ID -> 그 그룹이 더한 용어와 가중치 (변경 시 이전 기여분을 뺌)
+    private final Map<Long, Contribution> contributions = new HashMap<>();
+    private volatile boolean dirty;
+    // 마지막으로 반영한 변경의 updated_at (시작 로딩 전에는 null)
+    private volatile LocalDateTime syncWatermark;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private final Timer rebuildTimer;
+
+    public AutocompleteService(
+            TravelGroupRepository travelGroupRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.search.autocomplete.max-suggestions:10}") int maxSuggestions,
+            @Value("${app.search.autocomplete.load-page-size:1000}") int loadPageSize,
+            @Value("${app.search.autocomplete.sync-overlap-seconds:60}") long syncOverlapSeconds) {
+        this.travelGroupRepository = travelGroupRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.maxSuggestions = maxSuggestions;
+        this.loadPageSize = loadPageSize;
+        this.syncOverlapSeconds = syncOverlapSeconds;
+
+        this.rebuildTimer = Timer.builder("search.autocomplete.rebuild")
+                .description("자동완성 트라이 재구성 시간").register(meterRegistry);
+        Gauge.builder("search.autocomplete.terms", this, service -> service.snapshot.displays.length)
+                .description("자동완성 용어 수").register(meterRegistry);
+    }
+
+    /**
+     * 접두어로 시작하는 용어를 인기도 순으로 반환
+     */
+    public List<String> suggest(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        String normalized = normalize(prefix);
+        Snapshot current = snapshot;
+
+        int[] items = HangulJamo.isChoseongOnly(normalized)
+                ? current.choseongTrie.topItems(HangulJamo.choseong(normalized))
+                : current.jamoTrie.topItems(HangulJamo.decompose(normalized));
+
+        List<String> suggestions = new ArrayList<>(items.length);
+        for (int item : items) {
+            suggestions.add(current.displays[item]);
+        }
+        return suggestions;
+    }
+
+    /**
+     * 색인 워커/재색인이 읽은 그룹 상태 반영 (같은 그룹이 다시 와도 이전 기여분을 교체하므로 멱등)
+     */
+    @EventListener
+    public void onGroupIndexed(GroupIndexEvent event) {
+        synchronized (lock) {
+            boolean changed = false;
+            for (TravelGroupDocument document : event.upserts()) {
+                changed |= apply(Long.parseLong(document.getId()), document);
+            }
+            for (Long groupId : event.deletedIds()) {
+                changed |= apply(groupId, null);
+            }
+            if (changed) {
+                dirty = true;
+            }
+        }
+    }
+
+    /**
+     * 시작 시 DB의 그룹으로 사전을 채움
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFromDatabase() {
+        try {
+            // 로딩 중에 바뀐 그룹은 다음 증분 동기화에서 다시 읽음
+            LocalDateTime startedAt = LocalDateTime.now();
+            long afterId = 0;
+            int loaded = 0;
+            while (true) {
+                long cursor = afterId;
+                List<TravelGroupDocument> page = readOnlyTransactionTemplate.execute(status ->
+                        travelGroupRepository.findPageWithCreatorAfter(cursor, PageRequest.of(0, loadPageSize)).stream()
+                                .map(TravelGroupDocument::from)
+                                .toList());
+                if (page == null || page.isEmpty()) {
+                    break;
+                }
+                onGroupIndexed(new GroupIndexEvent(page, List.of()));
+                loaded += page.size();
+                afterId = Long.parseLong(page.get(page.size() - 1).getId());
+            }
+            rebuildIfDirty();
+            syncWatermark = startedAt;
+            log.info("자동완성 사전 로딩 완료: 그룹 {}건, 용어 {}개", loaded, snapshot.displays.length);
+        } catch (Exception e) {
+            log.error("자동완성 사전 로딩 실패", e);
+        }
+    }
+
+    /**
+     * 마지막 동기화 이후 바뀐 그룹을 DB에서 읽어 반영
+     *
+     * 노드 간 시계 차이와 늦게 커밋된 트랜잭션을 감안해 sync-overlap-seconds만큼 겹쳐 읽는다. (반영은 멱등)
+     */
+    @Scheduled(fixedDelayString = "${app.search.autocomplete.sync-interval-ms:60000}",
+            initialDelayString = "${app.search.autocomplete.sync-interval-ms:60000}")
+    public void syncChanges() {
+        LocalDateTime watermark = syncWatermark;
+        if (watermark == null) {
+            return;
+        }
+
+        try {
+            LocalDateTime cursorTime = watermark.minusSeconds(syncOverlapSeconds);
+            long cursorId = 0;
+            LocalDateTime newest = watermark;
+            int read = 0;
+            while (true) {
+                LocalDateTime afterTime = cursorTime;
+                long afterId = cursorId;
+                ChangePage page = readOnlyTransactionTemplate.execute(status -> {
+                    List<TravelGroup> groups = travelGroupRepository.findChangedWithCreatorAfter(
+                            afterTime, afterId, PageRequest.of(0, loadPageSize));
+                    if (groups.isEmpty()) {
+                        return null;
+                    }
+                    TravelGroup last = groups.get(groups.size() - 1);
+                    return new ChangePage(groups.stream().map(TravelGroupDocument::from).toList(),
+                            last.getUpdatedAt(), last.getId());
+                });
+                if (page == null) {
+                    break;
+                }
+
+                onGroupIndexed(new GroupIndexEvent(page.documents(), List.of()));
+                read += page.documents().size();
+                cursorTime = page.lastUpdatedAt();
+                cursorId = page.lastId();
+                if (cursorTime.isAfter(newest)) {
+                    newest = cursorTime;
+                }
+                if (page.documents().size() < loadPageSize) {
+                    break;
+                }
+            }
+            syncWatermark = newest;
+            log.debug("자동완성 증분 동기화: 그룹 {}건 확인", read);
+        } catch (Exception e) {
+            log.warn("자동완성 증분 동기화 실패", e);
+        }
+    }
+
+    /**
+     * DB에서 삭제된 그룹의 기여분 정리 (삭제는 updated_at 변경으로 드러나지 않음)
+     */
+    @Scheduled(fixedDelayString = "${app.search.autocomplete.prune-interval-ms:600000}",
+            initialDelayString = "${app.search.autocomplete.prune-interval-ms:600000}")
+    public void pruneDeletedGroups() {
+        if (syncWatermark == null) {
+            return;
+        }
+
+        List<Long> known;
+        synchronized (lock) {
+            known = new ArrayList<>(contributions.keySet());
+        }
+
+        try {
+            List<Long> deleted = new ArrayList<>();
+            for (int from = 0; from < known.size(); from += loadPageSize) {
+                List<Long> chunk = known.subList(from, Math.min(from + loadPageSize, known.size()));
+                List<Long> existing = readOnlyTransactionTemplate.execute(status ->
+                        travelGroupRepository.findExistingIds(chunk));
+                Set<Long> existingIds = existing != null ? new HashSet<>(existing) : Set.of();
+                for (Long groupId : chunk) {
+                    if (!existingIds.contains(groupId)) {
+                        deleted.add(groupId);
+                    }
+                }
+            }
+            if (!deleted.isEmpty()) {
+                onGroupIndexed(new GroupIndexEvent(List.of(), deleted));
+                log.debug("자동완성에서 삭제된 그룹 정리: {}건", deleted.size());
+            }
+        } catch (Exception e) {
+            log.warn("자동완성 삭제 그룹 정리 실패", e);
+        }
+    }
+
+    /**
+     * 변경이 있으면 트라이 스냅샷 재구성
+     */
+    @Scheduled(fixedDelayString = "${app.search.autocomplete.rebuild-interval-ms:5000}")
+    public void rebuildIfDirty() {
+        List<Term> current;
+        synchronized (lock) {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            // 가중치는 잠금 안에서 복사 (재구성 중에도 변경 반영은 계속됨)
+            current = new ArrayList<>(terms.size());
+            for (Term term : terms.values()) {
+                Term copy = new Term(term.display);
+                copy.weight = term.weight;
+                current.add(copy);
+            }
+        }
+
+        Timer.Sample sample = Timer.start();
+        snapshot = Snapshot.build(current, maxSuggestions);
+        sample.stop(rebuildTimer);
+    }
+
+    /**
+     * 그룹의 이전 기여분을 새 상태로 교체 (기여분이 그대로면 아무것도 하지 않고 false 반환)
+     */
+    private boolean apply(Long groupId, TravelGroupDocument document) {
+        Map<String, String> displays = new LinkedHashMap<>();
+        long weight = 0;
+        if (document != null && Boolean.TRUE.equals(document.getIsActive())
+                && Boolean.TRUE.equals(document.getIsPublic())) {
+            addDisplay(displays, document.getName());
+            addDisplay(displays, document.getDestination());
+            if (document.getTags() != null) {
+                document.getTags().forEach(tag -> addDisplay(displays, tag));
+            }
+            weight = 1 + (document.getCurrentMembers() != null ? document.getCurrentMembers() : 0);
+        }
+
+        List<String> keys = new ArrayList<>(displays.keySet());
+        Contribution previous = contributions.get(groupId);
+        if (previous == null ? keys.isEmpty() : previous.equals(new Contribution(keys, weight))) {
+            return false;
+        }
+
+        if (previous != null) {
+            contributions.remove(groupId);
+            for (String key : previous.termKeys()) {
+                Term term = terms.get(key);
+                if (term != null && (term.weight -= previous.weight()) <= 0) {
+                    terms.remove(key);
+                }
+            }
+        }
+        if (keys.isEmpty()) {
+            return true;
+        }
+
+        for (Map.Entry<String, String> display : displays.entrySet()) {
+            terms.computeIfAbsent(display.getKey(), k -> new Term(display.getValue())).weight += weight;
+        }
+        contributions.put(groupId, new Contribution(keys, weight));
+        return true;
+    }
+
+    /**
+     * 정규화 키 -> 표시 문자열 (같은 키는 처음 나온 표시 문자열 유지)
+     */
+    private static void addDisplay(Map<String, String> displays, String value) {
+        if (value != null && !value.isBlank()) {
+            String display = value.trim().replaceAll("\\s+", " ");
+            displays.putIfAbsent(normalize(display), display);
+        }
+    }
+
+    private static String normalize(String text) {
+        return text.trim().replaceAll("\\s+", " ").toLowerCase();
+    }
+
+    private static final class Term {
+        private final String display;
+        private long weight;
+
+        private Term(String display) {
+            this.display = display;
+        }
+    }
+
+    private record Contribution(List<String> termKeys, long weight) {
+    }
+
+    private record ChangePage(List<TravelGroupDocument> documents, LocalDateTime lastUpdatedAt, Long lastId) {
+    }
+
+    /**
+     * 조회용 불변 스냅샷 (트라이 항목 번호 = displays 인덱스)
+     */
+    private record Snapshot(CompactPrefixTrie jamoTrie, CompactPrefixTrie choseongTrie, String[] displays) {
+
+        static final Snapshot EMPTY = build(List.of(), 1);
+
+        static Snapshot build(List<Term> terms, int topK) {
+            String[] displays = new String[terms.size()];
+            long[] weights = new long[terms.size()];
+            List<String> jamoKeys = new ArrayList<>();
+            List<String> choseongKeys = new ArrayList<>();
+            List<Integer> jamoItems = new ArrayList<>();
+            List<Integer> choseongItems = new ArrayList<>();
+
+            for (int i = 0; i < terms.size(); i++) {
+                Term term = terms.get(i);
+                displays[i] = term.display;
+                weights[i] = term.weight;
+
+                // 용어 전체와 각 단어 시작 위치부터의 부분 문자열을 키로 등록
+                String normalized = normalize(term.display);
+                for (int start = 0; start < normalized.length(); start++) {
+                    if (start > 0 && normalized.charAt(start - 1) != ' ') {
+                        continue;
+                    }
+                    String suffix = normalized.substring(start);
+                    jamoKeys.add(HangulJamo.decompose(suffix));
+                    jamoItems.add(i);
+                    choseongKeys.add(HangulJamo.choseong(suffix));
+                    choseongItems.add(i);
+                }
+            }
+
+            return new Snapshot(
+                    CompactPrefixTrie.build(jamoKeys.toArray(new String[0]),
+                            jamoItems.stream().mapToInt(Integer::intValue).toArray(), weights, topK),
+                    CompactPrefixTrie.build(choseongKeys.toArray(new String[0]),
+                            choseongItems.stream().mapToInt(Integer::intValue).toArray(), weights, topK),
+                    displays);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.travelmate.service;
+
+import com.travelmate.entity.ChatMessage;
+import com.travelmate.repository.ChatMessageRepository;
+import com.travelmate.service.archive.ArchivedChatMessage;
+import com.travelmate.service.archive.ChatSegmentStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 오래된 채팅 메시지 콜드 티어 아카이브
+ *
+ * min-age-days 보다 오래된 메시지를 채팅방별 압축 세그먼트 파일로 옮기고 chat_messages에서 삭제한다.
+ * 여러 인스턴스를 운영할 때는 path를 공유 스토리지로 지정하고 한 노드에서만 enabled=true로 둔다.
+ * 아카이브 디렉터리는 enabled 노드가 처음 기록할 때 생긴다. 나머지 노드는 읽기만 한다.
+ */
+@Service
+@Slf4j
+public class ChatArchiveService {
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ChatSegmentStore segmentStore;
+    private final boolean enabled;
+    private final int minAgeDays;
+    private final int batchSize;
+
+    public ChatArchiveService(
+            ChatMessageRepository chatMessageRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.chat.archive.enabled:false}") boolean enabled,
+            @Value("${app.chat.archive.path:./data/chat-archive}") String path,
+            @Value("${app.chat.archive.min-age-days:180}") int minAgeDays,
+            @Value("${app.chat.archive.batch-size:1000}") int batchSize,
+            @Value("${app.chat.archive.block-size:128}") int blockSize,
+            @Value("${app.chat.archive.segment-max-mb:64}") int segmentMaxMb,
+            @Value("${app.chat.archive.refresh-interval-ms:5000}") long refreshIntervalMillis) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.segmentStore = new ChatSegmentStore(Paths.get(path), blockSize, segmentMaxMb * 1024L * 1024L,
+                refreshIntervalMillis);
+        this.enabled = enabled;
+        this.minAgeDays = minAgeDays;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 아카이브 작업 (기본: 매일 03:30)
+     */
+    @Scheduled(cron = "${app.chat.archive.cron:0 30 3 * * *}")
+    public void archiveOldMessages() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+        List<Long> roomIds = chatMessageRepository.findChatRoomIdsWithMessagesBefore(cutoff);
+        long total = 0;
+
+        for (Long roomId : roomIds) {
+            try {
+                total += archiveRoom(roomId, cutoff);
+            } catch (Exception e) {
+                log.error("채팅 아카이브 실패: 방 {}", roomId, e);
+            }
+        }
+
+        log.info("채팅 아카이브 완료: {}개 방, {}건 (기준: {}일 이전)", roomIds.size(), total, minAgeDays);
+    }
+
+    /**
+     * 한 채팅방의 cutoff 이전 메시지를 배치 단위로 세그먼트에 기록한 뒤 삭제
+     */
+    public long archiveRoom(Long roomId, LocalDateTime cutoff) throws IOException {
+        long archived = 0;
+        long skipped = 0;
+        long afterId = 0;
+
+        while (true) {
+            long cursor = afterId;
+            List<ChatMessage> batch = transactionTemplate.execute(status ->
+                    chatMessageRepository.findArchivableMessages(roomId, cutoff, cursor, PageRequest.of(0, batchSize)));
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+
+            // 삭제된 메시지는 보관하지 않고 hot 테이블에서만 제거
+            List<ArchivedChatMessage> messages = batch.stream()
+                    .filter(message -> !Boolean.TRUE.equals(message.getIsDeleted()))
+                    .map(ArchivedChatMessage::from)
+                    .collect(Collectors.toList());
+
+            // 세그먼트에 보관된 것만 삭제 (중간에 실패하면 다음 실행에서 이어서 처리)
+            // 이미 아카이브된 id보다 늦게 커밋된 메시지는 보관되지 않으므로 hot 테이블에 남김
+            Set<Long> stored = new HashSet<>(segmentStore.append(roomId, messages));
+            archived += stored.size();
+            skipped += messages.size() - stored.size();
+
+            List<Long> ids = batch.stream()
+                    .filter(message -> Boolean.TRUE.equals(message.getIsDeleted()) || stored.contains(message.getId()))
+                    .map(ChatMessage::getId)
+                    .collect(Collectors.toList());
+            if (!ids.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> chatMessageRepository.deleteAllByIdInBatch(ids));
+            }
+
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (archived > 0) {
+            log.debug("채팅 아카이브: 방 {} - {}건", roomId, archived);
+        }
+        if (skipped > 0) {
+            log.warn("채팅 아카이브 순서 밖 메시지 보류: 방 {} - {}건 (chat_messages에 유지)", roomId, skipped);
+        }
+        return archived;
+    }
+
+    public boolean hasArchivedMessages(Long roomId) {
+        return segmentStore.count(roomId) > 0;
+    }
+
+    /**
+     * 아카이브된 메시지를 최신순으로 조회
+     */
+    public List<ArchivedChatMessage> getMessages(Long roomId, long offset, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        try {
+            return segmentStore.readNewestFirst(roomId, offset, limit);
+        } catch (IOException e) {
+            log.error("아카이브 조회 실패: 방 {}", roomId, e);
+            throw new RuntimeException("보관된 메시지를 읽을 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 아카이브된 메시지의 채팅방 ID (chat_messages에서 찾지 못한 메시지용)
+     */
+    public Optional<Long> findArchivedRoomId(Long messageId) {
+        try {
+            return segmentStore.findRoomIdOf(messageId);
+        } catch (IOException e) {
+            log.error("아카이브 조회 실패: 메시지 {}", messageId, e);
+            throw new RuntimeException("보관된 메시지를 읽을 수 없습니다.", e);
+        }
+    }
+}
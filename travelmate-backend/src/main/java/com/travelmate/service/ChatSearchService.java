@@ -0,0 +1,556 @@
+package com.travelmate.service;
+
+import com.travelmate.dto.ChatDto;
+import com.travelmate.entity.ChatMessage;
+import com.travelmate.repository.ChatMessageRepository;
+import com.travelmate.repository.ChatParticipantRepository;
+import com.travelmate.service.cluster.ClusterEventBus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.analysis.ko.KoreanPartOfSpeechStopFilter;
+import org.apache.lucene.analysis.ko.KoreanTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleFragmenter;
+import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 채팅 메시지 전문 검색 (임베디드 Lucene)
+ *
+ * 색인은 노드마다 로컬 디스크에 따로 두고, 모든 노드가 같은 메시지를 색인하도록 두 경로로 채운다.
+ * - 메시지 저장/삭제 트랜잭션이 커밋되면 ClusterEventBus로 모든 노드에 알리고, 각 노드는 대기열에 넣어
+ *   스케줄러가 모아서 IndexWriter에 반영한 뒤 검색기를 갱신한다 (기본 1초 이내 검색 가능).
+ * - 이벤트를 놓친 경우(발행 실패, 노드 재시작)를 위해 catch-up-interval 주기로 chat_messages를 id 순으로
+ *   이어서 읽는다. 늦게 커밋되는 앞 번호 메시지를 놓치지 않도록 catch-up-lag 보다 오래된 메시지까지만 진행 위치를 옮긴다.
+ * - 놓친 삭제는 검색 결과를 돌려주기 전에 DB로 확인해 걸러내고 색인에서도 지운다.
+ * 색인이 비어 있으면 기동 시 DB에서 다시 만든다.
+ */
+@Service
+@Slf4j
+public class ChatSearchService {
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_ID_SORT = "idSort";
+    private static final String FIELD_ROOM_ID = "roomId";
+    private static final String FIELD_SENDER_ID = "senderId";
+    private static final String FIELD_SENDER_NICKNAME = "senderNickname";
+    private static final String FIELD_CONTENT = "content";
+    private static final String FIELD_SENT_AT = "sentAt";
+
+    private static final String INDEX_CHANNEL = "chat.search.index";
+    private static final String REMOVE_CHANNEL = "chat.search.remove";
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatParticipantRepository chatParticipantRepository;
+    private final ClusterEventBus eventBus;
+    private final boolean enabled;
+    private final String indexPath;
+    private final double ramBufferMb;
+    private final int rebuildBatchSize;
+    private final int maxResultWindow;
+    private final int fragmentSize;
+    private final Duration catchUpLag;
+
+    // 혼합 분해 모드: 복합명사 원형과 분해된 형태소를 모두 색인 (예: 제주여행 -> 제주여행, 제주, 여행)
+    private final Analyzer analyzer = new KoreanAnalyzer(null, KoreanTokenizer.DecompoundMode.MIXED,
+            KoreanPartOfSpeechStopFilter.DEFAULT_STOP_TAGS, false);
+
+    private final BlockingQueue<IndexOperation> pendingOperations;
+    private final AtomicBoolean uncommitted = new AtomicBoolean(false);
+    // DB에서 이어 읽을 위치 (이 id까지는 색인에 반영됨)
+    private final Object catchUpLock = new Object();
+    private long catchUpWatermark;
+
+    private Directory directory;
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+
+    public ChatSearchService(
+            ChatMessageRepository chatMessageRepository,
+            ChatParticipantRepository chatParticipantRepository,
+            ClusterEventBus eventBus,
+            @Value("${app.chat.search.enabled:true}") boolean enabled,
+            @Value("${app.chat.search.index-path:./data/chat-index}") String indexPath,
+            @Value("${app.chat.search.queue-capacity:50000}") int queueCapacity,
+            @Value("${app.chat.search.ram-buffer-mb:32}") double ramBufferMb,
+            @Value("${app.chat.search.rebuild-batch-size:1000}") int rebuildBatchSize,
+            @Value("${app.chat.search.max-result-window:1000}") int maxResultWindow,
+            @Value("${app.chat.search.fragment-size:100}") int fragmentSize,
+            @Value("${app.chat.search.catch-up-lag-seconds:60}") long catchUpLagSeconds) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.chatParticipantRepository = chatParticipantRepository;
+        this.enabled = enabled;
+        this.indexPath = indexPath;
+        this.ramBufferMb = ramBufferMb;
+        this.rebuildBatchSize = rebuildBatchSize;
+        this.maxResultWindow = maxResultWindow;
+        this.fragmentSize = fragmentSize;
+        this.catchUpLag = Duration.ofSeconds(catchUpLagSeconds);
+        this.pendingOperations = new ArrayBlockingQueue<>(queueCapacity);
+        this.eventBus = eventBus;
+
+        if (enabled) {
+            eventBus.subscribe(INDEX_CHANNEL, IndexEvent.class,
+                    event -> enqueue(new IndexOperation(event.messageId(), toDocument(event))));
+            eventBus.subscribe(REMOVE_CHANNEL, Long.class, messageId -> enqueue(new IndexOperation(messageId, null)));
+        }
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Path path = Paths.get(indexPath);
+        Files.createDirectories(path);
+        directory = FSDirectory.open(path);
+
+        IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        config.setRAMBufferSizeMB(ramBufferMb);
+        indexWriter = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(indexWriter, null);
+        catchUpWatermark = findMaxIndexedId();
+
+        log.info("채팅 검색 색인 열기: {} ({}건)", path.toAbsolutePath(), indexWriter.getDocStats().numDocs);
+    }
+
+    /**
+     * 색인이 비어 있으면 DB의 메시지로 다시 만든다 (아카이브된 메시지는 포함되지 않음)
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (!enabled || indexWriter.getDocStats().numDocs > 0) {
+            return;
+        }
+        try {
+            rebuildIndex();
+        } catch (Exception e) {
+            log.error("채팅 검색 색인 재구축 실패", e);
+        }
+    }
+
+    public long rebuildIndex() throws IOException {
+        long total;
+        synchronized (catchUpLock) {
+            catchUpWatermark = 0;
+            total = indexMessagesAfterWatermark();
+        }
+        indexWriter.commit();
+        log.info("채팅 검색 색인 재구축 완료: {}건", total);
+        return total;
+    }
+
+    /**
+     * 다른 노드에서 저장되어 이벤트로 받지 못한 메시지를 DB에서 이어서 색인
+     */
+    @Scheduled(fixedDelayString = "${app.chat.search.catch-up-interval-ms:60000}",
+            initialDelayString = "${app.chat.search.catch-up-interval-ms:60000}")
+    public void catchUp() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long indexed;
+            synchronized (catchUpLock) {
+                indexed = indexMessagesAfterWatermark();
+            }
+            log.debug("채팅 검색 색인 따라잡기: {}건", indexed);
+        } catch (Exception e) {
+            log.error("채팅 검색 색인 따라잡기 실패", e);
+        }
+    }
+
+    private long indexMessagesAfterWatermark() throws IOException {
+        LocalDateTime settledBefore = LocalDateTime.now().minus(catchUpLag);
+        long cursor = catchUpWatermark;
+        long watermark = catchUpWatermark;
+        boolean settled = true;
+        long total = 0;
+
+        while (true) {
+            List<ChatMessage> batch = chatMessageRepository.findIndexableMessagesAfter(
+                    cursor, PageRequest.of(0, rebuildBatchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            for (ChatMessage message : batch) {
+                if (isIndexable(message)) {
+                    indexWriter.updateDocument(idTerm(message.getId()), toDocument(IndexEvent.from(message)));
+                    total++;
+                }
+                // lag 안의 메시지부터는 다음 주기에 다시 읽음 (같은 문서로 덮어쓰므로 중복 없음)
+                if (settled && message.getSentAt() != null && message.getSentAt().isBefore(settledBefore)) {
+                    watermark = message.getId();
+                } else {
+                    settled = false;
+                }
+            }
+            cursor = batch.get(batch.size() - 1).getId();
+
+            if (batch.size() < rebuildBatchSize) {
+                break;
+            }
+        }
+
+        catchUpWatermark = watermark;
+        if (total > 0) {
+            uncommitted.set(true);
+            searcherManager.maybeRefresh();
+        }
+        return total;
+    }
+
+    /**
+     * 저장된 메시지 색인 요청 (트랜잭션 커밋 후 모든 노드에 전달)
+     */
+    public void indexMessage(ChatMessage message) {
+        if (!enabled || !isIndexable(message)) {
+            return;
+        }
+        IndexEvent event = IndexEvent.from(message);
+        afterCommit(() -> eventBus.publish(INDEX_CHANNEL, event));
+    }
+
+    /**
+     * 삭제된 메시지를 모든 노드의 색인에서 제거
+     */
+    public void removeMessage(Long messageId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> eventBus.publish(REMOVE_CHANNEL, messageId));
+    }
+
+    /**
+     * 대기 중인 색인 작업 반영 후 검색기 갱신
+     */
+    @Scheduled(fixedDelayString = "${app.chat.search.refresh-interval-ms:1000}")
+    public void applyPendingOperations() {
+        if (!enabled || pendingOperations.isEmpty()) {
+            return;
+        }
+
+        List<IndexOperation> operations = new ArrayList<>(pendingOperations.size());
+        pendingOperations.drainTo(operations);
+
+        try {
+            for (IndexOperation operation : operations) {
+                if (operation.document() != null) {
+                    indexWriter.updateDocument(idTerm(operation.messageId()), operation.document());
+                } else {
+                    indexWriter.deleteDocuments(idTerm(operation.messageId()));
+                }
+            }
+            uncommitted.set(true);
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("채팅 검색 색인 반영 실패: {}건", operations.size(), e);
+        }
+    }
+
+    /**
+     * 색인 변경사항을 디스크에 커밋 (커밋 전 종료되면 마지막 커밋 이후 변경분은 유실)
+     */
+    @Scheduled(fixedDelayString = "${app.chat.search.commit-interval-ms:30000}")
+    public void commit() {
+        if (!enabled || !uncommitted.getAndSet(false)) {
+            return;
+        }
+        try {
+            indexWriter.commit();
+        } catch (IOException e) {
+            uncommitted.set(true);
+            log.error("채팅 검색 색인 커밋 실패", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        applyPendingOperations();
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+    }
+
+    /**
+     * 채팅 메시지 검색
+     *
+     * roomId를 지정하면 해당 채팅방만, 생략하면 사용자가 참여 중인 모든 채팅방을 검색한다.
+     * senderId를 지정하면 해당 사용자가 보낸 메시지로 한정한다.
+     */
+    public ChatDto.MessageSearchResponse search(Long userId, String keyword, Long roomId, Long senderId,
+                                                String sort, int page, int size) {
+        if (!enabled) {
+            throw new RuntimeException("채팅 검색이 비활성화되어 있습니다.");
+        }
+        if (!StringUtils.hasText(keyword)) {
+            throw new RuntimeException("검색어를 입력해주세요.");
+        }
+        if (page < 0 || size <= 0 || (long) (page + 1) * size > maxResultWindow) {
+            throw new RuntimeException("검색 결과는 최대 " + maxResultWindow + "건까지 조회할 수 있습니다.");
+        }
+
+        long startTime = System.nanoTime();
+        ChatDto.MessageSearchResponse response = new ChatDto.MessageSearchResponse();
+        response.setKeyword(keyword);
+        response.setPage(page);
+        response.setSize(size);
+        response.setTotalHits(0L);
+        response.setResults(new ArrayList<>());
+
+        Query contentQuery = new QueryBuilder(analyzer)
+                .createBooleanQuery(FIELD_CONTENT, keyword.trim(), BooleanClause.Occur.MUST);
+        Query scopeQuery = createScopeQuery(userId, roomId);
+        if (contentQuery == null || scopeQuery == null) {
+            // 검색어가 모두 불용어이거나 참여 중인 채팅방이 없음
+            response.setTookMs(elapsedMillis(startTime));
+            return response;
+        }
+
+        BooleanQuery.Builder builder = new BooleanQuery.Builder()
+                .add(contentQuery, BooleanClause.Occur.MUST)
+                .add(scopeQuery, BooleanClause.Occur.FILTER);
+        if (senderId != null) {
+            builder.add(LongPoint.newExactQuery(FIELD_SENDER_ID, senderId), BooleanClause.Occur.FILTER);
+        }
+        Query query = builder.build();
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int topN = (page + 1) * size;
+                TopDocs topDocs = "recent".equalsIgnoreCase(sort)
+                        ? searcher.search(query, topN, new Sort(new SortField(FIELD_ID_SORT, SortField.Type.LONG, true)), true)
+                        : searcher.search(query, topN);
+
+                Highlighter highlighter = new Highlighter(new SimpleHTMLFormatter("<em>", "</em>"),
+                        new SimpleHTMLEncoder(), new QueryScorer(contentQuery, FIELD_CONTENT));
+                highlighter.setTextFragmenter(new SimpleFragmenter(fragmentSize));
+
+                StoredFields storedFields = searcher.storedFields();
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+                for (int i = page * size; i < scoreDocs.length; i++) {
+                    Document document = storedFields.document(scoreDocs[i].doc);
+                    response.getResults().add(toSearchResult(document, scoreDocs[i].score, highlighter));
+                }
+                response.setTotalHits(topDocs.totalHits.value - removeDeleted(response.getResults()));
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            log.error("채팅 검색 실패: {}", keyword, e);
+            throw new RuntimeException("채팅 검색 중 오류가 발생했습니다.", e);
+        }
+
+        response.setTookMs(elapsedMillis(startTime));
+        log.debug("채팅 검색: '{}' 사용자 {} - {}건 ({}ms)", keyword, userId, response.getTotalHits(), response.getTookMs());
+        return response;
+    }
+
+    /**
+     * 삭제 이벤트를 놓쳐 색인에 남은 메시지를 결과에서 제거 (한 페이지 분량만 PK로 확인)
+     */
+    private int removeDeleted(List<ChatDto.MessageSearchResult> results) {
+        if (results.isEmpty()) {
+            return 0;
+        }
+        Set<Long> deletedIds = new HashSet<>(chatMessageRepository.findDeletedIdsIn(
+                results.stream().map(ChatDto.MessageSearchResult::getMessageId).toList()));
+        if (deletedIds.isEmpty()) {
+            return 0;
+        }
+        results.removeIf(result -> deletedIds.contains(result.getMessageId()));
+        deletedIds.forEach(messageId -> enqueue(new IndexOperation(messageId, null)));
+        return deletedIds.size();
+    }
+
+    private long findMaxIndexedId() throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs top = searcher.search(new MatchAllDocsQuery(), 1,
+                    new Sort(new SortField(FIELD_ID_SORT, SortField.Type.LONG, true)));
+            if (top.scoreDocs.length == 0) {
+                return 0;
+            }
+            return Long.parseLong(searcher.storedFields().document(top.scoreDocs[0].doc).get(FIELD_ID));
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private Query createScopeQuery(Long userId, Long roomId) {
+        if (roomId != null) {
+            if (!chatParticipantRepository.existsByChatRoomIdAndUserId(roomId, userId)) {
+                throw new RuntimeException("채팅방 참가자만 메시지를 검색할 수 있습니다.");
+            }
+            return LongPoint.newExactQuery(FIELD_ROOM_ID, roomId);
+        }
+
+        long[] roomIds = chatParticipantRepository.findByUserIdAndIsActiveTrue(userId).stream()
+                .mapToLong(participant -> participant.getChatRoom().getId())
+                .toArray();
+        return roomIds.length > 0 ? LongPoint.newSetQuery(FIELD_ROOM_ID, roomIds) : null;
+    }
+
+    private ChatDto.MessageSearchResult toSearchResult(Document document, float score, Highlighter highlighter)
+            throws IOException {
+        String content = document.get(FIELD_CONTENT);
+
+        ChatDto.MessageSearchResult result = new ChatDto.MessageSearchResult();
+        result.setMessageId(Long.parseLong(document.get(FIELD_ID)));
+        result.setChatRoomId(document.getField(FIELD_ROOM_ID).numericValue().longValue());
+        if (document.getField(FIELD_SENDER_ID) != null) {
+            result.setSenderId(document.getField(FIELD_SENDER_ID).numericValue().longValue());
+        }
+        result.setSenderNickname(document.get(FIELD_SENDER_NICKNAME));
+        result.setContent(content);
+        result.setSentAt(LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(document.getField(FIELD_SENT_AT).numericValue().longValue()),
+                ZoneId.systemDefault()));
+        result.setScore(Float.isNaN(score) ? null : score);
+
+        try {
+            String fragment = highlighter.getBestFragment(analyzer, FIELD_CONTENT, content);
+            result.setHighlightedContent(fragment != null ? fragment : SimpleHTMLEncoder.htmlEncode(content));
+        } catch (InvalidTokenOffsetsException e) {
+            result.setHighlightedContent(SimpleHTMLEncoder.htmlEncode(content));
+        }
+        return result;
+    }
+
+    private Document toDocument(IndexEvent event) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, event.messageId().toString(), Field.Store.YES));
+        document.add(new NumericDocValuesField(FIELD_ID_SORT, event.messageId()));
+
+        document.add(new LongPoint(FIELD_ROOM_ID, event.roomId()));
+        document.add(new StoredField(FIELD_ROOM_ID, event.roomId()));
+
+        if (event.senderId() != null) {
+            document.add(new LongPoint(FIELD_SENDER_ID, event.senderId()));
+            document.add(new StoredField(FIELD_SENDER_ID, event.senderId()));
+            if (event.senderNickname() != null) {
+                document.add(new StoredField(FIELD_SENDER_NICKNAME, event.senderNickname()));
+            }
+        }
+
+        document.add(new TextField(FIELD_CONTENT, event.content(), Field.Store.YES));
+        document.add(new StoredField(FIELD_SENT_AT, event.sentAtMillis()));
+        return document;
+    }
+
+    private boolean isIndexable(ChatMessage message) {
+        return message.getMessageType() != ChatMessage.MessageType.SYSTEM
+                && !Boolean.TRUE.equals(message.getIsDeleted())
+                && StringUtils.hasText(message.getContent());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void enqueue(IndexOperation operation) {
+        // 대기열이 가득 차면 채팅 전송을 막지 않고 색인만 건너뜀
+        if (!pendingOperations.offer(operation)) {
+            log.warn("채팅 검색 색인 대기열 초과로 메시지 {} 색인을 건너뜁니다.", operation.messageId());
+        }
+    }
+
+    private static Term idTerm(Long messageId) {
+        return new Term(FIELD_ID, messageId.toString());
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private record IndexOperation(Long messageId, Document document) {
+    }
+
+    // 노드 간 색인 이벤트 (엔티티 대신 색인에 필요한 값만 전달)
+    record IndexEvent(Long messageId, Long roomId, Long senderId, String senderNickname,
+                      String content, long sentAtMillis) {
+
+        static IndexEvent from(ChatMessage message) {
+            LocalDateTime sentAt = message.getSentAt() != null ? message.getSentAt() : LocalDateTime.now();
+            return new IndexEvent(
+                    message.getId(),
+                    message.getChatRoom().getId(),
+                    message.getSender() != null ? message.getSender().getId() : null,
+                    message.getSender() != null ? message.getSender().getNickname() : null,
+                    message.getContent(),
+                    sentAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+}
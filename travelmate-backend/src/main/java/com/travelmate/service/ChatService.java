@@ -4,6 +4,7 @@ import com.travelmate.dto.ChatDto;
 import com.travelmate.dto.UserDto;
 import com.travelmate.entity.*;
 import com.travelmate.repository.*;
+import com.travelmate.service.archive.ArchivedChatMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -15,7 +16,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,9 +30,11 @@ public class ChatService {
     private final UserRepository userRepository;
     private final TravelGroupRepository travelGroupRepository;
     private final SimpMessagingTemplate messagingTemplate;
-    
-    // 타이핑 상태 관리용 메모리 저장소
-    private final Map<String, Map<Long, LocalDateTime>> typingStatus = new ConcurrentHashMap<>();
+    private final TypingIndicatorService typingIndicatorService;
+    private final UserProfileCache userProfileCache;
+    private final ReadReceiptService readReceiptService;
+    private final ChatArchiveService chatArchiveService;
+    private final ChatSearchService chatSearchService;
     
     public ChatDto.ChatRoomResponse createChatRoom(Long creatorId, ChatDto.CreateChatRoomRequest request) {
         User creator = userRepository.findById(creatorId)
@@ -91,9 +93,24 @@ public class ChatService {
         PageRequest pageRequest = PageRequest.of(page, size, Sort.by("sentAt").descending());
         List<ChatMessage> messages = chatMessageRepository.findByChatRoomIdAndIsDeletedFalse(roomId, pageRequest);
         
-        return messages.stream()
+        List<ChatDto.MessageResponse> result = messages.stream()
             .map(this::convertMessageToDto)
             .collect(Collectors.toList());
+        
+        // hot 테이블에서 페이지를 다 채우지 못하면 아카이브에서 이어서 조회
+        if (result.size() < size && chatArchiveService.hasArchivedMessages(roomId)) {
+            long archiveOffset = 0;
+            if (result.isEmpty() && page > 0) {
+                long hotCount = chatMessageRepository.countByChatRoomIdAndIsDeletedFalse(roomId);
+                archiveOffset = Math.max(0, (long) page * size - hotCount);
+            }
+            
+            chatArchiveService.getMessages(roomId, archiveOffset, size - result.size()).stream()
+                .map(this::convertArchivedMessageToDto)
+                .forEach(result::add);
+        }
+        
+        return result;
     }
     
     public void processMessage(ChatDto.MessageRequest request) {
@@ -102,6 +119,7 @@ public class ChatService {
         
         User sender = userRepository.findById(request.getSenderId())
             .orElseThrow(() -> new RuntimeException("발신자를 찾을 수 없습니다."));
+        userProfileCache.put(sender);
         
         ChatMessage message = new ChatMessage();
         message.setChatRoom(chatRoom);
@@ -115,6 +133,8 @@ public class ChatService {
         message.setIsDeleted(false);
         
         ChatMessage savedMessage = chatMessageRepository.save(message);
+        readReceiptService.onMessageSaved(chatRoom.getId(), savedMessage.getId());
+        chatSearchService.indexMessage(savedMessage);
         
         // 채팅방 최근 메시지 업데이트
         chatRoom.setLastMessage(request.getContent());
@@ -125,6 +145,9 @@ public class ChatService {
         ChatDto.MessageResponse messageDto = convertMessageToDto(savedMessage);
         messagingTemplate.convertAndSend("/topic/chat/" + request.getChatRoomId(), messageDto);
         
+        // 메시지를 보냈으면 타이핑 상태 해제
+        typingIndicatorService.clearTyping(request.getChatRoomId(), sender.getId());
+        
         log.debug("메시지 전송: 방 {} - 발신자 {}", request.getChatRoomId(), sender.getNickname());
     }
     
@@ -134,6 +157,7 @@ public class ChatService {
         
         User user = userRepository.findById(request.getUserId())
             .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        userProfileCache.put(user);
         
         // 이미 참가자인지 확인
         if (!chatParticipantRepository.existsByChatRoomIdAndUserId(request.getChatRoomId(), request.getUserId())) {
@@ -166,16 +190,8 @@ public class ChatService {
     }
     
     public void markAsRead(Long roomId, Long userId) {
-        ChatParticipant participant = chatParticipantRepository.findByChatRoomIdAndUserId(roomId, userId)
-            .orElseThrow(() -> new RuntimeException("채팅방 참가자를 찾을 수 없습니다."));
-        
-        // 최신 메시지 ID 조회
-        ChatMessage latestMessage = chatMessageRepository.findTopByChatRoomIdOrderBySentAtDesc(roomId);
-        if (latestMessage != null) {
-            participant.setLastReadMessageId(latestMessage.getId());
-            participant.setLastReadAt(LocalDateTime.now());
-            chatParticipantRepository.save(participant);
-        }
+        // 메모리 워터마크만 갱신하고 DB 반영/브로드캐스트는 ReadReceiptService가 배치로 처리
+        readReceiptService.markAsRead(roomId, userId);
         
         log.debug("메시지 읽음 처리: 방 {} - 사용자 {}", roomId, userId);
     }
@@ -187,6 +203,7 @@ public class ChatService {
             participant.setUser(user);
             participant.setIsActive(true);
             chatParticipantRepository.save(participant);
+            readReceiptService.onParticipantAdded(chatRoom.getId(), user.getId());
         }
     }
     
@@ -198,21 +215,22 @@ public class ChatService {
         systemMessage.setIsDeleted(false);
         
         ChatMessage savedMessage = chatMessageRepository.save(systemMessage);
+        readReceiptService.onMessageSaved(roomId, savedMessage.getId());
         
         ChatDto.MessageResponse messageDto = convertMessageToDto(savedMessage);
         messagingTemplate.convertAndSend("/topic/chat/" + roomId, messageDto);
     }
     
     private Integer getUnreadMessageCount(Long roomId, Long userId) {
-        ChatParticipant participant = chatParticipantRepository.findByChatRoomIdAndUserId(roomId, userId)
-            .orElse(null);
+        // DB 반영 전의 읽음 상태까지 포함하기 위해 메모리 워터마크 사용
+        Long lastReadMessageId = readReceiptService.getLastReadMessageId(roomId, userId);
         
-        if (participant == null || participant.getLastReadMessageId() == null) {
+        if (lastReadMessageId == null) {
             return chatMessageRepository.countByChatRoomIdAndIsDeletedFalse(roomId);
         }
         
         return chatMessageRepository.countByChatRoomIdAndIdGreaterThanAndIsDeletedFalse(
-            roomId, participant.getLastReadMessageId());
+            roomId, lastReadMessageId);
     }
     
     private ChatDto.ChatRoomResponse convertChatRoomToDto(ChatRoom chatRoom) {
@@ -237,6 +255,8 @@ public class ChatService {
     }
     
     private ChatDto.ParticipantDto convertParticipantToDto(ChatParticipant participant) {
+        userProfileCache.put(participant.getUser());
+        
         ChatDto.ParticipantDto dto = new ChatDto.ParticipantDto();
         dto.setUserId(participant.getUser().getId());
         dto.setNickname(participant.getUser().getNickname());
@@ -267,6 +287,31 @@ public class ChatService {
         return dto;
     }
     
+    private ChatDto.MessageResponse convertArchivedMessageToDto(ArchivedChatMessage message) {
+        ChatDto.MessageResponse dto = new ChatDto.MessageResponse();
+        dto.setId(message.getId());
+        dto.setChatRoomId(message.getChatRoomId());
+        
+        if (message.getSenderId() != null) {
+            dto.setSender(UserDto.Response.builder()
+                .id(message.getSenderId())
+                .nickname(message.getSenderNickname())
+                .profileImageUrl(message.getSenderProfileImageUrl())
+                .build());
+        }
+        
+        dto.setContent(message.getContent());
+        dto.setMessageType(message.getMessageType());
+        dto.setImageUrl(message.getImageUrl());
+        dto.setLocationLatitude(message.getLocationLatitude());
+        dto.setLocationLongitude(message.getLocationLongitude());
+        dto.setLocationName(message.getLocationName());
+        dto.setSentAt(message.getSentAt());
+        dto.setIsDeleted(false);
+        
+        return dto;
+    }
+    
     private UserDto.Response convertUserToDto(User user) {
         return UserDto.Response.builder()
             .id(user.getId())
@@ -306,62 +351,29 @@ public class ChatService {
         response.setCanSendMessage(chatRoom.getIsActive());
         
         // 현재 타이핑 중인 사용자들
-        response.setTypingUsers(getTypingUsers(roomId, userId));
+        response.setTypingUsers(typingIndicatorService.getTypingNicknames(roomId, userId));
         
         return response;
     }
     
     public void updateTypingStatus(Long roomId, Long userId, boolean isTyping) {
-        String roomKey = "room_" + roomId;
-        
-        if (isTyping) {
-            typingStatus.computeIfAbsent(roomKey, k -> new ConcurrentHashMap<>())
-                .put(userId, LocalDateTime.now());
-        } else {
-            Map<Long, LocalDateTime> roomTyping = typingStatus.get(roomKey);
-            if (roomTyping != null) {
-                roomTyping.remove(userId);
-                if (roomTyping.isEmpty()) {
-                    typingStatus.remove(roomKey);
-                }
-            }
-        }
-        
-        // 타이핑 상태 브로드캐스트
-        List<String> typingUsers = getTypingUsers(roomId, userId);
-        messagingTemplate.convertAndSend("/topic/chat/" + roomId + "/typing", typingUsers);
-    }
-    
-    private List<String> getTypingUsers(Long roomId, Long excludeUserId) {
-        String roomKey = "room_" + roomId;
-        Map<Long, LocalDateTime> roomTyping = typingStatus.get(roomKey);
-        
-        if (roomTyping == null) {
-            return List.of();
-        }
-        
-        // 30초 이상 지난 타이핑 상태는 제거
-        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(30);
-        roomTyping.entrySet().removeIf(entry -> entry.getValue().isBefore(cutoff));
-        
-        return roomTyping.keySet().stream()
-            .filter(userId -> !userId.equals(excludeUserId))
-            .map(userId -> {
-                User user = userRepository.findById(userId).orElse(null);
-                return user != null ? user.getNickname() : "Unknown";
-            })
-            .collect(Collectors.toList());
+        // 브로드캐스트는 TypingIndicatorService가 방 단위로 모아서 주기적으로 전송
+        typingIndicatorService.updateTypingStatus(roomId, userId, isTyping);
     }
     
     public void deleteMessage(Long messageId, Long userId) {
+        // 아카이브 세그먼트는 수정하지 않으므로 보관된 메시지는 삭제 불가
         ChatMessage message = chatMessageRepository.findById(messageId)
-            .orElseThrow(() -> new RuntimeException("메시지를 찾을 수 없습니다."));
+            .orElseThrow(() -> chatArchiveService.findArchivedRoomId(messageId).isPresent()
+                ? new RuntimeException("보관된 메시지는 삭제할 수 없습니다.")
+                : new RuntimeException("메시지를 찾을 수 없습니다."));
         
         // 메시지 작성자 또는 시스템 메시지만 삭제 가능
         if (message.getSender() == null || message.getSender().getId().equals(userId)) {
             message.setIsDeleted(true);
             message.setContent("[삭제된 메시지입니다]");
             chatMessageRepository.save(message);
+            chatSearchService.removeMessage(messageId);
             
             // 삭제 알림 브로드캐스트
             ChatDto.MessageResponse deletedMessage = convertMessageToDto(message);
@@ -375,18 +387,21 @@ public class ChatService {
     
     @Transactional(readOnly = true)
     public List<ChatDto.ReadStatusDto> getMessageReadStatus(Long messageId) {
-        ChatMessage message = chatMessageRepository.findById(messageId)
+        Long roomId = chatMessageRepository.findChatRoomIdById(messageId)
+            .or(() -> chatArchiveService.findArchivedRoomId(messageId))
             .orElseThrow(() -> new RuntimeException("메시지를 찾을 수 없습니다."));
         
-        List<ChatParticipant> participants = chatParticipantRepository.findByChatRoomId(message.getChatRoom().getId());
+        // 정렬된 워터마크 배열에서 messageId 이상 읽은 참가자만 조회
+        Map<Long, LocalDateTime> readers = readReceiptService.getReaders(roomId, messageId);
+        Map<Long, UserProfileCache.ProfileSummary> profiles = userProfileCache.getAll(readers.keySet());
         
-        return participants.stream()
-            .filter(p -> p.getLastReadMessageId() != null && p.getLastReadMessageId() >= messageId)
-            .map(p -> {
+        return readers.entrySet().stream()
+            .map(entry -> {
+                UserProfileCache.ProfileSummary profile = profiles.get(entry.getKey());
                 ChatDto.ReadStatusDto dto = new ChatDto.ReadStatusDto();
-                dto.setUserId(p.getUser().getId());
-                dto.setNickname(p.getUser().getNickname());
-                dto.setReadAt(p.getLastReadAt());
+                dto.setUserId(entry.getKey());
+                dto.setNickname(profile != null ? profile.getNickname() : null);
+                dto.setReadAt(entry.getValue());
                 return dto;
             })
             .collect(Collectors.toList());
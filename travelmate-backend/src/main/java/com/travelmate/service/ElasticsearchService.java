@@ -2,29 +2,30 @@ package com.travelmate.service;
 
 import co.elastic.clients.elasticsearch._types.SortOrder;
 import co.elastic.clients.elasticsearch._types.query_dsl.*;
+import co.elastic.clients.json.JsonData;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.travelmate.document.TravelGroupDocument;
 import com.travelmate.dto.SearchRequestDto;
 import com.travelmate.dto.SearchResultDto;
-import com.travelmate.entity.TravelGroup;
-import com.travelmate.repository.TravelGroupRepository;
-import com.travelmate.repository.search.TravelGroupSearchRepository;
-import lombok.RequiredArgsConstructor;
+import com.travelmate.exception.BusinessException;
+import com.travelmate.service.search.GroupSearchRanking;
+import com.travelmate.service.search.SearchCursor;
+import com.travelmate.service.search.SearchQueryNormalizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
-import org.springframework.data.elasticsearch.core.geo.GeoPoint;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -32,280 +33,280 @@ import java.util.stream.Collectors;
  * Elasticsearch 검색 서비스
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ElasticsearchService {
 
-    private final TravelGroupSearchRepository searchRepository;
-    private final TravelGroupRepository travelGroupRepository;
+    // 정렬 값이 같을 때 순서를 고정하는 보조 정렬 (search_after 커서가 중복/누락 없이 이어지도록)
+    private static final String TIEBREAKER_FIELD = "id";
+
     private final ElasticsearchOperations elasticsearchOperations;
+    private final GroupSearchRanking ranking;
+    private final Cache<String, SearchResultDto> resultCache;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int maxResultWindow;
+    private final Duration pitKeepAlive;
+    private final int maxOpenPits;
+    // 이 노드가 열어 둔 point-in-time (마지막 사용 후 keep-alive가 지나면 ES에서도 만료됨)
+    private final Cache<String, Boolean> openPits;
+
+    public ElasticsearchService(
+            ElasticsearchOperations elasticsearchOperations,
+            GroupSearchRanking ranking,
+            MeterRegistry meterRegistry,
+            @Value("${app.search.result-cache.ttl-seconds:10}") long cacheTtlSeconds,
+            @Value("${app.search.result-cache.max-size:10000}") long cacheMaxSize,
+            @Value("${app.search.page.default-size:20}") int defaultPageSize,
+            @Value("${app.search.page.max-size:100}") int maxPageSize,
+            @Value("${app.search.page.max-result-window:1000}") int maxResultWindow,
+            @Value("${app.search.pit-keep-alive-seconds:15}") long pitKeepAliveSeconds,
+            @Value("${app.search.pit-max-open:100}") int maxOpenPits) {
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.ranking = ranking;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxResultWindow = maxResultWindow;
+        this.pitKeepAlive = Duration.ofSeconds(pitKeepAliveSeconds);
+        this.maxOpenPits = maxOpenPits;
+        this.openPits = Caffeine.newBuilder()
+                .expireAfterAccess(pitKeepAlive)
+                .build();
+        // 첫 페이지만 캐시하고 첫 페이지 커서에는 point-in-time이 없으므로 TTL은 신선도만 고려
+        this.resultCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, resultCache, "search.results");
+    }
 
     /**
      * 고급 검색 (Multi-field, Fuzzy, Boosting)
+     *
+     * 요청을 정규화한 키로 짧은 시간 결과를 캐시해서 같은 검색이 몰려도 클러스터에는 한 번만 간다.
+     * 첫 페이지(및 max-result-window 안의 얕은 페이지)는 from/size로 조회하고,
+     * 그 다음부터는 응답의 nextCursor(search_after)로 이어서 조회한다. 커서로 이어지는 페이지는
+     * point-in-time 검색기를 공유해 페이지 사이에 색인이 바뀌어도 결과가 밀리지 않는다.
+     * point-in-time은 마지막 페이지에서 바로 닫고, 중간에 그만둔 커서는 짧은 keep-alive로 만료시킨다.
+     * 노드당 열어 둔 수가 pit-max-open에 이르면 point-in-time 없이 search_after만으로 이어간다.
      */
     public SearchResultDto advancedSearch(SearchRequestDto request) {
-        try {
-            // Query 빌더 생성
-            NativeQueryBuilder queryBuilder = new NativeQueryBuilder();
-
-            // Bool Query 구성
-            BoolQuery.Builder boolQueryBuilder = new BoolQuery.Builder();
-
-            // 1. 텍스트 검색 (이름, 설명, 목적지)
-            if (request.getKeyword() != null && !request.getKeyword().isEmpty()) {
-                MultiMatchQuery multiMatchQuery = MultiMatchQuery.of(m -> m
-                    .query(request.getKeyword())
-                    .fields("name^3", "name.ngram^2", "description^2", "destination^2")
-                    .type(TextQueryType.BestFields)
-                    .fuzziness("AUTO")
-                );
-                boolQueryBuilder.must(Query.of(q -> q.multiMatch(multiMatchQuery)));
-            }
-
-            // 2. 여행 스타일 필터
-            if (request.getTravelStyle() != null && !request.getTravelStyle().isEmpty()) {
-                TermQuery termQuery = TermQuery.of(t -> t
-                    .field("travelStyle")
-                    .value(request.getTravelStyle())
-                );
-                boolQueryBuilder.filter(Query.of(q -> q.term(termQuery)));
-            }
-
-            // 3. 태그 필터
-            if (request.getTags() != null && !request.getTags().isEmpty()) {
-                TermsQuery termsQuery = TermsQuery.of(t -> t
-                    .field("tags")
-                    .terms(terms -> terms.value(
-                        request.getTags().stream()
-                            .map(tag -> FieldValue.of(tag))
-                            .collect(Collectors.toList())
-                    ))
-                );
-                boolQueryBuilder.filter(Query.of(q -> q.terms(termsQuery)));
-            }
+        SearchQueryNormalizer.NormalizedSearch normalized =
+            SearchQueryNormalizer.normalize(request, defaultPageSize, maxPageSize);
+        SearchRequestDto query = normalized.request();
 
-            // 4. 멤버 수 범위
-            if (request.getMinMembers() != null || request.getMaxMembers() != null) {
-                RangeQuery.Builder rangeBuilder = new RangeQuery.Builder().field("currentMembers");
+        // 커서 요청은 사용자별로 달라서 캐시하지 않음
+        if (query.getCursor() != null) {
+            return search(query);
+        }
+        return resultCache.get(normalized.cacheKey(), key -> search(query));
+    }
 
-                if (request.getMinMembers() != null) {
-                    rangeBuilder.gte(JsonData.of(request.getMinMembers()));
-                }
-                if (request.getMaxMembers() != null) {
-                    rangeBuilder.lte(JsonData.of(request.getMaxMembers()));
-                }
+    private SearchResultDto search(SearchRequestDto request) {
+        SearchCursor cursor = request.getCursor() != null ? SearchCursor.decode(request.getCursor()) : null;
+        int size = request.getSize();
+        if (cursor == null && (request.getPage() + 1) * size > maxResultWindow) {
+            throw new BusinessException("깊은 페이지는 nextCursor로 조회해 주세요.", "SEARCH_PAGE_TOO_DEEP");
+        }
 
-                boolQueryBuilder.filter(Query.of(q -> q.range(rangeBuilder.build())));
+        String pitId = null;
+        try {
+            if (cursor != null) {
+                // 첫 페이지 다음 요청에서 point-in-time을 열고 이후 페이지는 이어서 사용
+                pitId = cursor.pitId() != null ? cursor.pitId() : openPointInTime();
             }
 
-            // 5. 날짜 범위
-            if (request.getStartDate() != null || request.getEndDate() != null) {
-                RangeQuery.Builder rangeBuilder = new RangeQuery.Builder().field("startDate");
-
-                if (request.getStartDate() != null) {
-                    rangeBuilder.gte(JsonData.of(request.getStartDate().toString()));
+            SearchHits<TravelGroupDocument> searchHits;
+            try {
+                searchHits = elasticsearchOperations.search(buildSearch(request, cursor, pitId), TravelGroupDocument.class);
+            } catch (Exception e) {
+                if (cursor == null || cursor.pitId() == null) {
+                    throw e;
                 }
-                if (request.getEndDate() != null) {
-                    rangeBuilder.lte(JsonData.of(request.getEndDate().toString()));
-                }
-
-                boolQueryBuilder.filter(Query.of(q -> q.range(rangeBuilder.build())));
+                // keep-alive가 지나 만료된 point-in-time이면 새로 열어서 같은 위치부터 이어감
+                log.debug("만료된 검색 point-in-time 재생성: {}", e.getMessage());
+                openPits.invalidate(cursor.pitId());
+                pitId = openPointInTime();
+                searchHits = elasticsearchOperations.search(buildSearch(request, cursor, pitId), TravelGroupDocument.class);
             }
 
-            // 6. 지리적 검색 (위도/경도 반경)
-            if (request.getLatitude() != null && request.getLongitude() != null && request.getRadius() != null) {
-                GeoDistanceQuery geoQuery = GeoDistanceQuery.of(g -> g
-                    .field("location")
-                    .distance(request.getRadius() + "km")
-                    .location(loc -> loc.latlon(latlon -> latlon
-                        .lat(request.getLatitude())
-                        .lon(request.getLongitude())
-                    ))
-                );
-                boolQueryBuilder.filter(Query.of(q -> q.geoDistance(geoQuery)));
-            }
-
-            // 7. 활성/공개 그룹만
-            boolQueryBuilder.filter(Query.of(q -> q.term(t -> t.field("isActive").value(true))));
-            boolQueryBuilder.filter(Query.of(q -> q.term(t -> t.field("isPublic").value(true))));
-
-            // Query 설정
-            queryBuilder.withQuery(Query.of(q -> q.bool(boolQueryBuilder.build())));
-
-            // 정렬
-            String sortField = request.getSortBy() != null ? request.getSortBy() : "createdAt";
-            SortOrder sortOrder = "asc".equalsIgnoreCase(request.getSortOrder())
-                ? SortOrder.Asc
-                : SortOrder.Desc;
-            queryBuilder.withSort(s -> s.field(f -> f.field(sortField).order(sortOrder)));
-
-            // 페이징
-            Pageable pageable = PageRequest.of(
-                request.getPage() != null ? request.getPage() : 0,
-                request.getSize() != null ? request.getSize() : 20
-            );
-            queryBuilder.withPageable(pageable);
-
-            // 검색 실행
-            NativeQuery query = queryBuilder.build();
-            SearchHits<TravelGroupDocument> searchHits = elasticsearchOperations.search(query, TravelGroupDocument.class);
-
             // 결과 변환
             List<SearchResultDto.GroupResult> results = searchHits.getSearchHits().stream()
                 .map(hit -> convertToGroupResult(hit))
                 .collect(Collectors.toList());
 
+            String nextPitId = searchHits.getPointInTimeId() != null ? searchHits.getPointInTimeId() : pitId;
+            if (pitId != null && !pitId.equals(nextPitId)) {
+                openPits.invalidate(pitId);
+            }
+            pitId = nextPitId;
+
+            String nextCursor = null;
+            if (results.size() == size) {
+                SearchHit<TravelGroupDocument> last = searchHits.getSearchHits().get(results.size() - 1);
+                nextCursor = new SearchCursor(nextPitId, last.getSortValues()).encode();
+                if (nextPitId != null) {
+                    openPits.put(nextPitId, Boolean.TRUE);
+                }
+            } else if (nextPitId != null) {
+                // 마지막 페이지면 더 이어질 요청이 없으므로 keep-alive를 기다리지 않고 닫음
+                closePointInTime(nextPitId);
+            }
+
             return SearchResultDto.builder()
                 .results(results)
                 .totalResults(searchHits.getTotalHits())
-                .page(request.getPage() != null ? request.getPage() : 0)
+                .page(request.getPage())
                 .size(results.size())
                 .took(searchHits.getSearchHits().isEmpty() ? 0 :
                       searchHits.getSearchHits().get(0).getScore())
+                .nextCursor(nextCursor)
                 .build();
 
         } catch (Exception e) {
+            // 이번 요청에서 연 point-in-time은 커서로 전달되지 않으므로 닫음
+            if (pitId != null && !pitId.equals(cursor.pitId())) {
+                closePointInTime(pitId);
+            }
             log.error("Advanced search failed", e);
             throw new RuntimeException("검색 실행 중 오류가 발생했습니다", e);
         }
     }
 
-    /**
-     * 자동완성 검색
-     */
-    public List<String> autocomplete(String prefix) {
-        if (prefix == null || prefix.length() < 2) {
-            return new ArrayList<>();
+    // 벤치마크에서 캐시 없이 같은 질의를 만들 수 있도록 패키지 공개
+    NativeQuery buildSearch(SearchRequestDto request, SearchCursor cursor, String pitId) {
+        boolean recommended = SearchQueryNormalizer.RECOMMENDED_SORT.equals(request.getSortBy());
+        Query query = buildQuery(request);
+        NativeQueryBuilder queryBuilder = new NativeQueryBuilder()
+            .withQuery(recommended ? ranking.apply(query, request) : query);
+
+        // 정렬 (필드는 정규화 단계에서 허용 목록으로 제한됨, 추천 순위는 항상 점수 높은 순)
+        String sortField = recommended ? "_score" : request.getSortBy();
+        SortOrder sortOrder = !recommended && "asc".equals(request.getSortOrder()) ? SortOrder.Asc : SortOrder.Desc;
+        queryBuilder.withSort(s -> s.field(f -> f.field(sortField).order(sortOrder)));
+        queryBuilder.withSort(s -> s.field(f -> f.field(TIEBREAKER_FIELD).order(SortOrder.Asc)));
+
+        if (cursor == null) {
+            queryBuilder.withPageable(PageRequest.of(request.getPage(), request.getSize()));
+        } else {
+            queryBuilder.withPageable(PageRequest.of(0, request.getSize()))
+                .withSearchAfter(cursor.searchAfter());
+            if (pitId != null) {
+                queryBuilder.withPointInTime(new org.springframework.data.elasticsearch.core.query.Query.PointInTime(
+                    pitId, pitKeepAlive));
+            }
         }
+        return queryBuilder.build();
+    }
 
-        try {
-            NativeQuery query = new NativeQueryBuilder()
-                .withQuery(Query.of(q -> q.match(m -> m
-                    .field("name.ngram")
-                    .query(prefix)
-                )))
-                .withMaxResults(10)
-                .build();
-
-            SearchHits<TravelGroupDocument> hits = elasticsearchOperations.search(query, TravelGroupDocument.class);
-
-            return hits.getSearchHits().stream()
-                .map(hit -> hit.getContent().getName())
-                .distinct()
-                .limit(10)
-                .collect(Collectors.toList());
-
-        } catch (Exception e) {
-            log.error("Autocomplete search failed", e);
-            return new ArrayList<>();
+    private String openPointInTime() {
+        openPits.cleanUp();
+        if (openPits.estimatedSize() >= maxOpenPits) {
+            log.debug("열린 검색 point-in-time이 {}개 이상이라 point-in-time 없이 조회", maxOpenPits);
+            return null;
         }
+        String pitId = elasticsearchOperations.openPointInTime(
+            elasticsearchOperations.getIndexCoordinatesFor(TravelGroupDocument.class), pitKeepAlive);
+        openPits.put(pitId, Boolean.TRUE);
+        return pitId;
     }
 
-    /**
-     * 인기 검색어 (최근 생성된 그룹의 태그)
-     */
-    public List<String> getPopularTags() {
+    private void closePointInTime(String pitId) {
+        openPits.invalidate(pitId);
         try {
-            List<TravelGroupDocument> recentGroups = searchRepository.findTop10ByIsActiveTrueOrderByCreatedAtDesc();
-
-            return recentGroups.stream()
-                .flatMap(group -> group.getTags() != null ? group.getTags().stream() : null)
-                .distinct()
-                .limit(10)
-                .collect(Collectors.toList());
-
+            elasticsearchOperations.closePointInTime(pitId);
         } catch (Exception e) {
-            log.error("Failed to get popular tags", e);
-            return new ArrayList<>();
+            // 닫지 못해도 keep-alive가 지나면 만료됨
+            log.debug("검색 point-in-time 닫기 실패: {}", e.getMessage());
         }
     }
 
     /**
-     * 전체 재색인 (Full Reindex)
+     * 검색 조건 -> Bool Query
      */
-    @Async
-    @Transactional(readOnly = true)
-    public void reindexAllGroups() {
-        log.info("Starting full reindex of travel groups...");
-
-        try {
-            // 기존 인덱스 삭제
-            searchRepository.deleteAll();
+    private Query buildQuery(SearchRequestDto request) {
+        // Bool Query 구성
+        BoolQuery.Builder boolQueryBuilder = new BoolQuery.Builder();
+
+        // 1. 텍스트 검색 (이름, 설명, 목적지)
+        if (request.getKeyword() != null && !request.getKeyword().isEmpty()) {
+            MultiMatchQuery multiMatchQuery = MultiMatchQuery.of(m -> m
+                .query(request.getKeyword())
+                .fields("name^3", "name.ngram^2", "description^2", "destination^2")
+                .type(TextQueryType.BestFields)
+                .fuzziness("AUTO")
+            );
+            boolQueryBuilder.must(Query.of(q -> q.multiMatch(multiMatchQuery)));
+        }
 
-            // DB에서 모든 그룹 조회
-            List<TravelGroup> groups = travelGroupRepository.findAll();
+        // 2. 여행 스타일 필터
+        if (request.getTravelStyle() != null && !request.getTravelStyle().isEmpty()) {
+            TermQuery termQuery = TermQuery.of(t -> t
+                .field("travelStyle")
+                .value(request.getTravelStyle())
+            );
+            boolQueryBuilder.filter(Query.of(q -> q.term(termQuery)));
+        }
 
-            // Elasticsearch에 저장
-            List<TravelGroupDocument> documents = groups.stream()
-                .map(this::convertToDocument)
+        // 3. 태그 필터 (하나라도 일치, 대소문자 무시 - 캐시 키가 태그를 소문자로 접음)
+        if (request.getTags() != null && !request.getTags().isEmpty()) {
+            List<Query> tagQueries = request.getTags().stream()
+                .map(tag -> Query.of(q -> q.term(t -> t
+                    .field("tags")
+                    .value(tag)
+                    .caseInsensitive(true))))
                 .collect(Collectors.toList());
+            boolQueryBuilder.filter(Query.of(q -> q.bool(b -> b
+                .should(tagQueries)
+                .minimumShouldMatch("1"))));
+        }
 
-            searchRepository.saveAll(documents);
+        // 4. 멤버 수 범위
+        if (request.getMinMembers() != null || request.getMaxMembers() != null) {
+            RangeQuery.Builder rangeBuilder = new RangeQuery.Builder().field("currentMembers");
 
-            log.info("Reindexing completed. Total groups indexed: {}", documents.size());
+            if (request.getMinMembers() != null) {
+                rangeBuilder.gte(JsonData.of(request.getMinMembers()));
+            }
+            if (request.getMaxMembers() != null) {
+                rangeBuilder.lte(JsonData.of(request.getMaxMembers()));
+            }
 
-        } catch (Exception e) {
-            log.error("Reindexing failed", e);
+            boolQueryBuilder.filter(Query.of(q -> q.range(rangeBuilder.build())));
         }
-    }
 
-    /**
-     * 단일 그룹 색인
-     */
-    public void indexGroup(TravelGroup group) {
-        try {
-            TravelGroupDocument document = convertToDocument(group);
-            searchRepository.save(document);
-            log.debug("Group indexed: {}", group.getId());
-        } catch (Exception e) {
-            log.error("Failed to index group: {}", group.getId(), e);
-        }
-    }
+        // 5. 날짜 범위
+        if (request.getStartDate() != null || request.getEndDate() != null) {
+            RangeQuery.Builder rangeBuilder = new RangeQuery.Builder().field("startDate");
 
-    /**
-     * 그룹 색인 삭제
-     */
-    public void deleteGroupIndex(Long groupId) {
-        try {
-            searchRepository.deleteById(groupId.toString());
-            log.debug("Group index deleted: {}", groupId);
-        } catch (Exception e) {
-            log.error("Failed to delete group index: {}", groupId, e);
+            if (request.getStartDate() != null) {
+                rangeBuilder.gte(JsonData.of(request.getStartDate().toString()));
+            }
+            if (request.getEndDate() != null) {
+                rangeBuilder.lte(JsonData.of(request.getEndDate().toString()));
+            }
+
+            boolQueryBuilder.filter(Query.of(q -> q.range(rangeBuilder.build())));
         }
-    }
 
-    /**
-     * TravelGroup -> TravelGroupDocument 변환
-     */
-    private TravelGroupDocument convertToDocument(TravelGroup group) {
-        TravelGroupDocument.GeoPoint location = null;
-        if (group.getLatitude() != null && group.getLongitude() != null) {
-            location = TravelGroupDocument.GeoPoint.of(
-                group.getLatitude(),
-                group.getLongitude()
+        // 6. 지리적 검색 (위도/경도 반경)
+        if (request.getLatitude() != null && request.getLongitude() != null && request.getRadius() != null) {
+            GeoDistanceQuery geoQuery = GeoDistanceQuery.of(g -> g
+                .field("location")
+                .distance(request.getRadius() + "km")
+                .location(loc -> loc.latlon(latlon -> latlon
+                    .lat(request.getLatitude())
+                    .lon(request.getLongitude())
+                ))
             );
+            boolQueryBuilder.filter(Query.of(q -> q.geoDistance(geoQuery)));
         }
 
-        return TravelGroupDocument.builder()
-            .id(group.getId().toString())
-            .name(group.getName())
-            .description(group.getDescription())
-            .destination(group.getDestination())
-            .travelStyle(group.getTravelStyle())
-            .tags(group.getTags() != null ?
-                  List.of(group.getTags().split(",")) :
-                  new ArrayList<>())
-            .currentMembers(group.getCurrentMembers())
-            .maxMembers(group.getMaxMembers())
-            .startDate(group.getStartDate())
-            .endDate(group.getEndDate())
-            .createdAt(group.getCreatedAt())
-            .location(location)
-            .isPublic(group.getIsPublic())
-            .isActive(true)
-            .creatorId(group.getCreator() != null ? group.getCreator().getId() : null)
-            .creatorName(group.getCreator() != null ? group.getCreator().getNickname() : null)
-            .build();
+        // 7. 활성/공개 그룹만
+        boolQueryBuilder.filter(Query.of(q -> q.term(t -> t.field("isActive").value(true))));
+        boolQueryBuilder.filter(Query.of(q -> q.term(t -> t.field("isPublic").value(true))));
+
+        return Query.of(q -> q.bool(boolQueryBuilder.build()));
     }
 
     /**
@@ -0,0 +1,258 @@
+package com.travelmate.service;
+
+import com.travelmate.entity.EmailOutbox;
+import com.travelmate.service.mail.MailBatchSender;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 이메일 비동기 발송
+ *
+ * 가입/비밀번호 재설정 요청은 email_outbox에 한 행만 기록하고 바로 응답한다. (요청 트랜잭션에 참여)
+ * 발송 워커는 대기 중인 메일을 짧은 트랜잭션으로 선점(lease)한 뒤 트랜잭션 밖에서
+ * 전용 스레드 풀로 나눠 보내며, 스레드마다 하나의 SMTP 연결로 묶음을 전송한다.
+ * 보낸 메일은 삭제하고, 실패한 메일은 백오프 후 재시도한다. 최대 재시도를 넘긴 메일은 본문을 비우고 FAILED로 남긴다. 선점한 노드가 중간에 죽으면
+ * lease-ms 후 다른 노드가 다시 가져간다. (최소 한 번 발송)
+ */
+@Service
+@Slf4j
+public class EmailDispatchService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO email_outbox (recipient, subject, body, status, attempts, next_attempt_at, created_at) " +
+            "VALUES (?, ?, ?, 'PENDING', 0, ?, ?)";
+
+    private static final String SELECT_PENDING_SQL =
+            "SELECT id, recipient, subject, body, attempts FROM email_outbox " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= ? ORDER BY id LIMIT ?";
+
+    private static final String LEASE_SQL = "UPDATE email_outbox SET next_attempt_at = ? WHERE id = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM email_outbox WHERE id = ?";
+
+    private static final String UPDATE_RETRY_SQL =
+            "UPDATE email_outbox SET attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?";
+
+    // 최종 실패한 메일은 인증/재설정 링크가 남지 않도록 본문을 비움
+    private static final String UPDATE_FAILED_SQL =
+            "UPDATE email_outbox SET status = 'FAILED', attempts = ?, last_error = ?, body = '' WHERE id = ?";
+
+    private static final long MAX_BACKOFF_MILLIS = 3_600_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MailBatchSender sender;
+    private final ThreadPoolTaskExecutor sendExecutor;
+    private final int batchSize;
+    private final int messagesPerConnection;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final long leaseMillis;
+    private final String claimSuffix;
+
+    private final Counter enqueuedCounter;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+
+    private final RowMapper<EmailOutbox> rowMapper = (rs, rowNum) -> EmailOutbox.builder()
+            .id(rs.getLong("id"))
+            .recipient(rs.getString("recipient"))
+            .subject(rs.getString("subject"))
+            .body(rs.getString("body"))
+            .attempts(rs.getInt("attempts"))
+            .build();
+
+    public EmailDispatchService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ObjectProvider<JavaMailSender> mailSenderProvider,
+            MeterRegistry meterRegistry,
+            @Value("${app.mail.transport:log}") String transport,
+            @Value("${app.mail.from:TravelMate <no-reply@travelmate.app>}") String from,
+            @Value("${app.mail.outbox.workers:4}") int workers,
+            @Value("${app.mail.outbox.batch-size:200}") int batchSize,
+            @Value("${app.mail.outbox.messages-per-connection:50}") int messagesPerConnection,
+            @Value("${app.mail.outbox.max-attempts:5}") int maxAttempts,
+            @Value("${app.mail.outbox.retry-backoff-ms:30000}") long retryBackoffMillis,
+            @Value("${app.mail.outbox.lease-ms:300000}") long leaseMillis,
+            @Value("${app.mail.outbox.skip-locked:true}") boolean skipLocked) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.messagesPerConnection = Math.max(1, messagesPerConnection);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.leaseMillis = leaseMillis;
+        this.claimSuffix = skipLocked ? " FOR UPDATE SKIP LOCKED" : " FOR UPDATE";
+
+        JavaMailSender mailSender = null;
+        if ("smtp".equalsIgnoreCase(transport)) {
+            mailSender = mailSenderProvider.getIfAvailable();
+            if (mailSender == null) {
+                throw new IllegalStateException("SMTP 발송에 필요한 spring.mail.host 설정이 없습니다.");
+            }
+        }
+        this.sender = new MailBatchSender(mailSender, from);
+
+        this.sendExecutor = new ThreadPoolTaskExecutor();
+        sendExecutor.setCorePoolSize(workers);
+        sendExecutor.setMaxPoolSize(workers);
+        sendExecutor.setQueueCapacity(Math.max(1, batchSize / this.messagesPerConnection + 1));
+        sendExecutor.setThreadNamePrefix("mail-sender-");
+        sendExecutor.initialize();
+
+        this.enqueuedCounter = Counter.builder("mail.outbox.enqueued")
+                .description("발송 대기열에 기록된 메일 수").register(meterRegistry);
+        this.sentCounter = Counter.builder("mail.outbox.sent")
+                .description("발송 완료된 메일 수").register(meterRegistry);
+        this.retriedCounter = Counter.builder("mail.outbox.retried")
+                .description("재시도 예약된 메일 수").register(meterRegistry);
+        this.failedCounter = Counter.builder("mail.outbox.failed")
+                .description("최대 재시도를 초과한 메일 수").register(meterRegistry);
+        this.batchTimer = Timer.builder("mail.outbox.batch")
+                .description("메일 배치 발송 시간").register(meterRegistry);
+
+        log.info("이메일 발송 워커: transport={}, workers={}, batch={}", transport, workers, batchSize);
+    }
+
+    /**
+     * 메일 발송 요청 기록 (호출자 트랜잭션에 참여)
+     */
+    @Transactional
+    public void enqueue(String recipient, String subject, String body) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(INSERT_SQL, recipient, subject, body, now, now);
+        enqueuedCounter.increment();
+    }
+
+    /**
+     * 대기 중인 메일을 배치 단위로 발송 (밀린 메일이 있으면 연속 처리)
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:1000}")
+    public void processOutbox() {
+        int processed;
+        do {
+            Timer.Sample sample = Timer.start();
+            processed = processBatch();
+            sample.stop(batchTimer);
+        } while (processed >= batchSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdown();
+    }
+
+    private int processBatch() {
+        List<EmailOutbox> claimed = claim();
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        // 연결당 묶음으로 나눠 전용 스레드에서 병렬 발송
+        List<Future<Map<Long, String>>> futures = new ArrayList<>();
+        for (int from = 0; from < claimed.size(); from += messagesPerConnection) {
+            List<EmailOutbox> chunk = claimed.subList(from, Math.min(from + messagesPerConnection, claimed.size()));
+            futures.add(sendExecutor.submit(() -> sender.send(chunk)));
+        }
+
+        Map<Long, String> failures = new HashMap<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                failures.putAll(futures.get(i).get());
+            } catch (Exception e) {
+                int from = i * messagesPerConnection;
+                claimed.subList(from, Math.min(from + messagesPerConnection, claimed.size()))
+                        .forEach(email -> failures.put(email.getId(), String.valueOf(e.getMessage())));
+            }
+        }
+
+        List<EmailOutbox> sent = claimed.stream().filter(email -> !failures.containsKey(email.getId())).toList();
+        if (!sent.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(DELETE_SQL, sent, sent.size(),
+                    (ps, email) -> ps.setLong(1, email.getId())));
+            sentCounter.increment(sent.size());
+        }
+
+        claimed.stream()
+                .filter(email -> failures.containsKey(email.getId()))
+                .forEach(email -> scheduleRetry(email, failures.get(email.getId())));
+
+        log.debug("메일 발송: {}건 성공, {}건 실패", sent.size(), failures.size());
+        return claimed.size();
+    }
+
+    /**
+     * 대기 메일을 잠그고 lease 시각까지 다른 워커가 가져가지 못하게 표시
+     */
+    private List<EmailOutbox> claim() {
+        List<EmailOutbox> claimed = transactionTemplate.execute(status -> {
+            List<EmailOutbox> rows = jdbcTemplate.query(SELECT_PENDING_SQL + claimSuffix, rowMapper,
+                    Timestamp.valueOf(LocalDateTime.now()), batchSize);
+            if (!rows.isEmpty()) {
+                Timestamp leaseUntil = Timestamp.valueOf(LocalDateTime.now().plusNanos(leaseMillis * 1_000_000));
+                jdbcTemplate.batchUpdate(LEASE_SQL, rows, rows.size(), (ps, email) -> {
+                    ps.setTimestamp(1, leaseUntil);
+                    ps.setLong(2, email.getId());
+                });
+            }
+            return rows;
+        });
+        return claimed != null ? claimed : List.of();
+    }
+
+    private void scheduleRetry(EmailOutbox email, String error) {
+        int attempts = email.getAttempts() + 1;
+        boolean exhausted = attempts >= maxAttempts;
+        long backoff = Math.min(MAX_BACKOFF_MILLIS, retryBackoffMillis << Math.min(attempts - 1, 20));
+        // 같은 시각에 몰리지 않도록 최대 20% 지터
+        backoff += ThreadLocalRandom.current().nextLong(backoff / 5 + 1);
+        String truncated = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (exhausted) {
+                    jdbcTemplate.update(UPDATE_FAILED_SQL, attempts, truncated, email.getId());
+                } else {
+                    jdbcTemplate.update(UPDATE_RETRY_SQL, attempts,
+                            Timestamp.valueOf(LocalDateTime.now().plusNanos(backoff * 1_000_000)), truncated, email.getId());
+                }
+            });
+        } catch (Exception e) {
+            log.error("메일 재시도 기록 실패: {}", email.getId(), e);
+            return;
+        }
+
+        if (exhausted) {
+            failedCounter.increment();
+            log.error("메일 발송 최종 실패: outbox={}, 시도 {}회 - {}", email.getId(), attempts, truncated);
+        } else {
+            retriedCounter.increment();
+            log.warn("메일 발송 실패, {}ms 후 재시도: outbox={} - {}", backoff, email.getId(), truncated);
+        }
+    }
+}
@@ -1,110 +1,76 @@
 package com.travelmate.service;
 
+import com.travelmate.service.token.TokenStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
+import java.time.Duration;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
-    // 임시로 메모리에 저장 (실제로는 Redis나 DB 사용 권장)
-    private final Map<String, VerificationToken> verificationTokens = new ConcurrentHashMap<>();
+    private static final Duration VERIFICATION_TTL = Duration.ofHours(24);
+    private static final Duration PASSWORD_RESET_TTL = Duration.ofHours(1);
+
+    private final EmailDispatchService emailDispatchService;
+    private final TokenStore tokenStore;
 
     @Value("${app.frontend.url:http://localhost:3000}")
     private String frontendUrl;
 
     public String sendVerificationEmail(String email, String fullName) {
         String token = UUID.randomUUID().toString();
-        VerificationToken verificationToken = new VerificationToken(
-            email,
-            token,
-            System.currentTimeMillis() + TimeUnit.HOURS.toMillis(24) // 24시간 유효
-        );
-
-        verificationTokens.put(token, verificationToken);
+        tokenStore.put(token, email, VERIFICATION_TTL);
 
-        // 실제로는 이메일 발송 (SMTP, SendGrid, AWS SES 등 사용)
         String verificationLink = frontendUrl + "/verify-email?token=" + token;
+        String body = String.format(
+            "%s님, TravelMate 가입을 환영합니다.%n%n" +
+            "아래 링크를 눌러 이메일 인증을 완료해 주세요. (24시간 동안 유효)%n%s%n",
+            fullName != null ? fullName : "회원", verificationLink);
 
-        log.info("이메일 인증 링크 생성: {} -> {}", email, verificationLink);
-        log.info("=================================================");
-        log.info("📧 이메일 인증 링크 (개발 모드):");
-        log.info("수신자: {}", email);
-        log.info("링크: {}", verificationLink);
-        log.info("유효기간: 24시간");
-        log.info("=================================================");
-
-        // TODO: 실제 이메일 발송 구현
-        // emailSender.send(email, "TravelMate 이메일 인증", emailTemplate);
+        // 발송 대기열에 기록만 하고 실제 발송은 EmailDispatchService 워커가 처리
+        emailDispatchService.enqueue(email, "TravelMate 이메일 인증", body);
+        log.info("이메일 인증 메일 요청: {}", email);
 
         return token;
     }
 
     public boolean verifyEmail(String token) {
-        VerificationToken verificationToken = verificationTokens.get(token);
-
-        if (verificationToken == null) {
-            log.warn("유효하지 않은 인증 토큰: {}", token);
-            return false;
-        }
-
-        if (System.currentTimeMillis() > verificationToken.expiryTime) {
-            verificationTokens.remove(token);
-            log.warn("만료된 인증 토큰: {}", token);
+        // 조회와 삭제를 한 번에 처리해 같은 토큰으로 두 번 인증되지 않게 함
+        Optional<String> email = tokenStore.consume(token);
+        if (email.isEmpty()) {
+            log.warn("유효하지 않거나 만료된 인증 토큰: {}", token);
             return false;
         }
 
-        verificationTokens.remove(token);
-        log.info("이메일 인증 성공: {}", verificationToken.email);
+        log.info("이메일 인증 성공: {}", email.get());
         return true;
     }
 
     public String getEmailByToken(String token) {
-        VerificationToken verificationToken = verificationTokens.get(token);
-        return verificationToken != null ? verificationToken.email : null;
+        return tokenStore.get(token).orElse(null);
     }
 
     public String sendPasswordResetEmail(String email) {
         String token = UUID.randomUUID().toString();
-        VerificationToken resetToken = new VerificationToken(
-            email,
-            token,
-            System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1) // 1시간 유효
-        );
-
-        verificationTokens.put(token, resetToken);
+        tokenStore.put(token, email, PASSWORD_RESET_TTL);
 
         String resetLink = frontendUrl + "/reset-password?token=" + token;
+        String body = String.format(
+            "TravelMate 비밀번호 재설정 요청을 받았습니다.%n%n" +
+            "아래 링크에서 새 비밀번호를 설정해 주세요. (1시간 동안 유효)%n%s%n%n" +
+            "본인이 요청하지 않았다면 이 메일을 무시해 주세요.%n",
+            resetLink);
 
-        log.info("비밀번호 재설정 링크 생성: {} -> {}", email, resetLink);
-        log.info("=================================================");
-        log.info("🔑 비밀번호 재설정 링크 (개발 모드):");
-        log.info("수신자: {}", email);
-        log.info("링크: {}", resetLink);
-        log.info("유효기간: 1시간");
-        log.info("=================================================");
+        emailDispatchService.enqueue(email, "TravelMate 비밀번호 재설정", body);
+        log.info("비밀번호 재설정 메일 요청: {}", email);
 
         return token;
     }
-
-    // 이메일 인증 토큰 정보를 담는 내부 클래스
-    private static class VerificationToken {
-        String email;
-        String token;
-        long expiryTime;
-
-        VerificationToken(String email, String token, long expiryTime) {
-            this.email = email;
-            this.token = token;
-            this.expiryTime = expiryTime;
-        }
-    }
 }
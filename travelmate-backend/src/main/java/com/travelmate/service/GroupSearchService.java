@@ -0,0 +1,86 @@
+package com.travelmate.service;
+
+import com.travelmate.dto.SearchRequestDto;
+import com.travelmate.dto.SearchResultDto;
+import com.travelmate.exception.BusinessException;
+import com.travelmate.util.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+/**
+ * 여행 그룹 검색 진입점
+ *
+ * 평소에는 Elasticsearch로 검색하고, 연속으로 실패하면 서킷을 열어 open-ms 동안 바로
+ * 로컬 Lucene 색인(LocalGroupSearchService)으로 검색한다. 그 후 요청 하나로 ES 복구 여부를 확인한다.
+ * 잘못된 요청(깊은 페이지, 잘못된 커서)은 ES 장애로 세지 않는다.
+ */
+@Service
+@Slf4j
+public class GroupSearchService {
+
+    private final ElasticsearchService elasticsearchService;
+    private final LocalGroupSearchService localGroupSearchService;
+    private final CircuitBreaker circuitBreaker;
+    private final Counter fallbackOpenCounter;
+    private final Counter fallbackErrorCounter;
+
+    public GroupSearchService(
+            ElasticsearchService elasticsearchService,
+            LocalGroupSearchService localGroupSearchService,
+            MeterRegistry meterRegistry,
+            @Value("${app.search.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${app.search.circuit-breaker.open-ms:30000}") long openMillis) {
+        this.elasticsearchService = elasticsearchService;
+        this.localGroupSearchService = localGroupSearchService;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openMillis);
+
+        Gauge.builder("search.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("ES 검색 서킷 상태 (0: CLOSED, 1: OPEN, 2: HALF_OPEN)")
+                .register(meterRegistry);
+        this.fallbackOpenCounter = Counter.builder("search.fallback")
+                .tag("reason", "open")
+                .description("서킷이 열려 로컬 색인으로 처리한 검색 수")
+                .register(meterRegistry);
+        this.fallbackErrorCounter = Counter.builder("search.fallback")
+                .tag("reason", "error")
+                .description("ES 오류로 로컬 색인으로 처리한 검색 수")
+                .register(meterRegistry);
+    }
+
+    public SearchResultDto search(SearchRequestDto request) {
+        if (!circuitBreaker.tryAcquire()) {
+            fallbackOpenCounter.increment();
+            return searchLocally(request, null);
+        }
+
+        try {
+            SearchResultDto result = elasticsearchService.advancedSearch(request);
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (BusinessException | IllegalArgumentException e) {
+            circuitBreaker.release();
+            throw e;
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            fallbackErrorCounter.increment();
+            log.warn("ES 검색 실패, 로컬 색인으로 검색 (서킷 {}): {}", circuitBreaker.getState(), e.getMessage());
+            return searchLocally(request, e);
+        }
+    }
+
+    private SearchResultDto searchLocally(SearchRequestDto request, RuntimeException cause) {
+        if (!localGroupSearchService.isEnabled()) {
+            if (cause != null) {
+                throw cause;
+            }
+            throw new BusinessException("검색 서비스를 일시적으로 사용할 수 없습니다.",
+                    HttpStatus.SERVICE_UNAVAILABLE, "SEARCH_UNAVAILABLE");
+        }
+        return localGroupSearchService.search(request);
+    }
+}
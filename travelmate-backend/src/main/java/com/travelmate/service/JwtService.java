@@ -20,7 +20,10 @@ public class JwtService {
     @Value("${app.jwt.expiration}")
     private Long jwtExpiration;
     
-    public String generateToken(Long userId, String email) {
+    /**
+     * 액세스 토큰 발급 (role은 관리자 API 인가에 사용, 역할 변경은 토큰 재발급 후 반영됨)
+     */
+    public String generateToken(Long userId, String email, String role) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
         
@@ -29,6 +32,7 @@ public class JwtService {
         return Jwts.builder()
             .setSubject(userId.toString())
             .claim("email", email)
+            .claim("role", role)
             .setIssuedAt(now)
             .setExpiration(expiryDate)
             .signWith(key, SignatureAlgorithm.HS256)
@@ -55,6 +59,16 @@ public class JwtService {
         return claims.get("email", String.class);
     }
     
+    public String getRoleFromToken(String token) {
+        Claims claims = Jwts.parserBuilder()
+            .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+            .build()
+            .parseClaimsJws(token)
+            .getBody();
+        
+        return claims.get("role", String.class);
+    }
+    
     public boolean validateToken(String authToken) {
         try {
             Jwts.parserBuilder()
@@ -0,0 +1,696 @@
+package com.travelmate.service;
+
+import com.travelmate.document.TravelGroupDocument;
+import com.travelmate.dto.SearchRequestDto;
+import com.travelmate.dto.SearchResultDto;
+import com.travelmate.entity.TravelGroup;
+import com.travelmate.exception.BusinessException;
+import com.travelmate.repository.TravelGroupRepository;
+import com.travelmate.service.search.GroupIndexEvent;
+import com.travelmate.service.search.SearchCursor;
+import com.travelmate.service.search.SearchQueryNormalizer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.analysis.ko.KoreanPartOfSpeechStopFilter;
+import org.apache.lucene.analysis.ko.KoreanTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LatLonPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 여행 그룹 검색 예비 엔진 (임베디드 Lucene)
+ *
+ * Elasticsearch와 같은 변경 흐름(GroupIndexEvent)을 구독해 노드 로컬 디스크에 색인을 유지하고,
+ * ES 장애로 서킷이 열리면 GroupSearchService가 이쪽으로 검색을 돌린다. 외부 클러스터 없는
+ * 개발/CI 환경에서도 그대로 검색할 수 있다.
+ *
+ * 색인 워커가 처리한 변경은 그 노드에만 전달되므로, 기동 시 DB에서 전체를 다시 맞추고 이후에는
+ * updated_at 기준 증분 동기화와 주기적인 삭제 정리로 다른 노드의 변경을 따라간다.
+ * 검색 가능한(활성/공개) 그룹만 색인하며, 질의/필터/정렬/커서는 ElasticsearchService와 같은 규칙을 따른다.
+ */
+@Service
+@Slf4j
+public class LocalGroupSearchService {
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_ID_SORT = "idSort";
+    private static final String FIELD_NAME = "name";
+    private static final String FIELD_DESCRIPTION = "description";
+    private static final String FIELD_DESTINATION = "destination";
+    private static final String FIELD_TRAVEL_STYLE = "travelStyle";
+    private static final String FIELD_TAGS = "tags";
+    private static final String FIELD_CURRENT_MEMBERS = "currentMembers";
+    private static final String FIELD_MAX_MEMBERS = "maxMembers";
+    private static final String FIELD_START_DATE = "startDate";
+    private static final String FIELD_END_DATE = "endDate";
+    private static final String FIELD_CREATED_AT = "createdAt";
+    private static final String FIELD_LOCATION = "location";
+
+    private final TravelGroupRepository travelGroupRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final boolean enabled;
+    private final String indexPath;
+    private final double ramBufferMb;
+    private final int loadPageSize;
+    private final long syncOverlapSeconds;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int maxResultWindow;
+
+    private final Analyzer analyzer = new KoreanAnalyzer(null, KoreanTokenizer.DecompoundMode.MIXED,
+            KoreanPartOfSpeechStopFilter.DEFAULT_STOP_TAGS, false);
+
+    private final AtomicBoolean uncommitted = new AtomicBoolean(false);
+    // 전체 재구성 중에는 지운 뒤 다시 채우는 중간 상태가 보이지 않도록 검색기 갱신을 미룸
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    // 마지막으로 DB와 맞춘 시각 (전체 재구성 전에는 null이라 증분 동기화를 건너뜀)
+    private volatile LocalDateTime syncWatermark;
+
+    private Directory directory;
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+
+    public LocalGroupSearchService(
+            TravelGroupRepository travelGroupRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.search.local.enabled:true}") boolean enabled,
+            @Value("${app.search.local.index-path:./data/group-index}") String indexPath,
+            @Value("${app.search.local.ram-buffer-mb:16}") double ramBufferMb,
+            @Value("${app.search.local.load-page-size:1000}") int loadPageSize,
+            @Value("${app.search.local.sync-overlap-seconds:60}") long syncOverlapSeconds,
+            @Value("${app.search.page.default-size:20}") int defaultPageSize,
+            @Value("${app.search.page.max-size:100}") int maxPageSize,
+            @Value("${app.search.page.max-result-window:1000}") int maxResultWindow) {
+        this.travelGroupRepository = travelGroupRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.indexPath = indexPath;
+        this.ramBufferMb = ramBufferMb;
+        this.loadPageSize = loadPageSize;
+        this.syncOverlapSeconds = syncOverlapSeconds;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxResultWindow = maxResultWindow;
+
+        Gauge.builder("search.local.docs", this, service -> service.indexWriter != null
+                        ? service.indexWriter.getDocStats().numDocs : 0)
+                .description("로컬 예비 검색 색인 문서 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Path path = Paths.get(indexPath);
+        Files.createDirectories(path);
+        directory = FSDirectory.open(path);
+
+        IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        config.setRAMBufferSizeMB(ramBufferMb);
+        indexWriter = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(indexWriter, null);
+
+        log.info("로컬 그룹 검색 색인 열기: {} ({}건)", path.toAbsolutePath(), indexWriter.getDocStats().numDocs);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 기동 시 DB와 다시 맞춤 (중단된 동안이나 다른 노드가 처리한 변경 반영, 끝날 때까지는 디스크의 이전 색인으로 검색)
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFromDatabase() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rebuildIndex();
+        } catch (Exception e) {
+            log.error("로컬 그룹 검색 색인 재구성 실패", e);
+        }
+    }
+
+    public long rebuildIndex() throws IOException {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            indexWriter.deleteAll();
+            long afterId = 0;
+            long total = 0;
+            while (true) {
+                long cursor = afterId;
+                List<TravelGroupDocument> page = readOnlyTransactionTemplate.execute(status ->
+                        travelGroupRepository.findPageWithCreatorAfter(cursor, PageRequest.of(0, loadPageSize)).stream()
+                                .map(TravelGroupDocument::from)
+                                .toList());
+                if (page == null || page.isEmpty()) {
+                    break;
+                }
+                for (TravelGroupDocument document : page) {
+                    if (isSearchable(document)) {
+                        indexWriter.updateDocument(idTerm(document.getId()), toDocument(document));
+                        total++;
+                    }
+                }
+                afterId = Long.parseLong(page.get(page.size() - 1).getId());
+            }
+
+            indexWriter.commit();
+            syncWatermark = startedAt;
+            log.info("로컬 그룹 검색 색인 재구성 완료: {}건", total);
+            return total;
+        } finally {
+            rebuilding.set(false);
+            searcherManager.maybeRefresh();
+        }
+    }
+
+    /**
+     * 마지막 동기화 이후 바뀐 그룹을 DB에서 읽어 반영 (다른 노드의 색인 워커가 처리한 변경)
+     *
+     * 노드 간 시계 차이와 늦게 커밋된 트랜잭션을 감안해 sync-overlap-seconds만큼 겹쳐 읽는다. (반영은 멱등)
+     */
+    @Scheduled(fixedDelayString = "${app.search.local.sync-interval-ms:60000}",
+            initialDelayString = "${app.search.local.sync-interval-ms:60000}")
+    public void syncChanges() {
+        LocalDateTime watermark = syncWatermark;
+        if (!enabled || watermark == null || rebuilding.get()) {
+            return;
+        }
+
+        try {
+            LocalDateTime cursorTime = watermark.minusSeconds(syncOverlapSeconds);
+            long cursorId = 0;
+            LocalDateTime newest = watermark;
+            int read = 0;
+            while (true) {
+                LocalDateTime afterTime = cursorTime;
+                long afterId = cursorId;
+                ChangePage page = readOnlyTransactionTemplate.execute(status -> {
+                    List<TravelGroup> groups = travelGroupRepository.findChangedWithCreatorAfter(
+                            afterTime, afterId, PageRequest.of(0, loadPageSize));
+                    if (groups.isEmpty()) {
+                        return null;
+                    }
+                    TravelGroup last = groups.get(groups.size() - 1);
+                    return new ChangePage(groups.stream().map(TravelGroupDocument::from).toList(),
+                            last.getUpdatedAt(), last.getId());
+                });
+                if (page == null) {
+                    break;
+                }
+
+                onGroupIndexed(new GroupIndexEvent(page.documents(), List.of()));
+                read += page.documents().size();
+                cursorTime = page.lastUpdatedAt();
+                cursorId = page.lastId();
+                if (cursorTime.isAfter(newest)) {
+                    newest = cursorTime;
+                }
+                if (page.documents().size() < loadPageSize) {
+                    break;
+                }
+            }
+            syncWatermark = newest;
+            log.debug("로컬 그룹 검색 색인 증분 동기화: 그룹 {}건 확인", read);
+        } catch (Exception e) {
+            log.warn("로컬 그룹 검색 색인 증분 동기화 실패", e);
+        }
+    }
+
+    /**
+     * DB에서 삭제된 그룹을 색인에서 정리 (삭제는 updated_at 변경으로 드러나지 않음)
+     */
+    @Scheduled(fixedDelayString = "${app.search.local.prune-interval-ms:600000}",
+            initialDelayString = "${app.search.local.prune-interval-ms:600000}")
+    public void pruneDeletedGroups() {
+        if (!enabled || syncWatermark == null || rebuilding.get()) {
+            return;
+        }
+
+        try {
+            List<Long> indexed = indexedIds();
+            List<Long> deleted = new ArrayList<>();
+            for (int from = 0; from < indexed.size(); from += loadPageSize) {
+                List<Long> chunk = indexed.subList(from, Math.min(from + loadPageSize, indexed.size()));
+                List<Long> existing = readOnlyTransactionTemplate.execute(status ->
+                        travelGroupRepository.findExistingIds(chunk));
+                Set<Long> existingIds = existing != null ? new HashSet<>(existing) : Set.of();
+                for (Long groupId : chunk) {
+                    if (!existingIds.contains(groupId)) {
+                        deleted.add(groupId);
+                    }
+                }
+            }
+            if (!deleted.isEmpty()) {
+                onGroupIndexed(new GroupIndexEvent(List.of(), deleted));
+                log.debug("로컬 그룹 검색 색인에서 삭제된 그룹 정리: {}건", deleted.size());
+            }
+        } catch (Exception e) {
+            log.warn("로컬 그룹 검색 색인 삭제 그룹 정리 실패", e);
+        }
+    }
+
+    /**
+     * 색인 워커/재색인이 읽은 그룹 변경 반영 (같은 변경이 다시 와도 결과는 같음)
+     */
+    @EventListener
+    public void onGroupIndexed(GroupIndexEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            for (TravelGroupDocument document : event.upserts()) {
+                if (isSearchable(document)) {
+                    indexWriter.updateDocument(idTerm(document.getId()), toDocument(document));
+                } else {
+                    indexWriter.deleteDocuments(idTerm(document.getId()));
+                }
+            }
+            for (Long groupId : event.deletedIds()) {
+                indexWriter.deleteDocuments(idTerm(groupId.toString()));
+            }
+            uncommitted.set(true);
+            if (!rebuilding.get()) {
+                searcherManager.maybeRefresh();
+            }
+        } catch (IOException e) {
+            log.error("로컬 그룹 검색 색인 반영 실패: {}건", event.upserts().size() + event.deletedIds().size(), e);
+        }
+    }
+
+    /**
+     * 색인 변경사항을 디스크에 커밋 (커밋 전 종료되면 다음 기동 시 DB에서 다시 맞춤)
+     */
+    @Scheduled(fixedDelayString = "${app.search.local.commit-interval-ms:30000}")
+    public void commit() {
+        if (!enabled || !uncommitted.getAndSet(false)) {
+            return;
+        }
+        try {
+            indexWriter.commit();
+        } catch (IOException e) {
+            uncommitted.set(true);
+            log.error("로컬 그룹 검색 색인 커밋 실패", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+    }
+
+    /**
+     * 고급 검색 (ElasticsearchService.advancedSearch와 같은 요청/응답)
+     */
+    public SearchResultDto search(SearchRequestDto rawRequest) {
+        if (!enabled) {
+            throw new RuntimeException("로컬 그룹 검색이 비활성화되어 있습니다.");
+        }
+
+        long startTime = System.nanoTime();
+        SearchRequestDto request = SearchQueryNormalizer.normalize(rawRequest, defaultPageSize, maxPageSize).request();
+        SearchCursor cursor = request.getCursor() != null ? SearchCursor.decode(request.getCursor()) : null;
+        int size = request.getSize();
+        if (cursor == null && (request.getPage() + 1) * size > maxResultWindow) {
+            throw new BusinessException("깊은 페이지는 nextCursor로 조회해 주세요.", "SEARCH_PAGE_TOO_DEEP");
+        }
+
+        Query query = buildQuery(request);
+        Sort sort = buildSort(request);
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopFieldDocs topDocs;
+                int from;
+                if (cursor == null) {
+                    topDocs = searcher.search(query, (request.getPage() + 1) * size, sort, true);
+                    from = request.getPage() * size;
+                } else {
+                    topDocs = searcher.searchAfter(toFieldDoc(cursor, sort), query, size, sort, true);
+                    from = 0;
+                }
+
+                StoredFields storedFields = searcher.storedFields();
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+                List<SearchResultDto.GroupResult> results = new ArrayList<>(Math.max(0, scoreDocs.length - from));
+                for (int i = from; i < scoreDocs.length; i++) {
+                    results.add(toGroupResult(storedFields.document(scoreDocs[i].doc), scoreDocs[i].score));
+                }
+
+                String nextCursor = null;
+                if (results.size() == size) {
+                    nextCursor = new SearchCursor(null, toSearchAfter((FieldDoc) scoreDocs[scoreDocs.length - 1], sort))
+                            .encode();
+                }
+
+                long totalHits = topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                        ? topDocs.totalHits.value : searcher.count(query);
+
+                return SearchResultDto.builder()
+                        .results(results)
+                        .totalResults(totalHits)
+                        .page(request.getPage())
+                        .size(results.size())
+                        .took((System.nanoTime() - startTime) / 1_000_000_000f)
+                        .nextCursor(nextCursor)
+                        .build();
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            log.error("로컬 그룹 검색 실패", e);
+            throw new RuntimeException("검색 실행 중 오류가 발생했습니다", e);
+        }
+    }
+
+    private Query buildQuery(SearchRequestDto request) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+
+        // 1. 텍스트 검색: 필드별 가중치를 준 뒤 가장 잘 맞는 필드 점수 사용 (ES best_fields와 같음)
+        if (request.getKeyword() != null) {
+            QueryBuilder queryBuilder = new QueryBuilder(analyzer);
+            List<Query> fieldQueries = new ArrayList<>(3);
+            addFieldQuery(fieldQueries, queryBuilder, FIELD_NAME, request.getKeyword(), 3f);
+            addFieldQuery(fieldQueries, queryBuilder, FIELD_DESCRIPTION, request.getKeyword(), 2f);
+            addFieldQuery(fieldQueries, queryBuilder, FIELD_DESTINATION, request.getKeyword(), 2f);
+            if (fieldQueries.isEmpty()) {
+                // 검색어가 모두 불용어
+                builder.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST_NOT);
+            } else {
+                builder.add(new DisjunctionMaxQuery(fieldQueries, 0f), BooleanClause.Occur.MUST);
+            }
+        }
+
+        // 2. 여행 스타일
+        if (request.getTravelStyle() != null) {
+            builder.add(new TermQuery(new Term(FIELD_TRAVEL_STYLE, request.getTravelStyle())), BooleanClause.Occur.FILTER);
+        }
+
+        // 3. 태그 (하나라도 일치, 색인과 같이 소문자로 비교)
+        if (request.getTags() != null) {
+            builder.add(new TermInSetQuery(FIELD_TAGS, request.getTags().stream()
+                            .map(tag -> new BytesRef(tag.toLowerCase(Locale.ROOT))).toList()),
+                    BooleanClause.Occur.FILTER);
+        }
+
+        // 4. 멤버 수 범위
+        if (request.getMinMembers() != null || request.getMaxMembers() != null) {
+            builder.add(IntPoint.newRangeQuery(FIELD_CURRENT_MEMBERS,
+                    request.getMinMembers() != null ? request.getMinMembers() : Integer.MIN_VALUE,
+                    request.getMaxMembers() != null ? request.getMaxMembers() : Integer.MAX_VALUE),
+                    BooleanClause.Occur.FILTER);
+        }
+
+        // 5. 출발일 범위
+        if (request.getStartDate() != null || request.getEndDate() != null) {
+            builder.add(LongPoint.newRangeQuery(FIELD_START_DATE,
+                    request.getStartDate() != null ? toEpochMillis(request.getStartDate()) : Long.MIN_VALUE,
+                    request.getEndDate() != null ? toEpochMillis(request.getEndDate()) : Long.MAX_VALUE),
+                    BooleanClause.Occur.FILTER);
+        }
+
+        // 6. 반경 검색
+        if (request.getLatitude() != null && request.getLongitude() != null && request.getRadius() != null) {
+            builder.add(LatLonPoint.newDistanceQuery(FIELD_LOCATION,
+                    request.getLatitude(), request.getLongitude(), request.getRadius() * 1000),
+                    BooleanClause.Occur.FILTER);
+        }
+
+        // 7. 추천 순위는 오늘 이전에 출발한 그룹 제외 (GroupSearchRanking과 같은 기준, 출발일 없는 그룹은 남김)
+        if (SearchQueryNormalizer.RECOMMENDED_SORT.equals(request.getSortBy())) {
+            long startOfToday = toEpochMillis(LocalDate.now(ZoneOffset.UTC).atStartOfDay());
+            builder.add(LongPoint.newRangeQuery(FIELD_START_DATE, Long.MIN_VALUE, startOfToday - 1),
+                    BooleanClause.Occur.MUST_NOT);
+            // 제외 조건만 있으면 아무것도 맞지 않으므로 전체를 기준으로 둠
+            builder.add(new MatchAllDocsQuery(), BooleanClause.Occur.FILTER);
+        }
+
+        // 조건이 없으면 전체 (색인에는 활성/공개 그룹만 있음)
+        BooleanQuery query = builder.build();
+        return query.clauses().isEmpty() ? new MatchAllDocsQuery() : query;
+    }
+
+    private void addFieldQuery(List<Query> queries, QueryBuilder queryBuilder, String field, String keyword, float boost) {
+        Query query = queryBuilder.createBooleanQuery(field, keyword);
+        if (query != null) {
+            queries.add(new BoostQuery(query, boost));
+        }
+    }
+
+    /**
+     * 정렬 필드 + id 보조 정렬 (값이 없는 문서는 ES처럼 항상 뒤로)
+     */
+    private Sort buildSort(SearchRequestDto request) {
+        boolean descending = !"asc".equals(request.getSortOrder())
+                || SearchQueryNormalizer.RECOMMENDED_SORT.equals(request.getSortBy());
+        SortField primary;
+        switch (request.getSortBy()) {
+            // 추천 순위의 거리/출발일 감쇠는 ES에서만 계산하고 여기서는 텍스트 관련도만 사용 (지난 출발일 제외는 같음)
+            case "_score", SearchQueryNormalizer.RECOMMENDED_SORT ->
+                primary = new SortField(null, SortField.Type.SCORE, !descending);
+            case FIELD_CURRENT_MEMBERS, FIELD_MAX_MEMBERS -> {
+                primary = new SortField(request.getSortBy(), SortField.Type.INT, descending);
+                primary.setMissingValue(descending ? Integer.MIN_VALUE : Integer.MAX_VALUE);
+            }
+            default -> {
+                primary = new SortField(request.getSortBy(), SortField.Type.LONG, descending);
+                primary.setMissingValue(descending ? Long.MIN_VALUE : Long.MAX_VALUE);
+            }
+        }
+        return new Sort(primary, new SortField(FIELD_ID_SORT, SortField.Type.LONG));
+    }
+
+    /**
+     * 커서의 정렬 값 -> FieldDoc (ES 커서와 같은 형식: 날짜는 epoch millis, id는 문자열)
+     */
+    private FieldDoc toFieldDoc(SearchCursor cursor, Sort sort) {
+        SortField[] sortFields = sort.getSort();
+        List<Object> values = cursor.searchAfter();
+        if (values.size() != sortFields.length) {
+            throw new IllegalArgumentException("잘못된 검색 커서입니다.");
+        }
+
+        Object[] fields = new Object[sortFields.length];
+        try {
+            for (int i = 0; i < sortFields.length; i++) {
+                Object value = values.get(i);
+                fields[i] = switch (sortFields[i].getType()) {
+                    case SCORE -> value instanceof Number n ? n.floatValue() : Float.parseFloat(String.valueOf(value));
+                    case INT -> value instanceof Number n ? n.intValue() : Integer.parseInt(String.valueOf(value));
+                    default -> value instanceof Number n ? n.longValue() : Long.parseLong(String.valueOf(value));
+                };
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 검색 커서입니다.", e);
+        }
+        // 보조 정렬로 값이 모두 같은 문서는 없으므로 문서 번호는 비교에 쓰이지 않음
+        return new FieldDoc(Integer.MAX_VALUE, Float.NaN, fields);
+    }
+
+    private List<Object> toSearchAfter(FieldDoc last, Sort sort) {
+        List<Object> values = new ArrayList<>(Arrays.asList(last.fields));
+        int idIndex = sort.getSort().length - 1;
+        values.set(idIndex, String.valueOf(values.get(idIndex)));
+        return values;
+    }
+
+    private SearchResultDto.GroupResult toGroupResult(Document document, float score) {
+        return SearchResultDto.GroupResult.builder()
+                .id(Long.parseLong(document.get(FIELD_ID)))
+                .name(document.get(FIELD_NAME))
+                .description(document.get(FIELD_DESCRIPTION))
+                .destination(document.get(FIELD_DESTINATION))
+                .travelStyle(document.get(FIELD_TRAVEL_STYLE))
+                .tags(List.of(document.getValues(FIELD_TAGS)))
+                .currentMembers(storedInt(document, FIELD_CURRENT_MEMBERS))
+                .maxMembers(storedInt(document, FIELD_MAX_MEMBERS))
+                .startDate(storedDateTime(document, FIELD_START_DATE))
+                .endDate(storedDateTime(document, FIELD_END_DATE))
+                .createdAt(storedDateTime(document, FIELD_CREATED_AT))
+                .score(Float.isNaN(score) ? null : score)
+                .build();
+    }
+
+    private Document toDocument(TravelGroupDocument group) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, group.getId(), Field.Store.YES));
+        document.add(new NumericDocValuesField(FIELD_ID_SORT, Long.parseLong(group.getId())));
+
+        if (group.getName() != null) {
+            document.add(new TextField(FIELD_NAME, group.getName(), Field.Store.YES));
+        }
+        if (group.getDescription() != null) {
+            document.add(new TextField(FIELD_DESCRIPTION, group.getDescription(), Field.Store.YES));
+        }
+        if (group.getDestination() != null) {
+            document.add(new TextField(FIELD_DESTINATION, group.getDestination(), Field.Store.YES));
+        }
+        if (group.getTravelStyle() != null) {
+            document.add(new StringField(FIELD_TRAVEL_STYLE, group.getTravelStyle(), Field.Store.YES));
+        }
+        if (group.getTags() != null) {
+            for (String tag : group.getTags()) {
+                document.add(new StringField(FIELD_TAGS, tag.toLowerCase(Locale.ROOT), Field.Store.YES));
+            }
+        }
+
+        addInt(document, FIELD_CURRENT_MEMBERS, group.getCurrentMembers());
+        addInt(document, FIELD_MAX_MEMBERS, group.getMaxMembers());
+        addDateTime(document, FIELD_START_DATE, group.getStartDate());
+        addDateTime(document, FIELD_END_DATE, group.getEndDate());
+        addDateTime(document, FIELD_CREATED_AT, group.getCreatedAt());
+
+        if (group.getLocation() != null && group.getLocation().getLat() != null && group.getLocation().getLon() != null) {
+            document.add(new LatLonPoint(FIELD_LOCATION, group.getLocation().getLat(), group.getLocation().getLon()));
+        }
+        return document;
+    }
+
+    private static void addInt(Document document, String field, Integer value) {
+        if (value != null) {
+            document.add(new IntPoint(field, value));
+            document.add(new NumericDocValuesField(field, value));
+            document.add(new StoredField(field, value));
+        }
+    }
+
+    private static void addDateTime(Document document, String field, LocalDateTime value) {
+        if (value != null) {
+            long millis = toEpochMillis(value);
+            document.add(new LongPoint(field, millis));
+            document.add(new NumericDocValuesField(field, millis));
+            document.add(new StoredField(field, millis));
+        }
+    }
+
+    private static Integer storedInt(Document document, String field) {
+        IndexableField stored = document.getField(field);
+        return stored != null ? stored.numericValue().intValue() : null;
+    }
+
+    private static LocalDateTime storedDateTime(Document document, String field) {
+        IndexableField stored = document.getField(field);
+        return stored != null
+                ? LocalDateTime.ofInstant(Instant.ofEpochMilli(stored.numericValue().longValue()), ZoneOffset.UTC)
+                : null;
+    }
+
+    // ES는 시간대 없는 날짜를 UTC로 해석하므로 같은 기준을 써서 커서 값을 맞춤
+    private static long toEpochMillis(LocalDateTime value) {
+        return value.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private List<Long> indexedIds() throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            List<Long> ids = new ArrayList<>();
+            for (LeafReaderContext leaf : searcher.getIndexReader().leaves()) {
+                Bits liveDocs = leaf.reader().getLiveDocs();
+                NumericDocValues values = DocValues.getNumeric(leaf.reader(), FIELD_ID_SORT);
+                for (int doc = values.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = values.nextDoc()) {
+                    if (liveDocs == null || liveDocs.get(doc)) {
+                        ids.add(values.longValue());
+                    }
+                }
+            }
+            return ids;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private static boolean isSearchable(TravelGroupDocument document) {
+        return Boolean.TRUE.equals(document.getIsActive()) && Boolean.TRUE.equals(document.getIsPublic());
+    }
+
+    private static Term idTerm(String groupId) {
+        return new Term(FIELD_ID, groupId);
+    }
+
+    private record ChangePage(List<TravelGroupDocument> documents, LocalDateTime lastUpdatedAt, Long lastId) {
+    }
+}
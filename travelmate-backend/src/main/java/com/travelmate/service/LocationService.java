@@ -51,7 +51,7 @@ public class LocationService {
             User shaker = userRepository.findById(request.getUserId()).orElse(null);
             if (shaker != null) {
                 for (User nearbyUser : nearbyUsers) {
-                    notificationService.sendMatchingNotification(
+                    notificationService.notifyMatched(
                         nearbyUser.getId(),
                         shaker.getId(),
                         shaker.getNickname()
@@ -59,8 +59,7 @@ public class LocationService {
                 }
                 
                 // 흔든 사용자에게도 결과 알림
-                String message = String.format("주변에서 %d명의 여행자를 발견했습니다!", nearbyUsers.size());
-                notificationService.sendNotification(request.getUserId(), message);
+                notificationService.notifyShakeResult(request.getUserId(), nearbyUsers.size());
             }
         }
         
@@ -154,9 +153,7 @@ public class LocationService {
         );
         
         if (!hotspotUsers.isEmpty()) {
-            String message = String.format("%s 근처에서 %d명의 여행자가 있습니다!", 
-                context, hotspotUsers.size());
-            notificationService.sendNotification(user.getId(), message);
+            notificationService.notifyNearbyTravelers(user.getId(), context, hotspotUsers.size());
             
             // 위치 공유 알림
             notificationService.sendLocationShareNotification(
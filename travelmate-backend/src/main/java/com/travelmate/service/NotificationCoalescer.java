@@ -0,0 +1,211 @@
+package com.travelmate.service;
+
+import com.travelmate.entity.Notification;
+import com.travelmate.entity.NotificationOutbox;
+import com.travelmate.util.HashedTimerWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 사용자별 알림 병합
+ *
+ * (사용자, 알림 타입, 관련 키)가 같은 알림이 짧은 시간에 반복되면 하나로 모아서
+ * 마지막 요청 후 quiet-window 동안 추가 요청이 없을 때 (최대 max-delay) 한 번만 발행한다.
+ * 발행 메시지는 마지막 요청의 renderer가 누적 정보(횟수, 대상, 최신 값)로 만든다.
+ */
+@Service
+@Slf4j
+public class NotificationCoalescer {
+
+    private static final int MAX_TRACKED_SUBJECTS = 100;
+
+    private final NotificationOutboxService notificationOutboxService;
+    private final long quietWindowMillis;
+    private final long maxDelayMillis;
+
+    private final Map<CoalescingKey, Burst> bursts = new ConcurrentHashMap<>();
+    private final HashedTimerWheel<CoalescingKey> dueWheel;
+
+    private final Counter submittedCounter;
+    private final Counter emittedCounter;
+
+    public NotificationCoalescer(
+            NotificationOutboxService notificationOutboxService,
+            MeterRegistry meterRegistry,
+            @Value("${app.notification.coalesce.quiet-window-ms:3000}") long quietWindowMillis,
+            @Value("${app.notification.coalesce.max-delay-ms:15000}") long maxDelayMillis,
+            @Value("${app.notification.coalesce.tick-ms:500}") long tickMillis) {
+        this.notificationOutboxService = notificationOutboxService;
+        this.quietWindowMillis = quietWindowMillis;
+        this.maxDelayMillis = Math.max(quietWindowMillis, maxDelayMillis);
+        this.dueWheel = new HashedTimerWheel<>(tickMillis, 64);
+
+        this.submittedCounter = Counter.builder("notification.coalesce.submitted")
+                .description("병합 대상으로 접수된 알림 요청 수").register(meterRegistry);
+        this.emittedCounter = Counter.builder("notification.coalesce.emitted")
+                .description("병합 후 발행된 알림 수").register(meterRegistry);
+    }
+
+    /**
+     * 알림 요청 접수
+     *
+     * @param subjectId   병합 시 중복 제거할 대상 (예: 매칭된 사용자 ID), 없으면 null
+     * @param subjectName 대상 표시 이름 (마지막 값 유지)
+     * @param latestValue 마지막 값만 의미 있는 수치 (예: 주변 여행자 수), 없으면 null
+     * @param renderer    누적된 요청으로 발행할 알림 생성
+     */
+    public void submit(Long userId, Notification.NotificationType type, String relatedKey,
+                       Long subjectId, String subjectName, Integer latestValue,
+                       Function<Burst, NotificationOutbox> renderer) {
+        CoalescingKey key = new CoalescingKey(userId, type, relatedKey);
+        long now = System.currentTimeMillis();
+        boolean[] created = {false};
+
+        bursts.compute(key, (k, burst) -> {
+            if (burst == null) {
+                burst = new Burst(userId, type, relatedKey, now);
+                created[0] = true;
+            }
+            burst.record(subjectId, subjectName, latestValue, renderer, now);
+            return burst;
+        });
+
+        if (created[0]) {
+            dueWheel.schedule(key, now + quietWindowMillis);
+        }
+        submittedCounter.increment();
+    }
+
+    /**
+     * 조용해졌거나 최대 지연에 도달한 묶음을 한 번의 아웃박스 배치로 발행
+     */
+    @Scheduled(fixedDelayString = "${app.notification.coalesce.tick-ms:500}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        List<Burst> ready = new ArrayList<>();
+
+        for (CoalescingKey key : dueWheel.advance(now)) {
+            bursts.computeIfPresent(key, (k, burst) -> {
+                long dueAt = burst.dueAt(quietWindowMillis, maxDelayMillis);
+                if (dueAt <= now) {
+                    ready.add(burst);
+                    return null;
+                }
+                // 창 안에서 요청이 더 들어온 경우 새 마감 시각으로 재등록
+                dueWheel.schedule(k, dueAt);
+                return burst;
+            });
+        }
+
+        emit(ready);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<Burst> remaining = new ArrayList<>();
+        for (CoalescingKey key : bursts.keySet()) {
+            Burst burst = bursts.remove(key);
+            if (burst != null) {
+                remaining.add(burst);
+            }
+        }
+        emit(remaining);
+    }
+
+    private void emit(List<Burst> ready) {
+        if (ready.isEmpty()) {
+            return;
+        }
+
+        List<NotificationOutbox> requests = new ArrayList<>(ready.size());
+        for (Burst burst : ready) {
+            try {
+                requests.add(burst.render());
+            } catch (Exception e) {
+                log.error("병합 알림 생성 실패: user {}, type {}", burst.getUserId(), burst.getType(), e);
+            }
+        }
+
+        try {
+            notificationOutboxService.enqueue(requests);
+            emittedCounter.increment(requests.size());
+            log.debug("병합 알림 발행: {}건", requests.size());
+        } catch (Exception e) {
+            log.error("병합 알림 발행 실패: {}건", requests.size(), e);
+        }
+    }
+
+    /**
+     * 병합 중인 알림 묶음 (같은 키에 대한 갱신은 ConcurrentHashMap.compute 안에서만 수행)
+     */
+    @Getter
+    public static class Burst {
+        private final Long userId;
+        private final Notification.NotificationType type;
+        private final String relatedKey;
+        private final long firstAt;
+        private long lastAt;
+        private int eventCount;
+        private final Set<Long> subjectIds = new LinkedHashSet<>();
+        private String latestSubjectName;
+        private Long latestSubjectId;
+        private Integer latestValue;
+        private Function<Burst, NotificationOutbox> renderer;
+
+        private Burst(Long userId, Notification.NotificationType type, String relatedKey, long firstAt) {
+            this.userId = userId;
+            this.type = type;
+            this.relatedKey = relatedKey;
+            this.firstAt = firstAt;
+        }
+
+        private void record(Long subjectId, String subjectName, Integer value,
+                            Function<Burst, NotificationOutbox> renderer, long now) {
+            this.lastAt = now;
+            this.eventCount++;
+            if (subjectId != null) {
+                if (subjectIds.size() < MAX_TRACKED_SUBJECTS) {
+                    subjectIds.add(subjectId);
+                }
+                this.latestSubjectId = subjectId;
+            }
+            if (subjectName != null) {
+                this.latestSubjectName = subjectName;
+            }
+            if (value != null) {
+                this.latestValue = value;
+            }
+            this.renderer = renderer;
+        }
+
+        private long dueAt(long quietWindowMillis, long maxDelayMillis) {
+            return Math.min(lastAt + quietWindowMillis, firstAt + maxDelayMillis);
+        }
+
+        private NotificationOutbox render() {
+            return renderer.apply(this);
+        }
+
+        public Set<Long> getSubjectIds() {
+            return Collections.unmodifiableSet(subjectIds);
+        }
+    }
+
+    private record CoalescingKey(Long userId, Notification.NotificationType type, String relatedKey) {
+    }
+}
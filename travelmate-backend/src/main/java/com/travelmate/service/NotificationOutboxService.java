@@ -0,0 +1,383 @@
+package com.travelmate.service;
+
+import com.travelmate.entity.Notification;
+import com.travelmate.entity.NotificationOutbox;
+import com.travelmate.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 알림 아웃박스 처리
+ *
+ * 발행자는 알림 생성 요청을 자신의 트랜잭션 안에서 notification_outbox에 배치로 기록하고,
+ * 워커가 주기적으로 요청을 모아 notifications에 배치 INSERT한 뒤 WebSocket/SSE/푸시로 일괄 전달한다.
+ * 배치가 실패하면 요청별로 다시 처리하여 실패한 요청만 백오프 후 재시도한다.
+ */
+@Service
+@Slf4j
+public class NotificationOutboxService {
+
+    private static final String INSERT_OUTBOX_SQL =
+            "INSERT INTO notification_outbox (user_id, type, title, message, related_id, related_type, action_url, " +
+            "status, attempts, next_attempt_at, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, 'PENDING', 0, ?, ?)";
+
+    private static final String SELECT_PENDING_SQL =
+            "SELECT id, user_id, type, title, message, related_id, related_type, action_url, attempts, created_at " +
+            "FROM notification_outbox WHERE status = 'PENDING' AND next_attempt_at <= ? ORDER BY id LIMIT ?";
+
+    private static final String SELECT_PENDING_BY_ID_SQL =
+            "SELECT id, user_id, type, title, message, related_id, related_type, action_url, attempts, created_at " +
+            "FROM notification_outbox WHERE id = ? AND status = 'PENDING'";
+
+    private static final String INSERT_NOTIFICATION_SQL =
+            "INSERT INTO notifications (user_id, type, title, message, related_id, related_type, action_url, " +
+            "is_read, sent_via_push, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, false, false, ?)";
+
+    private static final String DELETE_OUTBOX_SQL = "DELETE FROM notification_outbox WHERE id = ?";
+
+    private static final String UPDATE_RETRY_SQL =
+            "UPDATE notification_outbox SET status = ?, attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?";
+
+    private static final long MAX_BACKOFF_MILLIS = 600_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final UserRepository userRepository;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final PushDeliveryService pushDeliveryService;
+    private final NotificationStreamService notificationStreamService;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final String claimSuffix;
+
+    private final Counter enqueuedCounter;
+    private final Counter deliveredCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private final RowMapper<NotificationOutbox> outboxRowMapper = (rs, rowNum) -> NotificationOutbox.builder()
+            .id(rs.getLong("id"))
+            .userId(rs.getLong("user_id"))
+            .type(Notification.NotificationType.valueOf(rs.getString("type")))
+            .title(rs.getString("title"))
+            .message(rs.getString("message"))
+            .relatedId(rs.getObject("related_id", Long.class))
+            .relatedType(rs.getString("related_type"))
+            .actionUrl(rs.getString("action_url"))
+            .attempts(rs.getInt("attempts"))
+            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+            .build();
+
+    public NotificationOutboxService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            SimpMessagingTemplate messagingTemplate,
+            UserRepository userRepository,
+            UnreadNotificationCounter unreadNotificationCounter,
+            PushDeliveryService pushDeliveryService,
+            NotificationStreamService notificationStreamService,
+            MeterRegistry meterRegistry,
+            @Value("${app.notification.outbox.batch-size:500}") int batchSize,
+            @Value("${app.notification.outbox.max-attempts:5}") int maxAttempts,
+            @Value("${app.notification.outbox.retry-backoff-ms:5000}") long retryBackoffMillis,
+            @Value("${app.notification.outbox.skip-locked:true}") boolean skipLocked) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.userRepository = userRepository;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.pushDeliveryService = pushDeliveryService;
+        this.notificationStreamService = notificationStreamService;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        // 여러 인스턴스가 같은 요청을 중복 처리하지 않도록 잠긴 행은 건너뜀 (PostgreSQL)
+        this.claimSuffix = skipLocked ? " FOR UPDATE SKIP LOCKED" : " FOR UPDATE";
+
+        this.enqueuedCounter = Counter.builder("notification.outbox.enqueued")
+                .description("아웃박스에 기록된 알림 요청 수").register(meterRegistry);
+        this.deliveredCounter = Counter.builder("notification.outbox.delivered")
+                .description("저장 및 전달된 알림 수").register(meterRegistry);
+        this.retriedCounter = Counter.builder("notification.outbox.retried")
+                .description("재시도 예약된 알림 요청 수").register(meterRegistry);
+        this.failedCounter = Counter.builder("notification.outbox.failed")
+                .description("최대 재시도를 초과한 알림 요청 수").register(meterRegistry);
+        this.batchTimer = Timer.builder("notification.outbox.batch")
+                .description("아웃박스 배치 처리 시간").register(meterRegistry);
+        Gauge.builder("notification.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("처리한 배치 중 가장 오래된 요청의 대기 시간 (초)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 알림 생성 요청 기록 (호출자 트랜잭션에 참여, 다중 행 배치 INSERT)
+     */
+    @Transactional
+    public void enqueue(List<NotificationOutbox> requests) {
+        if (requests.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX_SQL, requests, batchSize, (ps, request) -> {
+            ps.setLong(1, request.getUserId());
+            ps.setString(2, request.getType().name());
+            ps.setString(3, request.getTitle());
+            ps.setString(4, request.getMessage());
+            setNullableLong(ps, 5, request.getRelatedId());
+            ps.setString(6, request.getRelatedType());
+            ps.setString(7, request.getActionUrl());
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        });
+
+        enqueuedCounter.increment(requests.size());
+        log.debug("알림 아웃박스 기록: {}건", requests.size());
+    }
+
+    /**
+     * 대기 중인 요청을 배치 단위로 처리 (밀린 요청이 있으면 연속 처리)
+     */
+    @Scheduled(fixedDelayString = "${app.notification.outbox.poll-interval-ms:500}")
+    public void processOutbox() {
+        int processed;
+        do {
+            Timer.Sample sample = Timer.start();
+            processed = processBatch();
+            sample.stop(batchTimer);
+        } while (processed >= batchSize);
+    }
+
+    private int processBatch() {
+        List<NotificationOutbox> claimed = new ArrayList<>();
+        List<NotificationService.NotificationDto> created;
+
+        try {
+            created = transactionTemplate.execute(status -> {
+                claimed.addAll(jdbcTemplate.query(SELECT_PENDING_SQL + claimSuffix, outboxRowMapper,
+                        Timestamp.valueOf(LocalDateTime.now()), batchSize));
+                if (claimed.isEmpty()) {
+                    return Collections.<NotificationService.NotificationDto>emptyList();
+                }
+                return store(claimed);
+            });
+        } catch (Exception e) {
+            log.warn("알림 아웃박스 배치 처리 실패, 요청별로 재처리: {}건", claimed.size(), e);
+            created = processIndividually(claimed);
+        }
+
+        updateLag(claimed);
+        if (created != null && !created.isEmpty()) {
+            deliver(created);
+        }
+        return claimed.size();
+    }
+
+    private List<NotificationService.NotificationDto> processIndividually(List<NotificationOutbox> requests) {
+        List<NotificationService.NotificationDto> created = new ArrayList<>();
+        for (NotificationOutbox request : requests) {
+            try {
+                List<NotificationService.NotificationDto> result = transactionTemplate.execute(status -> {
+                    List<NotificationOutbox> locked = jdbcTemplate.query(SELECT_PENDING_BY_ID_SQL + claimSuffix,
+                            outboxRowMapper, request.getId());
+                    return locked.isEmpty() ? Collections.<NotificationService.NotificationDto>emptyList() : store(locked);
+                });
+                if (result != null) {
+                    created.addAll(result);
+                }
+            } catch (Exception e) {
+                scheduleRetry(request, e);
+            }
+        }
+        return created;
+    }
+
+    /**
+     * notifications 배치 INSERT 후 아웃박스에서 제거
+     */
+    private List<NotificationService.NotificationDto> store(List<NotificationOutbox> requests) {
+        List<Long> notificationIds = insertNotifications(requests);
+        jdbcTemplate.batchUpdate(DELETE_OUTBOX_SQL, requests, batchSize,
+                (ps, request) -> ps.setLong(1, request.getId()));
+
+        List<NotificationService.NotificationDto> created = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            NotificationOutbox request = requests.get(i);
+            created.add(NotificationService.NotificationDto.builder()
+                    .id(i < notificationIds.size() ? notificationIds.get(i) : null)
+                    .userId(request.getUserId())
+                    .type(request.getType())
+                    .title(request.getTitle())
+                    .message(request.getMessage())
+                    .actionUrl(request.getActionUrl())
+                    .relatedId(request.getRelatedId())
+                    .relatedType(request.getRelatedType())
+                    .isRead(false)
+                    .createdAt(request.getCreatedAt())
+                    .build());
+        }
+        return created;
+    }
+
+    private List<Long> insertNotifications(List<NotificationOutbox> requests) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_NOTIFICATION_SQL, new String[]{"id"})) {
+                for (NotificationOutbox request : requests) {
+                    ps.setLong(1, request.getUserId());
+                    ps.setString(2, request.getType().name());
+                    ps.setString(3, request.getTitle());
+                    ps.setString(4, request.getMessage());
+                    setNullableLong(ps, 5, request.getRelatedId());
+                    ps.setString(6, request.getRelatedType());
+                    ps.setString(7, request.getActionUrl());
+                    ps.setTimestamp(8, Timestamp.valueOf(request.getCreatedAt()));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                List<Long> ids = new ArrayList<>(requests.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                if (ids.size() != requests.size()) {
+                    log.warn("알림 생성 키 개수 불일치: 요청 {}건, 키 {}건", requests.size(), ids.size());
+                }
+                return ids;
+            }
+        });
+    }
+
+    private void scheduleRetry(NotificationOutbox request, Exception cause) {
+        int attempts = request.getAttempts() + 1;
+        boolean exhausted = attempts >= maxAttempts;
+        long backoff = Math.min(MAX_BACKOFF_MILLIS, retryBackoffMillis << Math.min(attempts - 1, 20));
+        String error = cause.getMessage() != null && cause.getMessage().length() > 500
+                ? cause.getMessage().substring(0, 500) : cause.getMessage();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(UPDATE_RETRY_SQL,
+                    exhausted ? NotificationOutbox.Status.FAILED.name() : NotificationOutbox.Status.PENDING.name(),
+                    attempts,
+                    Timestamp.valueOf(LocalDateTime.now().plus(Duration.ofMillis(backoff))),
+                    error,
+                    request.getId()));
+        } catch (Exception e) {
+            log.error("알림 아웃박스 재시도 기록 실패: {}", request.getId(), e);
+            return;
+        }
+
+        if (exhausted) {
+            failedCounter.increment();
+            log.error("알림 생성 최종 실패: outbox={}, user={}, 시도 {}회", request.getId(), request.getUserId(), attempts, cause);
+        } else {
+            retriedCounter.increment();
+            log.warn("알림 생성 실패, {}ms 후 재시도: outbox={}, user={}", backoff, request.getId(), request.getUserId());
+        }
+    }
+
+    /**
+     * 저장된 알림을 WebSocket, SSE, 푸시로 일괄 전달
+     */
+    private void deliver(List<NotificationService.NotificationDto> notifications) {
+        for (NotificationService.NotificationDto notification : notifications) {
+            try {
+                messagingTemplate.convertAndSendToUser(
+                        notification.getUserId().toString(), "/queue/notifications", notification);
+            } catch (Exception e) {
+                log.error("WebSocket 알림 전송 실패: user {}", notification.getUserId(), e);
+            }
+        }
+        notificationStreamService.publishNotifications(notifications);
+
+        Map<Long, List<NotificationService.NotificationDto>> byUser = notifications.stream()
+                .collect(Collectors.groupingBy(NotificationService.NotificationDto::getUserId));
+
+        Map<Long, Long> unreadDeltas = new HashMap<>();
+        byUser.forEach((userId, userNotifications) -> unreadDeltas.put(userId, (long) userNotifications.size()));
+        unreadNotificationCounter.adjustAll(unreadDeltas);
+        Map<Long, String> fcmTokens = new HashMap<>();
+        for (Object[] row : userRepository.findFcmTokensByIdIn(byUser.keySet())) {
+            fcmTokens.put((Long) row[0], (String) row[1]);
+        }
+        if (!fcmTokens.isEmpty()) {
+            sendPushBatch(fcmTokens, byUser);
+        }
+
+        deliveredCounter.increment(notifications.size());
+        log.debug("알림 전달: {}건 (푸시 대상 {}명)", notifications.size(), fcmTokens.size());
+    }
+
+    /**
+     * 사용자별 푸시 한 건씩 전송 요청 (여러 건이면 요약 메시지)
+     */
+    private void sendPushBatch(Map<Long, String> fcmTokens,
+                               Map<Long, List<NotificationService.NotificationDto>> notificationsByUser) {
+        fcmTokens.forEach((userId, token) -> {
+            List<NotificationService.NotificationDto> userNotifications = notificationsByUser.get(userId);
+            NotificationService.NotificationDto latest = userNotifications.get(userNotifications.size() - 1);
+            String body = userNotifications.size() == 1
+                    ? latest.getMessage()
+                    : String.format("%s 외 %d건의 새 알림", latest.getMessage(), userNotifications.size() - 1);
+
+            Map<String, String> data = new HashMap<>();
+            data.put("type", latest.getType().name());
+            if (latest.getActionUrl() != null) {
+                data.put("actionUrl", latest.getActionUrl());
+            }
+            if (latest.getId() != null) {
+                data.put("notificationId", latest.getId().toString());
+            }
+            pushDeliveryService.submit(userId, token, latest.getTitle(), body, data);
+        });
+    }
+
+    private void updateLag(List<NotificationOutbox> claimed) {
+        if (claimed.isEmpty()) {
+            lagMillis.set(0);
+            return;
+        }
+        // id 오름차순으로 가져오므로 첫 요청이 가장 오래됨
+        lagMillis.set(Duration.between(claimed.get(0).getCreatedAt(), LocalDateTime.now()).toMillis());
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws java.sql.SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
@@ -1,19 +1,23 @@
 package com.travelmate.service;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.travelmate.entity.Notification;
-import com.travelmate.entity.User;
+import com.travelmate.entity.NotificationOutbox;
+import com.travelmate.repository.GroupMemberRepository;
 import com.travelmate.repository.NotificationRepository;
-import com.travelmate.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,7 +29,16 @@ public class NotificationService {
 
     private final SimpMessagingTemplate messagingTemplate;
     private final NotificationRepository notificationRepository;
-    private final UserRepository userRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final NotificationOutboxService notificationOutboxService;
+    private final NotificationCoalescer notificationCoalescer;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final RetentionCleanupService retentionCleanupService;
+    private final PushDeliveryService pushDeliveryService;
+    private final NotificationStreamService notificationStreamService;
+
+    @Value("${app.notification.sse.replay-limit:100}")
+    private int streamReplayLimit;
     
     public void sendNotification(Long userId, String message) {
         Map<String, Object> notification = new HashMap<>();
@@ -45,7 +58,13 @@ public class NotificationService {
         sendPushNotification(userId, message);
     }
     
+    /**
+     * 그룹 알림 - 그룹 화면을 보고 있는 사용자에게 브로드캐스트하고, 멤버별 알림으로도 저장
+     */
+    @Transactional
     public void sendGroupNotification(Long groupId, String message) {
+        notifyGroupMembers(groupId, Notification.NotificationType.GROUP_UPDATE, "그룹 알림", message, null);
+
         Map<String, Object> notification = new HashMap<>();
         notification.put("message", message);
         notification.put("timestamp", LocalDateTime.now());
@@ -95,25 +114,11 @@ public class NotificationService {
         log.info("매칭 알림: User {} matched with User {}", userId, matchedUserId);
     }
     
-    // 푸시 알림 전송 (FCM 연동)
+    // 푸시 알림 전송 (토큰은 전송 워커가 일괄 조회)
     private void sendPushNotification(Long userId, String message) {
-        try {
-            // FCM 토큰은 사용자 설정에서 관리
-            // 실제 운영 시 FCM SDK 연동 필요
-            log.info("푸시 알림 대기: User {} - {}", userId, message);
-            
-            // FCM 메시지 포맷 준비
-            Map<String, String> data = new HashMap<>();
-            data.put("title", "TravelMate");
-            data.put("body", message);
-            data.put("userId", userId.toString());
-            
-            // FCM 전송 로직은 별도 구현 필요
-            // fcmService.sendToUser(userId, data);
-            
-        } catch (Exception e) {
-            log.error("푸시 알림 전송 실패: User {}", userId, e);
-        }
+        Map<String, String> data = new HashMap<>();
+        data.put("type", "SYSTEM");
+        pushDeliveryService.submit(userId, null, "TravelMate", message, data);
     }
     
     public void sendJoinRequestNotification(Long groupId, Long requesterId, String requesterName) {
@@ -136,9 +141,8 @@ public class NotificationService {
     // ===== 새로운 영속성 기반 알림 시스템 =====
 
     /**
-     * 알림 생성 및 저장 (DB + WebSocket)
+     * 알림 생성 요청 (아웃박스에 기록 후 워커가 저장/전송)
      */
-    @Async
     @Transactional
     public void createAndSendNotification(
             Long userId,
@@ -148,55 +152,65 @@ public class NotificationService {
             String actionUrl,
             Long relatedId,
             String relatedType) {
+        createAndSendNotifications(List.of(userId), type, title, message, actionUrl, relatedId, relatedType);
+    }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        Notification notification = Notification.builder()
-                .user(user)
-                .type(type)
-                .title(title)
-                .message(message)
-                .actionUrl(actionUrl)
-                .relatedId(relatedId)
-                .relatedType(relatedType)
-                .isRead(false)
-                .build();
+    /**
+     * 그룹 멤버 전체에게 알림 생성 요청
+     * (멤버 조회 1회 + 아웃박스 배치 INSERT 1회, 저장과 전달은 아웃박스 워커가 배치로 처리)
+     */
+    @Transactional
+    public int notifyGroupMembers(Long groupId, Notification.NotificationType type, String title,
+                                  String message, Long excludeUserId) {
+        List<Long> memberIds = groupMemberRepository.findAcceptedMemberUserIds(groupId).stream()
+                .filter(memberId -> !memberId.equals(excludeUserId))
+                .toList();
+        if (memberIds.isEmpty()) {
+            return 0;
+        }
 
-        notification = notificationRepository.save(notification);
-        log.info("Notification created: {} for user {}", notification.getId(), userId);
+        createAndSendNotifications(memberIds, type, title, message, "/groups/" + groupId, groupId, "GROUP");
+        log.debug("그룹 알림 요청: Group {} - {}명", groupId, memberIds.size());
+        return memberIds.size();
+    }
 
-        // WebSocket 실시간 전송
-        sendWebSocketNotification(userId, notification);
+    /**
+     * 여러 사용자에게 같은 알림 생성 요청 (한 번의 배치 INSERT로 기록)
+     */
+    @Transactional
+    public void createAndSendNotifications(
+            Collection<Long> userIds,
+            Notification.NotificationType type,
+            String title,
+            String message,
+            String actionUrl,
+            Long relatedId,
+            String relatedType) {
 
-        // FCM 푸시 (사용자가 FCM 토큰이 있으면)
-        if (user.getFcmToken() != null && !user.getFcmToken().isEmpty()) {
-            sendPushNotificationEnhanced(user.getFcmToken(), title, message, notification);
-        }
-    }
+        List<NotificationOutbox> requests = userIds.stream()
+                .distinct()
+                .map(userId -> NotificationOutbox.builder()
+                        .userId(userId)
+                        .type(type)
+                        .title(title)
+                        .message(message)
+                        .actionUrl(actionUrl)
+                        .relatedId(relatedId)
+                        .relatedType(relatedType)
+                        .build())
+                .toList();
 
-    private void sendWebSocketNotification(Long userId, Notification notification) {
-        try {
-            NotificationDto dto = convertToDto(notification);
-            messagingTemplate.convertAndSendToUser(
-                    userId.toString(),
-                    "/queue/notifications",
-                    dto
-            );
-            log.info("WebSocket notification sent to user {}", userId);
-        } catch (Exception e) {
-            log.error("Failed to send WebSocket notification", e);
-        }
+        notificationOutboxService.enqueue(requests);
     }
 
-    @Async
     public void sendPushNotificationEnhanced(String fcmToken, String title, String body, Notification notification) {
-        try {
-            log.info("Push notification would be sent to token: {}", fcmToken);
-            // FCM 구현은 firebase-admin SDK 추가 후 구현
-        } catch (Exception e) {
-            log.error("Failed to send push notification", e);
+        Map<String, String> data = new HashMap<>();
+        data.put("type", notification.getType().name());
+        data.put("notificationId", String.valueOf(notification.getId()));
+        if (notification.getActionUrl() != null) {
+            data.put("actionUrl", notification.getActionUrl());
         }
+        pushDeliveryService.submit(notification.getUser().getId(), fcmToken, title, body, data);
     }
 
     @Transactional(readOnly = true)
@@ -205,26 +219,43 @@ public class NotificationService {
         return notifications.map(this::convertToDto);
     }
 
+    /**
+     * 알림 SSE 스트림 열기 (lastEventId 이후 알림을 최대 replay-limit건까지 다시 보냄)
+     */
+    public SseEmitter openStream(Long userId, Long lastEventId) {
+        SseEmitter emitter = notificationStreamService.subscribe(userId);
+
+        List<NotificationDto> missed = List.of();
+        if (lastEventId != null) {
+            missed = notificationRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                            userId, lastEventId, PageRequest.of(0, streamReplayLimit))
+                    .stream().map(this::convertToDto).toList();
+        }
+        notificationStreamService.replay(userId, emitter, missed, getUnreadCount(userId));
+        return emitter;
+    }
+
     @Transactional(readOnly = true)
     public List<NotificationDto> getUnreadNotifications(Long userId) {
         List<Notification> notifications = notificationRepository.findByUserIdAndIsReadFalseOrderByCreatedAtDesc(userId);
         return notifications.stream().map(this::convertToDto).toList();
     }
 
-    @Transactional(readOnly = true)
     public long getUnreadCount(Long userId) {
-        return notificationRepository.countByUserIdAndIsReadFalse(userId);
+        return unreadNotificationCounter.getUnreadCount(userId);
     }
 
     @Transactional
     public void markAsRead(List<Long> notificationIds, Long userId) {
         int updated = notificationRepository.markAsRead(notificationIds, userId, LocalDateTime.now());
+        unreadNotificationCounter.adjust(userId, -updated);
         log.info("Marked {} notifications as read for user {}", updated, userId);
     }
 
     @Transactional
     public void markAllAsRead(Long userId) {
         int updated = notificationRepository.markAllAsRead(userId, LocalDateTime.now());
+        unreadNotificationCounter.reset(userId);
         log.info("Marked all {} notifications as read for user {}", updated, userId);
     }
 
@@ -238,13 +269,17 @@ public class NotificationService {
         }
 
         notificationRepository.delete(notification);
+        if (!notification.isRead()) {
+            unreadNotificationCounter.adjust(userId, -1);
+        }
         log.info("Notification {} deleted by user {}", notificationId, userId);
     }
 
-    @Transactional
+    /**
+     * 오래된 알림 정리 (구간 단위로 나눠 삭제, 각 구간은 별도 커밋)
+     */
     public void cleanupOldNotifications(int daysToKeep) {
-        LocalDateTime beforeDate = LocalDateTime.now().minusDays(daysToKeep);
-        int deleted = notificationRepository.deleteOldNotifications(beforeDate);
+        long deleted = retentionCleanupService.purgeNotifications(daysToKeep);
         log.info("Deleted {} old notifications (older than {} days)", deleted, daysToKeep);
     }
 
@@ -285,9 +320,80 @@ public class NotificationService {
         );
     }
 
+    // ===== 병합 알림 (짧은 시간 안의 반복 알림을 하나로 모아 발행) =====
+
+    /**
+     * 매칭 알림 - 창 안에서 매칭된 사용자들을 모아 "A님 외 N명과 매칭" 한 건으로 발행
+     */
+    public void notifyMatched(Long userId, Long matchedUserId, String matchedUserNickname) {
+        notificationCoalescer.submit(userId, Notification.NotificationType.MATCHING, "MATCH",
+                matchedUserId, matchedUserNickname, null, burst -> {
+                    int matchedCount = burst.getSubjectIds().size();
+                    boolean single = matchedCount <= 1;
+                    String message = single
+                            ? String.format("%s님과 매칭되었습니다!", burst.getLatestSubjectName())
+                            : String.format("%s님 외 %d명과 매칭되었습니다!", burst.getLatestSubjectName(), matchedCount - 1);
+                    return NotificationOutbox.builder()
+                            .userId(burst.getUserId())
+                            .type(Notification.NotificationType.MATCHING)
+                            .title("새 매칭")
+                            .message(message)
+                            .actionUrl(single ? "/users/" + burst.getLatestSubjectId() : "/matching")
+                            .relatedId(single ? burst.getLatestSubjectId() : null)
+                            .relatedType("USER")
+                            .build();
+                });
+    }
+
+    /**
+     * 주변 여행자 알림 - 같은 장소에 대한 반복 알림은 마지막 인원 수로 한 건만 발행
+     */
+    public void notifyNearbyTravelers(Long userId, String placeName, int travelerCount) {
+        notificationCoalescer.submit(userId, Notification.NotificationType.NEARBY_TRAVELERS, "PLACE:" + placeName,
+                null, null, travelerCount, burst -> NotificationOutbox.builder()
+                        .userId(burst.getUserId())
+                        .type(Notification.NotificationType.NEARBY_TRAVELERS)
+                        .title("주변 여행자")
+                        .message(String.format("%s 근처에 %d명의 여행자가 있습니다!", placeName, burst.getLatestValue()))
+                        .actionUrl("/nearby")
+                        .relatedType("LOCATION")
+                        .build());
+    }
+
+    /**
+     * 폰 흔들기 결과 알림 - 연속으로 흔든 경우 마지막 결과만 발행
+     */
+    public void notifyShakeResult(Long userId, int foundCount) {
+        notificationCoalescer.submit(userId, Notification.NotificationType.NEARBY_TRAVELERS, "SHAKE",
+                null, null, foundCount, burst -> NotificationOutbox.builder()
+                        .userId(burst.getUserId())
+                        .type(Notification.NotificationType.NEARBY_TRAVELERS)
+                        .title("주변 여행자")
+                        .message(String.format("주변에서 %d명의 여행자를 발견했습니다!", burst.getLatestValue()))
+                        .actionUrl("/nearby")
+                        .relatedType("LOCATION")
+                        .build());
+    }
+
+    /**
+     * 관심사가 비슷한 주변 여행자 추천 알림 - 마지막 인원 수로 한 건만 발행
+     */
+    public void notifyPotentialMatches(Long userId, int matchCount) {
+        notificationCoalescer.submit(userId, Notification.NotificationType.MATCHING, "POTENTIAL",
+                null, null, matchCount, burst -> NotificationOutbox.builder()
+                        .userId(burst.getUserId())
+                        .type(Notification.NotificationType.MATCHING)
+                        .title("추천 여행자")
+                        .message(String.format("근처에 %d명의 관심사가 비슷한 여행자가 있습니다!", burst.getLatestValue()))
+                        .actionUrl("/matching")
+                        .relatedType("USER")
+                        .build());
+    }
+
     private NotificationDto convertToDto(Notification notification) {
         return NotificationDto.builder()
                 .id(notification.getId())
+                .userId(notification.getUser().getId())
                 .type(notification.getType())
                 .title(notification.getTitle())
                 .message(notification.getMessage())
@@ -302,14 +408,17 @@ public class NotificationService {
 
     @lombok.Builder
     @lombok.Getter
+    @lombok.extern.jackson.Jacksonized
     public static class NotificationDto {
         private Long id;
+        private Long userId;
         private Notification.NotificationType type;
         private String title;
         private String message;
         private String actionUrl;
         private Long relatedId;
         private String relatedType;
+        @JsonProperty("read")
         private boolean isRead;
         private LocalDateTime createdAt;
         private LocalDateTime readAt;
@@ -0,0 +1,241 @@
+package com.travelmate.service;
+
+import com.travelmate.service.cluster.ClusterEventBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 알림 SSE(Server-Sent Events) 스트림
+ *
+ * STOMP 연결 없이 알림 목록과 배지만 필요한 클라이언트용 단방향 스트림.
+ * - notification 이벤트: id = 알림 ID (재연결 시 Last-Event-ID 이후 알림을 다시 보냄)
+ * - unread-count 이벤트: id 없음 (Last-Event-ID에 영향을 주지 않음)
+ * 전송은 전용 실행기에서 수행해 느린 클라이언트가 아웃박스 워커를 막지 않게 한다.
+ * 연결은 노드마다 따로 관리하므로 알림과 배지는 노드 간 이벤트 채널로 발행하고, 각 노드가 자기 연결에만 전송한다.
+ */
+@Service
+@Slf4j
+public class NotificationStreamService {
+
+    private static final String NOTIFICATION_EVENT = "notification";
+    private static final String UNREAD_COUNT_EVENT = "unread-count";
+    private static final String NOTIFICATIONS_CHANNEL = "notification.sse.notifications";
+    private static final String UNREAD_COUNT_CHANNEL = "notification.sse.unread-count";
+
+    private final ClusterEventBus eventBus;
+    private final long timeoutMillis;
+    private final int maxStreamsPerUser;
+    // 사용자별로 한 실행기에 고정해 같은 연결의 이벤트 순서를 보장
+    private final ThreadPoolTaskExecutor[] sendExecutors;
+
+    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Counter droppedCounter;
+
+    public NotificationStreamService(
+            MeterRegistry meterRegistry,
+            ClusterEventBus eventBus,
+            @Value("${app.notification.sse.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${app.notification.sse.max-streams-per-user:5}") int maxStreamsPerUser,
+            @Value("${app.notification.sse.send-threads:4}") int sendThreads,
+            @Value("${app.notification.sse.send-queue-capacity:10000}") int sendQueueCapacity) {
+        this.eventBus = eventBus;
+        this.timeoutMillis = timeoutMillis;
+        this.maxStreamsPerUser = maxStreamsPerUser;
+
+        this.sendExecutors = new ThreadPoolTaskExecutor[Math.max(1, sendThreads)];
+        for (int i = 0; i < sendExecutors.length; i++) {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(1);
+            executor.setMaxPoolSize(1);
+            executor.setQueueCapacity(Math.max(1, sendQueueCapacity / sendExecutors.length));
+            executor.setThreadNamePrefix("sse-send-" + i + "-");
+            executor.initialize();
+            sendExecutors[i] = executor;
+        }
+
+        Gauge.builder("notification.sse.connections", connectionCount, AtomicInteger::get)
+                .description("열려 있는 알림 SSE 연결 수").register(meterRegistry);
+        this.droppedCounter = Counter.builder("notification.sse.dropped")
+                .description("전송 대기열 포화로 버린 SSE 이벤트 수").register(meterRegistry);
+
+        eventBus.subscribe(NOTIFICATIONS_CHANNEL, NotificationsEvent.class,
+                event -> deliverNotifications(event.notifications()));
+        eventBus.subscribe(UNREAD_COUNT_CHANNEL, UnreadCountEvent.class,
+                event -> deliverUnreadCount(event.userId(), event.count()));
+    }
+
+    /**
+     * 스트림 등록 (놓친 알림 조회보다 먼저 등록해 그 사이 전달된 알림이 빠지지 않게 함)
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        List<SseEmitter> evicted = new ArrayList<>();
+
+        emitters.compute(userId, (id, userEmitters) -> {
+            if (userEmitters == null) {
+                userEmitters = new CopyOnWriteArraySet<>();
+            }
+            // 사용자당 연결 수 제한 (가장 먼저 열린 연결부터 종료)
+            while (userEmitters.size() >= maxStreamsPerUser) {
+                SseEmitter oldest = userEmitters.iterator().next();
+                userEmitters.remove(oldest);
+                evicted.add(oldest);
+            }
+            userEmitters.add(emitter);
+            return userEmitters;
+        });
+        connectionCount.addAndGet(1 - evicted.size());
+        evicted.forEach(SseEmitter::complete);
+
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+        return emitter;
+    }
+
+    /**
+     * 놓친 알림과 현재 배지 개수 전송 (클라이언트는 알림 ID로 중복 제거)
+     */
+    public void replay(Long userId, SseEmitter emitter,
+                       List<NotificationService.NotificationDto> missed, long unreadCount) {
+        dispatch(userId, emitter, () -> {
+            for (NotificationService.NotificationDto notification : missed) {
+                emitter.send(notificationEvent(notification));
+            }
+            emitter.send(unreadCountEvent(unreadCount));
+        });
+        log.debug("알림 SSE 연결: User {} (재전송 {}건)", userId, missed.size());
+    }
+
+    /**
+     * 모든 노드에 알림 발행 (해당 사용자의 연결이 있는 노드에서 전송)
+     */
+    public void publishNotifications(Collection<NotificationService.NotificationDto> notifications) {
+        if (!notifications.isEmpty()) {
+            eventBus.publish(NOTIFICATIONS_CHANNEL, new NotificationsEvent(List.copyOf(notifications)));
+        }
+    }
+
+    public void publishUnreadCount(Long userId, long count) {
+        eventBus.publish(UNREAD_COUNT_CHANNEL, new UnreadCountEvent(userId, count));
+    }
+
+    void deliverNotifications(List<NotificationService.NotificationDto> notifications) {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        for (NotificationService.NotificationDto notification : notifications) {
+            Set<SseEmitter> userEmitters = emitters.get(notification.getUserId());
+            if (userEmitters == null) {
+                continue;
+            }
+            for (SseEmitter emitter : userEmitters) {
+                dispatch(notification.getUserId(), emitter, () -> emitter.send(notificationEvent(notification)));
+            }
+        }
+    }
+
+    void deliverUnreadCount(Long userId, long count) {
+        Set<SseEmitter> userEmitters = emitters.get(userId);
+        if (userEmitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : userEmitters) {
+            dispatch(userId, emitter, () -> emitter.send(unreadCountEvent(count)));
+        }
+    }
+
+    public boolean hasStream(Long userId) {
+        return emitters.containsKey(userId);
+    }
+
+    /**
+     * 프록시/로드밸런서 유휴 종료를 막고 끊어진 연결을 정리하기 위한 주석 이벤트
+     */
+    @Scheduled(fixedDelayString = "${app.notification.sse.heartbeat-interval-ms:25000}")
+    public void sendHeartbeats() {
+        emitters.forEach((userId, userEmitters) -> {
+            for (SseEmitter emitter : userEmitters) {
+                dispatch(userId, emitter, () -> emitter.send(SseEmitter.event().comment("ping")));
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        emitters.values().forEach(userEmitters -> userEmitters.forEach(SseEmitter::complete));
+        emitters.clear();
+        for (ThreadPoolTaskExecutor executor : sendExecutors) {
+            executor.shutdown();
+        }
+    }
+
+    private void dispatch(Long userId, SseEmitter emitter, SendAction action) {
+        try {
+            sendExecutors[Math.floorMod(userId.hashCode(), sendExecutors.length)].execute(() -> {
+                try {
+                    action.send();
+                } catch (Exception e) {
+                    // 클라이언트가 연결을 끊은 경우
+                    remove(userId, emitter);
+                    emitter.completeWithError(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            droppedCounter.increment();
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        boolean[] removed = {false};
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            removed[0] = userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+        if (removed[0]) {
+            connectionCount.decrementAndGet();
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder notificationEvent(NotificationService.NotificationDto notification) {
+        SseEmitter.SseEventBuilder event = SseEmitter.event().name(NOTIFICATION_EVENT).data(notification);
+        if (notification.getId() != null) {
+            event.id(notification.getId().toString());
+        }
+        return event;
+    }
+
+    private static SseEmitter.SseEventBuilder unreadCountEvent(long count) {
+        return SseEmitter.event().name(UNREAD_COUNT_EVENT).data(Map.of("count", count));
+    }
+
+    record NotificationsEvent(List<NotificationService.NotificationDto> notifications) {
+    }
+
+    record UnreadCountEvent(Long userId, long count) {
+    }
+
+    @FunctionalInterface
+    private interface SendAction {
+        void send() throws Exception;
+    }
+}
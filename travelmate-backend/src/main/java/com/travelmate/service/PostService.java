@@ -15,7 +15,9 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,11 +26,14 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PostService {
     
+    private static final int MAX_SEARCH_TERMS = 8;
+    
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final PostLikeRepository postLikeRepository;
     private final PostImageRepository postImageRepository;
     private final FileUploadService fileUploadService;
+    private final TrigramSupport trigramSupport;
     
     public PostDto.Response createPost(PostDto.CreateRequest request) {
         User author = userRepository.findById(request.getAuthorId())
@@ -61,12 +66,38 @@ public class PostService {
     @Transactional(readOnly = true)
     public Page<PostDto.Response> getPosts(Post.Category category, String keyword, 
                                           String location, Pageable pageable) {
-        Page<Post> posts = postRepository.findPostsWithFilters(
-            category, keyword, location, pageable);
+        String tsQuery = toPrefixTsQuery(keyword);
+        Page<Post> posts;
+        if (tsQuery == null) {
+            posts = postRepository.findPostsWithFilters(category, location, pageable);
+        } else {
+            // 키워드 검색은 관련도 순으로 고정 (pg_trgm이 없으면 제목 오타 허용은 생략)
+            String categoryName = category != null ? category.name() : null;
+            Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+            posts = trigramSupport.isAvailable()
+                ? postRepository.searchPosts(categoryName, tsQuery, keyword.trim(), location, unsorted)
+                : postRepository.searchPostsWithoutTrigram(categoryName, tsQuery, location, unsorted);
+        }
         
         return posts.map(this::convertToDto);
     }
     
+    /**
+     * 검색어 -> 단어별 접두어 일치 tsquery (예: "제주 맛집" -> "제주:* & 맛집:*")
+     * 띄어쓰기 없이 붙여 쓴 복합어도 앞부분으로 찾을 수 있고, tsquery 연산자는 제거된다.
+     */
+    static String toPrefixTsQuery(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        String tsQuery = Arrays.stream(keyword.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+            .filter(term -> !term.isEmpty())
+            .limit(MAX_SEARCH_TERMS)
+            .map(term -> term + ":*")
+            .collect(Collectors.joining(" & "));
+        return tsQuery.isEmpty() ? null : tsQuery;
+    }
+    
     @Transactional(readOnly = true)
     public PostDto.DetailResponse getPostDetail(Long postId) {
         Post post = postRepository.findById(postId)
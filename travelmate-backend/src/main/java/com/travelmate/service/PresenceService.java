@@ -0,0 +1,558 @@
+package com.travelmate.service;
+
+import com.travelmate.dto.ChatDto;
+import com.travelmate.repository.ChatParticipantRepository;
+import com.travelmate.service.cluster.ClusterEventBus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebSocket 세션 기반 접속 상태 관리
+ *
+ * STOMP 연결/해제 이벤트로 사용자별 세션 수를 관리하고, 하트비트를 포함한 인바운드 메시지로
+ * 세션의 마지막 활동 시각만 갱신한다. 접속 상태 변경은 모아서 사용자가 참여 중인 채팅방에
+ * 브로드캐스트하고, users.last_activity_at은 주기적으로 배치 반영한다.
+ *
+ * 다중 인스턴스에서는 노드별 사용자 세션 수를 ClusterEventBus로 공유한다.
+ * - 세션 수가 바뀔 때마다 알리고, 이벤트 유실에 대비해 snapshot-interval마다 전체 목록을 다시 보낸다.
+ *   이벤트와 목록에는 노드별 순번을 붙여, 늦게 도착한 목록이 더 새로운 이벤트를 덮어쓰지 않게 한다.
+ * - remote-node-timeout 동안 목록을 보내지 않은 노드(비정상 종료)의 세션은 버린다.
+ * - 접속 여부는 모든 노드의 세션 수 합으로 판단하므로, 다른 노드에 세션이 남은 사용자는 오프라인으로 알리지 않는다.
+ * - 브로드캐스트는 변경이 생긴 노드에서만 한다. 사라진 노드의 사용자는 노드 ID가 가장 작은 노드가 맡는다.
+ */
+@Service
+@Slf4j
+public class PresenceService {
+
+    private static final String UPDATE_LAST_ACTIVITY_SQL =
+            "UPDATE users SET last_activity_at = ? WHERE id = ? " +
+            "AND (last_activity_at IS NULL OR last_activity_at < ?)";
+
+    private static final int ROOM_LOOKUP_CHUNK_SIZE = 500;
+
+    private static final String SESSIONS_CHANNEL = "presence.sessions";
+    private static final String SNAPSHOT_CHANNEL = "presence.snapshot";
+
+    private final ChatParticipantRepository chatParticipantRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterEventBus eventBus;
+    private final long staleTimeoutMillis;
+    private final int persistBatchSize;
+    private final long remoteNodeTimeoutMillis;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+
+    // 사용자별 세션 집합 (잠금 분할: 같은 스트라이프의 사용자만 경합)
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    // 세션별 마지막 활동 시각 (하트비트 경로는 잠금 없이 갱신)
+    private final Map<String, SessionInfo> sessions = new ConcurrentHashMap<>();
+
+    // 브로드캐스트 대기 중인 사용자 -> 이번 주기 첫 변경 이전의 접속 여부
+    private final Map<Long, Boolean> changedUsers = new ConcurrentHashMap<>();
+
+    // 다른 노드가 잘못 알렸을 수 있어 현재 접속 상태를 그대로 다시 보낼 사용자
+    private final Set<Long> reassertedUsers = ConcurrentHashMap.newKeySet();
+
+    // DB 반영 대기 중인 마지막 활동 시각 (epoch millis)
+    private final Map<Long, Long> pendingActivity = new ConcurrentHashMap<>();
+
+    // 다른 노드의 사용자별 세션 수 (nodeId -> 노드 상태)
+    private final Map<String, RemoteNode> remoteNodes = new ConcurrentHashMap<>();
+
+    public PresenceService(
+            ChatParticipantRepository chatParticipantRepository,
+            SimpMessagingTemplate messagingTemplate,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ClusterEventBus eventBus,
+            @Value("${app.presence.stripes:64}") int stripeCount,
+            @Value("${app.presence.stale-timeout-ms:60000}") long staleTimeoutMillis,
+            @Value("${app.presence.persist-batch-size:500}") int persistBatchSize,
+            @Value("${app.presence.remote-node-timeout-ms:45000}") long remoteNodeTimeoutMillis) {
+        this.chatParticipantRepository = chatParticipantRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventBus = eventBus;
+        this.staleTimeoutMillis = staleTimeoutMillis;
+        this.persistBatchSize = persistBatchSize;
+        this.remoteNodeTimeoutMillis = remoteNodeTimeoutMillis;
+
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeMask = size - 1;
+
+        eventBus.subscribe(SESSIONS_CHANNEL, SessionsEvent.class, this::applyRemoteSessions);
+        eventBus.subscribe(SNAPSHOT_CHANNEL, SnapshotEvent.class, this::applyRemoteSnapshot);
+    }
+
+    @EventListener
+    public void handleSessionConnected(SessionConnectedEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        Long userId = toUserId(event.getUser());
+        if (sessionId != null && userId != null) {
+            connect(sessionId, userId);
+        }
+    }
+
+    @EventListener
+    public void handleSessionDisconnect(SessionDisconnectEvent event) {
+        disconnect(event.getSessionId());
+    }
+
+    public void connect(String sessionId, Long userId) {
+        long now = System.currentTimeMillis();
+        sessions.put(sessionId, new SessionInfo(userId, now));
+
+        Stripe stripe = stripeFor(userId);
+        synchronized (stripe) {
+            UserPresence presence = stripe.users.computeIfAbsent(userId, id -> new UserPresence());
+            boolean hadLocalSession = !presence.sessionIds.isEmpty();
+            if (!presence.sessionIds.add(sessionId)) {
+                return;
+            }
+            if (!hadLocalSession) {
+                // 다른 노드에 이미 세션이 있으면 접속 상태는 바뀌지 않음
+                changedUsers.putIfAbsent(userId, isRemoteOnline(userId));
+                log.debug("사용자 접속: {}", userId);
+            }
+            // 같은 사용자의 세션 수 이벤트가 순서대로 나가도록 스트라이프 잠금 안에서 발행
+            publishSessions(userId, presence.sessionIds.size());
+        }
+    }
+
+    public void disconnect(String sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        SessionInfo session = sessions.remove(sessionId);
+        if (session == null) {
+            return;
+        }
+
+        Stripe stripe = stripeFor(session.userId);
+        synchronized (stripe) {
+            UserPresence presence = stripe.users.get(session.userId);
+            if (presence == null) {
+                return;
+            }
+            presence.sessionIds.remove(sessionId);
+            presence.lastSeenMillis = Math.max(presence.lastSeenMillis, session.lastSeenMillis);
+
+            if (presence.sessionIds.isEmpty()) {
+                stripe.users.remove(session.userId);
+                // 다른 노드에 세션이 남아 있으면 브로드캐스트 시점에 온라인으로 판단되어 전송하지 않음
+                changedUsers.putIfAbsent(session.userId, true);
+                pendingActivity.merge(session.userId, presence.lastSeenMillis, Math::max);
+                log.debug("사용자 접속 종료: {}", session.userId);
+            }
+            publishSessions(session.userId, presence.sessionIds.size());
+        }
+    }
+
+    /**
+     * 세션 활동 갱신 (하트비트 포함, DB 쓰기 없음)
+     */
+    public void touch(String sessionId, Principal user) {
+        if (sessionId == null) {
+            return;
+        }
+        SessionInfo session = sessions.get(sessionId);
+        if (session != null) {
+            session.lastSeenMillis = System.currentTimeMillis();
+            return;
+        }
+
+        // 응답 없음으로 정리된 세션이 다시 활동하면 접속 상태 복구
+        Long userId = toUserId(user);
+        if (userId != null) {
+            connect(sessionId, userId);
+        }
+    }
+
+    /**
+     * 모든 노드 중 하나라도 세션이 있으면 접속 중
+     */
+    public boolean isOnline(Long userId) {
+        return hasLocalSession(userId) || isRemoteOnline(userId);
+    }
+
+    /**
+     * 주어진 사용자 중 접속 중인 사용자 (스트라이프별로 한 번씩만 잠금)
+     */
+    public Set<Long> getOnlineUserIds(Collection<Long> userIds) {
+        Map<Stripe, List<Long>> byStripe = new HashMap<>();
+        for (Long userId : userIds) {
+            if (userId != null) {
+                byStripe.computeIfAbsent(stripeFor(userId), s -> new ArrayList<>()).add(userId);
+            }
+        }
+
+        Set<Long> online = new HashSet<>();
+        for (Map.Entry<Stripe, List<Long>> entry : byStripe.entrySet()) {
+            Stripe stripe = entry.getKey();
+            synchronized (stripe) {
+                for (Long userId : entry.getValue()) {
+                    if (stripe.users.containsKey(userId)) {
+                        online.add(userId);
+                    }
+                }
+            }
+        }
+        for (Long userId : userIds) {
+            if (userId != null && !online.contains(userId) && isRemoteOnline(userId)) {
+                online.add(userId);
+            }
+        }
+        return online;
+    }
+
+    public int getOnlineUserCount() {
+        Set<Long> online = new HashSet<>(localSessionCounts().keySet());
+        remoteNodes.values().forEach(node -> node.sessions.forEach((userId, remote) -> {
+            if (remote.count() > 0) {
+                online.add(userId);
+            }
+        }));
+        return online.size();
+    }
+
+    /**
+     * 접속 상태 변경을 채팅방별로 모아서 브로드캐스트
+     */
+    @Scheduled(fixedDelayString = "${app.presence.broadcast-interval-ms:2000}")
+    public void broadcastChanges() {
+        if (changedUsers.isEmpty() && reassertedUsers.isEmpty()) {
+            return;
+        }
+
+        // 주기 안에서 접속 후 바로 종료하는 등 최종 상태가 같으면 전송하지 않음
+        Map<Long, Boolean> changes = new HashMap<>();
+        for (Long userId : changedUsers.keySet()) {
+            Boolean wasOnline = changedUsers.remove(userId);
+            boolean online = isOnline(userId);
+            if (wasOnline != null && wasOnline != online) {
+                changes.put(userId, online);
+            }
+        }
+        for (Long userId : reassertedUsers) {
+            if (reassertedUsers.remove(userId)) {
+                changes.put(userId, isOnline(userId));
+            }
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        Map<Long, ChatDto.PresenceUpdate> updates = new HashMap<>();
+        List<Long> userIds = new ArrayList<>(changes.keySet());
+        for (int from = 0; from < userIds.size(); from += ROOM_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + ROOM_LOOKUP_CHUNK_SIZE, userIds.size()));
+            for (Object[] row : chatParticipantRepository.findActiveRoomIdsByUserIds(chunk)) {
+                Long userId = (Long) row[0];
+                Long roomId = (Long) row[1];
+                ChatDto.PresenceUpdate update = updates.computeIfAbsent(roomId, this::createPresenceUpdate);
+                if (changes.get(userId)) {
+                    update.getOnlineUserIds().add(userId);
+                } else {
+                    update.getOfflineUserIds().add(userId);
+                }
+            }
+        }
+
+        for (ChatDto.PresenceUpdate update : updates.values()) {
+            messagingTemplate.convertAndSend("/topic/chat/" + update.getChatRoomId() + "/presence", update);
+        }
+        log.debug("접속 상태 브로드캐스트: 사용자 {}명, 채팅방 {}개", changes.size(), updates.size());
+    }
+
+    /**
+     * 이 노드의 전체 세션 목록을 다른 노드에 알리고, 목록이 끊긴 노드를 정리 (세션 이벤트 유실 보정)
+     */
+    @Scheduled(fixedDelayString = "${app.presence.snapshot-interval-ms:15000}")
+    public void publishSnapshot() {
+        // 순번을 먼저 읽으므로 이 순번 이하의 이벤트는 모두 목록에 반영되어 있음
+        long snapshotSequence = sequence.get();
+        eventBus.publish(SNAPSHOT_CHANNEL, new SnapshotEvent(nodeId, snapshotSequence, localSessionCounts()));
+
+        long cutoff = System.currentTimeMillis() - remoteNodeTimeoutMillis;
+        remoteNodes.forEach((remoteNodeId, node) -> {
+            if (node.heardAtMillis < cutoff && remoteNodes.remove(remoteNodeId, node)) {
+                log.warn("응답 없는 노드의 접속 상태 정리: {} (사용자 {}명)", remoteNodeId, node.sessions.size());
+                dropRemoteUsers(node.sessions.entrySet().stream()
+                        .filter(entry -> entry.getValue().count() > 0)
+                        .map(Map.Entry::getKey)
+                        .toList());
+            }
+        });
+    }
+
+    /**
+     * 하트비트가 끊긴 세션 정리 (연결 해제 이벤트를 받지 못한 경우 대비)
+     */
+    @Scheduled(fixedDelayString = "${app.presence.sweep-interval-ms:30000}")
+    public void evictStaleSessions() {
+        long cutoff = System.currentTimeMillis() - staleTimeoutMillis;
+        List<String> staleSessionIds = new ArrayList<>();
+        sessions.forEach((sessionId, session) -> {
+            if (session.lastSeenMillis < cutoff) {
+                staleSessionIds.add(sessionId);
+            }
+        });
+
+        staleSessionIds.forEach(this::disconnect);
+        if (!staleSessionIds.isEmpty()) {
+            log.info("응답 없는 WebSocket 세션 정리: {}개", staleSessionIds.size());
+        }
+    }
+
+    /**
+     * 마지막 활동 시각을 users 테이블에 배치 반영
+     */
+    @Scheduled(fixedDelayString = "${app.presence.persist-interval-ms:300000}")
+    public void persistLastActivity() {
+        sessions.forEach((sessionId, session) ->
+                pendingActivity.merge(session.userId, session.lastSeenMillis, Math::max));
+        if (pendingActivity.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>(Math.min(pendingActivity.size(), persistBatchSize));
+        for (Long userId : pendingActivity.keySet()) {
+            Long lastSeenMillis = pendingActivity.remove(userId);
+            if (lastSeenMillis == null) {
+                continue;
+            }
+            Timestamp lastSeen = Timestamp.valueOf(toLocalDateTime(lastSeenMillis));
+            batch.add(new Object[]{lastSeen, userId, lastSeen});
+
+            if (batch.size() >= persistBatchSize) {
+                writeBatch(batch);
+                batch = new ArrayList<>(persistBatchSize);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 빈 목록을 보내 다른 노드가 시간 초과를 기다리지 않고 이 노드의 세션을 정리하게 함
+        eventBus.publish(SNAPSHOT_CHANNEL, new SnapshotEvent(nodeId, Long.MAX_VALUE, Map.of()));
+        persistLastActivity();
+    }
+
+    private void applyRemoteSessions(SessionsEvent event) {
+        if (nodeId.equals(event.nodeId())) {
+            return;
+        }
+        RemoteNode node = remoteNodes.computeIfAbsent(event.nodeId(), id -> new RemoteNode());
+        node.heardAtMillis = System.currentTimeMillis();
+
+        // 세션이 0이 된 사용자도 다음 목록까지 남겨 두어 늦게 도착한 이전 목록에 되살아나지 않게 함
+        RemoteSessions previous = node.sessions.get(event.userId());
+        if (previous != null && previous.sequence() >= event.sequence()) {
+            return;
+        }
+        node.sessions.put(event.userId(), new RemoteSessions(event.sessions(), event.sequence()));
+        if (event.sessions() == 0 && previous != null && previous.count() > 0) {
+            reassertIfLocal(event.userId());
+        }
+    }
+
+    private void applyRemoteSnapshot(SnapshotEvent event) {
+        if (nodeId.equals(event.nodeId())) {
+            return;
+        }
+        RemoteNode node = remoteNodes.computeIfAbsent(event.nodeId(), id -> new RemoteNode());
+        node.heardAtMillis = System.currentTimeMillis();
+
+        // 목록보다 새로운 이벤트로 바뀐 사용자는 그대로 둠
+        List<Long> removed = new ArrayList<>();
+        node.sessions.forEach((userId, current) -> {
+            if (current.sequence() <= event.sequence() && !event.sessions().containsKey(userId)) {
+                node.sessions.remove(userId);
+                if (current.count() > 0) {
+                    removed.add(userId);
+                }
+            }
+        });
+        event.sessions().forEach((userId, count) -> {
+            RemoteSessions current = node.sessions.get(userId);
+            if (current == null || current.sequence() <= event.sequence()) {
+                node.sessions.put(userId, new RemoteSessions(count, event.sequence()));
+            }
+        });
+
+        if (node.sessions.isEmpty()) {
+            remoteNodes.remove(event.nodeId(), node);
+        }
+        dropRemoteUsers(removed);
+    }
+
+    /**
+     * 다른 노드에서 빠진 사용자의 접속 상태 재확인
+     * 사라진 노드는 스스로 오프라인을 알리지 못하므로 노드 ID가 가장 작은 노드가 대신 브로드캐스트한다.
+     */
+    private void dropRemoteUsers(Collection<Long> userIds) {
+        boolean broadcaster = remoteNodes.keySet().stream().allMatch(id -> nodeId.compareTo(id) < 0);
+        for (Long userId : userIds) {
+            if (!reassertIfLocal(userId) && broadcaster) {
+                changedUsers.putIfAbsent(userId, true);
+            }
+        }
+    }
+
+    /**
+     * 다른 노드가 오프라인을 보냈을 수 있으므로 이 노드에 세션이 남은 사용자는 온라인을 다시 알림
+     */
+    private boolean reassertIfLocal(Long userId) {
+        if (hasLocalSession(userId)) {
+            reassertedUsers.add(userId);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean hasLocalSession(Long userId) {
+        Stripe stripe = stripeFor(userId);
+        synchronized (stripe) {
+            return stripe.users.containsKey(userId);
+        }
+    }
+
+    private boolean isRemoteOnline(Long userId) {
+        for (RemoteNode node : remoteNodes.values()) {
+            RemoteSessions remote = node.sessions.get(userId);
+            if (remote != null && remote.count() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void publishSessions(Long userId, int sessionCount) {
+        eventBus.publish(SESSIONS_CHANNEL, new SessionsEvent(nodeId, userId, sessionCount, sequence.incrementAndGet()));
+    }
+
+    private Map<Long, Integer> localSessionCounts() {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.users.forEach((userId, presence) -> counts.put(userId, presence.sessionIds.size()));
+            }
+        }
+        return counts;
+    }
+
+    private void writeBatch(List<Object[]> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_LAST_ACTIVITY_SQL, batch));
+            log.debug("마지막 활동 시각 반영: {}건", batch.size());
+        } catch (Exception e) {
+            log.error("마지막 활동 시각 반영 실패: {}건 재시도 예정", batch.size(), e);
+            for (Object[] row : batch) {
+                long lastSeenMillis = ((Timestamp) row[0]).getTime();
+                pendingActivity.merge((Long) row[1], lastSeenMillis, Math::max);
+            }
+        }
+    }
+
+    private ChatDto.PresenceUpdate createPresenceUpdate(Long roomId) {
+        ChatDto.PresenceUpdate update = new ChatDto.PresenceUpdate();
+        update.setChatRoomId(roomId);
+        update.setOnlineUserIds(new ArrayList<>());
+        update.setOfflineUserIds(new ArrayList<>());
+        return update;
+    }
+
+    private Long toUserId(Principal user) {
+        if (user == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(user.getName());
+        } catch (NumberFormatException e) {
+            log.warn("접속 상태 추적 불가: 잘못된 사용자 식별자 {}", user.getName());
+            return null;
+        }
+    }
+
+    private Stripe stripeFor(Long userId) {
+        int hash = Long.hashCode(userId);
+        return stripes[(hash ^ (hash >>> 16)) & stripeMask];
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static final class Stripe {
+        private final Map<Long, UserPresence> users = new HashMap<>();
+    }
+
+    private static final class UserPresence {
+        private final Set<String> sessionIds = new HashSet<>(2);
+        private long lastSeenMillis;
+    }
+
+    private static final class RemoteNode {
+        private final Map<Long, RemoteSessions> sessions = new ConcurrentHashMap<>();
+        private volatile long heardAtMillis;
+    }
+
+    private static final class SessionInfo {
+        private final Long userId;
+        private volatile long lastSeenMillis;
+
+        private SessionInfo(Long userId, long lastSeenMillis) {
+            this.userId = userId;
+            this.lastSeenMillis = lastSeenMillis;
+        }
+    }
+
+    private record RemoteSessions(int count, long sequence) {
+    }
+
+    record SessionsEvent(String nodeId, Long userId, int sessions, long sequence) {
+    }
+
+    record SnapshotEvent(String nodeId, long sequence, Map<Long, Integer> sessions) {
+    }
+}
@@ -0,0 +1,361 @@
+package com.travelmate.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.travelmate.repository.UserRepository;
+import com.travelmate.service.push.PushMessage;
+import com.travelmate.service.push.PushResult;
+import com.travelmate.service.push.PushTransport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 푸시 알림 전송 워커
+ *
+ * 요청은 크기가 제한된 대기열에 넣고, 워커 스레드가 linger-ms 동안 모은 요청을
+ * 제공자 한도(maxBatchSize)까지 한 번에 전송한다.
+ * - 일시적 실패는 지수 백오프 + 지터로 재시도
+ * - 잘못된 토큰과 연속 실패가 누적된 토큰은 모아서 users.fcm_token에서 삭제
+ * - 대기열이 가득 차면 푸시는 버린다 (알림 자체는 DB와 WebSocket으로 이미 전달됨)
+ */
+@Service
+@Slf4j
+public class PushDeliveryService {
+
+    private final PushTransport transport;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int workerCount;
+    private final int batchSize;
+    private final long lingerMillis;
+    private final int maxAttempts;
+    private final long retryBaseMillis;
+    private final long retryMaxMillis;
+    private final int maxTokenFailures;
+
+    private final BlockingQueue<PushTask> queue;
+    private final ScheduledExecutorService retryScheduler;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    // 토큰별 연속 실패 횟수, 삭제 대기 토큰
+    private final Cache<String, AtomicInteger> tokenFailures;
+    private final Set<String> tokensToPrune = ConcurrentHashMap.newKeySet();
+
+    private final Map<PushResult, Counter> resultCounters = new EnumMap<>(PushResult.class);
+    private final Counter droppedCounter;
+    private final Counter retriedCounter;
+    private final Counter prunedCounter;
+    private final Timer batchTimer;
+
+    public PushDeliveryService(
+            PushTransport transport,
+            UserRepository userRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.push.workers:4}") int workerCount,
+            @Value("${app.push.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.push.batch-size:500}") int batchSize,
+            @Value("${app.push.linger-ms:50}") long lingerMillis,
+            @Value("${app.push.max-attempts:5}") int maxAttempts,
+            @Value("${app.push.retry-base-ms:1000}") long retryBaseMillis,
+            @Value("${app.push.retry-max-ms:60000}") long retryMaxMillis,
+            @Value("${app.push.max-token-failures:10}") int maxTokenFailures) {
+        this.transport = transport;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.workerCount = workerCount;
+        this.batchSize = Math.max(1, Math.min(batchSize, transport.maxBatchSize()));
+        this.lingerMillis = lingerMillis;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseMillis = retryBaseMillis;
+        this.retryMaxMillis = retryMaxMillis;
+        this.maxTokenFailures = maxTokenFailures;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "push-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.tokenFailures = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofDays(1))
+                .build();
+
+        for (PushResult result : PushResult.values()) {
+            resultCounters.put(result, Counter.builder("push.sent")
+                    .tag("result", result.name().toLowerCase())
+                    .description("푸시 전송 결과")
+                    .register(meterRegistry));
+        }
+        this.droppedCounter = Counter.builder("push.dropped")
+                .description("대기열 포화 또는 토큰 없음으로 버린 푸시 수").register(meterRegistry);
+        this.retriedCounter = Counter.builder("push.retried")
+                .description("재시도 예약된 푸시 수").register(meterRegistry);
+        this.prunedCounter = Counter.builder("push.tokens.pruned")
+                .description("삭제된 FCM 토큰 수").register(meterRegistry);
+        this.batchTimer = Timer.builder("push.batch")
+                .description("푸시 묶음 전송 시간").register(meterRegistry);
+        Gauge.builder("push.queue.size", queue, BlockingQueue::size)
+                .description("푸시 대기열 길이").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::runWorker, "push-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        log.info("푸시 전송 워커 시작: workers={}, batch={}, linger={}ms", workerCount, batchSize, lingerMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        retryScheduler.shutdownNow();
+        workers.forEach(Thread::interrupt);
+        if (!queue.isEmpty()) {
+            log.warn("종료 시 전송하지 못한 푸시: {}건", queue.size());
+        }
+    }
+
+    /**
+     * 푸시 전송 요청 (token이 null이면 전송 직전에 사용자 토큰을 일괄 조회)
+     *
+     * @return 대기열에 넣었으면 true, 가득 차서 버렸으면 false
+     */
+    public boolean submit(Long userId, String token, String title, String body, Map<String, String> data) {
+        PushMessage message = PushMessage.builder()
+                .userId(userId)
+                .token(token)
+                .title(title)
+                .body(body)
+                .data(data)
+                .build();
+        return offer(new PushTask(message));
+    }
+
+    /**
+     * 삭제 대기 중인 토큰을 한 번에 정리
+     */
+    @Scheduled(fixedDelayString = "${app.push.prune-interval-ms:5000}")
+    public void pruneInvalidTokens() {
+        if (tokensToPrune.isEmpty()) {
+            return;
+        }
+
+        List<String> tokens = new ArrayList<>(tokensToPrune);
+        tokensToPrune.removeAll(tokens);
+        try {
+            Integer cleared = transactionTemplate.execute(status -> userRepository.clearFcmTokens(tokens));
+            prunedCounter.increment(tokens.size());
+            tokens.forEach(tokenFailures::invalidate);
+            log.info("유효하지 않은 FCM 토큰 삭제: {}건 (사용자 {}명)", tokens.size(), cleared);
+        } catch (Exception e) {
+            tokensToPrune.addAll(tokens);
+            log.error("FCM 토큰 삭제 실패: {}건", tokens.size(), e);
+        }
+    }
+
+    private boolean offer(PushTask task) {
+        if (!running || !queue.offer(task)) {
+            droppedCounter.increment();
+            log.warn("푸시 대기열이 가득 차서 버림: user {}", task.message.getUserId());
+            return false;
+        }
+        return true;
+    }
+
+    private void runWorker() {
+        List<PushTask> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PushTask first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("푸시 전송 워커 오류: {}건", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * linger-ms 동안 또는 묶음이 찰 때까지 요청을 더 모음
+     */
+    private void fillBatch(List<PushTask> batch) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + lingerMillis;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.currentTimeMillis();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            PushTask next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void deliver(List<PushTask> batch) {
+        List<PushTask> sendable = resolveTokens(batch);
+        if (sendable.isEmpty()) {
+            return;
+        }
+
+        List<PushMessage> messages = sendable.stream().map(task -> task.message).toList();
+        List<PushResult> results;
+        Timer.Sample sample = Timer.start();
+        try {
+            results = transport.sendBatch(messages);
+        } catch (Exception e) {
+            log.warn("푸시 묶음 전송 실패, 전체 재시도: {}건", sendable.size(), e);
+            sendable.forEach(this::retry);
+            return;
+        } finally {
+            sample.stop(batchTimer);
+        }
+
+        for (int i = 0; i < sendable.size(); i++) {
+            PushTask task = sendable.get(i);
+            PushResult result = i < results.size() ? results.get(i) : PushResult.RETRYABLE;
+            resultCounters.get(result).increment();
+            String token = task.message.getToken();
+
+            switch (result) {
+                case SUCCESS -> tokenFailures.invalidate(token);
+                case INVALID_TOKEN -> markForPruning(token);
+                case RETRYABLE -> {
+                    if (recordTokenFailure(token)) {
+                        retry(task);
+                    }
+                }
+                case FAILED -> log.warn("푸시 전송 실패 (재시도 안 함): user {}", task.message.getUserId());
+            }
+        }
+    }
+
+    /**
+     * 토큰이 없는 요청은 사용자 토큰을 한 번에 조회해서 채우고, 삭제 대기 토큰은 제외
+     */
+    private List<PushTask> resolveTokens(List<PushTask> batch) {
+        Set<Long> missingUserIds = new HashSet<>();
+        for (PushTask task : batch) {
+            if (task.message.getToken() == null) {
+                missingUserIds.add(task.message.getUserId());
+            }
+        }
+
+        Map<Long, String> tokens = new HashMap<>();
+        if (!missingUserIds.isEmpty()) {
+            for (Object[] row : userRepository.findFcmTokensByIdIn(missingUserIds)) {
+                tokens.put((Long) row[0], (String) row[1]);
+            }
+        }
+
+        List<PushTask> sendable = new ArrayList<>(batch.size());
+        for (PushTask task : batch) {
+            if (task.message.getToken() == null) {
+                task.message.setToken(tokens.get(task.message.getUserId()));
+            }
+            String token = task.message.getToken();
+            if (token == null || tokensToPrune.contains(token)) {
+                droppedCounter.increment();
+                continue;
+            }
+            sendable.add(task);
+        }
+        return sendable;
+    }
+
+    /**
+     * 연속 실패 횟수 기록. 한도를 넘으면 토큰을 삭제 대상으로 표시하고 false 반환
+     */
+    private boolean recordTokenFailure(String token) {
+        int failures = tokenFailures.get(token, key -> new AtomicInteger()).incrementAndGet();
+        if (failures >= maxTokenFailures) {
+            log.warn("연속 {}회 실패한 FCM 토큰을 삭제 대상으로 표시", failures);
+            markForPruning(token);
+            return false;
+        }
+        return true;
+    }
+
+    private void markForPruning(String token) {
+        tokensToPrune.add(token);
+    }
+
+    /**
+     * 지수 백오프 + 전체 지터 (0 ~ min(max, base * 2^attempt)) 후 대기열에 다시 넣음
+     */
+    private void retry(PushTask task) {
+        task.attempts++;
+        if (task.attempts >= maxAttempts) {
+            resultCounters.get(PushResult.FAILED).increment();
+            log.warn("푸시 최대 재시도 초과: user {}, 시도 {}회", task.message.getUserId(), task.attempts);
+            return;
+        }
+
+        long delay = ThreadLocalRandom.current().nextLong(retryDelayCeiling(task.attempts) + 1);
+        try {
+            retryScheduler.schedule(() -> offer(task), delay, TimeUnit.MILLISECONDS);
+            retriedCounter.increment();
+        } catch (Exception e) {
+            droppedCounter.increment();
+        }
+    }
+
+    /**
+     * attempts번째 재시도의 최대 대기 시간 (base * 2^attempts, retry-max-ms에서 멈춤)
+     */
+    long retryDelayCeiling(int attempts) {
+        return Math.min(retryMaxMillis, retryBaseMillis << Math.min(attempts, 20));
+    }
+
+    private static class PushTask {
+        private final PushMessage message;
+        private int attempts;
+
+        private PushTask(PushMessage message) {
+            this.message = message;
+        }
+    }
+}
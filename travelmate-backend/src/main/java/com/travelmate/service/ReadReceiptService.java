@@ -0,0 +1,416 @@
+package com.travelmate.service;
+
+import com.travelmate.dto.ChatDto;
+import com.travelmate.repository.ChatMessageRepository;
+import com.travelmate.repository.ChatParticipantRepository;
+import com.travelmate.service.cluster.ClusterEventBus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅방 읽음 워터마크 관리
+ *
+ * - 참가자별 마지막 읽은 메시지 ID(워터마크)를 채팅방 단위로 메모리에 보관한다.
+ * - markAsRead는 메모리만 갱신하고, 변경분은 flush-interval 주기로 JDBC 배치 UPDATE 된다.
+ * - "메시지 X를 읽은 사람"은 워터마크를 정렬한 배열에서 이진 탐색으로 구한다.
+ * - 읽음 변경은 broadcast-interval 동안 모아서 방당 한 프레임으로 전송한다.
+ * - 새 메시지, 새 참가자, 워터마크 변경은 ClusterEventBus로 모든 노드에 알려 각 노드의 메모리 상태를 맞춘다.
+ *   DB 반영과 클라이언트 전송은 변경을 받은 노드에서만 한다.
+ * - 이벤트를 놓쳐 메모리에 없는 참가자는 DB에서 다시 읽는다.
+ */
+@Service
+@Slf4j
+public class ReadReceiptService {
+
+    private static final String UPDATE_WATERMARK_SQL =
+            "UPDATE chat_participants SET last_read_message_id = ?, last_read_at = ? " +
+            "WHERE chat_room_id = ? AND user_id = ? " +
+            "AND (last_read_message_id IS NULL OR last_read_message_id < ?)";
+
+    private static final String MESSAGE_SAVED_CHANNEL = "chat.read-receipt.message-saved";
+    private static final String PARTICIPANT_ADDED_CHANNEL = "chat.read-receipt.participant-added";
+    private static final String WATERMARK_CHANNEL = "chat.read-receipt.watermark";
+
+    private final ChatParticipantRepository chatParticipantRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterEventBus eventBus;
+    private final int flushBatchSize;
+    private final long roomIdleMillis;
+
+    private final Map<Long, RoomReadState> rooms = new ConcurrentHashMap<>();
+    // DB 반영 대기 중인 워터마크
+    private final Map<ParticipantKey, Watermark> pendingFlush = new ConcurrentHashMap<>();
+    // 클라이언트 전송 대기 중인 워터마크 (roomId -> userId -> watermark)
+    private final Map<Long, Map<Long, Watermark>> pendingBroadcast = new ConcurrentHashMap<>();
+
+    public ReadReceiptService(
+            ChatParticipantRepository chatParticipantRepository,
+            ChatMessageRepository chatMessageRepository,
+            SimpMessagingTemplate messagingTemplate,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ClusterEventBus eventBus,
+            @Value("${app.chat.read-receipt.flush-batch-size:500}") int flushBatchSize,
+            @Value("${app.chat.read-receipt.room-idle-minutes:30}") long roomIdleMinutes) {
+        this.chatParticipantRepository = chatParticipantRepository;
+        this.chatMessageRepository = chatMessageRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventBus = eventBus;
+        this.flushBatchSize = flushBatchSize;
+        this.roomIdleMillis = roomIdleMinutes * 60_000;
+
+        eventBus.subscribe(MESSAGE_SAVED_CHANNEL, RoomEvent.class,
+                event -> applyLatestMessageId(event.roomId(), event.value()));
+        eventBus.subscribe(PARTICIPANT_ADDED_CHANNEL, RoomEvent.class,
+                event -> applyParticipantAdded(event.roomId(), event.value()));
+        eventBus.subscribe(WATERMARK_CHANNEL, WatermarkEvent.class, this::applyWatermark);
+    }
+
+    /**
+     * 채팅방의 최신 메시지까지 읽음 처리
+     */
+    public void markAsRead(Long roomId, Long userId) {
+        RoomReadState state = getRoomState(roomId);
+
+        if (!state.watermarks.containsKey(userId)) {
+            // 다른 노드에서 추가된 참가자의 이벤트를 놓친 경우
+            Watermark stored = chatParticipantRepository.findByChatRoomIdAndUserId(roomId, userId)
+                    .map(participant -> participant.getLastReadMessageId() != null
+                            ? new Watermark(participant.getLastReadMessageId(), participant.getLastReadAt())
+                            : Watermark.NONE)
+                    .orElseThrow(() -> new RuntimeException("채팅방 참가자를 찾을 수 없습니다."));
+            state.watermarks.merge(userId, stored, Watermark::max);
+            state.indexStale = true;
+        }
+
+        long latestMessageId = state.latestMessageId;
+        if (latestMessageId <= 0) {
+            return;
+        }
+
+        Watermark watermark = new Watermark(latestMessageId, LocalDateTime.now());
+        Watermark current = state.watermarks.merge(userId, watermark, Watermark::max);
+
+        // 이미 같은 메시지까지 읽은 상태면 아무것도 하지 않음
+        if (current != watermark) {
+            return;
+        }
+
+        state.indexStale = true;
+        pendingFlush.merge(new ParticipantKey(roomId, userId), watermark, Watermark::max);
+        // 방 맵 갱신은 compute 안에서만 해서, 전송 쪽이 맵을 떼어 간 뒤에 쓴 변경이 유실되지 않게 함
+        pendingBroadcast.compute(roomId, (id, updates) -> {
+            Map<Long, Watermark> merged = updates != null ? updates : new HashMap<>();
+            merged.merge(userId, watermark, Watermark::max);
+            return merged;
+        });
+        eventBus.publish(WATERMARK_CHANNEL, new WatermarkEvent(roomId, userId, watermark.messageId, watermark.readAt));
+    }
+
+    /**
+     * 새 메시지 저장 시 채팅방 최신 메시지 ID 갱신
+     */
+    public void onMessageSaved(Long roomId, Long messageId) {
+        applyLatestMessageId(roomId, messageId);
+        eventBus.publish(MESSAGE_SAVED_CHANNEL, new RoomEvent(roomId, messageId));
+    }
+
+    /**
+     * 새 참가자 추가 시 워터마크 등록
+     */
+    public void onParticipantAdded(Long roomId, Long userId) {
+        applyParticipantAdded(roomId, userId);
+        eventBus.publish(PARTICIPANT_ADDED_CHANNEL, new RoomEvent(roomId, userId));
+    }
+
+    /**
+     * 사용자의 마지막 읽은 메시지 ID (참가자가 아니거나 읽은 적 없으면 null)
+     */
+    public Long getLastReadMessageId(Long roomId, Long userId) {
+        Watermark watermark = getRoomState(roomId).watermarks.get(userId);
+        return watermark != null && watermark.messageId > 0 ? watermark.messageId : null;
+    }
+
+    /**
+     * 메시지 X 이상까지 읽은 사용자와 읽은 시각
+     */
+    public Map<Long, LocalDateTime> getReaders(Long roomId, Long messageId) {
+        RoomReadState state = getRoomState(roomId);
+        WatermarkIndex index = state.getIndex();
+
+        int from = index.lowerBound(messageId);
+        Map<Long, LocalDateTime> readers = new LinkedHashMap<>();
+        for (int i = from; i < index.messageIds.length; i++) {
+            readers.put(index.userIds[i], index.readAts[i]);
+        }
+        return readers;
+    }
+
+    /**
+     * 모아둔 읽음 변경을 채팅방별 한 프레임으로 전송
+     */
+    @Scheduled(fixedDelayString = "${app.chat.read-receipt.broadcast-interval-ms:1000}")
+    public void broadcastReceipts() {
+        for (Long roomId : pendingBroadcast.keySet()) {
+            // remove는 compute와 같은 잠금을 쓰므로 떼어 낸 맵에는 더 이상 쓰지 않음
+            Map<Long, Watermark> updates = pendingBroadcast.remove(roomId);
+            if (updates == null || updates.isEmpty()) {
+                continue;
+            }
+
+            List<ChatDto.ReadWatermarkDto> watermarks = new ArrayList<>(updates.size());
+            updates.forEach((userId, watermark) -> {
+                ChatDto.ReadWatermarkDto dto = new ChatDto.ReadWatermarkDto();
+                dto.setUserId(userId);
+                dto.setLastReadMessageId(watermark.messageId);
+                dto.setReadAt(watermark.readAt);
+                watermarks.add(dto);
+            });
+
+            ChatDto.ReadReceiptUpdate frame = new ChatDto.ReadReceiptUpdate();
+            frame.setChatRoomId(roomId);
+            frame.setWatermarks(watermarks);
+
+            try {
+                messagingTemplate.convertAndSend("/topic/chat/" + roomId + "/read", frame);
+            } catch (Exception e) {
+                log.error("읽음 표시 전송 실패: 방 {}", roomId, e);
+            }
+        }
+    }
+
+    /**
+     * 변경된 워터마크를 chat_participants에 배치 반영
+     */
+    @Scheduled(fixedDelayString = "${app.chat.read-receipt.flush-interval-ms:5000}")
+    public void flush() {
+        if (!pendingFlush.isEmpty()) {
+            List<Object[]> batch = new ArrayList<>(Math.min(pendingFlush.size(), flushBatchSize));
+
+            for (ParticipantKey key : pendingFlush.keySet()) {
+                Watermark watermark = pendingFlush.remove(key);
+                if (watermark == null) {
+                    continue;
+                }
+                batch.add(new Object[]{
+                        watermark.messageId,
+                        Timestamp.valueOf(watermark.readAt),
+                        key.roomId(),
+                        key.userId(),
+                        watermark.messageId
+                });
+
+                if (batch.size() >= flushBatchSize) {
+                    writeBatch(batch);
+                    batch = new ArrayList<>(flushBatchSize);
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+            }
+        }
+
+        evictIdleRooms();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void writeBatch(List<Object[]> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_WATERMARK_SQL, batch));
+            log.debug("읽음 워터마크 반영: {}건", batch.size());
+        } catch (Exception e) {
+            log.error("읽음 워터마크 반영 실패: {}건 재시도 예정", batch.size(), e);
+            for (Object[] row : batch) {
+                ParticipantKey key = new ParticipantKey((Long) row[2], (Long) row[3]);
+                Watermark watermark = new Watermark((Long) row[0], ((Timestamp) row[1]).toLocalDateTime());
+                pendingFlush.merge(key, watermark, Watermark::max);
+            }
+        }
+    }
+
+    // 이벤트 적용은 이미 메모리에 올라온 방만 (없는 방은 다음 조회 때 DB에서 적재)
+    private void applyLatestMessageId(Long roomId, Long messageId) {
+        RoomReadState state = rooms.get(roomId);
+        if (state != null) {
+            state.updateLatestMessageId(messageId);
+        }
+    }
+
+    private void applyParticipantAdded(Long roomId, Long userId) {
+        RoomReadState state = rooms.get(roomId);
+        if (state != null) {
+            state.watermarks.putIfAbsent(userId, Watermark.NONE);
+        }
+    }
+
+    private void applyWatermark(WatermarkEvent event) {
+        RoomReadState state = rooms.get(event.roomId());
+        if (state == null) {
+            return;
+        }
+        Watermark watermark = new Watermark(event.messageId(), event.readAt());
+        if (state.watermarks.merge(event.userId(), watermark, Watermark::max) == watermark) {
+            state.indexStale = true;
+        }
+    }
+
+    private void evictIdleRooms() {
+        long cutoff = System.currentTimeMillis() - roomIdleMillis;
+        rooms.entrySet().removeIf(entry ->
+                entry.getValue().lastAccess < cutoff && !pendingBroadcast.containsKey(entry.getKey()));
+    }
+
+    private RoomReadState getRoomState(Long roomId) {
+        RoomReadState state = rooms.computeIfAbsent(roomId, this::loadRoomState);
+        state.lastAccess = System.currentTimeMillis();
+        return state;
+    }
+
+    private RoomReadState loadRoomState(Long roomId) {
+        RoomReadState state = new RoomReadState();
+
+        for (Object[] row : chatParticipantRepository.findReadWatermarksByChatRoomId(roomId)) {
+            Long userId = (Long) row[0];
+            Long lastReadMessageId = (Long) row[1];
+            LocalDateTime lastReadAt = (LocalDateTime) row[2];
+            state.watermarks.put(userId, lastReadMessageId != null
+                    ? new Watermark(lastReadMessageId, lastReadAt)
+                    : Watermark.NONE);
+        }
+
+        // 아직 DB에 반영되지 않은 워터마크가 있으면 우선 적용 (방이 축출된 뒤 다시 적재된 경우)
+        pendingFlush.forEach((key, watermark) -> {
+            if (key.roomId().equals(roomId)) {
+                state.watermarks.merge(key.userId(), watermark, Watermark::max);
+            }
+        });
+
+        Long latestMessageId = chatMessageRepository.findLatestMessageIdByChatRoomId(roomId);
+        state.latestMessageId = latestMessageId != null ? latestMessageId : 0;
+        return state;
+    }
+
+    private static final class RoomReadState {
+        private final Map<Long, Watermark> watermarks = new ConcurrentHashMap<>();
+        private volatile long latestMessageId;
+        private volatile boolean indexStale = true;
+        private volatile WatermarkIndex index;
+        private volatile long lastAccess;
+
+        private synchronized void updateLatestMessageId(long messageId) {
+            if (messageId > latestMessageId) {
+                latestMessageId = messageId;
+            }
+        }
+
+        private WatermarkIndex getIndex() {
+            WatermarkIndex current = index;
+            if (current == null || indexStale) {
+                indexStale = false;
+                current = WatermarkIndex.build(watermarks);
+                index = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * 워터마크 오름차순으로 정렬한 배열
+     */
+    private static final class WatermarkIndex {
+        private final long[] messageIds;
+        private final Long[] userIds;
+        private final LocalDateTime[] readAts;
+
+        private WatermarkIndex(long[] messageIds, Long[] userIds, LocalDateTime[] readAts) {
+            this.messageIds = messageIds;
+            this.userIds = userIds;
+            this.readAts = readAts;
+        }
+
+        private static WatermarkIndex build(Map<Long, Watermark> watermarks) {
+            List<Map.Entry<Long, Watermark>> entries = new ArrayList<>(watermarks.entrySet());
+            entries.removeIf(entry -> entry.getValue().messageId <= 0);
+            entries.sort(Comparator.comparingLong(entry -> entry.getValue().messageId));
+
+            int size = entries.size();
+            long[] messageIds = new long[size];
+            Long[] userIds = new Long[size];
+            LocalDateTime[] readAts = new LocalDateTime[size];
+            for (int i = 0; i < size; i++) {
+                messageIds[i] = entries.get(i).getValue().messageId;
+                userIds[i] = entries.get(i).getKey();
+                readAts[i] = entries.get(i).getValue().readAt;
+            }
+            return new WatermarkIndex(messageIds, userIds, readAts);
+        }
+
+        /**
+         * messageId 이상인 첫 위치
+         */
+        private int lowerBound(long messageId) {
+            int index = Arrays.binarySearch(messageIds, messageId);
+            if (index < 0) {
+                return -index - 1;
+            }
+            // 같은 값이 여러 개면 가장 앞 위치로 이동
+            while (index > 0 && messageIds[index - 1] == messageId) {
+                index--;
+            }
+            return index;
+        }
+    }
+
+    private static final class Watermark {
+        private static final Watermark NONE = new Watermark(0, null);
+
+        private final long messageId;
+        private final LocalDateTime readAt;
+
+        private Watermark(long messageId, LocalDateTime readAt) {
+            this.messageId = messageId;
+            this.readAt = readAt;
+        }
+
+        private static Watermark max(Watermark a, Watermark b) {
+            return b.messageId > a.messageId ? b : a;
+        }
+    }
+
+    private record ParticipantKey(Long roomId, Long userId) {
+    }
+
+    // 노드 간 이벤트 (value: 메시지 ID 또는 사용자 ID)
+    record RoomEvent(Long roomId, Long value) {
+    }
+
+    record WatermarkEvent(Long roomId, Long userId, long messageId, LocalDateTime readAt) {
+    }
+}
@@ -0,0 +1,328 @@
+package com.travelmate.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 보관 기간이 지난 행 정리 (notifications, login_history, email_verifications)
+ *
+ * 한 번의 큰 DELETE 대신 id 구간 단위로 짧게 나눠 삭제하고 구간 사이에 쉬어서
+ * 잠금 시간과 WAL 급증을 줄인다. 기준 시각이 id 순서와 무관한 테이블(email_verifications.expires_at)은
+ * 시각 색인으로 chunk-size 개씩 골라 삭제한다. 월별 파티션 테이블이면 기간이 끝난 파티션은 통째로 분리 후 삭제한다.
+ * 여러 인스턴스를 운영할 때는 한 노드에서만 enabled=true로 둔다.
+ */
+@Service
+@Slf4j
+public class RetentionCleanupService {
+
+    private static final String NOTIFICATIONS_TABLE = "notifications";
+    private static final Pattern PARTITION_UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+    private static final Pattern SAFE_IDENTIFIER = Pattern.compile("[A-Za-z0-9_]+");
+
+    private static final String PARTITIONS_SQL =
+            "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final Duration maxRunDuration;
+    private final List<RetentionPolicy> policies;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    // 테이블별 진행률 (천분율)
+    private final Map<String, AtomicLong> progress = new ConcurrentHashMap<>();
+
+    public RetentionCleanupService(
+            JdbcTemplate jdbcTemplate,
+            UnreadNotificationCounter unreadNotificationCounter,
+            MeterRegistry meterRegistry,
+            @Value("${app.retention.enabled:false}") boolean enabled,
+            @Value("${app.retention.chunk-size:5000}") int chunkSize,
+            @Value("${app.retention.pause-ms:200}") long pauseMillis,
+            @Value("${app.retention.max-run-minutes:60}") long maxRunMinutes,
+            @Value("${app.retention.notifications.days:90}") int notificationDays,
+            @Value("${app.retention.notifications.partitioned:false}") boolean notificationsPartitioned,
+            @Value("${app.retention.login-history.days:365}") int loginHistoryDays,
+            @Value("${app.retention.login-history.partitioned:false}") boolean loginHistoryPartitioned,
+            @Value("${app.retention.email-verifications.days:7}") int emailVerificationDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.maxRunDuration = Duration.ofMinutes(maxRunMinutes);
+        this.policies = List.of(
+                new RetentionPolicy(NOTIFICATIONS_TABLE, "created_at", true, notificationDays, notificationsPartitioned),
+                new RetentionPolicy("login_history", "created_at", true, loginHistoryDays, loginHistoryPartitioned),
+                // 인증 토큰은 만료 시각 기준 (유효 기간이 요청마다 달라 id 순서와 일치하지 않음)
+                new RetentionPolicy("email_verifications", "expires_at", false, emailVerificationDays, false));
+
+        for (RetentionPolicy policy : policies) {
+            AtomicLong tableProgress = progress.computeIfAbsent(policy.table(), table -> new AtomicLong(1000));
+            Gauge.builder("retention.progress", tableProgress, value -> value.get() / 1000.0)
+                    .tag("table", policy.table())
+                    .description("현재 정리 작업의 id 구간 진행률 (0~1)")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 전체 보관 정책 실행 (기본: 매일 04:00)
+     */
+    @Scheduled(cron = "${app.retention.cron:0 0 4 * * *}")
+    public void runRetention() {
+        if (!enabled) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.warn("이전 보관 정리 작업이 아직 실행 중이어서 건너뜁니다.");
+            return;
+        }
+
+        try {
+            long deadline = System.currentTimeMillis() + maxRunDuration.toMillis();
+            for (RetentionPolicy policy : policies) {
+                try {
+                    purge(policy, LocalDateTime.now().minusDays(policy.retentionDays()), deadline);
+                } catch (Exception e) {
+                    log.error("보관 정리 실패: {}", policy.table(), e);
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 지정한 기간보다 오래된 알림 정리 (수동 실행용)
+     */
+    public long purgeNotifications(int daysToKeep) {
+        RetentionPolicy policy = policies.get(0);
+        return purge(policy, LocalDateTime.now().minusDays(daysToKeep),
+                System.currentTimeMillis() + maxRunDuration.toMillis());
+    }
+
+    private long purge(RetentionPolicy policy, LocalDateTime cutoff, long deadline) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        int droppedPartitions = policy.partitioned() ? dropExpiredPartitions(policy, cutoff) : 0;
+        long deleted = policy.idOrdered()
+                ? deleteInChunks(policy, Timestamp.valueOf(cutoff), deadline)
+                : deleteByTime(policy, Timestamp.valueOf(cutoff), deadline);
+
+        sample.stop(Timer.builder("retention.run")
+                .tag("table", policy.table())
+                .description("보관 정리 작업 소요 시간")
+                .register(meterRegistry));
+
+        if (NOTIFICATIONS_TABLE.equals(policy.table()) && (deleted > 0 || droppedPartitions > 0)) {
+            // 읽지 않은 알림이 함께 지워졌을 수 있으므로 카운터를 DB에서 다시 읽게 함
+            unreadNotificationCounter.invalidateAll();
+        }
+
+        log.info("보관 정리 완료: {} - {}건 삭제, 파티션 {}개 삭제 (기준: {})",
+                policy.table(), deleted, droppedPartitions, cutoff);
+        return deleted;
+    }
+
+    /**
+     * id 구간별로 짧은 DELETE를 반복 (각 DELETE는 자체 커밋)
+     */
+    private long deleteInChunks(RetentionPolicy policy, Timestamp cutoff, long deadline) {
+        String table = policy.table();
+        String timeColumn = policy.timeColumn();
+        AtomicLong tableProgress = progress.get(table);
+
+        // 삭제 대상의 마지막 id (id는 생성 시각 순으로 증가)
+        List<Long> lastExpired = jdbcTemplate.queryForList(
+                "SELECT id FROM " + table + " WHERE " + timeColumn + " < ? ORDER BY " + timeColumn + " DESC LIMIT 1",
+                Long.class, cutoff);
+        Long firstId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM " + table, Long.class);
+        if (lastExpired.isEmpty() || firstId == null) {
+            tableProgress.set(1000);
+            return 0;
+        }
+
+        long upperId = lastExpired.get(0);
+        long span = Math.max(1, upperId - firstId + 1);
+        Counter deletedCounter = Counter.builder("retention.rows.deleted")
+                .tag("table", table)
+                .description("보관 정리로 삭제된 행 수")
+                .register(meterRegistry);
+
+        String deleteSql = "DELETE FROM " + table + " WHERE id >= ? AND id < ? AND " + timeColumn + " < ?";
+        String nextIdSql = "SELECT MIN(id) FROM " + table + " WHERE id >= ?";
+
+        long total = 0;
+        long start = firstId;
+        tableProgress.set(0);
+
+        while (start <= upperId) {
+            if (System.currentTimeMillis() > deadline) {
+                log.warn("보관 정리 시간 제한 도달, 다음 실행에서 이어서 처리: {} (id {}부터)", table, start);
+                break;
+            }
+
+            long end = start + chunkSize;
+            int deleted = jdbcTemplate.update(deleteSql, start, end, cutoff);
+            total += deleted;
+            deletedCounter.increment(deleted);
+            tableProgress.set(Math.min(1000, (end - firstId) * 1000 / span));
+
+            if (deleted == 0) {
+                // 비어 있는 id 구간은 쉬지 않고 다음 행으로 건너뜀
+                Long nextId = jdbcTemplate.queryForObject(nextIdSql, Long.class, end);
+                if (nextId == null) {
+                    break;
+                }
+                start = nextId;
+                continue;
+            }
+
+            start = end;
+            if (!pause()) {
+                break;
+            }
+        }
+
+        if (start > upperId) {
+            tableProgress.set(1000);
+        }
+        return total;
+    }
+
+    /**
+     * 기준 시각 이전 행을 시각 색인 순으로 chunk-size 개씩 삭제 (시각이 id 순서와 무관한 테이블용)
+     */
+    private long deleteByTime(RetentionPolicy policy, Timestamp cutoff, long deadline) {
+        String table = policy.table();
+        String timeColumn = policy.timeColumn();
+        AtomicLong tableProgress = progress.get(table);
+        Counter deletedCounter = Counter.builder("retention.rows.deleted")
+                .tag("table", table)
+                .description("보관 정리로 삭제된 행 수")
+                .register(meterRegistry);
+
+        String deleteSql = "DELETE FROM " + table + " WHERE id IN (SELECT id FROM " + table +
+                " WHERE " + timeColumn + " < ? ORDER BY " + timeColumn + " LIMIT ?)";
+
+        long total = 0;
+        tableProgress.set(0);
+        while (true) {
+            if (System.currentTimeMillis() > deadline) {
+                log.warn("보관 정리 시간 제한 도달, 다음 실행에서 이어서 처리: {}", table);
+                return total;
+            }
+
+            int deleted = jdbcTemplate.update(deleteSql, cutoff, chunkSize);
+            total += deleted;
+            deletedCounter.increment(deleted);
+
+            if (deleted < chunkSize || !pause()) {
+                break;
+            }
+        }
+
+        tableProgress.set(1000);
+        return total;
+    }
+
+    /**
+     * 상한이 기준 시각 이전인 파티션을 분리 후 삭제 (PostgreSQL 선언적 파티셔닝)
+     */
+    private int dropExpiredPartitions(RetentionPolicy policy, LocalDateTime cutoff) {
+        List<Map<String, Object>> partitions;
+        try {
+            partitions = jdbcTemplate.queryForList(PARTITIONS_SQL, policy.table());
+        } catch (Exception e) {
+            log.warn("파티션 목록 조회 실패, 구간 삭제만 수행: {}", policy.table(), e);
+            return 0;
+        }
+
+        Counter droppedCounter = Counter.builder("retention.partitions.dropped")
+                .tag("table", policy.table())
+                .description("보관 정리로 삭제된 파티션 수")
+                .register(meterRegistry);
+
+        int dropped = 0;
+        for (Map<String, Object> partition : partitions) {
+            String name = (String) partition.get("relname");
+            String bound = (String) partition.get("pg_get_expr");
+            LocalDateTime upperBound = parsePartitionUpperBound(bound);
+            if (upperBound == null || upperBound.isAfter(cutoff) || !SAFE_IDENTIFIER.matcher(name).matches()) {
+                continue;
+            }
+
+            jdbcTemplate.execute("ALTER TABLE " + policy.table() + " DETACH PARTITION " + name);
+            jdbcTemplate.execute("DROP TABLE " + name);
+            droppedCounter.increment();
+            dropped++;
+            log.info("만료 파티션 삭제: {} (상한 {})", name, upperBound);
+        }
+        return dropped;
+    }
+
+    private static LocalDateTime parsePartitionUpperBound(String bound) {
+        if (bound == null) {
+            return null;
+        }
+        Matcher matcher = PARTITION_UPPER_BOUND.matcher(bound);
+        if (!matcher.find()) {
+            // DEFAULT 파티션 또는 MAXVALUE
+            return null;
+        }
+        String value = matcher.group(1);
+        try {
+            if (value.length() == 10) {
+                return LocalDateTime.parse(value + "T00:00:00");
+            }
+            return LocalDateTime.parse(value.substring(0, 19).replace(' ', 'T'));
+        } catch (Exception e) {
+            log.warn("파티션 범위를 해석할 수 없습니다: {}", bound);
+            return null;
+        }
+    }
+
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * @param idOrdered timeColumn이 id와 같은 순서로 증가하는지 (true면 id 구간 삭제, false면 시각 조건 삭제)
+     */
+    private record RetentionPolicy(String table, String timeColumn, boolean idOrdered,
+                                   int retentionDays, boolean partitioned) {
+    }
+}
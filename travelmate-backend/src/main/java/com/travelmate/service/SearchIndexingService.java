@@ -0,0 +1,388 @@
+package com.travelmate.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.VersionType;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import com.travelmate.document.TravelGroupDocument;
+import com.travelmate.entity.SearchIndexOutbox;
+import com.travelmate.repository.TravelGroupRepository;
+import com.travelmate.service.search.GroupIndexEvent;
+import com.travelmate.service.search.GroupIndexManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 그룹 변경을 Elasticsearch에 bulk로 반영하는 색인 워커
+ *
+ * GroupIndexChangeListener가 기록한 search_index_outbox 행을 주기적으로 선점해
+ * 그룹 ID별로 합친 뒤 DB의 현재 상태를 읽어 한 번의 bulk 요청으로 색인/삭제한다.
+ * - 묶음 크기(batch-size)가 차거나 poll 주기가 지나면 전송 (평상시 지연 = poll 주기 + ES refresh 주기)
+ * - 문서 버전은 그룹과 같은 읽기에서 가져온 index_version(external)이다. 변경 트랜잭션이 커밋 순서대로 올리므로
+ *   노드 간 처리 순서가 뒤바뀌어도 오래된 상태가 덮어쓰지 않고, 409는 같거나 더 최신 상태가 이미 반영됐다는 뜻이다.
+ *   삭제는 되돌릴 수 없으므로(ID 재사용 없음) 최대 버전으로 기록해 늦게 도착한 색인 요청을 막는다.
+ * - 실패한 항목만 백오프 후 재시도하고 성공한 행은 삭제한다.
+ * - ES 연결 실패처럼 요청 전체가 실패하면 문서 문제가 아니므로 시도 횟수를 늘리지 않고 묶음 전체를 미룬다.
+ *   (장애가 길어져도 max-attempts를 소진해 FAILED로 빠지지 않음)
+ */
+@Service
+@Slf4j
+public class SearchIndexingService {
+
+    private static final String SELECT_PENDING_SQL =
+            "SELECT id, group_id, attempts, created_at FROM search_index_outbox " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= ? ORDER BY id LIMIT ?";
+
+    private static final String LEASE_SQL = "UPDATE search_index_outbox SET next_attempt_at = ? WHERE id = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM search_index_outbox WHERE id = ?";
+
+    private static final String UPDATE_RETRY_SQL =
+            "UPDATE search_index_outbox SET status = ?, attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?";
+
+    private static final String DEFER_SQL =
+            "UPDATE search_index_outbox SET next_attempt_at = ?, last_error = ? WHERE id = ?";
+
+    private static final String OLDEST_PENDING_SQL =
+            "SELECT MIN(created_at) FROM search_index_outbox WHERE status = 'PENDING'";
+
+    private static final long MAX_BACKOFF_MILLIS = 600_000;
+    private static final int VERSION_CONFLICT = 409;
+    // ES external 버전 상한(9.2e18) 안에서 어떤 index_version보다도 큰 값
+    static final long DELETED_VERSION = 1L << 62;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final TravelGroupRepository travelGroupRepository;
+    private final ElasticsearchClient elasticsearchClient;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final GroupIndexManager groupIndexManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final long leaseMillis;
+    private final String claimSuffix;
+
+    // 가장 오래된 대기 변경의 경과 시간 (DB 커밋 -> ES 반영 지연)
+    private final AtomicLong lagMillis = new AtomicLong();
+    // 연속으로 bulk 요청 전체가 실패한 횟수 (미루는 간격 계산용)
+    private final AtomicInteger consecutiveOutages = new AtomicInteger();
+
+    private final Counter indexedCounter;
+    private final Counter deletedCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Timer bulkTimer;
+    private final Timer latencyTimer;
+
+    private final RowMapper<SearchIndexOutbox> rowMapper = (rs, rowNum) -> SearchIndexOutbox.builder()
+            .id(rs.getLong("id"))
+            .groupId(rs.getLong("group_id"))
+            .attempts(rs.getInt("attempts"))
+            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+            .build();
+
+    public SearchIndexingService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            TravelGroupRepository travelGroupRepository,
+            ElasticsearchClient elasticsearchClient,
+            ElasticsearchOperations elasticsearchOperations,
+            GroupIndexManager groupIndexManager,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${app.search.indexer.enabled:true}") boolean enabled,
+            @Value("${app.search.indexer.batch-size:500}") int batchSize,
+            @Value("${app.search.indexer.max-attempts:10}") int maxAttempts,
+            @Value("${app.search.indexer.retry-backoff-ms:1000}") long retryBackoffMillis,
+            @Value("${app.search.indexer.lease-ms:60000}") long leaseMillis,
+            @Value("${app.search.indexer.skip-locked:true}") boolean skipLocked) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.travelGroupRepository = travelGroupRepository;
+        this.elasticsearchClient = elasticsearchClient;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.groupIndexManager = groupIndexManager;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.leaseMillis = leaseMillis;
+        this.claimSuffix = skipLocked ? " FOR UPDATE SKIP LOCKED" : " FOR UPDATE";
+
+        this.indexedCounter = Counter.builder("search.index.docs")
+                .tag("op", "index").description("ES에 반영된 문서 수").register(meterRegistry);
+        this.deletedCounter = Counter.builder("search.index.docs")
+                .tag("op", "delete").description("ES에 반영된 문서 수").register(meterRegistry);
+        this.retriedCounter = Counter.builder("search.index.retried")
+                .description("재시도 예약된 색인 변경 수").register(meterRegistry);
+        this.failedCounter = Counter.builder("search.index.failed")
+                .description("최대 재시도를 초과한 색인 변경 수").register(meterRegistry);
+        this.bulkTimer = Timer.builder("search.index.bulk")
+                .description("ES bulk 요청 시간").register(meterRegistry);
+        this.latencyTimer = Timer.builder("search.index.latency")
+                .description("변경 기록부터 ES 반영까지 걸린 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("search.index.lag", lagMillis, value -> value.get() / 1000.0)
+                .description("가장 오래된 미반영 변경의 경과 시간 (초)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 대기 중인 변경을 bulk로 반영 (밀린 변경이 있으면 연속 처리)
+     */
+    @Scheduled(fixedDelayString = "${app.search.indexer.poll-interval-ms:1000}")
+    public void processOutbox() {
+        if (!enabled) {
+            return;
+        }
+        int processed;
+        do {
+            processed = processBatch();
+        } while (processed >= batchSize);
+        updateLag();
+    }
+
+    private int processBatch() {
+        List<SearchIndexOutbox> claimed = claim();
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        // 같은 그룹의 여러 변경은 최신 행 하나로 합침 (문서는 DB 현재 상태로 다시 만듦)
+        Map<Long, List<SearchIndexOutbox>> rowsByGroup = new LinkedHashMap<>();
+        for (SearchIndexOutbox row : claimed) {
+            rowsByGroup.computeIfAbsent(row.getGroupId(), id -> new ArrayList<>()).add(row);
+        }
+
+        Map<Long, String> failures;
+        try {
+            failures = index(rowsByGroup);
+            consecutiveOutages.set(0);
+        } catch (Exception e) {
+            // ES 연결 실패 등 요청 전체 실패: 시도 횟수는 그대로 두고 미룸 (0을 반환해 이번 주기 처리 중단)
+            log.warn("검색 색인 bulk 요청 실패: {}건 - {}", rowsByGroup.size(), e.getMessage());
+            defer(claimed, String.valueOf(e.getMessage()));
+            return 0;
+        }
+
+        List<SearchIndexOutbox> done = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, List<SearchIndexOutbox>> entry : rowsByGroup.entrySet()) {
+            String error = failures.get(entry.getKey());
+            for (SearchIndexOutbox row : entry.getValue()) {
+                if (error == null) {
+                    done.add(row);
+                    latencyTimer.record(now - Timestamp.valueOf(row.getCreatedAt()).getTime(), TimeUnit.MILLISECONDS);
+                } else {
+                    scheduleRetry(row, error);
+                }
+            }
+        }
+
+        if (!done.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(DELETE_SQL, done, done.size(),
+                    (ps, row) -> ps.setLong(1, row.getId())));
+        }
+
+        log.debug("검색 색인 반영: {}건 성공, {}건 실패", rowsByGroup.size() - failures.size(), failures.size());
+        return claimed.size();
+    }
+
+    /**
+     * 그룹 현재 상태를 읽어 bulk 요청 (실패한 그룹 ID -> 오류 메시지 반환)
+     */
+    private Map<Long, String> index(Map<Long, List<SearchIndexOutbox>> rowsByGroup) throws Exception {
+        Map<Long, TravelGroupDocument> documents = new HashMap<>();
+        Map<Long, Long> versions = new HashMap<>();
+        readOnlyTransactionTemplate.executeWithoutResult(status ->
+                travelGroupRepository.findAllWithCreatorByIdIn(rowsByGroup.keySet()).forEach(group -> {
+                    documents.put(group.getId(), TravelGroupDocument.from(group));
+                    versions.put(group.getId(), group.getIndexVersion());
+                }));
+
+        List<Long> deletedIds = rowsByGroup.keySet().stream().filter(id -> !documents.containsKey(id)).toList();
+        eventPublisher.publishEvent(new GroupIndexEvent(documents.values(), deletedIds));
+
+        // 재색인 중이면 새 인덱스에도 같은 변경을 기록
+        List<String> targets = groupIndexManager.writeTargets();
+
+        List<Long> groupIds = new ArrayList<>(rowsByGroup.size() * targets.size());
+        List<BulkOperation> operations = new ArrayList<>(rowsByGroup.size() * targets.size());
+        for (Long groupId : rowsByGroup.keySet()) {
+            TravelGroupDocument document = documents.get(groupId);
+            long version = document != null ? versions.get(groupId) : DELETED_VERSION;
+            Object source = document != null
+                    ? elasticsearchOperations.getElasticsearchConverter().mapObject(document)
+                    : null;
+
+            for (String target : targets) {
+                groupIds.add(groupId);
+                if (source != null) {
+                    operations.add(BulkOperation.of(op -> op.index(i -> i
+                            .index(target)
+                            .id(groupId.toString())
+                            .version(version)
+                            .versionType(VersionType.External)
+                            .document(source))));
+                } else {
+                    operations.add(BulkOperation.of(op -> op.delete(d -> d
+                            .index(target)
+                            .id(groupId.toString())
+                            .version(version)
+                            .versionType(VersionType.External))));
+                }
+            }
+        }
+
+        Timer.Sample sample = Timer.start();
+        BulkResponse response = elasticsearchClient.bulk(b -> b.operations(operations));
+        sample.stop(bulkTimer);
+
+        Map<Long, String> failures = new HashMap<>();
+        List<BulkResponseItem> items = response.items();
+        for (int i = 0; i < items.size(); i++) {
+            BulkResponseItem item = items.get(i);
+            // 409: 더 최신 버전이 이미 반영됨
+            if (item.error() != null && item.status() != VERSION_CONFLICT) {
+                failures.put(groupIds.get(i), item.error().reason());
+            } else if (i % targets.size() != 0) {
+                // 재색인 중인 인덱스에 대한 중복 기록은 처리량에서 제외
+                continue;
+            } else if (documents.containsKey(groupIds.get(i))) {
+                indexedCounter.increment();
+            } else {
+                deletedCounter.increment();
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * 대기 변경을 잠그고 lease 시각까지 다른 워커가 가져가지 못하게 표시
+     */
+    private List<SearchIndexOutbox> claim() {
+        List<SearchIndexOutbox> claimed = transactionTemplate.execute(status -> {
+            List<SearchIndexOutbox> rows = jdbcTemplate.query(SELECT_PENDING_SQL + claimSuffix, rowMapper,
+                    Timestamp.valueOf(LocalDateTime.now()), batchSize);
+            if (!rows.isEmpty()) {
+                Timestamp leaseUntil = Timestamp.valueOf(LocalDateTime.now().plus(Duration.ofMillis(leaseMillis)));
+                jdbcTemplate.batchUpdate(LEASE_SQL, rows, rows.size(), (ps, row) -> {
+                    ps.setTimestamp(1, leaseUntil);
+                    ps.setLong(2, row.getId());
+                });
+            }
+            return rows;
+        });
+        return claimed != null ? claimed : List.of();
+    }
+
+    /**
+     * 문서 단위 실패: 시도 횟수를 늘리고 백오프 후 재시도 (max-attempts에 도달하면 FAILED)
+     */
+    private void scheduleRetry(SearchIndexOutbox row, String error) {
+        int attempts = row.getAttempts() + 1;
+        boolean exhausted = attempts >= maxAttempts;
+        String truncated = truncate(error);
+        LocalDateTime nextAttemptAt = nextAttemptAt(attempts);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(UPDATE_RETRY_SQL,
+                    exhausted ? SearchIndexOutbox.Status.FAILED.name() : SearchIndexOutbox.Status.PENDING.name(),
+                    attempts,
+                    Timestamp.valueOf(nextAttemptAt),
+                    truncated,
+                    row.getId()));
+        } catch (Exception e) {
+            log.error("검색 색인 재시도 기록 실패: {}", row.getId(), e);
+            return;
+        }
+
+        if (exhausted) {
+            failedCounter.increment();
+            log.error("검색 색인 최종 실패: group={}, 시도 {}회 - {}", row.getGroupId(), attempts, truncated);
+        } else {
+            retriedCounter.increment();
+        }
+    }
+
+    /**
+     * 요청 전체 실패: 시도 횟수를 늘리지 않고 연속 실패 횟수에 따른 백오프만큼 묶음 전체를 미룸
+     */
+    private void defer(List<SearchIndexOutbox> rows, String error) {
+        Timestamp nextAttemptAt = Timestamp.valueOf(nextAttemptAt(consecutiveOutages.incrementAndGet()));
+        String truncated = truncate(error);
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(DEFER_SQL, rows, rows.size(),
+                    (ps, row) -> {
+                        ps.setTimestamp(1, nextAttemptAt);
+                        ps.setString(2, truncated);
+                        ps.setLong(3, row.getId());
+                    }));
+        } catch (Exception e) {
+            // 기록하지 못해도 lease가 끝나면 다시 처리됨
+            log.error("검색 색인 연기 기록 실패: {}건", rows.size(), e);
+            return;
+        }
+        retriedCounter.increment(rows.size());
+    }
+
+    /**
+     * n번째 실패 후 최대 대기 시간 (retry-backoff-ms * 2^(n-1), 10분에서 멈춤)
+     */
+    long backoffCeiling(int failures) {
+        return Math.min(MAX_BACKOFF_MILLIS, retryBackoffMillis << Math.min(failures - 1, 20));
+    }
+
+    private LocalDateTime nextAttemptAt(int failures) {
+        long backoff = backoffCeiling(failures);
+        // 같은 시각에 몰리지 않도록 최대 20% 지터
+        backoff += ThreadLocalRandom.current().nextLong(backoff / 5 + 1);
+        return LocalDateTime.now().plus(Duration.ofMillis(backoff));
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+
+    private void updateLag() {
+        try {
+            Timestamp oldest = jdbcTemplate.queryForObject(OLDEST_PENDING_SQL, Timestamp.class);
+            lagMillis.set(oldest != null ? Math.max(0, System.currentTimeMillis() - oldest.getTime()) : 0);
+        } catch (Exception e) {
+            log.debug("색인 지연 조회 실패", e);
+        }
+    }
+}
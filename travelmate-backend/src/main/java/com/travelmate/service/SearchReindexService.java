@@ -0,0 +1,334 @@
+package com.travelmate.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.VersionType;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import com.travelmate.document.TravelGroupDocument;
+import com.travelmate.entity.TravelGroup;
+import com.travelmate.exception.BusinessException;
+import com.travelmate.repository.TravelGroupRepository;
+import com.travelmate.service.search.GroupIndexEvent;
+import com.travelmate.service.search.GroupIndexManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 무중단 전체 재색인
+ *
+ * 1. 새 버전 인덱스를 대량 적재 모드(refresh/replica 끔)로 만들고 증분 색인의 쓰기 대상에 추가
+ * 2. DB에서 id keyset 페이지 단위로 그룹을 읽어 bulk 요청을 병렬로 전송 (메모리는 페이지 크기 x 동시 요청 수)
+ * 3. 설정 복원 후 alias를 새 인덱스로 한 번에 전환하고 이전 인덱스 삭제
+ *
+ * 재색인 동안에도 검색은 기존 인덱스를 그대로 사용한다.
+ * 재색인 문서도 증분 색인과 같은 index_version을 external 버전으로 쓰므로, 읽은 순서와 관계없이
+ * 더 최신 상태가 남는다. (증분 색인이 먼저 쓴 최신 문서는 409로 건너뜀)
+ */
+@Service
+@Slf4j
+public class SearchReindexService {
+
+    private static final int CONFLICT = 409;
+    private static final int MAX_BULK_ATTEMPTS = 3;
+
+    private final TravelGroupRepository travelGroupRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ElasticsearchClient elasticsearchClient;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final GroupIndexManager groupIndexManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int pageSize;
+    private final int parallelism;
+    private final boolean keepPrevious;
+
+    private final ThreadPoolTaskExecutor reindexExecutor;
+    private final ThreadPoolTaskExecutor bulkExecutor;
+    private final AtomicReference<ReindexJob> currentJob = new AtomicReference<>();
+    private final Counter docsCounter;
+
+    public SearchReindexService(
+            TravelGroupRepository travelGroupRepository,
+            PlatformTransactionManager transactionManager,
+            ElasticsearchClient elasticsearchClient,
+            ElasticsearchOperations elasticsearchOperations,
+            GroupIndexManager groupIndexManager,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${app.search.reindex.page-size:1000}") int pageSize,
+            @Value("${app.search.reindex.parallelism:4}") int parallelism,
+            @Value("${app.search.reindex.keep-previous:false}") boolean keepPrevious) {
+        this.travelGroupRepository = travelGroupRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.elasticsearchClient = elasticsearchClient;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.groupIndexManager = groupIndexManager;
+        this.eventPublisher = eventPublisher;
+        this.pageSize = pageSize;
+        this.parallelism = Math.max(1, parallelism);
+        this.keepPrevious = keepPrevious;
+
+        this.reindexExecutor = new ThreadPoolTaskExecutor();
+        reindexExecutor.setCorePoolSize(1);
+        reindexExecutor.setMaxPoolSize(1);
+        reindexExecutor.setThreadNamePrefix("search-reindex-");
+        reindexExecutor.initialize();
+
+        this.bulkExecutor = new ThreadPoolTaskExecutor();
+        bulkExecutor.setCorePoolSize(this.parallelism);
+        bulkExecutor.setMaxPoolSize(this.parallelism);
+        bulkExecutor.setThreadNamePrefix("search-reindex-bulk-");
+        bulkExecutor.initialize();
+
+        this.docsCounter = Counter.builder("search.reindex.docs")
+                .description("재색인으로 적재된 문서 수").register(meterRegistry);
+    }
+
+    /**
+     * 재색인 시작 (이미 진행 중이면 409)
+     */
+    public ReindexStatus start() {
+        ReindexJob job = new ReindexJob();
+        ReindexJob previous = currentJob.get();
+        if (previous != null && previous.state == State.RUNNING || !currentJob.compareAndSet(previous, job)) {
+            throw new BusinessException("이미 재색인이 진행 중입니다.", HttpStatus.CONFLICT, "REINDEX_IN_PROGRESS");
+        }
+
+        reindexExecutor.execute(() -> run(job));
+        return job.snapshot();
+    }
+
+    /**
+     * 현재(또는 마지막) 재색인 진행 상황
+     */
+    public ReindexStatus getStatus() {
+        ReindexJob job = currentJob.get();
+        return job != null ? job.snapshot() : ReindexStatus.builder().state(State.IDLE).build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reindexExecutor.shutdown();
+        bulkExecutor.shutdown();
+    }
+
+    private void run(ReindexJob job) {
+        String index = null;
+        try {
+            job.total = travelGroupRepository.count();
+            index = groupIndexManager.createIndex(true);
+            job.indexName = index;
+            groupIndexManager.beginBuild(index);
+            log.info("재색인 시작: {} (대상 {}건)", index, job.total);
+
+            load(job, index);
+            if (job.failed.get() > 0) {
+                throw new IllegalStateException("적재에 실패한 문서가 있어 alias를 전환하지 않습니다: " + job.failed.get() + "건");
+            }
+
+            groupIndexManager.finishBulkLoad(index);
+            List<String> previous = groupIndexManager.swapAlias(index);
+            groupIndexManager.endBuild();
+
+            if (!keepPrevious) {
+                for (String old : previous) {
+                    groupIndexManager.deleteIndex(old);
+                }
+            }
+
+            job.state = State.COMPLETED;
+            log.info("재색인 완료: {} - {}건, 실패 {}건, {}초", index, job.processed.get(), job.failed.get(),
+                    job.elapsed().toSeconds());
+        } catch (Exception e) {
+            job.state = State.FAILED;
+            job.error = e.getMessage();
+            try {
+                groupIndexManager.endBuild();
+            } catch (Exception endError) {
+                // 인덱스를 지우면 보조 alias도 함께 사라짐
+                log.warn("재색인 쓰기 대상 해제 실패: {}", index, endError);
+            }
+            log.error("재색인 실패: {}", index, e);
+            if (index != null) {
+                try {
+                    groupIndexManager.deleteIndex(index);
+                } catch (Exception deleteError) {
+                    log.warn("실패한 재색인 인덱스 삭제 실패: {}", index, deleteError);
+                }
+            }
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * keyset 페이지를 읽어 bulk 요청을 최대 parallelism개까지 동시에 전송
+     */
+    private void load(ReindexJob job, String index) throws Exception {
+        Semaphore inFlight = new Semaphore(parallelism);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        long afterId = 0;
+
+        while (true) {
+            long cursor = afterId;
+            GroupPage page = readOnlyTransactionTemplate.execute(status -> {
+                List<TravelGroup> groups = travelGroupRepository.findPageWithCreatorAfter(cursor, PageRequest.of(0, pageSize));
+                return new GroupPage(groups.stream().map(TravelGroupDocument::from).toList(),
+                        groups.stream().map(TravelGroup::getIndexVersion).toList());
+            });
+            if (page == null || page.documents().isEmpty()) {
+                break;
+            }
+            afterId = Long.parseLong(page.documents().get(page.documents().size() - 1).getId());
+            eventPublisher.publishEvent(new GroupIndexEvent(page.documents(), List.of()));
+
+            inFlight.acquire();
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    bulkIndex(job, index, page);
+                } finally {
+                    inFlight.release();
+                }
+            }, bulkExecutor));
+
+            // 완료된 요청은 목록에서 정리하고 실패가 있으면 바로 중단
+            futures.removeIf(future -> future.isDone() && !future.isCompletedExceptionally());
+            if (futures.stream().anyMatch(CompletableFuture::isCompletedExceptionally)) {
+                break;
+            }
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    }
+
+    private void bulkIndex(ReindexJob job, String index, GroupPage page) {
+        List<BulkOperation> operations = new ArrayList<>(page.documents().size());
+        for (int i = 0; i < page.documents().size(); i++) {
+            TravelGroupDocument document = page.documents().get(i);
+            long version = page.versions().get(i);
+            Object source = elasticsearchOperations.getElasticsearchConverter().mapObject(document);
+            operations.add(BulkOperation.of(op -> op.index(c -> c
+                    .index(index)
+                    .id(document.getId())
+                    .version(version)
+                    .versionType(VersionType.External)
+                    .document(source))));
+        }
+
+        BulkResponse response = null;
+        for (int attempt = 1; response == null; attempt++) {
+            try {
+                response = elasticsearchClient.bulk(b -> b.operations(operations));
+            } catch (Exception e) {
+                if (attempt >= MAX_BULK_ATTEMPTS) {
+                    throw new IllegalStateException("재색인 bulk 요청 실패: " + e.getMessage(), e);
+                }
+                log.warn("재색인 bulk 요청 실패, 재시도 {}/{}: {}", attempt, MAX_BULK_ATTEMPTS, e.getMessage());
+                sleep(attempt * 1000L);
+            }
+        }
+
+        int failed = 0;
+        for (BulkResponseItem item : response.items()) {
+            // 409: 재색인 중 증분 색인이 이미 최신 문서를 기록함
+            if (item.error() != null && item.status() != CONFLICT) {
+                failed++;
+                log.warn("재색인 문서 실패: {} - {}", item.id(), item.error().reason());
+            }
+        }
+        job.processed.addAndGet(page.documents().size());
+        job.failed.addAndGet(failed);
+        docsCounter.increment(page.documents().size() - failed);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재색인이 중단되었습니다.", e);
+        }
+    }
+
+    public enum State {
+        IDLE, RUNNING, COMPLETED, FAILED
+    }
+
+    private static class ReindexJob {
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private volatile State state = State.RUNNING;
+        private volatile String indexName;
+        private volatile long total;
+        private volatile String error;
+        private volatile LocalDateTime finishedAt;
+
+        private Duration elapsed() {
+            return Duration.between(startedAt, finishedAt != null ? finishedAt : LocalDateTime.now());
+        }
+
+        private ReindexStatus snapshot() {
+            long done = processed.get();
+            long elapsedMillis = Math.max(1, elapsed().toMillis());
+            return ReindexStatus.builder()
+                    .state(state)
+                    .indexName(indexName)
+                    .total(total)
+                    .processed(done)
+                    .failed(failed.get())
+                    .progress(total > 0 ? Math.min(1.0, (double) done / total) : (state == State.COMPLETED ? 1.0 : 0.0))
+                    .docsPerSecond(done * 1000.0 / elapsedMillis)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+
+    // 문서와 같은 읽기에서 가져온 index_version (순서 동일)
+    private record GroupPage(List<TravelGroupDocument> documents, List<Long> versions) {
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReindexStatus {
+        private State state;
+        private String indexName;
+        private long total;
+        private long processed;
+        private long failed;
+        private double progress;
+        private double docsPerSecond;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private String error;
+    }
+}
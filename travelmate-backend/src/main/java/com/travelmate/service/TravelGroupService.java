@@ -3,6 +3,7 @@ package com.travelmate.service;
 import com.travelmate.dto.TravelGroupDto;
 import com.travelmate.dto.UserDto;
 import com.travelmate.entity.GroupMember;
+import com.travelmate.entity.Notification;
 import com.travelmate.entity.TravelGroup;
 import com.travelmate.entity.User;
 import com.travelmate.exception.TravelGroupException;
@@ -28,6 +29,7 @@ public class TravelGroupService {
     private final GroupMemberRepository groupMemberRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final TrendingTagService trendingTagService;
     
     public TravelGroupDto.Response createGroup(Long creatorId, TravelGroupDto.CreateRequest request) {
         User creator = userRepository.findById(creatorId)
@@ -147,6 +149,9 @@ public class TravelGroupService {
         member.setRole(GroupMember.Role.MEMBER);
         member.setStatus(GroupMember.Status.ACCEPTED);
         groupMemberRepository.save(member);
+
+        // 그룹에 태그 필드가 없으므로 목적지를 태그로 집계
+        trendingTagService.recordJoin(List.of(group.getDestination()));
         
         // 그룹 생성자에게 알림
         notificationService.sendNotification(
@@ -183,15 +188,13 @@ public class TravelGroupService {
         travelGroupRepository.save(group);
         
         // 모든 멤버에게 알림
-        group.getMembers().stream()
-            .filter(m -> m.getStatus() == GroupMember.Status.ACCEPTED)
-            .forEach(member -> {
-                notificationService.sendNotification(
-                    member.getUser().getId(),
-                    String.format("'%s' 그룹 상태가 %s로 변경되었습니다.", 
-                        group.getTitle(), status.name())
-                );
-            });
+        notificationService.notifyGroupMembers(
+            groupId,
+            Notification.NotificationType.GROUP_UPDATE,
+            "그룹 상태 변경",
+            String.format("'%s' 그룹 상태가 %s로 변경되었습니다.", group.getTitle(), status.name()),
+            null
+        );
         
         log.info("그룹 상태 변경: {} - {}", groupId, status);
     }
@@ -310,17 +313,14 @@ public class TravelGroupService {
             throw new RuntimeException("그룹 생성자만 삭제할 수 있습니다.");
         }
         
-        // 모든 멤버에게 삭제 알림
-        group.getMembers().stream()
-            .filter(m -> m.getStatus() == GroupMember.Status.ACCEPTED)
-            .forEach(member -> {
-                if (!member.getUser().getId().equals(userId)) {
-                    notificationService.sendNotification(
-                        member.getUser().getId(),
-                        String.format("'%s' 그룹이 삭제되었습니다.", group.getTitle())
-                    );
-                }
-            });
+        // 모든 멤버에게 삭제 알림 (삭제 전에 멤버 조회)
+        notificationService.notifyGroupMembers(
+            groupId,
+            Notification.NotificationType.GROUP_DELETE,
+            "그룹 삭제",
+            String.format("'%s' 그룹이 삭제되었습니다.", group.getTitle()),
+            userId
+        );
         
         travelGroupRepository.delete(group);
         log.info("그룹 삭제: {} by {}", groupId, userId);
@@ -0,0 +1,153 @@
+package com.travelmate.service;
+
+import com.travelmate.util.CountMinSketch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * 인기 태그 (시간 감쇠 빈도)
+ *
+ * 검색 필터로 쓰인 태그와 그룹 참여 시 그룹의 태그를 기록하고, 오래된 기록일수록
+ * 반감기(half-life)에 따라 지수적으로 영향이 줄어든다.
+ * - 빈도는 Count-Min Sketch에 근사 저장 (태그 종류와 무관하게 메모리 고정)
+ * - 상위 후보는 capacity개까지만 별도로 유지하고, 조회는 후보 정렬만 수행
+ * - 감쇠는 forward decay 방식: 기록 시점에 exp((t - 기준점)/tau)를 곱해 더하고,
+ *   값이 커지면 기준점을 옮기며 전체를 한 번에 축소한다. (주기적 전체 감쇠 작업 없음)
+ * 노드별로 독립 집계하므로 인스턴스마다 순위가 약간 다를 수 있다.
+ */
+@Service
+@Slf4j
+public class TrendingTagService {
+
+    // exp(RESCALE_EXPONENT) 이상이 되면 기준점 이동 (double 오버플로 방지)
+    private static final double RESCALE_EXPONENT = 50;
+
+    private final CountMinSketch sketch;
+    private final Map<String, Double> candidates = new HashMap<>();
+    private final int capacity;
+    private final double tauMillis;
+    private final double searchWeight;
+    private final double joinWeight;
+    private final LongSupplier clock;
+
+    private long landmark;
+    private final Counter eventCounter;
+
+    public TrendingTagService(
+            MeterRegistry meterRegistry,
+            @Value("${app.search.trending.half-life-minutes:360}") long halfLifeMinutes,
+            @Value("${app.search.trending.capacity:200}") int capacity,
+            @Value("${app.search.trending.search-weight:1.0}") double searchWeight,
+            @Value("${app.search.trending.join-weight:5.0}") double joinWeight) {
+        this(meterRegistry, halfLifeMinutes * 60_000, capacity, searchWeight, joinWeight, System::currentTimeMillis);
+    }
+
+    TrendingTagService(MeterRegistry meterRegistry, long halfLifeMillis, int capacity,
+                       double searchWeight, double joinWeight, LongSupplier clock) {
+        this.sketch = new CountMinSketch(4, 4096);
+        this.capacity = capacity;
+        this.tauMillis = halfLifeMillis / Math.log(2);
+        this.searchWeight = searchWeight;
+        this.joinWeight = joinWeight;
+        this.clock = clock;
+        this.landmark = clock.getAsLong();
+        this.eventCounter = Counter.builder("search.trending.events")
+                .description("인기 태그 집계에 기록된 태그 수").register(meterRegistry);
+    }
+
+    /**
+     * 검색 필터에 사용된 태그 기록
+     */
+    public void recordSearch(Collection<String> tags) {
+        record(tags, searchWeight);
+    }
+
+    /**
+     * 그룹 참여 기록 (검색보다 강한 관심 신호)
+     */
+    public void recordJoin(Collection<String> tags) {
+        record(tags, joinWeight);
+    }
+
+    /**
+     * 현재 인기 태그 상위 limit개
+     */
+    public synchronized List<String> getTrendingTags(int limit) {
+        List<Map.Entry<String, Double>> entries = new ArrayList<>(candidates.entrySet());
+        entries.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+        List<String> tags = new ArrayList<>(Math.min(limit, entries.size()));
+        for (int i = 0; i < entries.size() && i < limit; i++) {
+            tags.add(entries.get(i).getKey());
+        }
+        return tags;
+    }
+
+    private void record(Collection<String> tags, double weight) {
+        if (tags == null || tags.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            long now = clock.getAsLong();
+            double exponent = (now - landmark) / tauMillis;
+            if (exponent > RESCALE_EXPONENT) {
+                rescale(now, exponent);
+                exponent = 0;
+            }
+            double decayedWeight = weight * Math.exp(exponent);
+
+            for (String tag : tags) {
+                String normalized = normalize(tag);
+                if (normalized.isEmpty()) {
+                    continue;
+                }
+                double estimate = sketch.add(normalized, decayedWeight);
+                updateCandidate(normalized, estimate);
+                eventCounter.increment();
+            }
+        }
+    }
+
+    /**
+     * 후보가 가득 차면 가장 낮은 후보보다 큰 경우에만 교체
+     */
+    private void updateCandidate(String tag, double estimate) {
+        if (candidates.containsKey(tag) || candidates.size() < capacity) {
+            candidates.put(tag, estimate);
+            return;
+        }
+        String lowest = null;
+        double lowestScore = Double.MAX_VALUE;
+        for (Map.Entry<String, Double> entry : candidates.entrySet()) {
+            if (entry.getValue() < lowestScore) {
+                lowest = entry.getKey();
+                lowestScore = entry.getValue();
+            }
+        }
+        if (estimate > lowestScore) {
+            candidates.remove(lowest);
+            candidates.put(tag, estimate);
+        }
+    }
+
+    private void rescale(long now, double exponent) {
+        double factor = Math.exp(-exponent);
+        sketch.scale(factor);
+        candidates.replaceAll((tag, score) -> score * factor);
+        landmark = now;
+        log.debug("인기 태그 감쇠 기준점 이동");
+    }
+
+    private static String normalize(String tag) {
+        return tag == null ? "" : tag.trim().toLowerCase();
+    }
+}
@@ -0,0 +1,181 @@
+package com.travelmate.service;
+
+import com.travelmate.dto.ChatDto;
+import com.travelmate.util.HashedTimerWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅방 타이핑 표시 관리
+ *
+ * - 키 입력마다 브로드캐스트하지 않고, 변경된 채팅방을 표시해 두었다가
+ *   broadcast-interval 주기마다 방당 최대 1회만 전송한다.
+ * - 타이핑 만료는 타이머 휠로 처리하여 조회 시점의 전체 스캔을 없앤다.
+ * - 닉네임은 UserProfileCache에서 가져오므로 타이핑 이벤트 처리 중에는 DB를 조회하지 않는다.
+ */
+@Service
+@Slf4j
+public class TypingIndicatorService {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final UserProfileCache userProfileCache;
+    private final long typingTimeoutMillis;
+
+    // roomId -> (userId -> 만료 시각)
+    private final Map<Long, Map<Long, Long>> typingByRoom = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyRooms = ConcurrentHashMap.newKeySet();
+    private final HashedTimerWheel<TypingKey> expiryWheel;
+
+    public TypingIndicatorService(
+            SimpMessagingTemplate messagingTemplate,
+            UserProfileCache userProfileCache,
+            @Value("${app.chat.typing.timeout-ms:5000}") long typingTimeoutMillis,
+            @Value("${app.chat.typing.broadcast-interval-ms:500}") long broadcastIntervalMillis) {
+        this.messagingTemplate = messagingTemplate;
+        this.userProfileCache = userProfileCache;
+        this.typingTimeoutMillis = typingTimeoutMillis;
+        this.expiryWheel = new HashedTimerWheel<>(broadcastIntervalMillis, 64);
+    }
+
+    public void updateTypingStatus(Long roomId, Long userId, boolean isTyping) {
+        if (isTyping) {
+            long expiresAt = System.currentTimeMillis() + typingTimeoutMillis;
+            Long previous = typingByRoom.computeIfAbsent(roomId, k -> new ConcurrentHashMap<>())
+                    .put(userId, expiresAt);
+
+            // 이미 타이핑 중이면 만료 시각만 연장 (휠 엔트리는 만료 시점에 재등록)
+            if (previous == null) {
+                expiryWheel.schedule(new TypingKey(roomId, userId), expiresAt);
+                dirtyRooms.add(roomId);
+            }
+        } else {
+            Map<Long, Long> roomTyping = typingByRoom.get(roomId);
+            if (roomTyping != null && roomTyping.remove(userId) != null) {
+                removeRoomIfEmpty(roomId);
+                dirtyRooms.add(roomId);
+            }
+        }
+    }
+
+    /**
+     * 메시지를 보낸 사용자는 즉시 타이핑 목록에서 제외
+     */
+    public void clearTyping(Long roomId, Long userId) {
+        updateTypingStatus(roomId, userId, false);
+    }
+
+    /**
+     * 현재 타이핑 중인 사용자 닉네임 (채팅방 상세 조회용)
+     */
+    public List<String> getTypingNicknames(Long roomId, Long excludeUserId) {
+        Map<Long, Long> roomTyping = typingByRoom.get(roomId);
+        if (roomTyping == null) {
+            return List.of();
+        }
+
+        long now = System.currentTimeMillis();
+        List<Long> userIds = roomTyping.entrySet().stream()
+                .filter(entry -> entry.getValue() > now)
+                .map(Map.Entry::getKey)
+                .filter(userId -> !userId.equals(excludeUserId))
+                .toList();
+
+        Map<Long, UserProfileCache.ProfileSummary> profiles = userProfileCache.getAll(userIds);
+        return userIds.stream()
+                .map(userId -> profiles.containsKey(userId) ? profiles.get(userId).getNickname() : "Unknown")
+                .toList();
+    }
+
+    /**
+     * 만료 처리 후 변경된 채팅방에 타이핑 목록을 1회씩 전송
+     */
+    @Scheduled(fixedDelayString = "${app.chat.typing.broadcast-interval-ms:500}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        expireEntries(now);
+
+        if (dirtyRooms.isEmpty()) {
+            return;
+        }
+
+        Iterator<Long> iterator = dirtyRooms.iterator();
+        while (iterator.hasNext()) {
+            Long roomId = iterator.next();
+            iterator.remove();
+
+            try {
+                messagingTemplate.convertAndSend("/topic/chat/" + roomId + "/typing", buildStatus(roomId, now));
+            } catch (Exception e) {
+                log.error("타이핑 상태 전송 실패: 방 {}", roomId, e);
+            }
+        }
+    }
+
+    private void expireEntries(long now) {
+        for (TypingKey key : expiryWheel.advance(now)) {
+            Map<Long, Long> roomTyping = typingByRoom.get(key.roomId());
+            if (roomTyping == null) {
+                continue;
+            }
+
+            Long expiresAt = roomTyping.get(key.userId());
+            if (expiresAt == null) {
+                continue;
+            }
+
+            if (expiresAt <= now) {
+                if (roomTyping.remove(key.userId(), expiresAt)) {
+                    removeRoomIfEmpty(key.roomId());
+                    dirtyRooms.add(key.roomId());
+                }
+            } else {
+                // 타이핑이 연장된 경우 최신 만료 시각으로 재등록
+                expiryWheel.schedule(key, expiresAt);
+            }
+        }
+    }
+
+    private ChatDto.TypingStatusResponse buildStatus(Long roomId, long now) {
+        List<Long> userIds = new ArrayList<>();
+        Map<Long, Long> roomTyping = typingByRoom.get(roomId);
+        if (roomTyping != null) {
+            roomTyping.forEach((userId, expiresAt) -> {
+                if (expiresAt > now) {
+                    userIds.add(userId);
+                }
+            });
+        }
+
+        Map<Long, UserProfileCache.ProfileSummary> profiles = userProfileCache.getAll(userIds);
+        List<ChatDto.TypingUserDto> typingUsers = userIds.stream()
+                .map(userId -> {
+                    ChatDto.TypingUserDto dto = new ChatDto.TypingUserDto();
+                    dto.setUserId(userId);
+                    dto.setNickname(profiles.containsKey(userId) ? profiles.get(userId).getNickname() : "Unknown");
+                    return dto;
+                })
+                .toList();
+
+        ChatDto.TypingStatusResponse response = new ChatDto.TypingStatusResponse();
+        response.setChatRoomId(roomId);
+        response.setTypingUsers(typingUsers);
+        return response;
+    }
+
+    private void removeRoomIfEmpty(Long roomId) {
+        typingByRoom.computeIfPresent(roomId, (k, roomTyping) -> roomTyping.isEmpty() ? null : roomTyping);
+    }
+
+    private record TypingKey(Long roomId, Long userId) {
+    }
+}
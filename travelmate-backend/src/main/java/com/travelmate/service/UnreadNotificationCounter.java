@@ -0,0 +1,380 @@
+package com.travelmate.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.travelmate.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 읽지 않은 알림 개수 카운터
+ *
+ * 사용자별 개수를 처음 조회할 때 DB에서 한 번 읽고, 이후에는 알림 생성/읽음/삭제 시
+ * 트랜잭션 커밋 후 증감하여 배지 조회가 SQL 없이 응답하도록 한다.
+ * 저장소는 노드 로컬 메모리(memory) 또는 Redis(redis)이며, 변경된 개수는 WebSocket과 SSE로 전송한다.
+ * 누락/중복 반영은 주기적으로 DB 집계와 비교해 보정한다.
+ */
+@Service
+@Slf4j
+public class UnreadNotificationCounter {
+
+    private static final String UNREAD_COUNT_DESTINATION = "/queue/notifications/unread-count";
+
+    private final NotificationRepository notificationRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationStreamService notificationStreamService;
+    private final CountStore store;
+    private final int reconcileBatchSize;
+
+    // 보정 대상 사용자 -> 마지막 변경 순번 (보정 쿼리 중 변경된 사용자는 다음 주기로 미룸)
+    private final Cache<Long, Long> trackedUsers;
+    private final AtomicLong mutationSequence = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter driftCounter;
+
+    public UnreadNotificationCounter(
+            NotificationRepository notificationRepository,
+            SimpMessagingTemplate messagingTemplate,
+            NotificationStreamService notificationStreamService,
+            ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+            MeterRegistry meterRegistry,
+            @Value("${app.notification.unread-counter.store:memory}") String storeType,
+            @Value("${app.notification.unread-counter.max-users:100000}") long maxUsers,
+            @Value("${app.notification.unread-counter.ttl-minutes:60}") long ttlMinutes,
+            @Value("${app.notification.unread-counter.reconcile-batch-size:500}") int reconcileBatchSize) {
+        this.notificationRepository = notificationRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.notificationStreamService = notificationStreamService;
+        this.reconcileBatchSize = reconcileBatchSize;
+
+        Duration ttl = Duration.ofMinutes(ttlMinutes);
+        this.trackedUsers = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(ttl)
+                .build();
+
+        if ("redis".equalsIgnoreCase(storeType)) {
+            StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+            if (redisTemplate == null) {
+                throw new IllegalStateException("알림 카운터 redis 저장소에 필요한 StringRedisTemplate이 없습니다.");
+            }
+            this.store = new RedisCountStore(redisTemplate, ttl);
+        } else {
+            this.store = new InMemoryCountStore(maxUsers, ttl);
+        }
+
+        this.hitCounter = Counter.builder("notification.unread.lookup")
+                .tag("result", "hit").description("읽지 않은 알림 개수 조회").register(meterRegistry);
+        this.missCounter = Counter.builder("notification.unread.lookup")
+                .tag("result", "miss").description("읽지 않은 알림 개수 조회").register(meterRegistry);
+        this.driftCounter = Counter.builder("notification.unread.drift")
+                .description("보정 시 DB와 달랐던 카운터 수").register(meterRegistry);
+
+        log.info("읽지 않은 알림 카운터 저장소: {}", storeType);
+    }
+
+    /**
+     * 읽지 않은 알림 개수 (카운터가 없을 때만 DB 조회)
+     */
+    public long getUnreadCount(Long userId) {
+        try {
+            Long cached = store.get(userId);
+            if (cached != null) {
+                hitCounter.increment();
+                trackedUsers.asMap().putIfAbsent(userId, 0L);
+                return cached;
+            }
+        } catch (Exception e) {
+            log.warn("알림 카운터 조회 실패, DB에서 조회: user {}", userId, e);
+            return notificationRepository.countByUserIdAndIsReadFalse(userId);
+        }
+
+        missCounter.increment();
+        long sequence = mutationSequence.get();
+        long count = notificationRepository.countByUserIdAndIsReadFalse(userId);
+        try {
+            // DB 조회 중 증감이 있었다면 조회값이 이미 낡았으므로 저장하지 않음
+            if (trackedUsers.asMap().getOrDefault(userId, 0L) <= sequence) {
+                count = store.putIfAbsent(userId, count);
+            }
+            trackedUsers.asMap().putIfAbsent(userId, 0L);
+        } catch (Exception e) {
+            log.warn("알림 카운터 저장 실패: user {}", userId, e);
+        }
+        return count;
+    }
+
+    /**
+     * 개수 증감 (트랜잭션 안이면 커밋 후 반영)
+     */
+    public void adjust(Long userId, long delta) {
+        if (delta != 0) {
+            afterCommit(() -> applyDelta(userId, delta));
+        }
+    }
+
+    /**
+     * 여러 사용자의 개수 증감 (알림 배치 생성 후)
+     */
+    public void adjustAll(Map<Long, Long> deltas) {
+        if (!deltas.isEmpty()) {
+            afterCommit(() -> deltas.forEach(this::applyDelta));
+        }
+    }
+
+    /**
+     * 모두 읽음 처리 후 0으로 설정
+     */
+    public void reset(Long userId) {
+        afterCommit(() -> {
+            markMutated(userId);
+            try {
+                store.set(userId, 0);
+            } catch (Exception e) {
+                log.warn("알림 카운터 초기화 실패: user {}", userId, e);
+                evictQuietly(userId);
+            }
+            publish(userId, 0);
+        });
+    }
+
+    /**
+     * 추적 중인 모든 카운터 제거 (대량 삭제 등 증감을 알 수 없는 변경 후)
+     */
+    public void invalidateAll() {
+        afterCommit(() -> {
+            for (Long userId : new ArrayList<>(trackedUsers.asMap().keySet())) {
+                markMutated(userId);
+                evictQuietly(userId);
+            }
+        });
+    }
+
+    /**
+     * 추적 중인 사용자의 카운터를 DB 집계와 비교해 보정
+     */
+    @Scheduled(fixedDelayString = "${app.notification.unread-counter.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.notification.unread-counter.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        List<Long> userIds = new ArrayList<>(trackedUsers.asMap().keySet());
+        int corrected = 0;
+
+        for (int from = 0; from < userIds.size(); from += reconcileBatchSize) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + reconcileBatchSize, userIds.size()));
+            long sequence = mutationSequence.get();
+
+            Map<Long, Long> actualCounts = new HashMap<>();
+            try {
+                for (Object[] row : notificationRepository.countUnreadByUserIds(chunk)) {
+                    actualCounts.put((Long) row[0], (Long) row[1]);
+                }
+            } catch (Exception e) {
+                log.error("알림 카운터 보정 조회 실패: {}명", chunk.size(), e);
+                continue;
+            }
+
+            for (Long userId : chunk) {
+                Long lastMutation = trackedUsers.getIfPresent(userId);
+                if (lastMutation == null || lastMutation > sequence) {
+                    continue;
+                }
+                long actual = actualCounts.getOrDefault(userId, 0L);
+                try {
+                    Long cached = store.get(userId);
+                    if (cached != null && cached != actual) {
+                        store.set(userId, actual);
+                        publish(userId, actual);
+                        corrected++;
+                    }
+                } catch (Exception e) {
+                    log.warn("알림 카운터 보정 실패: user {}", userId, e);
+                }
+            }
+        }
+
+        if (corrected > 0) {
+            driftCounter.increment(corrected);
+            log.info("알림 카운터 보정: {}명 중 {}명 수정", userIds.size(), corrected);
+        }
+    }
+
+    private void applyDelta(Long userId, long delta) {
+        markMutated(userId);
+        try {
+            Long updated = store.increment(userId, delta);
+            // 카운터가 없으면 다음 조회 때 DB에서 읽으므로 전송 생략
+            if (updated != null) {
+                publish(userId, updated);
+            }
+        } catch (Exception e) {
+            log.warn("알림 카운터 증감 실패: user {}, delta {}", userId, delta, e);
+            evictQuietly(userId);
+        }
+    }
+
+    private void markMutated(Long userId) {
+        trackedUsers.put(userId, mutationSequence.incrementAndGet());
+    }
+
+    private void evictQuietly(Long userId) {
+        try {
+            store.remove(userId);
+        } catch (Exception e) {
+            log.warn("알림 카운터 제거 실패: user {}", userId, e);
+        }
+    }
+
+    private void publish(Long userId, long count) {
+        try {
+            messagingTemplate.convertAndSendToUser(userId.toString(), UNREAD_COUNT_DESTINATION, Map.of("count", count));
+        } catch (Exception e) {
+            log.debug("읽지 않은 알림 개수 전송 실패: user {}", userId, e);
+        }
+        notificationStreamService.publishUnreadCount(userId, count);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 카운터 저장소 (increment는 카운터가 없으면 만들지 않고 null 반환, 0 미만으로 내려가지 않음)
+     */
+    private interface CountStore {
+        Long get(Long userId);
+
+        long putIfAbsent(Long userId, long count);
+
+        Long increment(Long userId, long delta);
+
+        void set(Long userId, long count);
+
+        void remove(Long userId);
+    }
+
+    private static class InMemoryCountStore implements CountStore {
+
+        private final Cache<Long, AtomicLong> counts;
+
+        InMemoryCountStore(long maxUsers, Duration ttl) {
+            this.counts = Caffeine.newBuilder()
+                    .maximumSize(maxUsers)
+                    .expireAfterAccess(ttl)
+                    .build();
+        }
+
+        @Override
+        public Long get(Long userId) {
+            AtomicLong count = counts.getIfPresent(userId);
+            return count != null ? count.get() : null;
+        }
+
+        @Override
+        public long putIfAbsent(Long userId, long count) {
+            AtomicLong existing = counts.asMap().putIfAbsent(userId, new AtomicLong(count));
+            return existing != null ? existing.get() : count;
+        }
+
+        @Override
+        public Long increment(Long userId, long delta) {
+            AtomicLong count = counts.getIfPresent(userId);
+            return count != null ? count.updateAndGet(value -> Math.max(0, value + delta)) : null;
+        }
+
+        @Override
+        public void set(Long userId, long count) {
+            counts.put(userId, new AtomicLong(count));
+        }
+
+        @Override
+        public void remove(Long userId) {
+            counts.invalidate(userId);
+        }
+    }
+
+    private static class RedisCountStore implements CountStore {
+
+        private static final String KEY_PREFIX = "notification:unread:";
+
+        // 키가 있을 때만 증감하고 음수는 0으로 맞춤
+        private static final DefaultRedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+                "if redis.call('EXISTS', KEYS[1]) == 0 then return nil end " +
+                "local value = redis.call('INCRBY', KEYS[1], ARGV[1]) " +
+                "if value < 0 then redis.call('SET', KEYS[1], 0, 'KEEPTTL') value = 0 end " +
+                "redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+                "return value",
+                Long.class);
+
+        private final StringRedisTemplate redisTemplate;
+        private final Duration ttl;
+
+        RedisCountStore(StringRedisTemplate redisTemplate, Duration ttl) {
+            this.redisTemplate = redisTemplate;
+            this.ttl = ttl;
+        }
+
+        @Override
+        public Long get(Long userId) {
+            String value = redisTemplate.opsForValue().get(key(userId));
+            return value != null ? Long.valueOf(value) : null;
+        }
+
+        @Override
+        public long putIfAbsent(Long userId, long count) {
+            Boolean stored = redisTemplate.opsForValue().setIfAbsent(key(userId), Long.toString(count), ttl);
+            if (Boolean.TRUE.equals(stored)) {
+                return count;
+            }
+            Long existing = get(userId);
+            return existing != null ? existing : count;
+        }
+
+        @Override
+        public Long increment(Long userId, long delta) {
+            return redisTemplate.execute(INCREMENT_SCRIPT, List.of(key(userId)),
+                    Long.toString(delta), Long.toString(ttl.toMillis()));
+        }
+
+        @Override
+        public void set(Long userId, long count) {
+            redisTemplate.opsForValue().set(key(userId), Long.toString(count), ttl);
+        }
+
+        @Override
+        public void remove(Long userId) {
+            redisTemplate.delete(key(userId));
+        }
+
+        private static String key(Long userId) {
+            return KEY_PREFIX + userId;
+        }
+    }
+}
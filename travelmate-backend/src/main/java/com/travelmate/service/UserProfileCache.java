@@ -0,0 +1,97 @@
+package com.travelmate.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.travelmate.entity.User;
+import com.travelmate.repository.UserRepository;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자 프로필 요약(닉네임, 프로필 이미지) 인메모리 캐시
+ *
+ * 타이핑 표시, 읽음 표시처럼 빈번하게 닉네임만 필요한 경로에서 DB 조회를 피하기 위해 사용한다.
+ * User 엔티티를 이미 읽은 곳(메시지 전송, 채팅방 입장, 프로필 수정)에서 put()으로 갱신된다.
+ */
+@Component
+@Slf4j
+public class UserProfileCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, ProfileSummary> cache;
+
+    public UserProfileCache(
+            UserRepository userRepository,
+            @Value("${app.cache.user-profile.max-size:100000}") long maxSize,
+            @Value("${app.cache.user-profile.ttl-minutes:60}") long ttlMinutes) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    public ProfileSummary put(User user) {
+        if (user == null || user.getId() == null) {
+            return null;
+        }
+        ProfileSummary summary = new ProfileSummary(user.getId(), user.getNickname(), user.getProfileImageUrl());
+        cache.put(user.getId(), summary);
+        return summary;
+    }
+
+    /**
+     * 캐시에 있는 경우에만 반환 (DB 조회 없음)
+     */
+    public ProfileSummary getIfPresent(Long userId) {
+        return cache.getIfPresent(userId);
+    }
+
+    /**
+     * 캐시 미스인 사용자만 한 번의 IN 쿼리로 적재하여 반환
+     */
+    public Map<Long, ProfileSummary> getAll(Collection<Long> userIds) {
+        Map<Long, ProfileSummary> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+
+        for (Long userId : userIds) {
+            ProfileSummary summary = cache.getIfPresent(userId);
+            if (summary != null) {
+                result.put(userId, summary);
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (User user : userRepository.findAllById(missing)) {
+                result.put(user.getId(), put(user));
+            }
+            log.debug("프로필 캐시 적재: {}건", missing.size());
+        }
+
+        return result;
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class ProfileSummary {
+        private Long userId;
+        private String nickname;
+        private String profileImageUrl;
+    }
+}
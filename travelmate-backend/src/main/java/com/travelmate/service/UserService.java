@@ -4,8 +4,13 @@ import com.travelmate.dto.UserDto;
 import com.travelmate.entity.User;
 import com.travelmate.exception.UserException;
 import com.travelmate.repository.UserRepository;
+import com.travelmate.repository.UserRepositoryEnhanced;
+import com.travelmate.repository.TrigramSupport;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,11 +28,18 @@ import org.springframework.security.core.Authentication;
 @Slf4j
 public class UserService {
     
+    private static final int MIN_INFIX_KEYWORD_LENGTH = 3;
+    private static final int MAX_SEARCH_KEYWORD_LENGTH = 50;
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+    
     private final UserRepository userRepository;
+    private final UserRepositoryEnhanced userRepositoryEnhanced;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final UserReviewRepository userReviewRepository;
     private final EmailService emailService;
+    private final UserProfileCache userProfileCache;
+    private final TrigramSupport trigramSupport;
     
     public UserDto.Response registerUser(UserDto.RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -109,7 +121,7 @@ public class UserService {
             throw new UserException("비밀번호가 일치하지 않습니다.");
         }
         
-        String token = jwtService.generateToken(user.getId(), user.getEmail());
+        String token = jwtService.generateToken(user.getId(), user.getEmail(), user.getRole().name());
         
         UserDto.LoginResponse response = new UserDto.LoginResponse();
         response.setToken(token);
@@ -180,6 +192,47 @@ public class UserService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * 닉네임/이름/소개로 공개 프로필 사용자 검색 (유사도 순)
+     */
+    @Transactional(readOnly = true)
+    public Page<UserDto.SearchResult> searchUsers(String keyword, Pageable pageable) {
+        String trimmed = keyword != null ? keyword.trim() : "";
+        if (trimmed.isEmpty()) {
+            throw new UserException("검색어를 입력해주세요.");
+        }
+        if (trimmed.length() > MAX_SEARCH_KEYWORD_LENGTH) {
+            trimmed = trimmed.substring(0, MAX_SEARCH_KEYWORD_LENGTH);
+        }
+
+        // 순서는 유사도로 고정
+        Pageable page = PageRequest.of(pageable.getPageNumber(), Math.min(pageable.getPageSize(), MAX_SEARCH_PAGE_SIZE));
+        Page<User> users;
+        if (!trigramSupport.isAvailable()) {
+            // pg_trgm이 없으면 색인 없이 부분 문자열 일치만 사용
+            users = userRepositoryEnhanced.searchUsersByPattern("%" + escapeLike(trimmed) + "%", page);
+        } else if (trimmed.length() >= MIN_INFIX_KEYWORD_LENGTH) {
+            users = userRepositoryEnhanced.searchUsersWithInfix(trimmed, "%" + escapeLike(trimmed) + "%", page);
+        } else {
+            users = userRepositoryEnhanced.searchUsers(trimmed, page);
+        }
+
+        return users.map(user -> UserDto.SearchResult.builder()
+            .id(user.getId())
+            .nickname(user.getNickname())
+            .fullName(user.getFullName())
+            .profileImageUrl(user.getProfileImageUrl())
+            .bio(user.getBio())
+            .travelStyle(user.getTravelStyle())
+            .rating(user.getRating())
+            .reviewCount(user.getReviewCount())
+            .build());
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
@@ -254,6 +307,7 @@ public class UserService {
         }
         
         User savedUser = userRepository.save(user);
+        userProfileCache.put(savedUser);
         log.info("사용자 프로필 업데이트: {}", userId);
         
         return convertToDto(savedUser);
@@ -0,0 +1,51 @@
+package com.travelmate.service.archive;
+
+import com.travelmate.entity.ChatMessage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 아카이브 세그먼트에 저장되는 채팅 메시지
+ *
+ * 발신자 닉네임/프로필 이미지는 아카이브 시점의 값을 함께 저장한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedChatMessage {
+
+    private Long id;
+    private Long chatRoomId;
+    private Long senderId;
+    private String senderNickname;
+    private String senderProfileImageUrl;
+    private String content;
+    private ChatMessage.MessageType messageType;
+    private String imageUrl;
+    private Double locationLatitude;
+    private Double locationLongitude;
+    private String locationName;
+    private LocalDateTime sentAt;
+
+    public static ArchivedChatMessage from(ChatMessage message) {
+        return ArchivedChatMessage.builder()
+                .id(message.getId())
+                .chatRoomId(message.getChatRoom().getId())
+                .senderId(message.getSender() != null ? message.getSender().getId() : null)
+                .senderNickname(message.getSender() != null ? message.getSender().getNickname() : null)
+                .senderProfileImageUrl(message.getSender() != null ? message.getSender().getProfileImageUrl() : null)
+                .content(message.getContent())
+                .messageType(message.getMessageType())
+                .imageUrl(message.getImageUrl())
+                .locationLatitude(message.getLocationLatitude())
+                .locationLongitude(message.getLocationLongitude())
+                .locationName(message.getLocationName())
+                .sentAt(message.getSentAt())
+                .build();
+    }
+}
@@ -0,0 +1,653 @@
+package com.travelmate.service.archive;
+
+import com.travelmate.entity.ChatMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 채팅방별 압축 세그먼트 파일 저장소
+ *
+ * 디렉터리 구조: {root}/room-{roomId}/seg-{번호}.dat, seg-{번호}.idx
+ *
+ * - .dat: 메시지를 blockSize 개씩 묶어 Deflate로 압축한 블록을 이어 붙인 append-only 파일
+ * - .idx: 블록당 1개 엔트리(firstId, lastId, offset, length, rawLength, count)만 갖는 희소 인덱스
+ *
+ * 읽기는 .dat 파일을 메모리 매핑하여 필요한 블록만 해제한다.
+ * 쓰기는 데이터를 먼저 fsync 한 뒤 인덱스를 기록하므로, 중간에 중단되어도
+ * 인덱스에 없는 꼬리 데이터는 무시하고 다음 기록 직전에 잘라낸다.
+ * 디렉터리는 처음 기록할 때 만든다. (읽기만 하는 노드는 디스크를 건드리지 않음)
+ *
+ * 공유 스토리지에서 다른 노드가 기록한 블록은 refreshIntervalMillis마다 인덱스 파일 수/크기를 확인해
+ * 바뀌었으면 다시 적재하여 반영한다.
+ */
+@Slf4j
+public class ChatSegmentStore {
+
+    private static final int INDEX_ENTRY_BYTES = 8 + 8 + 8 + 4 + 4 + 4;
+
+    private final Path root;
+    private final int blockSize;
+    private final long maxSegmentBytes;
+    private final long refreshIntervalMillis;
+    private final Map<Long, RoomArchive> rooms = new ConcurrentHashMap<>();
+
+    public ChatSegmentStore(Path root, int blockSize, long maxSegmentBytes, long refreshIntervalMillis) {
+        if (maxSegmentBytes >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("maxSegmentBytes must be smaller than 2GB: " + maxSegmentBytes);
+        }
+        this.root = root;
+        this.blockSize = blockSize;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+    }
+
+    /**
+     * 메시지를 id 오름차순으로 추가한다.
+     *
+     * 마지막으로 아카이브된 id 이하의 메시지는 블록 순서를 지키기 위해 기록하지 않는다.
+     * (이전 실행에서 기록 후 삭제만 실패한 메시지는 이미 보관된 것으로 반환)
+     *
+     * @return 이번에 기록했거나 이미 보관 중인 메시지 id (원본에서 지워도 되는 것만)
+     */
+    public List<Long> append(Long roomId, List<ArchivedChatMessage> messages) throws IOException {
+        RoomArchive room = getRoom(roomId);
+
+        synchronized (room) {
+            List<Long> stored = new ArrayList<>();
+            List<ArchivedChatMessage> fresh = new ArrayList<>();
+            Map<BlockRef, Set<Long>> heldIds = new HashMap<>();
+            for (ArchivedChatMessage message : messages.stream()
+                    .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                    .toList()) {
+                if (message.getId() > room.lastArchivedId) {
+                    fresh.add(message);
+                } else if (holds(roomId, room, message.getId(), heldIds)) {
+                    stored.add(message.getId());
+                }
+            }
+            if (fresh.isEmpty()) {
+                return stored;
+            }
+
+            Files.createDirectories(room.directory);
+            List<BlockRef> written = new ArrayList<>();
+            SegmentWriter writer = null;
+
+            try {
+                for (int from = 0; from < fresh.size(); from += blockSize) {
+                    List<ArchivedChatMessage> chunk = fresh.subList(from, Math.min(from + blockSize, fresh.size()));
+
+                    Segment segment = room.segments.isEmpty() ? null : room.segments.get(room.segments.size() - 1);
+                    if (segment == null || segment.dataSize >= maxSegmentBytes) {
+                        if (writer != null) {
+                            writer.close();
+                            writer = null;
+                        }
+                        segment = new Segment(room.directory, room.segments.size());
+                        room.segments.add(segment);
+                    }
+                    if (writer == null) {
+                        writer = new SegmentWriter(segment);
+                    }
+
+                    written.add(writer.writeBlock(chunk));
+                }
+
+                if (writer != null) {
+                    writer.close();
+                }
+            } catch (IOException | RuntimeException e) {
+                if (writer != null) {
+                    try {
+                        writer.close();
+                    } catch (IOException closeError) {
+                        e.addSuppressed(closeError);
+                    }
+                }
+                // 메모리 상태를 버리고 다음 접근 시 디스크(인덱스) 기준으로 다시 적재
+                rooms.remove(roomId);
+                throw e;
+            }
+
+            room.publish(written);
+            room.indexState = indexState(room.directory);
+            fresh.forEach(message -> stored.add(message.getId()));
+            return stored;
+        }
+    }
+
+    private boolean holds(Long roomId, RoomArchive room, long messageId, Map<BlockRef, Set<Long>> heldIds)
+            throws IOException {
+        BlockRef block = findBlock(room.blocks, messageId);
+        if (block == null) {
+            return false;
+        }
+        Set<Long> ids = heldIds.get(block);
+        if (ids == null) {
+            ids = new HashSet<>();
+            for (ArchivedChatMessage message : decodeBlock(roomId, block)) {
+                ids.add(message.getId());
+            }
+            heldIds.put(block, ids);
+        }
+        return ids.contains(messageId);
+    }
+
+    /**
+     * 최신 메시지부터 offset 만큼 건너뛰고 limit 개를 반환 (sentAt 내림차순)
+     */
+    public List<ArchivedChatMessage> readNewestFirst(Long roomId, long offset, int limit) throws IOException {
+        BlockRef[] blocks = getRoom(roomId).blocks;
+        List<ArchivedChatMessage> result = new ArrayList<>(limit);
+        long skip = offset;
+
+        for (int i = blocks.length - 1; i >= 0 && result.size() < limit; i--) {
+            BlockRef block = blocks[i];
+            if (skip >= block.count) {
+                skip -= block.count;
+                continue;
+            }
+
+            List<ArchivedChatMessage> decoded = decodeBlock(roomId, block);
+            for (int j = decoded.size() - 1 - (int) skip; j >= 0 && result.size() < limit; j--) {
+                result.add(decoded.get(j));
+            }
+            skip = 0;
+        }
+
+        return result;
+    }
+
+    /**
+     * 아카이브된 메시지가 속한 채팅방 ID (없으면 empty)
+     *
+     * 블록 범위로 후보 채팅방을 찾은 뒤 해당 블록만 해제해 확인한다. (삭제되어 보관되지 않은 id는 제외)
+     */
+    public Optional<Long> findRoomIdOf(long messageId) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return Optional.empty();
+        }
+
+        List<Long> roomIds = new ArrayList<>();
+        try (Stream<Path> directories = Files.list(root)) {
+            directories.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("room-"))
+                    .forEach(name -> {
+                        try {
+                            roomIds.add(Long.parseLong(name.substring("room-".length())));
+                        } catch (NumberFormatException ignored) {
+                            // 아카이브 디렉터리가 아님
+                        }
+                    });
+        }
+
+        for (Long roomId : roomIds) {
+            BlockRef block = findBlock(getRoom(roomId).blocks, messageId);
+            if (block != null && decodeBlock(roomId, block).stream().anyMatch(message -> message.getId() == messageId)) {
+                return Optional.of(roomId);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public long count(Long roomId) {
+        return getRoom(roomId).totalCount;
+    }
+
+    public long getLastArchivedId(Long roomId) {
+        return getRoom(roomId).lastArchivedId;
+    }
+
+    private RoomArchive getRoom(Long roomId) {
+        RoomArchive room = rooms.computeIfAbsent(roomId, id -> {
+            RoomArchive loaded = new RoomArchive(root.resolve("room-" + id));
+            try {
+                load(loaded);
+            } catch (IOException e) {
+                throw new UncheckedIOException("아카이브 적재 실패: room " + id, e);
+            }
+            return loaded;
+        });
+
+        if (System.currentTimeMillis() - room.checkedAt >= refreshIntervalMillis) {
+            refresh(roomId, room);
+        }
+        return room;
+    }
+
+    /**
+     * 다른 노드가 기록한 블록 반영 (인덱스 파일 수/크기가 바뀐 경우에만 다시 적재)
+     */
+    private void refresh(Long roomId, RoomArchive room) {
+        synchronized (room) {
+            long now = System.currentTimeMillis();
+            if (now - room.checkedAt < refreshIntervalMillis) {
+                return;
+            }
+            room.checkedAt = now;
+            try {
+                if (!indexState(room.directory).equals(room.indexState)) {
+                    load(room);
+                }
+            } catch (IOException e) {
+                // 확인하지 못하면 지금까지 적재한 블록으로 계속 읽음
+                log.warn("아카이브 갱신 실패: room {} - {}", roomId, e.getMessage());
+            }
+        }
+    }
+
+    private static BlockRef findBlock(BlockRef[] blocks, long messageId) {
+        int low = 0;
+        int high = blocks.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (blocks[mid].lastId < messageId) {
+                low = mid + 1;
+            } else if (blocks[mid].firstId > messageId) {
+                high = mid - 1;
+            } else {
+                return blocks[mid];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 디스크 인덱스 기준으로 채팅방 상태를 (다시) 적재
+     */
+    private void load(RoomArchive room) throws IOException {
+        // 적재 도중 기록된 블록은 다음 확인에서 다시 반영되도록 상태를 먼저 읽음
+        IndexState state = indexState(room.directory);
+        List<Segment> segments = new ArrayList<>();
+        List<BlockRef> blocks = new ArrayList<>();
+        for (int i = 0; i < state.files(); i++) {
+            Segment segment = new Segment(room.directory, i);
+            segments.add(segment);
+            blocks.addAll(segment.recover());
+        }
+
+        room.segments.clear();
+        room.segments.addAll(segments);
+        room.replace(blocks);
+        room.indexState = state;
+        room.checkedAt = System.currentTimeMillis();
+    }
+
+    private static IndexState indexState(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new IndexState(0, 0);
+        }
+        List<Path> indexFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            indexFiles = files.filter(path -> path.getFileName().toString().endsWith(".idx")).toList();
+        }
+        long bytes = 0;
+        for (Path indexFile : indexFiles) {
+            bytes += Files.size(indexFile);
+        }
+        return new IndexState(indexFiles.size(), bytes);
+    }
+
+    private List<ArchivedChatMessage> decodeBlock(Long roomId, BlockRef block) throws IOException {
+        ByteBuffer compressed = block.segment.map(block.offset + block.length)
+                .slice((int) block.offset, block.length);
+
+        byte[] raw = new byte[block.rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                read += inflater.inflate(raw, read, raw.length - read);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("손상된 아카이브 블록: room " + roomId + ", offset " + block.offset, e);
+        } finally {
+            inflater.end();
+        }
+
+        return decodeMessages(roomId, raw);
+    }
+
+    // ===== 블록 인코딩 =====
+
+    private static byte[] encodeMessages(List<ArchivedChatMessage> messages) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(messages.size());
+        for (ArchivedChatMessage message : messages) {
+            out.writeLong(message.getId());
+            writeNullableLong(out, message.getSenderId());
+            writeString(out, message.getSenderNickname());
+            writeString(out, message.getSenderProfileImageUrl());
+            writeString(out, message.getContent());
+            writeString(out, message.getMessageType() != null ? message.getMessageType().name() : null);
+            writeString(out, message.getImageUrl());
+            writeNullableDouble(out, message.getLocationLatitude());
+            writeNullableDouble(out, message.getLocationLongitude());
+            writeString(out, message.getLocationName());
+            writeNullableLong(out, message.getSentAt() != null
+                    ? message.getSentAt().toInstant(ZoneOffset.UTC).toEpochMilli()
+                    : null);
+        }
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static List<ArchivedChatMessage> decodeMessages(Long roomId, byte[] raw) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        int count = in.readInt();
+        List<ArchivedChatMessage> messages = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            ArchivedChatMessage message = new ArchivedChatMessage();
+            message.setId(in.readLong());
+            message.setChatRoomId(roomId);
+            message.setSenderId(readNullableLong(in));
+            message.setSenderNickname(readString(in));
+            message.setSenderProfileImageUrl(readString(in));
+            message.setContent(readString(in));
+            String messageType = readString(in);
+            message.setMessageType(messageType != null ? ChatMessage.MessageType.valueOf(messageType) : null);
+            message.setImageUrl(readString(in));
+            message.setLocationLatitude(readNullableDouble(in));
+            message.setLocationLongitude(readNullableDouble(in));
+            message.setLocationName(readString(in));
+            Long sentAt = readNullableLong(in);
+            message.setSentAt(sentAt != null
+                    ? LocalDateTime.ofInstant(Instant.ofEpochMilli(sentAt), ZoneOffset.UTC)
+                    : null);
+            messages.add(message);
+        }
+
+        return messages;
+    }
+
+    private static byte[] compress(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeNullableLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readNullableLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeNullableDouble(DataOutputStream out, Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeDouble(value);
+        }
+    }
+
+    private static Double readNullableDouble(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readDouble() : null;
+    }
+
+    // ===== 내부 구조 =====
+
+    private record IndexState(int files, long bytes) {
+    }
+
+    private static final class RoomArchive {
+        private final Path directory;
+        private final List<Segment> segments = new ArrayList<>();
+        private volatile BlockRef[] blocks = new BlockRef[0];
+        private volatile long totalCount;
+        private volatile long lastArchivedId;
+        private volatile long checkedAt;
+        private IndexState indexState = new IndexState(0, 0);
+
+        private RoomArchive(Path directory) {
+            this.directory = directory;
+        }
+
+        private void replace(List<BlockRef> loaded) {
+            long count = 0;
+            for (BlockRef block : loaded) {
+                count += block.count;
+            }
+            blocks = loaded.toArray(new BlockRef[0]);
+            totalCount = count;
+            lastArchivedId = loaded.isEmpty() ? 0 : loaded.get(loaded.size() - 1).lastId;
+        }
+
+        private void publish(List<BlockRef> added) {
+            if (added.isEmpty()) {
+                return;
+            }
+            BlockRef[] current = blocks;
+            BlockRef[] next = Arrays.copyOf(current, current.length + added.size());
+            long count = totalCount;
+            for (int i = 0; i < added.size(); i++) {
+                next[current.length + i] = added.get(i);
+                count += added.get(i).count;
+            }
+            blocks = next;
+            totalCount = count;
+            lastArchivedId = next[next.length - 1].lastId;
+        }
+    }
+
+    private static final class Segment {
+        private final Path dataFile;
+        private final Path indexFile;
+        private long dataSize;
+        private long indexSize;
+        private volatile MappedByteBuffer mapped;
+
+        private Segment(Path directory, int number) {
+            String name = String.format("seg-%06d", number);
+            this.dataFile = directory.resolve(name + ".dat");
+            this.indexFile = directory.resolve(name + ".idx");
+        }
+
+        /**
+         * 인덱스를 읽어 블록 목록을 복원 (인덱스에 없는 꼬리 데이터는 건너뛰고 기록하는 쪽이 자름)
+         */
+        private List<BlockRef> recover() throws IOException {
+            List<BlockRef> blocks = new ArrayList<>();
+            long dataLength = Files.exists(dataFile) ? Files.size(dataFile) : 0;
+            ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+
+            while (index.remaining() >= INDEX_ENTRY_BYTES) {
+                long firstId = index.getLong();
+                long lastId = index.getLong();
+                long offset = index.getLong();
+                int length = index.getInt();
+                int rawLength = index.getInt();
+                int count = index.getInt();
+                if (offset + length > dataLength) {
+                    break;
+                }
+                blocks.add(new BlockRef(this, firstId, lastId, offset, length, rawLength, count));
+                dataSize = offset + length;
+                indexSize += INDEX_ENTRY_BYTES;
+            }
+
+            return blocks;
+        }
+
+        private MappedByteBuffer map(long requiredSize) throws IOException {
+            MappedByteBuffer current = mapped;
+            if (current != null && current.capacity() >= requiredSize) {
+                return current;
+            }
+            synchronized (this) {
+                if (mapped == null || mapped.capacity() < requiredSize) {
+                    try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+                        mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    }
+                }
+                return mapped;
+            }
+        }
+
+        private static void truncate(Path file, long size) throws IOException {
+            if (Files.exists(file) && Files.size(file) > size) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(size);
+                }
+            }
+        }
+    }
+
+    private final class SegmentWriter {
+        private final Segment segment;
+        private final FileChannel data;
+        private final ByteBuffer pendingIndex;
+        private final List<BlockRef> pendingBlocks = new ArrayList<>();
+
+        private SegmentWriter(Segment segment) throws IOException {
+            // 중단된 이전 기록의 꼬리를 잘라낸 뒤 이어 씀 (인덱스를 먼저 잘라 데이터 밖을 가리키지 않게 함)
+            Segment.truncate(segment.indexFile, segment.indexSize);
+            Segment.truncate(segment.dataFile, segment.dataSize);
+            this.segment = segment;
+            this.data = FileChannel.open(segment.dataFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            this.pendingIndex = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+        }
+
+        private BlockRef writeBlock(List<ArchivedChatMessage> chunk) throws IOException {
+            byte[] raw = encodeMessages(chunk);
+            byte[] compressed = compress(raw);
+
+            long offset = segment.dataSize;
+            ByteBuffer buffer = ByteBuffer.wrap(compressed);
+            while (buffer.hasRemaining()) {
+                data.write(buffer, offset + buffer.position());
+            }
+            segment.dataSize += compressed.length;
+
+            BlockRef block = new BlockRef(segment, chunk.get(0).getId(), chunk.get(chunk.size() - 1).getId(),
+                    offset, compressed.length, raw.length, chunk.size());
+            pendingBlocks.add(block);
+            return block;
+        }
+
+        /**
+         * 데이터를 먼저 디스크에 반영한 뒤 인덱스 엔트리를 기록
+         */
+        private void close() throws IOException {
+            try {
+                data.force(false);
+            } finally {
+                data.close();
+            }
+
+            if (pendingBlocks.isEmpty()) {
+                return;
+            }
+
+            try (FileChannel index = FileChannel.open(segment.indexFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                long position = segment.indexSize;
+                for (BlockRef block : pendingBlocks) {
+                    pendingIndex.clear();
+                    pendingIndex.putLong(block.firstId)
+                            .putLong(block.lastId)
+                            .putLong(block.offset)
+                            .putInt(block.length)
+                            .putInt(block.rawLength)
+                            .putInt(block.count);
+                    pendingIndex.flip();
+                    while (pendingIndex.hasRemaining()) {
+                        position += index.write(pendingIndex, position);
+                    }
+                }
+                index.force(false);
+                segment.indexSize = position;
+            }
+            pendingBlocks.clear();
+            log.debug("아카이브 세그먼트 기록: {} ({} bytes)", segment.dataFile, segment.dataSize);
+        }
+    }
+
+    private static final class BlockRef {
+        private final Segment segment;
+        private final long firstId;
+        private final long lastId;
+        private final long offset;
+        private final int length;
+        private final int rawLength;
+        private final int count;
+
+        private BlockRef(Segment segment, long firstId, long lastId, long offset, int length, int rawLength, int count) {
+            this.segment = segment;
+            this.firstId = firstId;
+            this.lastId = lastId;
+            this.offset = offset;
+            this.length = length;
+            this.rawLength = rawLength;
+            this.count = count;
+        }
+    }
+}
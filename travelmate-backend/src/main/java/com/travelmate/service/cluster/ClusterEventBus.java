@@ -0,0 +1,26 @@
+package com.travelmate.service.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * 모든 인스턴스에 전달되는 이벤트 채널
+ *
+ * 노드 로컬 상태(SSE 연결, 읽음 워터마크 등)를 가진 서비스가 다른 노드에서 생긴 변경을 받기 위해 사용한다.
+ * 발행한 노드 자신도 구독자로서 같은 이벤트를 받으므로, 구독 쪽에서만 로컬 상태를 갱신하면 된다.
+ *
+ * 구현체는 app.cluster.event-bus.type 값으로 선택한다.
+ * - memory: 같은 프로세스 안에서만 전달 (단일 인스턴스용)
+ * - redis: Redis pub/sub으로 모든 인스턴스에 전달 (at-most-once, 연결이 끊긴 동안의 이벤트는 유실)
+ */
+public interface ClusterEventBus {
+
+    /**
+     * 이벤트 발행 (실패해도 예외를 던지지 않음)
+     */
+    void publish(String channel, Object event);
+
+    /**
+     * 채널 구독 (리스너는 구독 전용 스레드에서 호출되므로 오래 걸리는 작업은 넘겨서 처리)
+     */
+    <T> void subscribe(String channel, Class<T> type, Consumer<T> listener);
+}
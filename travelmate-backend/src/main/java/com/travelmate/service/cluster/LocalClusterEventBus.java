@@ -0,0 +1,39 @@
+package com.travelmate.service.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 프로세스 내 이벤트 채널 (발행 스레드에서 바로 리스너 호출)
+ */
+@Component
+@ConditionalOnProperty(name = "app.cluster.event-bus.type", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class LocalClusterEventBus implements ClusterEventBus {
+
+    private final Map<String, List<Consumer<Object>>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String channel, Object event) {
+        for (Consumer<Object> listener : listeners.getOrDefault(channel, List.of())) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                log.error("이벤트 처리 실패: 채널 {}", channel, e);
+            }
+        }
+    }
+
+    @Override
+    public <T> void subscribe(String channel, Class<T> type, Consumer<T> listener) {
+        listeners.computeIfAbsent(channel, k -> new CopyOnWriteArrayList<>())
+                .add(event -> listener.accept(type.cast(event)));
+    }
+}
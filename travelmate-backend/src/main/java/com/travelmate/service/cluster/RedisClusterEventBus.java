@@ -0,0 +1,88 @@
+package com.travelmate.service.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Redis pub/sub 이벤트 채널
+ *
+ * 이벤트는 JSON으로 직렬화해 발행한다. 수신은 단일 스레드에서 처리해 같은 채널의 이벤트 순서를 유지한다.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cluster.event-bus.type", havingValue = "redis")
+@Slf4j
+public class RedisClusterEventBus implements ClusterEventBus {
+
+    private static final String CHANNEL_PREFIX = "travelmate:events:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ThreadPoolTaskExecutor listenerExecutor;
+    private final Counter publishFailureCounter;
+
+    public RedisClusterEventBus(
+            StringRedisTemplate redisTemplate,
+            RedisConnectionFactory connectionFactory,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+
+        this.listenerExecutor = new ThreadPoolTaskExecutor();
+        listenerExecutor.setCorePoolSize(1);
+        listenerExecutor.setMaxPoolSize(1);
+        listenerExecutor.setThreadNamePrefix("cluster-event-");
+        listenerExecutor.initialize();
+
+        this.listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.setTaskExecutor(listenerExecutor);
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+
+        this.publishFailureCounter = Counter.builder("cluster.events.publish.failed")
+                .description("발행에 실패한 노드 간 이벤트 수").register(meterRegistry);
+    }
+
+    @Override
+    public void publish(String channel, Object event) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL_PREFIX + channel, objectMapper.writeValueAsString(event));
+        } catch (Exception e) {
+            publishFailureCounter.increment();
+            log.warn("노드 간 이벤트 발행 실패: 채널 {}", channel, e);
+        }
+    }
+
+    @Override
+    public <T> void subscribe(String channel, Class<T> type, Consumer<T> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                String body = new String(message.getBody(), StandardCharsets.UTF_8);
+                listener.accept(objectMapper.readValue(body, type));
+            } catch (Exception e) {
+                log.error("노드 간 이벤트 처리 실패: 채널 {}", channel, e);
+            }
+        }, new ChannelTopic(CHANNEL_PREFIX + channel));
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        listenerContainer.destroy();
+        listenerExecutor.shutdown();
+    }
+}
@@ -0,0 +1,87 @@
+package com.travelmate.service.mail;
+
+import com.travelmate.entity.EmailOutbox;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 이메일 묶음 전송
+ *
+ * JavaMailSender.send(MimeMessage...)는 묶음 전체를 하나의 SMTP 연결로 보낸다.
+ * mailSender가 null이면 실제로 보내지 않고 내용을 로그로 남긴다. (개발 환경용)
+ */
+@Slf4j
+public class MailBatchSender {
+
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    public MailBatchSender(JavaMailSender mailSender, String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    /**
+     * 묶음 전송 후 실패한 요청 ID와 오류 메시지 반환 (빈 맵이면 모두 성공)
+     */
+    public Map<Long, String> send(List<EmailOutbox> emails) {
+        if (mailSender == null) {
+            emails.forEach(email -> log.info("📧 이메일 (개발 모드) 수신자: {} / 제목: {}\n{}",
+                    email.getRecipient(), email.getSubject(), email.getBody()));
+            return Map.of();
+        }
+
+        Map<Long, String> failures = new HashMap<>();
+        Map<MimeMessage, Long> idsByMessage = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(emails.size());
+
+        for (EmailOutbox email : emails) {
+            try {
+                MimeMessage message = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+                helper.setFrom(from);
+                helper.setTo(email.getRecipient());
+                helper.setSubject(email.getSubject());
+                helper.setText(email.getBody(), false);
+                messages.add(message);
+                idsByMessage.put(message, email.getId());
+            } catch (MessagingException e) {
+                failures.put(email.getId(), "메시지 생성 실패: " + e.getMessage());
+            }
+        }
+
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                // 연결 자체가 실패한 경우
+                idsByMessage.values().forEach(id -> failures.put(id, e.getMessage()));
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> {
+                    Long id = idsByMessage.get(message);
+                    if (id != null) {
+                        failures.put(id, cause.getMessage());
+                    }
+                });
+            }
+        } catch (MailException e) {
+            idsByMessage.values().forEach(id -> failures.put(id, e.getMessage()));
+        }
+        return failures;
+    }
+}
@@ -0,0 +1,87 @@
+package com.travelmate.service.push;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 프로세스 내 가짜 푸시 전송 (개발/부하 테스트용)
+ *
+ * 묶음당 지연 시간과 실패 비율을 설정으로 흉내 낸다.
+ * "invalid-"로 시작하는 토큰은 항상 INVALID_TOKEN으로 응답한다.
+ */
+@Component
+@ConditionalOnProperty(name = "app.push.transport", havingValue = "fake", matchIfMissing = true)
+@Slf4j
+public class FakePushTransport implements PushTransport {
+
+    private static final String INVALID_TOKEN_PREFIX = "invalid-";
+
+    private final int maxBatchSize;
+    private final long latencyMillis;
+    private final double transientFailureRate;
+    private final double invalidTokenRate;
+    private final double batchFailureRate;
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+
+    public FakePushTransport(
+            @Value("${app.push.fake.max-batch-size:500}") int maxBatchSize,
+            @Value("${app.push.fake.latency-ms:50}") long latencyMillis,
+            @Value("${app.push.fake.transient-failure-rate:0.0}") double transientFailureRate,
+            @Value("${app.push.fake.invalid-token-rate:0.0}") double invalidTokenRate,
+            @Value("${app.push.fake.batch-failure-rate:0.0}") double batchFailureRate) {
+        this.maxBatchSize = maxBatchSize;
+        this.latencyMillis = latencyMillis;
+        this.transientFailureRate = transientFailureRate;
+        this.invalidTokenRate = invalidTokenRate;
+        this.batchFailureRate = batchFailureRate;
+        log.info("가짜 푸시 전송 사용: batch={}, latency={}ms", maxBatchSize, latencyMillis);
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    @Override
+    public List<PushResult> sendBatch(List<PushMessage> messages) throws Exception {
+        if (latencyMillis > 0) {
+            Thread.sleep(latencyMillis);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < batchFailureRate) {
+            throw new IllegalStateException("가짜 푸시 제공자 일시 장애");
+        }
+
+        List<PushResult> results = new ArrayList<>(messages.size());
+        for (PushMessage message : messages) {
+            if (message.getToken().startsWith(INVALID_TOKEN_PREFIX) || random.nextDouble() < invalidTokenRate) {
+                results.add(PushResult.INVALID_TOKEN);
+            } else if (random.nextDouble() < transientFailureRate) {
+                results.add(PushResult.RETRYABLE);
+            } else {
+                results.add(PushResult.SUCCESS);
+                delivered.incrementAndGet();
+            }
+        }
+        batches.incrementAndGet();
+        return results;
+    }
+
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+}
@@ -0,0 +1,24 @@
+package com.travelmate.service.push;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 단일 기기로 보낼 푸시 메시지
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PushMessage {
+
+    private Long userId;
+    private String token;
+    private String title;
+    private String body;
+    private Map<String, String> data;
+}
@@ -0,0 +1,16 @@
+package com.travelmate.service.push;
+
+/**
+ * 메시지별 전송 결과
+ *
+ * - SUCCESS: 전송 완료
+ * - INVALID_TOKEN: 등록 해제되었거나 잘못된 토큰 (재시도하지 않고 토큰 삭제)
+ * - RETRYABLE: 일시적 실패 (제공자 과부하, 할당량 초과, 네트워크 오류)
+ * - FAILED: 메시지 자체 문제로 재시도해도 실패
+ */
+public enum PushResult {
+    SUCCESS,
+    INVALID_TOKEN,
+    RETRYABLE,
+    FAILED
+}
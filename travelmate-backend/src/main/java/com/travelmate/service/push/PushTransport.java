@@ -0,0 +1,23 @@
+package com.travelmate.service.push;
+
+import java.util.List;
+
+/**
+ * 푸시 제공자 전송 계층
+ *
+ * 구현체는 app.push.transport 값으로 선택한다. (fake: 프로세스 내 가짜 전송)
+ * FCM 구현은 firebase-admin SDK 추가 후 sendEach 기반으로 작성한다.
+ */
+public interface PushTransport {
+
+    /**
+     * 한 번의 요청으로 보낼 수 있는 최대 메시지 수 (FCM: 500)
+     */
+    int maxBatchSize();
+
+    /**
+     * 메시지 묶음 전송. 결과는 입력과 같은 순서로 반환한다.
+     * 요청 전체가 실패한 경우(연결 실패 등)에는 예외를 던지며 묶음 전체를 재시도한다.
+     */
+    List<PushResult> sendBatch(List<PushMessage> messages) throws Exception;
+}
@@ -0,0 +1,99 @@
+package com.travelmate.service.search;
+
+import com.travelmate.entity.GroupMember;
+import com.travelmate.entity.TravelGroup;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 여행 그룹 / 그룹 멤버 변경 감지 (JPA 엔티티 리스너)
+ *
+ * 변경된 그룹 ID를 같은 트랜잭션 안에서 search_index_outbox에 기록한다.
+ * 커밋된 변경만 색인되고, 롤백되면 기록도 함께 사라진다.
+ * 한 트랜잭션에서 같은 그룹이 여러 번 바뀌어도 한 행만 기록한다.
+ * 기록과 함께 그룹의 index_version을 올린다. 그룹 행 잠금으로 같은 그룹을 바꾸는 트랜잭션이 직렬화되므로
+ * 버전은 커밋 순서대로 증가하고, 색인 워커는 그룹과 함께 읽은 버전을 ES external 버전으로 쓴다.
+ * JPQL 벌크 UPDATE/DELETE는 리스너를 거치지 않으므로 호출하는 쪽에서 enqueue를 직접 호출해야 한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GroupIndexChangeListener {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO search_index_outbox (group_id, status, attempts, next_attempt_at, created_at) " +
+            "VALUES (?, 'PENDING', 0, ?, ?)";
+
+    private static final String BUMP_VERSION_SQL =
+            "UPDATE travel_groups SET index_version = index_version + 1 WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        Long groupId = groupIdOf(entity);
+        if (groupId != null) {
+            enqueue(groupId);
+        }
+    }
+
+    /**
+     * 그룹 재색인 요청 기록 (호출자 트랜잭션에 참여)
+     */
+    public void enqueue(Long groupId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Set<Long> recorded = recordedInTransaction();
+            if (!recorded.add(groupId)) {
+                return;
+            }
+        }
+        // 삭제된 그룹은 갱신할 행이 없음 (삭제 문서는 색인 워커가 최대 버전으로 기록)
+        jdbcTemplate.update(BUMP_VERSION_SQL, groupId);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(INSERT_SQL, groupId, now, now);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Long> recordedInTransaction() {
+        Set<Long> recorded = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (recorded == null) {
+            recorded = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, recorded);
+            TransactionSynchronizationManager.registerSynchronization(new UnbindOnCompletion(this));
+        }
+        return recorded;
+    }
+
+    private static Long groupIdOf(Object entity) {
+        if (entity instanceof TravelGroup group) {
+            return group.getId();
+        }
+        if (entity instanceof GroupMember member && member.getTravelGroup() != null) {
+            // 멤버 수/상태 변경도 그룹 문서(currentMembers)에 반영
+            return member.getTravelGroup().getId();
+        }
+        return null;
+    }
+
+    private record UnbindOnCompletion(Object key) implements TransactionSynchronization {
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(key);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.travelmate.service.search;
+
+import com.travelmate.document.TravelGroupDocument;
+
+import java.util.Collection;
+
+/**
+ * 색인 워커가 DB에서 읽은 그룹 변경 묶음 (자동완성 등 보조 색인이 같은 변경 흐름을 구독)
+ *
+ * 같은 변경이 재시도로 여러 번 전달될 수 있으므로 구독자는 멱등하게 처리해야 한다.
+ *
+ * @param upserts    현재 상태로 다시 색인할 문서
+ * @param deletedIds DB에서 삭제된 그룹 ID
+ */
+public record GroupIndexEvent(Collection<TravelGroupDocument> upserts, Collection<Long> deletedIds) {
+}
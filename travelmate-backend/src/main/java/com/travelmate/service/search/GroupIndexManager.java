@@ -0,0 +1,164 @@
+package com.travelmate.service.search;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+import com.travelmate.document.TravelGroupDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 여행 그룹 인덱스와 alias 관리
+ *
+ * 검색/색인은 항상 alias(travel_groups)를 통해 접근하고, 실제 인덱스는 travel_groups_yyyyMMddHHmmss처럼
+ * 버전이 붙은 이름으로 만든다. 재색인 중에는 새 인덱스도 쓰기 대상에 포함해서
+ * 재색인이 읽고 지나간 그룹의 변경이 새 인덱스에서 빠지지 않게 한다.
+ *
+ * 재색인은 한 노드에서만 돌지만 색인 워커는 모든 노드에서 돌기 때문에, 채우는 중인 인덱스는
+ * JVM이 아니라 ES의 보조 alias(travel_groups_building)로 알리고 색인 요청마다 확인한다.
+ */
+@Component
+@Slf4j
+public class GroupIndexManager {
+
+    private static final DateTimeFormatter VERSION_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final String alias;
+    private final String replicas;
+
+    // 재색인으로 채우는 중인 인덱스를 가리키는 쓰기 전용 alias
+    private final String buildAlias;
+
+    private volatile boolean aliasReady;
+
+    public GroupIndexManager(
+            ElasticsearchClient elasticsearchClient,
+            ElasticsearchOperations elasticsearchOperations,
+            @Value("${app.search.index.replicas:1}") int replicas) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.alias = elasticsearchOperations.getIndexCoordinatesFor(TravelGroupDocument.class).getIndexName();
+        this.buildAlias = alias + "_building";
+        this.replicas = String.valueOf(replicas);
+    }
+
+    public String alias() {
+        return alias;
+    }
+
+    /**
+     * 색인 요청을 보낼 대상 목록 (alias + 재색인 중이면 보조 alias)
+     *
+     * 다른 노드가 시작/종료한 재색인도 바로 반영되도록 캐시하지 않는다.
+     */
+    public List<String> writeTargets() throws IOException {
+        ensureAlias();
+        return buildAliasExists() ? List.of(alias, buildAlias) : List.of(alias);
+    }
+
+    /**
+     * alias가 없으면 빈 버전 인덱스를 만들고 연결 (최초 1회)
+     */
+    public synchronized void ensureAlias() throws IOException {
+        if (aliasReady) {
+            return;
+        }
+        if (!elasticsearchClient.indices().exists(e -> e.index(alias)).value()) {
+            String index = createIndex(false);
+            elasticsearchClient.indices().updateAliases(u -> u.actions(Action.of(a -> a.add(add -> add
+                    .index(index).alias(alias)))));
+            log.info("검색 인덱스 생성: {} -> {}", alias, index);
+        }
+        aliasReady = true;
+    }
+
+    /**
+     * 설정/매핑을 적용한 새 버전 인덱스 생성
+     *
+     * @param bulkLoad true면 대량 적재용으로 refresh와 replica를 끈다 (finishBulkLoad로 복원)
+     */
+    public String createIndex(boolean bulkLoad) throws IOException {
+        String index = alias + "_" + LocalDateTime.now().format(VERSION_FORMAT);
+        IndexOperations template = elasticsearchOperations.indexOps(TravelGroupDocument.class);
+        elasticsearchOperations.indexOps(IndexCoordinates.of(index))
+                .create(template.createSettings(), template.createMapping());
+
+        if (bulkLoad) {
+            elasticsearchClient.indices().putSettings(p -> p.index(index).settings(s -> s
+                    .refreshInterval(t -> t.time("-1"))
+                    .numberOfReplicas("0")));
+        }
+        return index;
+    }
+
+    public void finishBulkLoad(String index) throws IOException {
+        elasticsearchClient.indices().putSettings(p -> p.index(index).settings(s -> s
+                .refreshInterval(t -> t.time("1s"))
+                .numberOfReplicas(replicas)));
+        elasticsearchClient.indices().refresh(r -> r.index(index));
+    }
+
+    /**
+     * 보조 alias를 새 인덱스에 연결 (중단된 이전 재색인이 남긴 연결은 같은 요청에서 해제)
+     */
+    public void beginBuild(String index) throws IOException {
+        List<Action> actions = new ArrayList<>();
+        if (buildAliasExists()) {
+            for (String stale : elasticsearchClient.indices().getAlias(g -> g.name(buildAlias)).result().keySet()) {
+                actions.add(Action.of(a -> a.remove(r -> r.index(stale).alias(buildAlias))));
+            }
+        }
+        actions.add(Action.of(a -> a.add(add -> add.index(index).alias(buildAlias))));
+        elasticsearchClient.indices().updateAliases(u -> u.actions(actions));
+    }
+
+    public void endBuild() throws IOException {
+        if (buildAliasExists()) {
+            elasticsearchClient.indices().deleteAlias(d -> d.index("*").name(buildAlias));
+        }
+    }
+
+    private boolean buildAliasExists() throws IOException {
+        return elasticsearchClient.indices().existsAlias(e -> e.name(buildAlias)).value();
+    }
+
+    /**
+     * alias를 새 인덱스로 원자적으로 전환하고 이전 인덱스 이름 목록 반환
+     *
+     * alias 이름과 같은 실제 인덱스가 있으면 (alias 도입 전 인덱스) 같은 요청에서 삭제한다.
+     */
+    public List<String> swapAlias(String newIndex) throws IOException {
+        List<String> previous = new ArrayList<>();
+        List<Action> actions = new ArrayList<>();
+
+        if (elasticsearchClient.indices().existsAlias(e -> e.name(alias)).value()) {
+            previous.addAll(elasticsearchClient.indices().getAlias(g -> g.name(alias)).result().keySet());
+            for (String index : previous) {
+                actions.add(Action.of(a -> a.remove(r -> r.index(index).alias(alias))));
+            }
+        } else if (elasticsearchClient.indices().exists(e -> e.index(alias)).value()) {
+            actions.add(Action.of(a -> a.removeIndex(r -> r.index(alias))));
+        }
+        actions.add(Action.of(a -> a.add(add -> add.index(newIndex).alias(alias))));
+
+        elasticsearchClient.indices().updateAliases(u -> u.actions(actions));
+        aliasReady = true;
+        log.info("검색 alias 전환: {} -> {} (이전: {})", alias, newIndex, previous);
+        return previous;
+    }
+
+    public void deleteIndex(String index) throws IOException {
+        elasticsearchClient.indices().delete(d -> d.index(index));
+    }
+}
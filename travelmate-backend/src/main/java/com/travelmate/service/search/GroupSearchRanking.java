@@ -0,0 +1,96 @@
+package com.travelmate.service.search;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.FieldValueFactorModifier;
+import co.elastic.clients.elasticsearch._types.query_dsl.FunctionBoostMode;
+import co.elastic.clients.elasticsearch._types.query_dsl.FunctionScore;
+import co.elastic.clients.elasticsearch._types.query_dsl.FunctionScoreMode;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.json.JsonData;
+import com.travelmate.dto.SearchRequestDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 추천 순위용 function_score (ES 안에서 계산)
+ *
+ * 점수 = 텍스트 관련도 x 거리 감쇠 x 출발일 감쇠 x ln(2 + w x 모집률)
+ * - 거리: 요청 위치가 있을 때만, offset 안은 감쇠 없음, offset + scale 거리에서 decay배
+ * - 출발일: 현재 시각(시간 단위로 내림) 기준. 같은 시간대의 커서 페이지끼리 점수가 바뀌지 않게 함
+ *   gauss는 양쪽으로 대칭이라 이미 출발한 그룹도 점수를 받으므로, 오늘 이전에 출발한 그룹은 결과에서 제외해
+ *   다가오는 출발일에만 감쇠가 적용되게 한다. (출발일이 없는 그룹은 남김)
+ * - 모집률: 색인 시 계산한 fillRate (마감된 그룹은 0)
+ * 검색어가 없으면 관련도 대신 함수 점수만 사용한다. (필터만 있는 bool 질의의 점수는 0)
+ */
+@Component
+public class GroupSearchRanking {
+
+    // LocalGroupSearchService도 같은 기준(UTC 오늘 0시)으로 제외함
+    private static final String DEPARTED_BEFORE = "now/d";
+
+    private final String distanceScale;
+    private final String distanceOffset;
+    private final String startDateScale;
+    private final String startDateOffset;
+    private final double fillRateWeight;
+    private final double decay;
+
+    public GroupSearchRanking(
+            @Value("${app.search.ranking.distance-scale-km:25}") double distanceScaleKm,
+            @Value("${app.search.ranking.distance-offset-km:2}") double distanceOffsetKm,
+            @Value("${app.search.ranking.start-date-scale-days:14}") int startDateScaleDays,
+            @Value("${app.search.ranking.start-date-offset-days:3}") int startDateOffsetDays,
+            @Value("${app.search.ranking.fill-rate-weight:1.0}") double fillRateWeight,
+            @Value("${app.search.ranking.decay:0.5}") double decay) {
+        this.distanceScale = distanceScaleKm + "km";
+        this.distanceOffset = distanceOffsetKm + "km";
+        this.startDateScale = startDateScaleDays + "d";
+        this.startDateOffset = startDateOffsetDays + "d";
+        this.fillRateWeight = fillRateWeight;
+        this.decay = decay;
+    }
+
+    public Query apply(Query query, SearchRequestDto request) {
+        List<FunctionScore> functions = new ArrayList<>(3);
+
+        if (request.getLatitude() != null && request.getLongitude() != null) {
+            String origin = request.getLatitude() + "," + request.getLongitude();
+            functions.add(FunctionScore.of(f -> f.gauss(g -> g
+                .field("location")
+                .placement(p -> p
+                    .origin(JsonData.of(origin))
+                    .scale(JsonData.of(distanceScale))
+                    .offset(JsonData.of(distanceOffset))
+                    .decay(decay)))));
+        }
+
+        functions.add(FunctionScore.of(f -> f.gauss(g -> g
+            .field("startDate")
+            .placement(p -> p
+                .origin(JsonData.of("now/h"))
+                .scale(JsonData.of(startDateScale))
+                .offset(JsonData.of(startDateOffset))
+                .decay(decay)))));
+
+        functions.add(FunctionScore.of(f -> f.fieldValueFactor(v -> v
+            .field("fillRate")
+            .factor(fillRateWeight)
+            .modifier(FieldValueFactorModifier.Ln2p)
+            .missing(0.0))));
+
+        FunctionBoostMode boostMode = request.getKeyword() != null ? FunctionBoostMode.Multiply : FunctionBoostMode.Replace;
+        return Query.of(q -> q.functionScore(fs -> fs
+            .query(excludeDeparted(query))
+            .functions(functions)
+            .scoreMode(FunctionScoreMode.Multiply)
+            .boostMode(boostMode)));
+    }
+
+    private static Query excludeDeparted(Query query) {
+        return Query.of(q -> q.bool(b -> b
+            .must(query)
+            .mustNot(n -> n.range(r -> r.field("startDate").lt(JsonData.of(DEPARTED_BEFORE))))));
+    }
+}
@@ -0,0 +1,40 @@
+package com.travelmate.service.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 다음 페이지 커서 (point-in-time ID + 마지막 결과의 정렬 값)
+ *
+ * 클라이언트에는 불투명한 Base64 문자열로 전달한다.
+ */
+public record SearchCursor(String pitId, List<Object> searchAfter) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (Exception e) {
+            throw new IllegalStateException("검색 커서를 만들 수 없습니다.", e);
+        }
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor.getBytes(StandardCharsets.US_ASCII));
+            SearchCursor decoded = MAPPER.readValue(json, SearchCursor.class);
+            if (decoded.searchAfter() == null || decoded.searchAfter().isEmpty()) {
+                throw new IllegalArgumentException("잘못된 검색 커서입니다.");
+            }
+            return decoded;
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("잘못된 검색 커서입니다.", e);
+        }
+    }
+}
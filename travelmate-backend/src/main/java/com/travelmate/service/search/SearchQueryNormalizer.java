@@ -0,0 +1,124 @@
+package com.travelmate.service.search;
+
+import com.travelmate.dto.SearchRequestDto;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * 검색 요청 정규화와 캐시 키 생성
+ *
+ * 의미가 같은 요청이 같은 키가 되도록 키워드 공백/대소문자, 태그 순서/중복을 정리하고
+ * 위치는 소수점 둘째 자리(약 1km), 반경은 1km 단위로 올림한다.
+ * 정규화된 요청으로 실제 검색을 수행하므로 캐시된 결과는 항상 그 키의 검색 결과와 같다.
+ * 태그는 입력한 대소문자 그대로 검색하고(대소문자 무시 일치) 캐시 키에서만 소문자로 접는다.
+ * 정렬 필드는 허용 목록으로 제한한다. (text 필드 정렬 등 비싼/실패하는 정렬 방지)
+ */
+public final class SearchQueryNormalizer {
+
+    /**
+     * 추천 순위 (텍스트 관련도 x 거리/출발일 감쇠 x 모집률 가산, GroupSearchRanking 참고)
+     */
+    public static final String RECOMMENDED_SORT = "_recommended";
+
+    private static final double GEO_PRECISION = 100.0;
+
+    // 요청 값 -> 색인 필드
+    private static final Map<String, String> SORT_FIELDS = Map.of(
+            "createdat", "createdAt",
+            "startdate", "startDate",
+            "enddate", "endDate",
+            "currentmembers", "currentMembers",
+            "maxmembers", "maxMembers",
+            "score", "_score",
+            "relevance", "_score",
+            "recommended", RECOMMENDED_SORT);
+
+    private static final String DEFAULT_SORT = "createdAt";
+
+    private SearchQueryNormalizer() {
+    }
+
+    public static NormalizedSearch normalize(SearchRequestDto request, int defaultSize, int maxSize) {
+        String keyword = request.getKeyword() != null
+                ? request.getKeyword().trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT)
+                : null;
+        // 소문자로 접은 태그 -> 처음 입력된 태그
+        TreeMap<String, String> tagsByKey = new TreeMap<>();
+        if (request.getTags() != null) {
+            for (String tag : request.getTags()) {
+                if (tag != null && !tag.isBlank()) {
+                    tagsByKey.putIfAbsent(tag.trim().toLowerCase(Locale.ROOT), tag.trim());
+                }
+            }
+        }
+        List<String> tags = tagsByKey.isEmpty() ? null : List.copyOf(tagsByKey.values());
+
+        Double latitude = null;
+        Double longitude = null;
+        Double radius = null;
+        if (request.getLatitude() != null && request.getLongitude() != null) {
+            // 반경 없이 위치만 주면 필터 없이 추천 순위의 거리 감쇠에만 사용
+            latitude = Math.round(request.getLatitude() * GEO_PRECISION) / GEO_PRECISION;
+            longitude = Math.round(request.getLongitude() * GEO_PRECISION) / GEO_PRECISION;
+            if (request.getRadius() != null) {
+                radius = Math.max(1.0, Math.ceil(request.getRadius()));
+            }
+        }
+
+        String sortBy = request.getSortBy() != null
+                ? SORT_FIELDS.getOrDefault(request.getSortBy().toLowerCase(Locale.ROOT), DEFAULT_SORT)
+                : DEFAULT_SORT;
+        String sortOrder = "asc".equalsIgnoreCase(request.getSortOrder()) ? "asc" : "desc";
+        int size = request.getSize() != null ? Math.min(Math.max(request.getSize(), 1), maxSize) : defaultSize;
+        int page = request.getPage() != null ? Math.max(request.getPage(), 0) : 0;
+
+        SearchRequestDto normalized = SearchRequestDto.builder()
+                .keyword(keyword == null || keyword.isEmpty() ? null : keyword)
+                .travelStyle(request.getTravelStyle() != null ? request.getTravelStyle().trim().toUpperCase(Locale.ROOT) : null)
+                .tags(tags)
+                .destination(request.getDestination() != null ? request.getDestination().trim() : null)
+                .minMembers(request.getMinMembers())
+                .maxMembers(request.getMaxMembers())
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .latitude(latitude)
+                .longitude(longitude)
+                .radius(radius)
+                .sortBy(sortBy)
+                .sortOrder(sortOrder)
+                .page(page)
+                .size(size)
+                .cursor(request.getCursor())
+                .build();
+
+        return new NormalizedSearch(normalized, cacheKey(normalized, tagsByKey.keySet()));
+    }
+
+    private static String cacheKey(SearchRequestDto r, Iterable<String> tagKeys) {
+        return String.join("|",
+                Objects.toString(r.getKeyword(), ""),
+                Objects.toString(r.getTravelStyle(), ""),
+                String.join(",", tagKeys),
+                Objects.toString(r.getDestination(), ""),
+                Objects.toString(r.getMinMembers(), ""),
+                Objects.toString(r.getMaxMembers(), ""),
+                Objects.toString(r.getStartDate(), ""),
+                Objects.toString(r.getEndDate(), ""),
+                Objects.toString(r.getLatitude(), ""),
+                Objects.toString(r.getLongitude(), ""),
+                Objects.toString(r.getRadius(), ""),
+                r.getSortBy() + ":" + r.getSortOrder(),
+                r.getPage() + "x" + r.getSize());
+    }
+
+    /**
+     * @param request  정규화된 요청 (이 값으로 검색)
+     * @param cacheKey 결과 캐시 키 (cursor 제외)
+     */
+    public record NormalizedSearch(SearchRequestDto request, String cacheKey) {
+    }
+}
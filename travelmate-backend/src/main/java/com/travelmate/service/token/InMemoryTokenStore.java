@@ -0,0 +1,149 @@
+package com.travelmate.service.token;
+
+import com.travelmate.util.HashedTimerWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 노드 로컬 토큰 저장소
+ *
+ * 만료 시각은 HashedTimerWheel에 등록해 두고 주기적으로 지난 tick만 처리하므로
+ * 전체 토큰을 스캔하지 않는다. 조회 시에도 만료 시각을 확인하므로 정리 주기와 무관하게 만료된 토큰은 보이지 않는다.
+ * max-entries를 넘으면 임의의 토큰을 하나 밀어내서 메모리 사용량을 제한한다.
+ * 사용/밀어내기/덮어쓰기로 빠진 토큰은 휠 엔트리도 취소하므로 휠 크기도 max-entries를 넘지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "app.token-store.type", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryTokenStore implements TokenStore {
+
+    private final Map<String, TokenEntry> tokens = new ConcurrentHashMap<>();
+    private final HashedTimerWheel<String> expiryWheel;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter expiredCounter;
+    private final Counter evictedCounter;
+
+    @Autowired
+    public InMemoryTokenStore(
+            MeterRegistry meterRegistry,
+            @Value("${app.token-store.max-entries:1000000}") int maxEntries,
+            @Value("${app.token-store.tick-ms:1000}") long tickMillis) {
+        this(meterRegistry, maxEntries, tickMillis, System::currentTimeMillis);
+    }
+
+    InMemoryTokenStore(MeterRegistry meterRegistry, int maxEntries, long tickMillis, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        // 1초 tick 기준 약 68분에 한 바퀴 (24시간 토큰은 round 수로 처리)
+        this.expiryWheel = new HashedTimerWheel<>(tickMillis, 4096, clock.getAsLong());
+
+        this.hitCounter = Counter.builder("token.store.lookup")
+                .tag("result", "hit").description("토큰 조회").register(meterRegistry);
+        this.missCounter = Counter.builder("token.store.lookup")
+                .tag("result", "miss").description("토큰 조회").register(meterRegistry);
+        this.expiredCounter = Counter.builder("token.store.expired")
+                .description("만료되어 제거된 토큰 수").register(meterRegistry);
+        this.evictedCounter = Counter.builder("token.store.evicted")
+                .description("최대 개수 초과로 밀려난 토큰 수").register(meterRegistry);
+        Gauge.builder("token.store.size", tokens, Map::size)
+                .description("저장된 토큰 수").register(meterRegistry);
+    }
+
+    @Override
+    public void put(String token, String value, Duration ttl) {
+        long expiresAt = clock.getAsLong() + ttl.toMillis();
+        while (tokens.size() >= maxEntries) {
+            evictOne();
+        }
+        TokenEntry previous = tokens.put(token, new TokenEntry(value, expiresAt, expiryWheel.schedule(token, expiresAt)));
+        if (previous != null) {
+            previous.timeout().cancel();
+        }
+    }
+
+    @Override
+    public Optional<String> get(String token) {
+        TokenEntry entry = tokens.get(token);
+        if (entry == null || entry.expiresAt() <= clock.getAsLong()) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        return Optional.of(entry.value());
+    }
+
+    @Override
+    public Optional<String> consume(String token) {
+        TokenEntry entry = tokens.remove(token);
+        if (entry != null) {
+            entry.timeout().cancel();
+        }
+        if (entry == null || entry.expiresAt() <= clock.getAsLong()) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        return Optional.of(entry.value());
+    }
+
+    /**
+     * 만료 시각이 지난 토큰 제거 (타이머 휠에서 지나간 tick만 처리)
+     */
+    @Scheduled(fixedDelayString = "${app.token-store.tick-ms:1000}")
+    public int expireTokens() {
+        long now = clock.getAsLong();
+        int expired = 0;
+        for (String token : expiryWheel.advance(now)) {
+            // 다시 등록된 토큰이면 새 만료 시각이 아직 지나지 않았으므로 건너뜀
+            TokenEntry entry = tokens.get(token);
+            if (entry != null && entry.expiresAt() <= now && tokens.remove(token, entry)) {
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            expiredCounter.increment(expired);
+            log.debug("만료 토큰 제거: {}건", expired);
+        }
+        return expired;
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    public int scheduledExpiries() {
+        return expiryWheel.size();
+    }
+
+    private void evictOne() {
+        Iterator<Map.Entry<String, TokenEntry>> iterator = tokens.entrySet().iterator();
+        if (iterator.hasNext()) {
+            Map.Entry<String, TokenEntry> victim = iterator.next();
+            if (tokens.remove(victim.getKey(), victim.getValue())) {
+                victim.getValue().timeout().cancel();
+                evictedCounter.increment();
+            }
+        }
+    }
+
+    private record TokenEntry(String value, long expiresAt, HashedTimerWheel.Timeout<String> timeout) {
+    }
+}
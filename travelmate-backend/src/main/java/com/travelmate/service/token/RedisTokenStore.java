@@ -0,0 +1,57 @@
+package com.travelmate.service.token;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Redis 토큰 저장소 (만료는 Redis 키 TTL에 맡김)
+ */
+@Component
+@ConditionalOnProperty(name = "app.token-store.type", havingValue = "redis")
+public class RedisTokenStore implements TokenStore {
+
+    private static final String KEY_PREFIX = "token:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public RedisTokenStore(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.hitCounter = Counter.builder("token.store.lookup")
+                .tag("result", "hit").description("토큰 조회").register(meterRegistry);
+        this.missCounter = Counter.builder("token.store.lookup")
+                .tag("result", "miss").description("토큰 조회").register(meterRegistry);
+    }
+
+    @Override
+    public void put(String token, String value, Duration ttl) {
+        redisTemplate.opsForValue().set(KEY_PREFIX + token, value, ttl);
+    }
+
+    @Override
+    public Optional<String> get(String token) {
+        return record(redisTemplate.opsForValue().get(KEY_PREFIX + token));
+    }
+
+    @Override
+    public Optional<String> consume(String token) {
+        // GETDEL (Redis 6.2 이상)
+        return record(redisTemplate.opsForValue().getAndDelete(KEY_PREFIX + token));
+    }
+
+    private Optional<String> record(String value) {
+        if (value == null) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        return Optional.of(value);
+    }
+}
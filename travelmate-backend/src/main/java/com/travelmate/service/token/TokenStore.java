@@ -0,0 +1,29 @@
+package com.travelmate.service.token;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 만료 시간이 있는 일회용 토큰 저장소 (이메일 인증, 비밀번호 재설정)
+ *
+ * 구현체는 app.token-store.type 값으로 선택한다.
+ * - memory: 노드 로컬, 최대 개수 제한 (단일 인스턴스용)
+ * - redis: 인스턴스 간 공유 (다른 노드에서 발급한 링크도 검증 가능)
+ */
+public interface TokenStore {
+
+    /**
+     * 토큰 저장 (ttl 후 만료)
+     */
+    void put(String token, String value, Duration ttl);
+
+    /**
+     * 만료되지 않은 토큰의 값 조회
+     */
+    Optional<String> get(String token);
+
+    /**
+     * 토큰 값을 조회하면서 삭제 (같은 토큰은 한 번만 사용 가능)
+     */
+    Optional<String> consume(String token);
+}
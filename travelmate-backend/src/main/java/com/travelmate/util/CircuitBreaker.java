@@ -0,0 +1,87 @@
+package com.travelmate.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 연속 실패 횟수 기반 서킷 브레이커
+ *
+ * CLOSED에서 failureThreshold번 연속 실패하면 OPEN이 되어 openMillis 동안 호출을 막는다.
+ * 그 후 첫 호출 하나만 시험 삼아 통과시키고(HALF_OPEN), 성공하면 CLOSED, 실패하면 다시 OPEN이 된다.
+ * 통과시킨 호출은 반드시 onSuccess/onFailure/release 중 하나로 결과를 알려야 한다.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openUntil;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this(failureThreshold, openMillis, System::currentTimeMillis);
+    }
+
+    public CircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock) {
+        if (failureThreshold <= 0 || openMillis <= 0) {
+            throw new IllegalArgumentException(
+                    "failureThreshold/openMillis must be positive: " + failureThreshold + "/" + openMillis);
+        }
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * 호출 가능 여부 (OPEN 시간이 지났으면 시험 호출 하나를 허용)
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (clock.getAsLong() < openUntil) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                return true;
+            default:
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openUntil = clock.getAsLong() + openMillis;
+        }
+    }
+
+    /**
+     * 대상 상태와 무관한 이유(잘못된 요청 등)로 끝난 호출 (상태는 그대로 두고 시험 호출 자리만 반납)
+     */
+    public synchronized void release() {
+        trialInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
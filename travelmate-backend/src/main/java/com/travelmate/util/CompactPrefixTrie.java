@@ -0,0 +1,256 @@
+package com.travelmate.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * 읽기 전용 압축 접두어 트라이 (radix tree)
+ *
+ * 한 자식뿐인 경로는 하나의 간선으로 합치고, 모든 노드는 int 배열에 평탄화해서 저장한다.
+ * 각 노드마다 하위 키 중 가중치 상위 k개 항목을 미리 계산해 두므로
+ * 조회 비용은 접두어 길이에만 비례한다. (하위 노드를 탐색하지 않음)
+ *
+ * 여러 키가 같은 항목을 가리킬 수 있다. (예: 단어 시작 위치마다 키를 추가) 상위 k개는 항목 단위로 중복 제거한다.
+ * 변경이 필요하면 새로 만들어 교체한다.
+ */
+public final class CompactPrefixTrie {
+
+    private static final int[] NO_ITEMS = new int[0];
+
+    private final String[] keys;
+    private final int topK;
+
+    // 노드 배열 (0번이 루트)
+    private int[] labelKey;
+    private int[] labelStart;
+    private int[] labelEnd;
+    private int[] firstChild;
+    private int[] childCount;
+    private int[] topStart;
+    private int[] topCount;
+    private int nodeCount;
+
+    private int[] topItems;
+    private int topSize;
+
+    private CompactPrefixTrie(String[] keys, int topK) {
+        this.keys = keys;
+        this.topK = topK;
+        int capacity = Math.max(16, keys.length * 2);
+        labelKey = new int[capacity];
+        labelStart = new int[capacity];
+        labelEnd = new int[capacity];
+        firstChild = new int[capacity];
+        childCount = new int[capacity];
+        topStart = new int[capacity];
+        topCount = new int[capacity];
+        topItems = new int[Math.max(16, keys.length * 2)];
+    }
+
+    /**
+     * @param keys    색인 키
+     * @param items   키별 항목 번호 (keys와 같은 길이)
+     * @param weights 항목 번호별 가중치 (클수록 먼저)
+     * @param topK    노드별로 보관할 상위 항목 수
+     */
+    public static CompactPrefixTrie build(String[] keys, int[] items, long[] weights, int topK) {
+        Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> keys[i]));
+
+        String[] sortedKeys = new String[keys.length];
+        int[] sortedItems = new int[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedKeys[i] = keys[order[i]];
+            sortedItems[i] = items[order[i]];
+        }
+
+        CompactPrefixTrie trie = new CompactPrefixTrie(sortedKeys, topK);
+        int root = trie.allocate(1);
+        trie.buildNode(root, 0, sortedKeys.length, 0, sortedItems, weights);
+        return trie;
+    }
+
+    /**
+     * 접두어로 시작하는 키의 상위 항목 번호 (가중치 내림차순)
+     */
+    public int[] topItems(String prefix) {
+        if (nodeCount == 0) {
+            return NO_ITEMS;
+        }
+        int node = 0;
+        int pos = 0;
+        while (pos < prefix.length()) {
+            int child = findChild(node, prefix.charAt(pos));
+            if (child < 0) {
+                return NO_ITEMS;
+            }
+            String key = keys[labelKey[child]];
+            int labelPos = labelStart[child];
+            while (labelPos < labelEnd[child] && pos < prefix.length()) {
+                if (key.charAt(labelPos) != prefix.charAt(pos)) {
+                    return NO_ITEMS;
+                }
+                labelPos++;
+                pos++;
+            }
+            node = child;
+        }
+        return Arrays.copyOfRange(topItems, topStart[node], topStart[node] + topCount[node]);
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * [lo, hi) 범위의 키는 앞 depth 글자가 같다 (정렬되어 있음)
+     */
+    private void buildNode(int node, int lo, int hi, int depth, int[] items, long[] weights) {
+        // 이 노드에서 끝나는 키 (정렬상 가장 앞)
+        int start = lo;
+        while (start < hi && keys[start].length() == depth) {
+            start++;
+        }
+
+        // 다음 글자별로 자식 구간을 나눔
+        int groups = 0;
+        for (int i = start; i < hi; i++) {
+            if (i == start || keys[i].charAt(depth) != keys[i - 1].charAt(depth)) {
+                groups++;
+            }
+        }
+
+        int first = groups > 0 ? allocate(groups) : 0;
+        firstChild[node] = first;
+        childCount[node] = groups;
+
+        int child = first;
+        int groupStart = start;
+        for (int i = start + 1; i <= hi && groupStart < hi; i++) {
+            if (i == hi || keys[i].charAt(depth) != keys[groupStart].charAt(depth)) {
+                // 구간의 공통 접두어 = 첫 키와 마지막 키의 공통 접두어 (정렬되어 있으므로)
+                int end = commonPrefixLength(keys[groupStart], keys[i - 1], depth + 1);
+                labelKey[child] = groupStart;
+                labelStart[child] = depth;
+                labelEnd[child] = end;
+                buildNode(child, groupStart, i, end, items, weights);
+                child++;
+                groupStart = i;
+            }
+        }
+
+        collectTop(node, lo, start, items, weights);
+    }
+
+    /**
+     * 이 노드에서 끝나는 항목과 자식들의 상위 항목을 합쳐 상위 k개 선택
+     */
+    private void collectTop(int node, int endingLo, int endingHi, int[] items, long[] weights) {
+        int candidateCount = endingHi - endingLo;
+        for (int c = 0; c < childCount[node]; c++) {
+            candidateCount += topCount[firstChild[node] + c];
+        }
+        int[] candidates = new int[candidateCount];
+        int n = 0;
+        for (int i = endingLo; i < endingHi; i++) {
+            candidates[n++] = items[i];
+        }
+        for (int c = 0; c < childCount[node]; c++) {
+            int childNode = firstChild[node] + c;
+            System.arraycopy(topItems, topStart[childNode], candidates, n, topCount[childNode]);
+            n += topCount[childNode];
+        }
+
+        int[] selected = new int[Math.min(topK, n)];
+        int selectedCount = 0;
+        // k가 작으므로 선택 정렬로 충분
+        while (selectedCount < selected.length) {
+            int best = -1;
+            for (int i = 0; i < n; i++) {
+                int item = candidates[i];
+                if (item < 0 || contains(selected, selectedCount, item)) {
+                    continue;
+                }
+                if (best < 0 || weights[item] > weights[candidates[best]]
+                        || weights[item] == weights[candidates[best]] && item < candidates[best]) {
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            selected[selectedCount++] = candidates[best];
+            candidates[best] = -1;
+        }
+
+        ensureTopCapacity(selectedCount);
+        topStart[node] = topSize;
+        topCount[node] = selectedCount;
+        System.arraycopy(selected, 0, topItems, topSize, selectedCount);
+        topSize += selectedCount;
+    }
+
+    private int findChild(int node, char c) {
+        int lo = firstChild[node];
+        int hi = lo + childCount[node] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char label = keys[labelKey[mid]].charAt(labelStart[mid]);
+            if (label < c) {
+                lo = mid + 1;
+            } else if (label > c) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private int allocate(int count) {
+        int first = nodeCount;
+        nodeCount += count;
+        if (nodeCount > labelKey.length) {
+            int capacity = Math.max(nodeCount, labelKey.length * 2);
+            labelKey = Arrays.copyOf(labelKey, capacity);
+            labelStart = Arrays.copyOf(labelStart, capacity);
+            labelEnd = Arrays.copyOf(labelEnd, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            childCount = Arrays.copyOf(childCount, capacity);
+            topStart = Arrays.copyOf(topStart, capacity);
+            topCount = Arrays.copyOf(topCount, capacity);
+        }
+        return first;
+    }
+
+    private void ensureTopCapacity(int additional) {
+        if (topSize + additional > topItems.length) {
+            topItems = Arrays.copyOf(topItems, Math.max(topSize + additional, topItems.length * 2));
+        }
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int commonPrefixLength(String a, String b, int from) {
+        int max = Math.min(a.length(), b.length());
+        int i = from;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+}
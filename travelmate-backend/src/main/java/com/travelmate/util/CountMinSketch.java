@@ -0,0 +1,82 @@
+package com.travelmate.util;
+
+/**
+ * Count-Min Sketch (실수 가중치)
+ *
+ * depth x width 고정 크기 배열로 키별 누적 가중치를 근사한다. 추정치는 실제보다 작아지지 않으며
+ * 오차는 전체 가중치 합의 약 e/width 이내다. 키가 아무리 많아도 메모리는 일정하다.
+ * 동기화하지 않으므로 호출자가 잠금을 관리한다.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final double[][] cells;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0) {
+            throw new IllegalArgumentException("depth/width must be positive: " + depth + "x" + width);
+        }
+        this.depth = depth;
+        this.width = width;
+        this.cells = new double[depth][width];
+    }
+
+    /**
+     * 가중치를 더하고 더한 후의 추정치를 반환 (conservative update: 최솟값 행만 올림)
+     */
+    public double add(String key, double weight) {
+        int[] columns = columns(key);
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, cells[row][columns[row]]);
+        }
+        double updated = estimate + weight;
+        for (int row = 0; row < depth; row++) {
+            if (cells[row][columns[row]] < updated) {
+                cells[row][columns[row]] = updated;
+            }
+        }
+        return updated;
+    }
+
+    public double estimate(String key) {
+        int[] columns = columns(key);
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, cells[row][columns[row]]);
+        }
+        return estimate;
+    }
+
+    /**
+     * 모든 칸에 같은 배율을 곱함 (시간 감쇠 기준점 이동용)
+     */
+    public void scale(double factor) {
+        for (double[] row : cells) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] *= factor;
+            }
+        }
+    }
+
+    private int[] columns(String key) {
+        int[] columns = new int[depth];
+        long hash = mix(key.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int row = 0; row < depth; row++) {
+            // 두 해시의 선형 결합으로 행별 해시 생성 (Kirsch-Mitzenmacher)
+            columns[row] = Math.floorMod(h1 + row * h2, width);
+        }
+        return columns;
+    }
+
+    private static long mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        h *= 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 29;
+        return h;
+    }
+}
@@ -0,0 +1,200 @@
+package com.travelmate.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 해시드 타이머 휠
+ *
+ * 만료 시각을 tick 단위 버킷에 배치해 두고 advance() 호출 시 지나간 버킷만 처리한다.
+ * 등록/갱신은 O(1)이며 전체 엔트리를 주기적으로 스캔하지 않는다.
+ *
+ * - schedule()은 여러 스레드에서 호출해도 안전하다 (대기 큐에 적재 후 advance 시점에 버킷으로 이동).
+ * - schedule()이 돌려준 Timeout을 cancel()하면 다음 advance에서 버킷에서 O(1)로 빠진다.
+ *   더 이상 필요 없는 엔트리를 취소하지 않으면 만료 시각까지 메모리에 남는다.
+ * - 같은 키를 다시 등록해도 이전 엔트리는 취소되지 않으므로, 취소하지 않는 호출자는
+ *   만료된 키를 받았을 때 자신의 최신 만료 시각과 비교해야 한다.
+ */
+public class HashedTimerWheel<K> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Bucket<K>[] buckets;
+    private final Queue<Timeout<K>> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout<K>> cancelled = new ConcurrentLinkedQueue<>();
+    private final long startTime;
+    private long currentTick;
+    private int scheduled;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(long tickMillis, int wheelSize, long startTime) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive: " + tickMillis);
+        }
+        int size = normalizeWheelSize(wheelSize);
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.buckets = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new Bucket<>();
+        }
+        this.startTime = startTime;
+        this.currentTick = 0;
+    }
+
+    public HashedTimerWheel(long tickMillis, int wheelSize) {
+        this(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    /**
+     * 키를 지정한 시각(epoch millis)에 만료되도록 등록
+     */
+    public Timeout<K> schedule(K key, long deadlineMillis) {
+        Timeout<K> timeout = new Timeout<>(this, key, deadlineMillis);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * 현재 시각까지 지나간 tick을 처리하고 만료된 키 목록을 반환
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        List<K> expired = new ArrayList<>();
+        long targetTick = (nowMillis - startTime) / tickMillis;
+
+        removeCancelled();
+        while (currentTick <= targetTick) {
+            transferPending();
+
+            Bucket<K> bucket = buckets[(int) (currentTick & mask)];
+            Timeout<K> timeout = bucket.head;
+            while (timeout != null) {
+                Timeout<K> next = timeout.next;
+                if (timeout.cancelled) {
+                    // 이번 advance 중에 취소된 엔트리
+                    bucket.remove(timeout);
+                    scheduled--;
+                } else if (timeout.remainingRounds <= 0) {
+                    bucket.remove(timeout);
+                    scheduled--;
+                    expired.add(timeout.key);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+            currentTick++;
+        }
+
+        return expired;
+    }
+
+    /**
+     * 아직 만료되지 않은 엔트리 수 (대기 큐 포함, 근사치)
+     */
+    public synchronized int size() {
+        return pending.size() + scheduled;
+    }
+
+    private void transferPending() {
+        Timeout<K> timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long deadlineTick = Math.max(0, (timeout.deadline - startTime + tickMillis - 1) / tickMillis);
+            timeout.remainingRounds = Math.max(0, (deadlineTick - currentTick) / buckets.length);
+            long tick = Math.max(deadlineTick, currentTick);
+            buckets[(int) (tick & mask)].add(timeout);
+            scheduled++;
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout<K> timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            // 대기 큐에 있던 엔트리는 버킷에 들어가지 않았으므로 bucket이 null
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+                scheduled--;
+            }
+        }
+    }
+
+    private static int normalizeWheelSize(int wheelSize) {
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("wheelSize must be positive: " + wheelSize);
+        }
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    /**
+     * 등록된 만료 엔트리 (cancel()은 여러 스레드에서 호출해도 안전)
+     */
+    public static final class Timeout<K> {
+        private final HashedTimerWheel<K> wheel;
+        private final K key;
+        private final long deadline;
+        private volatile boolean cancelled;
+
+        // 아래 필드는 advance 스레드에서만 접근
+        private long remainingRounds;
+        private Bucket<K> bucket;
+        private Timeout<K> prev;
+        private Timeout<K> next;
+
+        private Timeout(HashedTimerWheel<K> wheel, K key, long deadline) {
+            this.wheel = wheel;
+            this.key = key;
+            this.deadline = deadline;
+        }
+
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                wheel.cancelled.add(this);
+            }
+        }
+    }
+
+    /**
+     * 엔트리를 직접 연결한 이중 연결 리스트 (취소 시 O(1) 제거)
+     */
+    private static final class Bucket<K> {
+        private Timeout<K> head;
+        private Timeout<K> tail;
+
+        private void add(Timeout<K> timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        private void remove(Timeout<K> timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+    }
+}
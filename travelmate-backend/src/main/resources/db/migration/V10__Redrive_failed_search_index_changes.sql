@@ -0,0 +1,6 @@
+-- V10: ES 장애 동안 시도 횟수를 모두 써서 FAILED로 빠진 색인 변경을 다시 대기열로 돌림
+-- 이후로는 요청 전체 실패가 시도 횟수를 늘리지 않음 (문서 단위 실패만 FAILED가 됨)
+
+UPDATE travelmate.search_index_outbox
+SET status = 'PENDING', attempts = 0, next_attempt_at = CURRENT_TIMESTAMP
+WHERE status = 'FAILED';
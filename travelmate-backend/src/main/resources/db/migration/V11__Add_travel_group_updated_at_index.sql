@@ -0,0 +1,4 @@
+-- V11: 그룹 변경 증분 동기화((updated_at, id) keyset)용 색인
+-- 자동완성 사전과 로컬 대체 검색 색인이 각 노드에서 주기적으로 DB 변경분을 읽음
+
+CREATE INDEX IF NOT EXISTS idx_travel_groups_updated_at ON travelmate.travel_groups(updated_at, id);
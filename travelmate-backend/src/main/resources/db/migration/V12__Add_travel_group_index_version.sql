@@ -0,0 +1,9 @@
+-- V12: 검색 문서 버전 (변경 트랜잭션 안에서 올리는 그룹별 버전, ES external 버전으로 사용)
+-- 아웃박스 행 ID는 삽입 순서라 커밋 순서와 다를 수 있어 늦게 커밋된 변경이 409로 버려졌음
+-- 기존 문서는 아웃박스 행 ID를 버전으로 갖고 있으므로 마지막으로 발급된 ID부터 시작해 다음 변경이 거부되지 않게 함
+
+ALTER TABLE travelmate.travel_groups ADD COLUMN IF NOT EXISTS index_version BIGINT NOT NULL DEFAULT 0;
+
+UPDATE travelmate.travel_groups
+SET index_version = (SELECT last_value FROM travelmate.search_index_outbox_id_seq)
+WHERE index_version < (SELECT last_value FROM travelmate.search_index_outbox_id_seq);
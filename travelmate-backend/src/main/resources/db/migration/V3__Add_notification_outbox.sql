@@ -0,0 +1,19 @@
+-- V3: 알림 아웃박스 (알림 생성 요청을 배치로 처리하기 위한 대기열 테이블)
+
+CREATE TABLE IF NOT EXISTS travelmate.notification_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    title VARCHAR(200) NOT NULL,
+    message VARCHAR(500) NOT NULL,
+    related_id BIGINT,
+    related_type VARCHAR(255),
+    action_url VARCHAR(255),
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_status_next ON travelmate.notification_outbox(status, next_attempt_at, id);
@@ -0,0 +1,15 @@
+-- V4: 이메일 발송 대기열 (가입/비밀번호 재설정 메일을 요청 트랜잭션과 분리해 비동기 발송)
+
+CREATE TABLE IF NOT EXISTS travelmate.email_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(200) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_email_outbox_status_next ON travelmate.email_outbox(status, next_attempt_at, id);
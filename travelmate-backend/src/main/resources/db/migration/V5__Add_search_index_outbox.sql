@@ -0,0 +1,13 @@
+-- V5: 검색 색인 변경 대기열 (travel_groups / group_members 변경을 Elasticsearch에 bulk로 반영)
+
+CREATE TABLE IF NOT EXISTS travelmate.search_index_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    group_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_search_index_outbox_status_next ON travelmate.search_index_outbox(status, next_attempt_at, id);
@@ -0,0 +1,14 @@
+-- V6: 게시글 전문 검색 (제목/본문 LIKE 전체 스캔 대신 GIN 색인)
+-- 색인은 게시글 저장 트랜잭션에서 함께 갱신되므로 별도 색인 작업이 필요 없음
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- PostRepository.SEARCH_VECTOR와 같은 식이어야 검색 시 사용됨
+CREATE INDEX IF NOT EXISTS idx_posts_search_vector ON travelmate.posts USING GIN (
+    (setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+     setweight(to_tsvector('simple', coalesce(content, '')), 'B'))
+);
+
+-- 제목 오타 허용(%) 및 지역명 부분 일치(ILIKE)
+CREATE INDEX IF NOT EXISTS idx_posts_title_trgm ON travelmate.posts USING GIN (title gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_posts_location_name_trgm ON travelmate.posts USING GIN (location_name gin_trgm_ops);
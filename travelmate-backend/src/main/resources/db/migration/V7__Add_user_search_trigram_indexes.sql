@@ -0,0 +1,11 @@
+-- V7: 사용자 검색 (닉네임/이름/소개 LIKE 전체 스캔 대신 trigram GIN 색인)
+-- 검색 대상(활성 + 프로필 공개) 사용자만 담는 부분 색인
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_users_nickname_trgm ON travelmate.users USING GIN (nickname gin_trgm_ops)
+    WHERE is_active = true AND privacy_profile_visible = true;
+CREATE INDEX IF NOT EXISTS idx_users_full_name_trgm ON travelmate.users USING GIN (full_name gin_trgm_ops)
+    WHERE is_active = true AND privacy_profile_visible = true;
+CREATE INDEX IF NOT EXISTS idx_users_bio_trgm ON travelmate.users USING GIN (bio gin_trgm_ops)
+    WHERE is_active = true AND privacy_profile_visible = true;
@@ -0,0 +1,6 @@
+-- V8: 보관 정리(RetentionCleanupService)가 만료 경계를 찾을 때 쓰는 시각 색인
+-- notifications는 (user_id, ...) 복합 색인뿐이라 created_at 단독 조건이 전체 스캔이 됨
+
+CREATE INDEX IF NOT EXISTS idx_notifications_created_at ON travelmate.notifications(created_at);
+CREATE INDEX IF NOT EXISTS idx_login_created_at ON travelmate.login_history(created_at);
+CREATE INDEX IF NOT EXISTS idx_email_expires_at ON travelmate.email_verifications(expires_at);
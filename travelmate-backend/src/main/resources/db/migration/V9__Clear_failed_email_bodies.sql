@@ -0,0 +1,4 @@
+-- V9: 최종 실패한 메일에 남아 있던 본문(유효한 인증/재설정 링크 포함) 삭제
+-- 이후로는 EmailDispatchService가 FAILED로 바꿀 때 본문을 함께 비움
+
+UPDATE travelmate.email_outbox SET body = '' WHERE status = 'FAILED' AND body <> '';
@@ -10,5 +10,8 @@ GRANT ALL PRIVILEGES ON SCHEMA travelmate TO unble;
 -- Set search path to include the new schema
 SET search_path TO travelmate, public;
 
+-- Trigram similarity search (posts/users search: %, <%, similarity, word_similarity)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
 -- Comment on schema
 COMMENT ON SCHEMA travelmate IS 'TravelMate application schema - Travel companion social platform';
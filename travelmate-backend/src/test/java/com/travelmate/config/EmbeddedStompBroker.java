@@ -0,0 +1,52 @@
+package com.travelmate.config;
+
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+/**
+ * 테스트용 내장 STOMP 브로커 (ActiveMQ Artemis)
+ *
+ * 외부 브로커 없이 브로커 릴레이 모드를 검증하기 위해 사용한다.
+ */
+public class EmbeddedStompBroker {
+
+    private final int port;
+    private EmbeddedActiveMQ server;
+
+    public EmbeddedStompBroker() {
+        this.port = findFreePort();
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void start() throws Exception {
+        ConfigurationImpl configuration = new ConfigurationImpl();
+        configuration.setPersistenceEnabled(false);
+        configuration.setSecurityEnabled(false);
+        configuration.setJournalDirectory("target/artemis/journal");
+        configuration.addAcceptorConfiguration("stomp", "tcp://127.0.0.1:" + port + "?protocols=STOMP");
+
+        server = new EmbeddedActiveMQ();
+        server.setConfiguration(configuration);
+        server.start();
+    }
+
+    public void stop() throws Exception {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    private static int findFreePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException("사용 가능한 포트를 찾을 수 없습니다", e);
+        }
+    }
+}
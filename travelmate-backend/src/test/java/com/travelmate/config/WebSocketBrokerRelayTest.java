@@ -0,0 +1,77 @@
+package com.travelmate.config;
+
+import com.travelmate.security.StompAuthChannelInterceptor;
+import com.travelmate.service.JwtService;
+import com.travelmate.service.PresenceService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.user.MultiServerUserRegistry;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 브로커 릴레이 모드 테스트 (내장 Artemis STOMP 브로커 사용)
+ */
+@SpringJUnitWebConfig(classes = {WebSocketConfig.class, StompAuthChannelInterceptor.class, PresenceChannelInterceptor.class})
+class WebSocketBrokerRelayTest {
+
+    private static final EmbeddedStompBroker broker = new EmbeddedStompBroker();
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private PresenceService presenceService;
+
+    @Autowired
+    private Map<String, AbstractBrokerMessageHandler> brokerHandlers;
+
+    @Autowired
+    private SimpUserRegistry userRegistry;
+
+    @DynamicPropertySource
+    static void brokerProperties(DynamicPropertyRegistry registry) throws Exception {
+        broker.start();
+        registry.add("app.websocket.broker.mode", () -> "relay");
+        registry.add("app.websocket.broker.relay-host", () -> "127.0.0.1");
+        registry.add("app.websocket.broker.relay-port", broker::getPort);
+    }
+
+    @AfterAll
+    static void stopBroker() throws Exception {
+        broker.stop();
+    }
+
+    @Test
+    void 브로커_릴레이_연결_테스트() throws Exception {
+        StompBrokerRelayMessageHandler relay = brokerHandlers.values().stream()
+                .filter(StompBrokerRelayMessageHandler.class::isInstance)
+                .map(StompBrokerRelayMessageHandler.class::cast)
+                .findFirst()
+                .orElseThrow();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!relay.isBrokerAvailable() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+
+        assertThat(relay.isBrokerAvailable()).isTrue();
+        assertThat(relay.getRelayPort()).isEqualTo(broker.getPort());
+    }
+
+    @Test
+    void 노드간_사용자_레지스트리_공유_테스트() {
+        // relay 모드에서는 원격 노드의 세션 정보를 병합하는 레지스트리가 사용되어야 한다
+        assertThat(userRegistry).isInstanceOf(MultiServerUserRegistry.class);
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -64,6 +65,21 @@ class NotificationControllerTest {
         verify(notificationService, times(1)).getNotifications(eq(1L), any(Pageable.class));
     }
 
+    @Test
+    @WithMockUser(username = "1")
+    void 알림_스트림_재연결_테스트() throws Exception {
+        // Given
+        when(notificationService.openStream(1L, 42L)).thenReturn(new SseEmitter());
+
+        // When & Then
+        mockMvc.perform(get("/api/notifications/stream")
+                        .header("Last-Event-ID", "42")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(notificationService, times(1)).openStream(1L, 42L);
+    }
+
     @Test
     @WithMockUser(username = "1")
     void 읽지_않은_알림_개수_조회_테스트() throws Exception {
@@ -10,11 +10,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -35,6 +41,9 @@ class UserControllerTest {
     @MockBean
     private com.travelmate.service.JwtService jwtService;
 
+    @MockBean
+    private com.travelmate.service.PresenceService presenceService;
+
     @MockBean
     private com.travelmate.repository.UserRepository userRepository;
 
@@ -130,6 +139,28 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.email").value(userResponse.getEmail()));
     }
 
+    @Test
+    @WithMockUser(username = "1")
+    @DisplayName("사용자 검색 - 성공")
+    void searchUsers_Success() throws Exception {
+        // Given
+        UserDto.SearchResult result = UserDto.SearchResult.builder()
+                .id(2L)
+                .nickname("제주러버")
+                .travelStyle(User.TravelStyle.ADVENTURE)
+                .build();
+        when(userService.searchUsers(eq("제주"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(result), PageRequest.of(0, 20), 1));
+
+        // When & Then
+        mockMvc.perform(get("/users/search").param("keyword", "제주"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(2))
+                .andExpect(jsonPath("$.content[0].nickname").value("제주러버"))
+                .andExpect(jsonPath("$.content[0].email").doesNotExist());
+    }
+
     @Test
     @WithMockUser(username = "1")
     @DisplayName("사용자 프로필 업데이트 - 성공")
@@ -0,0 +1,59 @@
+package com.travelmate.security;
+
+import com.travelmate.service.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JwtAuthenticationFilter 권한 테스트 (토큰의 role 클레임이 ROLE_ 권한으로 들어가는지)
+ */
+class JwtAuthenticationFilterTest {
+
+    private final JwtService jwtService = new JwtService();
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", "test-secret-key-for-jwt-filter-at-least-32-bytes");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void 관리자_토큰은_ROLE_ADMIN_권한을_받는다() throws Exception {
+        Authentication authentication = authenticate(jwtService.generateToken(1L, "admin@travelmate.app", "ADMIN"));
+
+        assertThat(authentication.getName()).isEqualTo("1");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void 일반_사용자_토큰은_관리자_권한이_없다() throws Exception {
+        Authentication authentication = authenticate(jwtService.generateToken(2L, "user@travelmate.app", "USER"));
+
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER");
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/search/reindex");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
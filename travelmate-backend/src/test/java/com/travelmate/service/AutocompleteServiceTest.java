@@ -0,0 +1,88 @@
+package com.travelmate.service;
+
+import com.travelmate.entity.TravelGroup;
+import com.travelmate.repository.TravelGroupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * AutocompleteService DB 동기화 테스트 (색인 워커 이벤트 없이 DB 변경분만으로 사전이 갱신되는지)
+ */
+@ExtendWith(MockitoExtension.class)
+class AutocompleteServiceTest {
+
+    @Mock
+    private TravelGroupRepository travelGroupRepository;
+
+    private AutocompleteService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AutocompleteService(travelGroupRepository, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), 10, 100, 60);
+        when(travelGroupRepository.findPageWithCreatorAfter(anyLong(), any()))
+                .thenReturn(List.of(group(1L, "제주 한달살기")))
+                .thenReturn(List.of());
+        service.loadFromDatabase();
+    }
+
+    @Test
+    void 다른_노드에서_바뀐_그룹을_증분_동기화로_반영한다() {
+        when(travelGroupRepository.findChangedWithCreatorAfter(any(), anyLong(), any()))
+                .thenReturn(List.of(group(2L, "제주 올레길 걷기")));
+
+        service.syncChanges();
+        service.rebuildIfDirty();
+
+        assertThat(service.suggest("제주")).containsExactlyInAnyOrder("제주 한달살기", "제주 올레길 걷기", "제주");
+    }
+
+    @Test
+    void 증분_동기화는_로딩_시작_시각보다_겹침_구간만큼_앞에서_읽는다() {
+        LocalDateTime before = LocalDateTime.now();
+
+        service.syncChanges();
+
+        verify(travelGroupRepository).findChangedWithCreatorAfter(
+                argThat(time -> time.isBefore(before.minusSeconds(59))), eq(0L), any());
+    }
+
+    @Test
+    void DB에서_삭제된_그룹은_정리_주기에_사전에서_빠진다() {
+        when(travelGroupRepository.findExistingIds(any())).thenReturn(List.of());
+
+        service.pruneDeletedGroups();
+        service.rebuildIfDirty();
+
+        assertThat(service.suggest("제주")).isEmpty();
+    }
+
+    private static TravelGroup group(Long id, String title) {
+        TravelGroup group = new TravelGroup();
+        group.setId(id);
+        group.setTitle(title);
+        group.setDestination("제주");
+        group.setIsPublic(true);
+        group.setIsActive(true);
+        group.setCurrentMembers(1);
+        group.setUpdatedAt(LocalDateTime.now());
+        return group;
+    }
+}
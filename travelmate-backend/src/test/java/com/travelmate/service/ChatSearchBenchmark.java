@@ -0,0 +1,138 @@
+package com.travelmate.service;
+
+import com.travelmate.dto.ChatDto;
+import com.travelmate.entity.ChatMessage;
+import com.travelmate.entity.ChatParticipant;
+import com.travelmate.repository.ChatMessageRepository;
+import com.travelmate.repository.ChatParticipantRepository;
+import com.travelmate.service.cluster.LocalClusterEventBus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 메시지 수백만 건 색인에서의 채팅 검색 지연 측정 (목표: p99 50ms 미만)
+ *
+ * 합성 메시지를 DB 따라잡기 경로(catchUp)로 색인한 뒤 채팅방 지정 검색과 참여 중인 전체 채팅방 검색의 지연 분포를 출력한다.
+ * 이름이 *Test가 아니어서 기본 빌드에서는 실행되지 않는다. 수동 실행:
+ * mvn test -Dtest=ChatSearchBenchmark -Dchat.benchmark.size=3000000
+ */
+class ChatSearchBenchmark {
+
+    private static final String[] WORDS = {"제주", "부산", "강릉", "여행", "맛집", "숙소", "일정", "렌터카", "공항", "카페",
+            "바다", "등산", "사진", "예약", "저녁", "내일", "출발", "도착", "같이", "추천"};
+    private static final int ROOMS = 2000;
+    private static final int ROOMS_PER_USER = 30;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void 메시지_검색_지연() throws Exception {
+        int size = Integer.getInteger("chat.benchmark.size", 1_000_000);
+        int iterations = Integer.getInteger("chat.benchmark.iterations", 2000);
+        Long userId = 1L;
+
+        ChatMessageRepository messageRepository = mock(ChatMessageRepository.class);
+        ChatParticipantRepository participantRepository = mock(ChatParticipantRepository.class);
+        LocalDateTime sentAt = LocalDateTime.now().minusDays(1);
+        when(messageRepository.findIndexableMessagesAfter(anyLong(), any())).thenAnswer(invocation -> {
+            long lastId = invocation.getArgument(0);
+            int batchSize = invocation.<Pageable>getArgument(1).getPageSize();
+            Random random = new Random(lastId);
+            List<ChatMessage> batch = new ArrayList<>(batchSize);
+            for (long id = lastId + 1; id <= Math.min(lastId + batchSize, size); id++) {
+                batch.add(ChatSearchServiceTest.message(id, 1 + (id % ROOMS), sentence(random), sentAt));
+            }
+            return batch;
+        });
+        when(messageRepository.findDeletedIdsIn(any())).thenReturn(List.of());
+
+        List<ChatParticipant> participants = new ArrayList<>();
+        for (long roomId = 1; roomId <= ROOMS_PER_USER; roomId++) {
+            participants.add(ChatSearchServiceTest.participant(roomId));
+        }
+        when(participantRepository.findByUserIdAndIsActiveTrue(userId)).thenReturn(participants);
+        when(participantRepository.existsByChatRoomIdAndUserId(anyLong(), any())).thenReturn(true);
+
+        ChatSearchService service = new ChatSearchService(messageRepository, participantRepository,
+                new LocalClusterEventBus(), true, tempDir.toString(), 1000, 256, 10_000, 1000, 100, 0);
+        service.open();
+        try {
+            long start = System.nanoTime();
+            service.catchUp();
+            service.commit();
+            System.out.printf("messages=%,d, 색인 %,d ms%n", size, (System.nanoTime() - start) / 1_000_000);
+
+            Map<String, SearchCall> scenarios = new LinkedHashMap<>();
+            scenarios.put("채팅방 지정, 관련도순", random ->
+                    service.search(userId, keyword(random), 1L + random.nextInt(ROOMS_PER_USER), null, null, 0, 20));
+            scenarios.put("채팅방 지정, 최신순", random ->
+                    service.search(userId, keyword(random), 1L + random.nextInt(ROOMS_PER_USER), null, "recent", 0, 20));
+            scenarios.put("참여 채팅방 전체, 관련도순", random ->
+                    service.search(userId, keyword(random), null, null, null, 0, 20));
+            scenarios.put("참여 채팅방 전체, 2단어", random ->
+                    service.search(userId, keyword(random) + " " + keyword(random), null, null, null, 0, 20));
+
+            System.out.printf("%-22s %8s %8s %8s%n", "scenario", "p50", "p95", "p99");
+            for (Map.Entry<String, SearchCall> scenario : scenarios.entrySet()) {
+                Random random = new Random(7);
+                for (int i = 0; i < iterations / 10; i++) {
+                    scenario.getValue().search(random);
+                }
+
+                long[] latencies = new long[iterations];
+                long hits = 0;
+                for (int i = 0; i < iterations; i++) {
+                    long begin = System.nanoTime();
+                    ChatDto.MessageSearchResponse response = scenario.getValue().search(random);
+                    latencies[i] = System.nanoTime() - begin;
+                    hits += response.getResults().size();
+                }
+                Arrays.sort(latencies);
+                System.out.printf("%-22s %6.1fms %6.1fms %6.1fms%n", scenario.getKey(),
+                        percentile(latencies, 0.50), percentile(latencies, 0.95), percentile(latencies, 0.99));
+                assertThat(hits).isPositive();
+            }
+        } finally {
+            service.close();
+        }
+    }
+
+    private static String sentence(Random random) {
+        StringBuilder sentence = new StringBuilder();
+        int words = 3 + random.nextInt(8);
+        for (int i = 0; i < words; i++) {
+            sentence.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return sentence.toString().trim();
+    }
+
+    private static String keyword(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+
+    @FunctionalInterface
+    private interface SearchCall {
+        ChatDto.MessageSearchResponse search(Random random);
+    }
+}
@@ -0,0 +1,158 @@
+package com.travelmate.service;
+
+import com.travelmate.dto.ChatDto;
+import com.travelmate.entity.ChatMessage;
+import com.travelmate.entity.ChatParticipant;
+import com.travelmate.entity.ChatRoom;
+import com.travelmate.entity.User;
+import com.travelmate.repository.ChatMessageRepository;
+import com.travelmate.repository.ChatParticipantRepository;
+import com.travelmate.service.cluster.LocalClusterEventBus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ChatSearchService 단위 테스트 (노드 두 개는 같은 이벤트 채널을 공유하는 서비스 두 개로 흉내냄)
+ */
+@ExtendWith(MockitoExtension.class)
+class ChatSearchServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Long ROOM_ID = 10L;
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private ChatMessageRepository chatMessageRepository;
+
+    @Mock
+    private ChatParticipantRepository chatParticipantRepository;
+
+    private final LocalClusterEventBus eventBus = new LocalClusterEventBus();
+    private final List<ChatSearchService> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (ChatSearchService node : nodes) {
+            node.close();
+        }
+    }
+
+    @Test
+    void 다른_노드에서_저장된_메시지도_검색된다() throws IOException {
+        ChatSearchService nodeA = openNode("a");
+        ChatSearchService nodeB = openNode("b");
+        when(chatParticipantRepository.existsByChatRoomIdAndUserId(ROOM_ID, USER_ID)).thenReturn(true);
+
+        nodeA.indexMessage(message(1L, ROOM_ID, "제주여행 같이 가실 분 구해요", LocalDateTime.now()));
+        nodeB.applyPendingOperations();
+
+        ChatDto.MessageSearchResponse response = nodeB.search(USER_ID, "제주", ROOM_ID, null, null, 0, 10);
+
+        assertThat(response.getResults()).extracting(ChatDto.MessageSearchResult::getMessageId).containsExactly(1L);
+        assertThat(response.getResults().get(0).getHighlightedContent()).contains("<em>");
+    }
+
+    @Test
+    void 참여하지_않은_채팅방의_메시지는_검색되지_않는다() throws IOException {
+        ChatSearchService node = openNode("a");
+        when(chatParticipantRepository.findByUserIdAndIsActiveTrue(USER_ID)).thenReturn(List.of(participant(ROOM_ID)));
+
+        node.indexMessage(message(1L, ROOM_ID, "부산 맛집 정리했어요", LocalDateTime.now()));
+        node.indexMessage(message(2L, 20L, "부산 맛집 추천 부탁해요", LocalDateTime.now()));
+        node.applyPendingOperations();
+
+        ChatDto.MessageSearchResponse response = node.search(USER_ID, "맛집", null, null, null, 0, 10);
+
+        assertThat(response.getResults()).extracting(ChatDto.MessageSearchResult::getChatRoomId).containsExactly(ROOM_ID);
+        assertThat(response.getTotalHits()).isEqualTo(1L);
+    }
+
+    @Test
+    void 삭제_이벤트를_놓친_메시지는_결과에서_빠지고_색인에서도_지워진다() throws IOException {
+        ChatSearchService node = openNode("a");
+        when(chatParticipantRepository.existsByChatRoomIdAndUserId(ROOM_ID, USER_ID)).thenReturn(true);
+        when(chatMessageRepository.findDeletedIdsIn(any())).thenReturn(List.of(2L)).thenReturn(List.of());
+
+        node.indexMessage(message(1L, ROOM_ID, "강릉 카페 투어", LocalDateTime.now()));
+        node.indexMessage(message(2L, ROOM_ID, "강릉 바다 보러 가요", LocalDateTime.now()));
+        node.applyPendingOperations();
+
+        ChatDto.MessageSearchResponse first = node.search(USER_ID, "강릉", ROOM_ID, null, "recent", 0, 10);
+        node.applyPendingOperations();
+        ChatDto.MessageSearchResponse second = node.search(USER_ID, "강릉", ROOM_ID, null, "recent", 0, 10);
+
+        assertThat(first.getResults()).extracting(ChatDto.MessageSearchResult::getMessageId).containsExactly(1L);
+        assertThat(first.getTotalHits()).isEqualTo(1L);
+        assertThat(second.getTotalHits()).isEqualTo(1L);
+    }
+
+    @Test
+    void 이벤트를_놓친_메시지는_DB에서_따라잡고_최근_메시지는_다시_읽는다() throws IOException {
+        ChatSearchService node = openNode("a");
+        when(chatParticipantRepository.existsByChatRoomIdAndUserId(ROOM_ID, USER_ID)).thenReturn(true);
+        ChatMessage settled = message(5L, ROOM_ID, "여수 밤바다 야경", LocalDateTime.now().minusMinutes(10));
+        ChatMessage recent = message(6L, ROOM_ID, "여수 케이블카 타요", LocalDateTime.now());
+        when(chatMessageRepository.findIndexableMessagesAfter(eq(0L), any())).thenReturn(List.of(settled, recent));
+        when(chatMessageRepository.findIndexableMessagesAfter(eq(5L), any())).thenReturn(List.of(recent));
+
+        node.catchUp();
+        ChatDto.MessageSearchResponse response = node.search(USER_ID, "여수", ROOM_ID, null, "recent", 0, 10);
+        node.catchUp();
+
+        assertThat(response.getResults()).extracting(ChatDto.MessageSearchResult::getMessageId).containsExactly(6L, 5L);
+        // lag 안의 메시지(6)는 진행 위치에 포함하지 않아 다음 주기에 다시 읽음
+        verify(chatMessageRepository).findIndexableMessagesAfter(eq(5L), any());
+    }
+
+    private ChatSearchService openNode(String name) throws IOException {
+        ChatSearchService node = new ChatSearchService(chatMessageRepository, chatParticipantRepository, eventBus,
+                true, tempDir.resolve(name).toString(), 1000, 16, 100, 1000, 100, 60);
+        node.open();
+        nodes.add(node);
+        return node;
+    }
+
+    static ChatMessage message(Long id, Long roomId, String content, LocalDateTime sentAt) {
+        ChatRoom room = new ChatRoom();
+        room.setId(roomId);
+        User sender = new User();
+        sender.setId(100L);
+        sender.setNickname("여행자");
+
+        ChatMessage message = new ChatMessage();
+        message.setId(id);
+        message.setChatRoom(room);
+        message.setSender(sender);
+        message.setContent(content);
+        message.setMessageType(ChatMessage.MessageType.TEXT);
+        message.setIsDeleted(false);
+        message.setSentAt(sentAt);
+        return message;
+    }
+
+    static ChatParticipant participant(Long roomId) {
+        ChatRoom room = new ChatRoom();
+        room.setId(roomId);
+        ChatParticipant participant = new ChatParticipant();
+        participant.setChatRoom(room);
+        return participant;
+    }
+}
@@ -0,0 +1,102 @@
+package com.travelmate.service;
+
+import com.travelmate.document.TravelGroupDocument;
+import com.travelmate.dto.SearchRequestDto;
+import com.travelmate.dto.SearchResultDto;
+import com.travelmate.service.search.GroupSearchRanking;
+import com.travelmate.service.search.SearchCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ElasticsearchService point-in-time 관리 테스트
+ */
+class ElasticsearchServiceTest {
+
+    private final ElasticsearchOperations operations = mock(ElasticsearchOperations.class, RETURNS_DEEP_STUBS);
+
+    @Test
+    void 마지막_페이지를_돌려주면_point_in_time을_닫는다() {
+        ElasticsearchService service = createService(100);
+        SearchHits<TravelGroupDocument> lastPage = hits(0);
+        when(operations.search(any(NativeQuery.class), eq(TravelGroupDocument.class))).thenReturn(lastPage);
+
+        SearchResultDto result = service.advancedSearch(cursorRequest("pit-1"));
+
+        assertThat(result.getNextCursor()).isNull();
+        verify(operations).closePointInTime("pit-1");
+    }
+
+    @Test
+    void 다음_페이지가_있으면_point_in_time을_열어_둔다() {
+        ElasticsearchService service = createService(100);
+        SearchHits<TravelGroupDocument> fullPage = hits(2);
+        when(operations.search(any(NativeQuery.class), eq(TravelGroupDocument.class))).thenReturn(fullPage);
+
+        SearchResultDto result = service.advancedSearch(cursorRequest("pit-1"));
+
+        assertThat(SearchCursor.decode(result.getNextCursor()).pitId()).isEqualTo("pit-1");
+        verify(operations, never()).closePointInTime(anyString());
+    }
+
+    @Test
+    void 열린_point_in_time이_상한에_이르면_point_in_time_없이_이어간다() {
+        ElasticsearchService service = createService(1);
+        when(operations.openPointInTime(any(), any(Duration.class))).thenReturn("pit-1", "pit-2");
+        SearchHits<TravelGroupDocument> fullPage = hits(2);
+        when(operations.search(any(NativeQuery.class), eq(TravelGroupDocument.class))).thenReturn(fullPage);
+
+        SearchResultDto first = service.advancedSearch(cursorRequest(null));
+        SearchResultDto second = service.advancedSearch(cursorRequest(null));
+
+        assertThat(SearchCursor.decode(first.getNextCursor()).pitId()).isEqualTo("pit-1");
+        assertThat(SearchCursor.decode(second.getNextCursor()).pitId()).isNull();
+        verify(operations, times(1)).openPointInTime(any(), any(Duration.class));
+    }
+
+    private ElasticsearchService createService(int maxOpenPits) {
+        return new ElasticsearchService(operations, new GroupSearchRanking(25, 2, 14, 3, 1.0, 0.5),
+                new SimpleMeterRegistry(), 10, 10_000, 20, 100, 1000, 15, maxOpenPits);
+    }
+
+    private static SearchRequestDto cursorRequest(String pitId) {
+        return SearchRequestDto.builder()
+                .size(2)
+                .cursor(new SearchCursor(pitId, List.<Object>of(1_700_000_000_000L, "10")).encode())
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SearchHits<TravelGroupDocument> hits(int count) {
+        List<SearchHit<TravelGroupDocument>> hitList = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            SearchHit<TravelGroupDocument> hit = mock(SearchHit.class);
+            when(hit.getContent()).thenReturn(TravelGroupDocument.builder().id(String.valueOf(i + 1)).build());
+            when(hit.getSortValues()).thenReturn(List.<Object>of(1_700_000_000_000L - i, String.valueOf(i + 1)));
+            hitList.add(hit);
+        }
+        SearchHits<TravelGroupDocument> searchHits = mock(SearchHits.class);
+        when(searchHits.getSearchHits()).thenReturn(hitList);
+        when(searchHits.getTotalHits()).thenReturn((long) count);
+        return searchHits;
+    }
+}
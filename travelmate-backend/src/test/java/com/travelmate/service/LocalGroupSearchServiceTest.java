@@ -0,0 +1,121 @@
+package com.travelmate.service;
+
+import com.travelmate.dto.SearchRequestDto;
+import com.travelmate.dto.SearchResultDto;
+import com.travelmate.entity.TravelGroup;
+import com.travelmate.repository.TravelGroupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * LocalGroupSearchService DB 동기화 테스트 (색인 워커 이벤트 없이 DB 변경분만으로 예비 색인이 갱신되는지)
+ */
+class LocalGroupSearchServiceTest {
+
+    private final TravelGroupRepository travelGroupRepository = mock(TravelGroupRepository.class);
+    private LocalGroupSearchService service;
+
+    @TempDir
+    Path indexPath;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        service = new LocalGroupSearchService(travelGroupRepository, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), true, indexPath.toString(), 16, 10, 60, 20, 100, 1000);
+        service.open();
+        when(travelGroupRepository.findPageWithCreatorAfter(anyLong(), any()))
+                .thenReturn(List.of(group(1L, true), group(2L, true)))
+                .thenReturn(List.of());
+        service.loadFromDatabase();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        service.close();
+    }
+
+    @Test
+    void 다른_노드에서_바뀐_그룹을_증분_동기화로_반영한다() {
+        when(travelGroupRepository.findChangedWithCreatorAfter(any(), anyLong(), any()))
+                .thenReturn(List.of(group(2L, false), group(3L, true)));
+
+        service.syncChanges();
+
+        assertThat(searchIds()).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void 증분_동기화는_재구성_시작_시각보다_겹침_구간만큼_앞에서_읽는다() {
+        LocalDateTime before = LocalDateTime.now();
+
+        service.syncChanges();
+
+        verify(travelGroupRepository).findChangedWithCreatorAfter(
+                argThat(time -> time.isBefore(before.minusSeconds(59))), eq(0L), any());
+    }
+
+    @Test
+    void DB에서_삭제된_그룹은_정리_주기에_색인에서_빠진다() {
+        when(travelGroupRepository.findExistingIds(any())).thenReturn(List.of(1L));
+
+        service.pruneDeletedGroups();
+
+        assertThat(searchIds()).containsExactly(1L);
+    }
+
+    @Test
+    void 추천_순위에서는_이미_출발한_그룹이_빠진다() {
+        TravelGroup departed = group(3L, true);
+        departed.setStartDate(LocalDate.now().minusDays(2));
+        TravelGroup upcoming = group(4L, true);
+        upcoming.setStartDate(LocalDate.now().plusDays(2));
+        when(travelGroupRepository.findChangedWithCreatorAfter(any(), anyLong(), any()))
+                .thenReturn(List.of(departed, upcoming));
+        service.syncChanges();
+
+        assertThat(searchIds("recommended")).containsExactlyInAnyOrder(1L, 2L, 4L);
+        assertThat(searchIds("createdAt")).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+    }
+
+    private List<Long> searchIds() {
+        return searchIds("createdAt");
+    }
+
+    private List<Long> searchIds(String sortBy) {
+        SearchResultDto result = service.search(SearchRequestDto.builder().sortBy(sortBy).build());
+        return result.getResults().stream().map(SearchResultDto.GroupResult::getId).toList();
+    }
+
+    private static TravelGroup group(Long id, boolean active) {
+        TravelGroup group = new TravelGroup();
+        group.setId(id);
+        group.setTitle("제주 여행 " + id);
+        group.setDestination("제주");
+        group.setIsPublic(true);
+        group.setIsActive(active);
+        group.setCurrentMembers(1);
+        group.setMaxMembers(4);
+        group.setCreatedAt(LocalDateTime.now().minusDays(id));
+        group.setUpdatedAt(LocalDateTime.now());
+        return group;
+    }
+}
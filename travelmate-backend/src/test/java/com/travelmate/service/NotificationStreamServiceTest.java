@@ -0,0 +1,113 @@
+package com.travelmate.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelmate.entity.Notification;
+import com.travelmate.service.cluster.LocalClusterEventBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * NotificationStreamService 테스트 (노드 두 개는 같은 이벤트 채널을 공유하는 서비스 두 개로 흉내냄)
+ */
+class NotificationStreamServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    private final LocalClusterEventBus eventBus = new LocalClusterEventBus();
+    private final NotificationStreamService nodeA = createNode();
+    private final NotificationStreamService nodeB = createNode();
+
+    @AfterEach
+    void tearDown() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+    }
+
+    @Test
+    void 다른_노드에서_발행한_알림과_배지가_스트림으로_전달된다() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new StreamController(nodeB)).build();
+        MvcResult result = mockMvc.perform(get("/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        nodeA.publishNotifications(List.of(notification(7L, USER_ID), notification(8L, 2L)));
+        nodeA.publishUnreadCount(USER_ID, 3);
+
+        String body = awaitContent(result, "event:unread-count");
+        assertThat(body)
+                .contains("event:notification", "id:7", "\"title\":\"그룹 초대\"", "data:{\"count\":3}")
+                .doesNotContain("id:8");
+    }
+
+    @Test
+    void 노드_간_알림_이벤트는_JSON으로_주고받아도_내용이_유지된다() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        NotificationStreamService.NotificationsEvent event =
+                new NotificationStreamService.NotificationsEvent(List.of(notification(7L, USER_ID)));
+
+        NotificationStreamService.NotificationsEvent restored = objectMapper.readValue(
+                objectMapper.writeValueAsString(event), NotificationStreamService.NotificationsEvent.class);
+
+        assertThat(restored.notifications()).singleElement()
+                .usingRecursiveComparison()
+                .isEqualTo(event.notifications().get(0));
+    }
+
+    private NotificationStreamService createNode() {
+        return new NotificationStreamService(new SimpleMeterRegistry(), eventBus, 60_000, 5, 1, 100);
+    }
+
+    private static NotificationService.NotificationDto notification(Long id, Long userId) {
+        return NotificationService.NotificationDto.builder()
+                .id(id)
+                .userId(userId)
+                .type(Notification.NotificationType.GROUP_INVITE)
+                .title("그룹 초대")
+                .message("새로운 그룹에 초대되었습니다")
+                .isRead(true)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        }
+        return body;
+    }
+
+    @RestController
+    static class StreamController {
+
+        private final NotificationStreamService streamService;
+
+        StreamController(NotificationStreamService streamService) {
+            this.streamService = streamService;
+        }
+
+        @GetMapping("/stream")
+        SseEmitter stream() {
+            return streamService.subscribe(USER_ID);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.travelmate.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PostService 검색어 -> tsquery 변환 테스트
+ */
+class PostServiceTest {
+
+    @Test
+    void 단어마다_접두어_일치로_바꾸고_AND로_잇는다() {
+        assertThat(PostService.toPrefixTsQuery("제주 맛집")).isEqualTo("제주:* & 맛집:*");
+        assertThat(PostService.toPrefixTsQuery("  Jeju  FOOD ")).isEqualTo("jeju:* & food:*");
+    }
+
+    @Test
+    void tsquery_연산자와_특수문자는_제거된다() {
+        assertThat(PostService.toPrefixTsQuery("제주 & !맛집 | (카페):* <-> 'x'"))
+                .isEqualTo("제주:* & 맛집:* & 카페:* & x:*");
+        assertThat(PostService.toPrefixTsQuery("부산\\해운대")).isEqualTo("부산:* & 해운대:*");
+    }
+
+    @Test
+    void 단어는_최대_8개까지만_쓴다() {
+        assertThat(PostService.toPrefixTsQuery("a b c d e f g h i j"))
+                .isEqualTo("a:* & b:* & c:* & d:* & e:* & f:* & g:* & h:*");
+    }
+
+    @Test
+    void 비었거나_연산자만_있는_검색어는_키워드_검색을_하지_않는다() {
+        assertThat(PostService.toPrefixTsQuery(null)).isNull();
+        assertThat(PostService.toPrefixTsQuery("")).isNull();
+        assertThat(PostService.toPrefixTsQuery("   ")).isNull();
+        assertThat(PostService.toPrefixTsQuery("& | ! :*")).isNull();
+    }
+}
@@ -0,0 +1,105 @@
+package com.travelmate.service;
+
+import com.travelmate.dto.ChatDto;
+import com.travelmate.repository.ChatParticipantRepository;
+import com.travelmate.service.cluster.LocalClusterEventBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * PresenceService 노드 간 접속 상태 테스트 (노드 여러 개는 같은 이벤트 채널을 공유하는 서비스로 흉내냄)
+ */
+class PresenceServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Long ROOM_ID = 10L;
+
+    private final LocalClusterEventBus eventBus = new LocalClusterEventBus();
+    private final ChatParticipantRepository chatParticipantRepository = mock(ChatParticipantRepository.class);
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = List.<Object[]>of(new Object[]{USER_ID, ROOM_ID});
+        when(chatParticipantRepository.findActiveRoomIdsByUserIds(anyCollection())).thenReturn(rows);
+    }
+
+    @Test
+    void 다른_노드에_세션이_남아_있으면_오프라인을_알리지_않는다() {
+        PresenceService nodeA = createNode(45_000);
+        PresenceService nodeB = createNode(45_000);
+        nodeA.connect("a-1", USER_ID);
+        nodeB.connect("b-1", USER_ID);
+        nodeA.broadcastChanges();
+        nodeB.broadcastChanges();
+        reset(messagingTemplate);
+
+        nodeA.disconnect("a-1");
+        nodeA.broadcastChanges();
+
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+        assertThat(nodeA.isOnline(USER_ID)).isTrue();
+        assertThat(nodeA.getOnlineUserCount()).isEqualTo(1);
+
+        nodeB.disconnect("b-1");
+        nodeB.broadcastChanges();
+
+        assertThat(sentUpdate().getOfflineUserIds()).containsExactly(USER_ID);
+        assertThat(nodeA.isOnline(USER_ID)).isFalse();
+    }
+
+    @Test
+    void 이벤트를_놓친_노드도_세션_목록을_받으면_접속_상태가_맞춰진다() {
+        PresenceService nodeA = createNode(45_000);
+        nodeA.connect("a-1", USER_ID);
+        PresenceService lateNode = createNode(45_000);
+        assertThat(lateNode.isOnline(USER_ID)).isFalse();
+
+        nodeA.publishSnapshot();
+
+        assertThat(lateNode.isOnline(USER_ID)).isTrue();
+        assertThat(lateNode.getOnlineUserIds(List.of(USER_ID, 2L))).containsExactly(USER_ID);
+    }
+
+    @Test
+    void 목록을_보내지_않는_노드의_사용자는_오프라인으로_알린다() {
+        PresenceService crashed = createNode(45_000);
+        PresenceService survivor = createNode(-1);
+        crashed.connect("a-1", USER_ID);
+        assertThat(survivor.isOnline(USER_ID)).isTrue();
+
+        survivor.publishSnapshot();
+        survivor.broadcastChanges();
+
+        assertThat(survivor.isOnline(USER_ID)).isFalse();
+        assertThat(sentUpdate().getOfflineUserIds()).containsExactly(USER_ID);
+    }
+
+    private ChatDto.PresenceUpdate sentUpdate() {
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/chat/" + ROOM_ID + "/presence"), payload.capture());
+        return (ChatDto.PresenceUpdate) payload.getValue();
+    }
+
+    private PresenceService createNode(long remoteNodeTimeoutMillis) {
+        return new PresenceService(chatParticipantRepository, messagingTemplate, mock(JdbcTemplate.class),
+                mock(TransactionTemplate.class), eventBus, 16, 60_000, 500, remoteNodeTimeoutMillis);
+    }
+}
@@ -0,0 +1,184 @@
+package com.travelmate.service;
+
+import com.travelmate.repository.UserRepository;
+import com.travelmate.service.push.PushMessage;
+import com.travelmate.service.push.PushResult;
+import com.travelmate.service.push.PushTransport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * PushDeliveryService 재시도/백오프 단위 테스트 (워커 1개, 백오프 수 ms)
+ */
+@ExtendWith(MockitoExtension.class)
+class PushDeliveryServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ScriptedTransport transport = new ScriptedTransport();
+    private PushDeliveryService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void 일시적_실패는_백오프_후_다시_보낸다() {
+        AtomicInteger attempts = new AtomicInteger();
+        transport.respond(message -> attempts.incrementAndGet() == 1 ? PushResult.RETRYABLE : PushResult.SUCCESS);
+        service = start(5, 10);
+
+        service.submit(1L, "token-1", "제목", "내용", Map.of());
+        transport.awaitCalls(2);
+
+        assertThat(transport.calls).allSatisfy(tokens -> assertThat(tokens).containsExactly("token-1"));
+        assertThat(counter("push.retried")).isEqualTo(1);
+        assertThat(sent(PushResult.SUCCESS)).isEqualTo(1);
+    }
+
+    @Test
+    void 묶음_전송_예외는_최대_시도_횟수에서_멈춘다() throws InterruptedException {
+        transport.failBatches(true);
+        service = start(3, 10);
+
+        service.submit(1L, "token-1", "제목", "내용", Map.of());
+        transport.awaitCalls(3);
+        Thread.sleep(100);
+
+        assertThat(transport.calls).hasSize(3);
+        assertThat(counter("push.retried")).isEqualTo(2);
+        assertThat(sent(PushResult.FAILED)).isEqualTo(1);
+    }
+
+    @Test
+    void 잘못된_토큰은_재시도하지_않고_모아서_삭제한다() {
+        stubTransaction();
+        transport.respond(message -> message.getToken().startsWith("bad") ? PushResult.INVALID_TOKEN : PushResult.SUCCESS);
+        service = start(5, 10);
+
+        service.submit(1L, "bad-token", "제목", "내용", Map.of());
+        transport.awaitCalls(1);
+        // 워커가 하나라 두 번째 묶음이 전송되면 첫 묶음 결과 처리는 끝난 상태
+        service.submit(2L, "good-token", "제목", "내용", Map.of());
+        transport.awaitCalls(2);
+        service.pruneInvalidTokens();
+
+        assertThat(transport.calls).containsExactly(List.of("bad-token"), List.of("good-token"));
+        assertThat(counter("push.retried")).isZero();
+        verify(userRepository).clearFcmTokens(List.of("bad-token"));
+    }
+
+    @Test
+    void 연속_실패가_한도에_이르면_재시도를_멈추고_토큰을_삭제한다() {
+        stubTransaction();
+        transport.respond(message -> message.getToken().startsWith("flaky") ? PushResult.RETRYABLE : PushResult.SUCCESS);
+        service = start(5, 2);
+
+        service.submit(1L, "flaky-token", "제목", "내용", Map.of());
+        transport.awaitCalls(2);
+        service.submit(2L, "good-token", "제목", "내용", Map.of());
+        transport.awaitCalls(3);
+        service.pruneInvalidTokens();
+
+        assertThat(transport.calls).containsExactly(List.of("flaky-token"), List.of("flaky-token"), List.of("good-token"));
+        assertThat(counter("push.retried")).isEqualTo(1);
+        verify(userRepository).clearFcmTokens(List.of("flaky-token"));
+    }
+
+    @Test
+    void 재시도_대기_상한은_두_배씩_늘다가_최대값에서_멈춘다() {
+        service = new PushDeliveryService(transport, userRepository, transactionTemplate, meterRegistry,
+                1, 100, 10, 0, 5, 1000, 60_000, 10);
+
+        assertThat(service.retryDelayCeiling(1)).isEqualTo(2000);
+        assertThat(service.retryDelayCeiling(2)).isEqualTo(4000);
+        assertThat(service.retryDelayCeiling(5)).isEqualTo(32_000);
+        assertThat(service.retryDelayCeiling(6)).isEqualTo(60_000);
+        assertThat(service.retryDelayCeiling(100)).isEqualTo(60_000);
+    }
+
+    private PushDeliveryService start(int maxAttempts, int maxTokenFailures) {
+        PushDeliveryService started = new PushDeliveryService(transport, userRepository, transactionTemplate,
+                meterRegistry, 1, 100, 10, 0, maxAttempts, 1, 5, maxTokenFailures);
+        started.start();
+        return started;
+    }
+
+    private void stubTransaction() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private double sent(PushResult result) {
+        return meterRegistry.get("push.sent").tag("result", result.name().toLowerCase()).counter().count();
+    }
+
+    /**
+     * 묶음별 전송 토큰을 기록하고 메시지마다 정해진 결과를 돌려주는 전송 계층
+     */
+    private static class ScriptedTransport implements PushTransport {
+
+        private final List<List<String>> calls = new CopyOnWriteArrayList<>();
+        private volatile Function<PushMessage, PushResult> responder = message -> PushResult.SUCCESS;
+        private volatile boolean failBatches;
+
+        void respond(Function<PushMessage, PushResult> responder) {
+            this.responder = responder;
+        }
+
+        void failBatches(boolean failBatches) {
+            this.failBatches = failBatches;
+        }
+
+        void awaitCalls(int count) {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (calls.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertThat(calls).hasSizeGreaterThanOrEqualTo(count);
+        }
+
+        @Override
+        public int maxBatchSize() {
+            return 500;
+        }
+
+        @Override
+        public List<PushResult> sendBatch(List<PushMessage> messages) {
+            calls.add(messages.stream().map(PushMessage::getToken).toList());
+            if (failBatches) {
+                throw new IllegalStateException("전송 실패");
+            }
+            return messages.stream().map(responder).toList();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.travelmate.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * RetentionCleanupService 단위 테스트 (H2 메모리 DB)
+ */
+class RetentionCleanupServiceTest {
+
+    private static final int CHUNK_SIZE = 3;
+    private static final int RETENTION_DAYS = 90;
+
+    private final UnreadNotificationCounter unreadNotificationCounter = mock(UnreadNotificationCounter.class);
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private RetentionCleanupService service;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE notifications (id BIGINT PRIMARY KEY, created_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE login_history (id BIGINT PRIMARY KEY, created_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE email_verifications (id BIGINT PRIMARY KEY, expires_at TIMESTAMP)");
+
+        service = new RetentionCleanupService(jdbcTemplate, unreadNotificationCounter, new SimpleMeterRegistry(),
+                true, CHUNK_SIZE, 0, 60, RETENTION_DAYS, false, 365, false, 7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void 청크_경계와_id_공백을_넘어_만료된_행을_모두_삭제한다() {
+        // 만료: 1~7, 100~104 (중간에 id 공백), 보관: 105~106
+        for (long id = 1; id <= 7; id++) {
+            insert("notifications", "created_at", id, daysAgo(200 - id));
+        }
+        for (long id = 100; id <= 104; id++) {
+            insert("notifications", "created_at", id, daysAgo(120));
+        }
+        insert("notifications", "created_at", 105, daysAgo(10));
+        insert("notifications", "created_at", 106, daysAgo(1));
+
+        long deleted = service.purgeNotifications(RETENTION_DAYS);
+
+        assertThat(deleted).isEqualTo(12);
+        assertThat(ids("notifications")).containsExactly(105L, 106L);
+        verify(unreadNotificationCounter).invalidateAll();
+    }
+
+    @Test
+    void 기준_시각_이후의_행은_만료_구간_안에_있어도_남긴다() {
+        insert("notifications", "created_at", 1, daysAgo(100));
+        insert("notifications", "created_at", 2, daysAgo(RETENTION_DAYS - 1));
+        insert("notifications", "created_at", 3, daysAgo(100));
+        insert("notifications", "created_at", 4, daysAgo(RETENTION_DAYS + 1));
+        insert("notifications", "created_at", 5, daysAgo(5));
+
+        long deleted = service.purgeNotifications(RETENTION_DAYS);
+
+        assertThat(deleted).isEqualTo(3);
+        assertThat(ids("notifications")).containsExactly(2L, 5L);
+    }
+
+    @Test
+    void 만료된_행이_없으면_아무것도_지우지_않는다() {
+        insert("notifications", "created_at", 1, daysAgo(1));
+
+        assertThat(service.purgeNotifications(RETENTION_DAYS)).isZero();
+        assertThat(ids("notifications")).containsExactly(1L);
+        verify(unreadNotificationCounter, never()).invalidateAll();
+    }
+
+    @Test
+    void 인증_토큰은_id_순서와_무관하게_만료_시각으로_삭제한다() {
+        // 나중에 만든 토큰이 먼저 만료될 수 있음 (id 순서 != expires_at 순서)
+        insert("email_verifications", "expires_at", 1, daysAgo(-1));
+        insert("email_verifications", "expires_at", 2, daysAgo(30));
+        insert("email_verifications", "expires_at", 3, daysAgo(3));
+        for (long id = 4; id <= 9; id++) {
+            insert("email_verifications", "expires_at", id, daysAgo(8 + id));
+        }
+        insert("email_verifications", "expires_at", 10, daysAgo(-2));
+
+        service.runRetention();
+
+        assertThat(ids("email_verifications")).containsExactly(1L, 3L, 10L);
+    }
+
+    private void insert(String table, String timeColumn, long id, LocalDateTime time) {
+        jdbcTemplate.update("INSERT INTO " + table + " (id, " + timeColumn + ") VALUES (?, ?)", id, Timestamp.valueOf(time));
+    }
+
+    private List<Long> ids(String table) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " ORDER BY id", Long.class);
+    }
+
+    private static LocalDateTime daysAgo(long days) {
+        return LocalDateTime.now().minusDays(days);
+    }
+}
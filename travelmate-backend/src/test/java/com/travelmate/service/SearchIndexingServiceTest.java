@@ -0,0 +1,215 @@
+package com.travelmate.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ErrorCause;
+import co.elastic.clients.elasticsearch._types.VersionType;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.OperationType;
+import co.elastic.clients.util.ObjectBuilder;
+import com.travelmate.entity.TravelGroup;
+import com.travelmate.repository.TravelGroupRepository;
+import com.travelmate.service.search.GroupIndexManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * SearchIndexingService 재시도/백오프 테스트 (H2 메모리 DB + ES 클라이언트 mock)
+ */
+class SearchIndexingServiceTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final TravelGroupRepository travelGroupRepository = mock(TravelGroupRepository.class);
+    private final ElasticsearchClient elasticsearchClient = mock(ElasticsearchClient.class);
+    private final GroupIndexManager groupIndexManager = mock(GroupIndexManager.class);
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private SearchIndexingService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE search_index_outbox (id BIGINT PRIMARY KEY, group_id BIGINT NOT NULL, " +
+                "status VARCHAR(20) NOT NULL, attempts INTEGER NOT NULL, next_attempt_at TIMESTAMP NOT NULL, " +
+                "last_error VARCHAR(500), created_at TIMESTAMP NOT NULL)");
+        when(groupIndexManager.writeTargets()).thenReturn(List.of("groups"));
+
+        service = new SearchIndexingService(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(database)),
+                travelGroupRepository, elasticsearchClient, mock(ElasticsearchOperations.class, RETURNS_DEEP_STUBS), groupIndexManager,
+                mock(ApplicationEventPublisher.class), new SimpleMeterRegistry(),
+                true, 100, MAX_ATTEMPTS, 1000, 60_000, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void ES_연결_실패는_시도_횟수를_쓰지_않고_묶음을_미룬다() throws IOException {
+        insert(1L, 10L);
+        insert(2L, 20L);
+        when(elasticsearchClient.bulk(anyBulkRequest())).thenThrow(new IOException("Connection refused"));
+
+        // 최대 시도 횟수보다 많이 실패해도 FAILED로 빠지지 않음
+        for (int i = 0; i < MAX_ATTEMPTS * 2; i++) {
+            makeDue();
+            service.processOutbox();
+        }
+
+        assertThat(rows()).hasSize(2).allSatisfy(row -> {
+            assertThat(row.get("STATUS")).isEqualTo("PENDING");
+            assertThat(row.get("ATTEMPTS")).isEqualTo(0);
+            assertThat(row.get("LAST_ERROR")).isEqualTo("Connection refused");
+            assertThat(((Timestamp) row.get("NEXT_ATTEMPT_AT")).toLocalDateTime()).isAfter(LocalDateTime.now());
+        });
+        verify(elasticsearchClient, times(MAX_ATTEMPTS * 2)).bulk(anyBulkRequest());
+    }
+
+    @Test
+    void 미룬_변경은_대기_시각이_되기_전에는_다시_보내지_않는다() throws IOException {
+        insert(1L, 10L);
+        when(elasticsearchClient.bulk(anyBulkRequest())).thenThrow(new IOException("Connection refused"));
+
+        service.processOutbox();
+        service.processOutbox();
+
+        verify(elasticsearchClient, times(1)).bulk(anyBulkRequest());
+    }
+
+    @Test
+    void 문서_오류는_시도_횟수를_쓰고_최대에서_FAILED가_된다() throws IOException {
+        insert(1L, 10L);
+        when(elasticsearchClient.bulk(anyBulkRequest())).thenReturn(response(item("10", 400)));
+
+        service.processOutbox();
+        assertThat(rows()).singleElement().satisfies(row -> {
+            assertThat(row.get("STATUS")).isEqualTo("PENDING");
+            assertThat(row.get("ATTEMPTS")).isEqualTo(1);
+        });
+
+        for (int i = 1; i < MAX_ATTEMPTS; i++) {
+            makeDue();
+            service.processOutbox();
+        }
+        assertThat(rows()).singleElement().satisfies(row -> {
+            assertThat(row.get("STATUS")).isEqualTo("FAILED");
+            assertThat(row.get("ATTEMPTS")).isEqualTo(MAX_ATTEMPTS);
+        });
+    }
+
+    @Test
+    void 성공과_버전_충돌은_반영된_것으로_보고_행을_삭제한다() throws IOException {
+        insert(1L, 10L);
+        insert(2L, 20L);
+        when(elasticsearchClient.bulk(anyBulkRequest())).thenReturn(response(item("10", 200), item("20", 409)));
+
+        service.processOutbox();
+
+        assertThat(rows()).isEmpty();
+    }
+
+    @Test
+    void 문서_버전은_그룹과_함께_읽은_index_version이고_삭제는_최대_버전이다() throws IOException {
+        insert(1L, 10L);
+        insert(2L, 20L);
+        TravelGroup group = new TravelGroup();
+        group.setId(10L);
+        group.setTitle("제주 여행");
+        group.setIndexVersion(7L);
+        when(travelGroupRepository.findAllWithCreatorByIdIn(any())).thenReturn(List.of(group));
+        when(elasticsearchClient.bulk(anyBulkRequest())).thenReturn(response(item("10", 200), item("20", 200)));
+
+        service.processOutbox();
+
+        List<BulkOperation> operations = sentOperations();
+        assertThat(operations).hasSize(2);
+        assertThat(operations.get(0).index().version()).isEqualTo(7L);
+        assertThat(operations.get(0).index().versionType()).isEqualTo(VersionType.External);
+        assertThat(operations.get(1).delete().version()).isEqualTo(SearchIndexingService.DELETED_VERSION);
+    }
+
+    @Test
+    void 재시도_대기_상한은_두_배씩_늘다가_10분에서_멈춘다() {
+        assertThat(service.backoffCeiling(1)).isEqualTo(1000);
+        assertThat(service.backoffCeiling(2)).isEqualTo(2000);
+        assertThat(service.backoffCeiling(5)).isEqualTo(16_000);
+        assertThat(service.backoffCeiling(11)).isEqualTo(600_000);
+        assertThat(service.backoffCeiling(100)).isEqualTo(600_000);
+    }
+
+    private void insert(long id, long groupId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now().minusSeconds(1));
+        jdbcTemplate.update("INSERT INTO search_index_outbox (id, group_id, status, attempts, next_attempt_at, created_at) " +
+                "VALUES (?, ?, 'PENDING', 0, ?, ?)", id, groupId, now, now);
+    }
+
+    private void makeDue() {
+        jdbcTemplate.update("UPDATE search_index_outbox SET next_attempt_at = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)));
+    }
+
+    private List<Map<String, Object>> rows() {
+        return jdbcTemplate.queryForList("SELECT * FROM search_index_outbox ORDER BY id");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<BulkOperation> sentOperations() throws IOException {
+        ArgumentCaptor<Function<BulkRequest.Builder, ObjectBuilder<BulkRequest>>> captor =
+                ArgumentCaptor.forClass(Function.class);
+        verify(elasticsearchClient).bulk(captor.capture());
+        return captor.getValue().apply(new BulkRequest.Builder()).build().operations();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<BulkRequest.Builder, ObjectBuilder<BulkRequest>> anyBulkRequest() {
+        return any(Function.class);
+    }
+
+    private static BulkResponse response(BulkResponseItem... items) {
+        return BulkResponse.of(b -> b.took(1).errors(false).items(List.of(items)));
+    }
+
+    private static BulkResponseItem item(String id, int status) {
+        return BulkResponseItem.of(i -> {
+            i.operationType(OperationType.Delete).index("groups").id(id).status(status);
+            if (status >= 400) {
+                i.error(ErrorCause.of(e -> e.type("error").reason("status " + status)));
+            }
+            return i;
+        });
+    }
+}
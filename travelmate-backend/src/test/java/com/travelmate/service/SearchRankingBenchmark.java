@@ -0,0 +1,166 @@
+package com.travelmate.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import com.travelmate.document.TravelGroupDocument;
+import com.travelmate.dto.SearchRequestDto;
+import com.travelmate.entity.TravelGroup;
+import com.travelmate.entity.User;
+import com.travelmate.service.search.GroupSearchRanking;
+import com.travelmate.service.search.SearchQueryNormalizer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 추천 순위(function_score)가 검색 지연에 주는 영향 측정
+ *
+ * 실제 매핑(nori 플러그인 필요)으로 임시 인덱스를 만들어 합성 그룹을 채운 뒤,
+ * ElasticsearchService가 만드는 질의 그대로 정렬 방식별 지연 분포를 비교한다. 끝나면 인덱스를 지운다.
+ * 이름이 *Test가 아니어서 기본 빌드에서는 실행되지 않는다. 수동 실행:
+ * mvn test -Dtest=SearchRankingBenchmark -Dsearch.benchmark.uris=http://localhost:9200 -Dsearch.benchmark.size=500000
+ */
+class SearchRankingBenchmark {
+
+    private static final String[] DESTINATIONS = {"제주", "부산", "강릉", "여수", "경주", "전주", "속초", "서울", "통영", "양양"};
+    private static final double[][] COORDINATES = {
+            {33.50, 126.53}, {35.18, 129.08}, {37.75, 128.90}, {34.76, 127.66}, {35.86, 129.22},
+            {35.82, 127.15}, {38.21, 128.59}, {37.57, 126.98}, {34.85, 128.43}, {38.08, 128.62}};
+    private static final String[] THEMES = {"맛집 투어", "한달살기", "캠핑", "등산", "서핑", "사진 출사", "야경 산책", "카페 투어"};
+    private static final User.TravelStyle[] STYLES = User.TravelStyle.values();
+
+    @Test
+    void 정렬_방식별_검색_지연() throws Exception {
+        String uris = System.getProperty("search.benchmark.uris", "http://localhost:9200");
+        int size = Integer.getInteger("search.benchmark.size", 200_000);
+        int iterations = Integer.getInteger("search.benchmark.iterations", 500);
+        int warmup = Math.max(50, iterations / 10);
+
+        RestClient restClient = RestClient.builder(HttpHost.create(uris)).build();
+        ElasticsearchTemplate template = new ElasticsearchTemplate(
+                new ElasticsearchClient(new RestClientTransport(restClient, new JacksonJsonpMapper())));
+        IndexCoordinates index = IndexCoordinates.of("travel_groups_benchmark_" + System.currentTimeMillis());
+        IndexOperations indexOps = template.indexOps(index);
+
+        try {
+            indexOps.create(indexOps.createSettings(TravelGroupDocument.class),
+                    indexOps.createMapping(TravelGroupDocument.class));
+            long loadStart = System.nanoTime();
+            load(template, index, size);
+            indexOps.refresh();
+            System.out.printf("groups=%,d, 적재 %,d ms%n", size, (System.nanoTime() - loadStart) / 1_000_000);
+
+            ElasticsearchService service = new ElasticsearchService(template,
+                    new GroupSearchRanking(25, 2, 14, 3, 1.0, 0.5), new SimpleMeterRegistry(),
+                    10, 10_000, 20, 100, 1000, 15, 100);
+
+            Map<String, Function<Random, SearchRequestDto>> scenarios = new LinkedHashMap<>();
+            scenarios.put("키워드+반경, 최신순", random -> request(random, "맛집", true, true, "createdAt"));
+            scenarios.put("키워드, 관련도순", random -> request(random, "맛집 투어", false, false, "relevance"));
+            scenarios.put("키워드+위치, 추천순", random -> request(random, "맛집 투어", true, false, "recommended"));
+            scenarios.put("키워드+반경, 추천순", random -> request(random, "맛집 투어", true, true, "recommended"));
+            scenarios.put("위치만, 추천순", random -> request(random, null, true, false, "recommended"));
+
+            System.out.printf("%-20s %8s %8s %8s %8s%n", "scenario", "p50", "p95", "p99", "mean");
+            for (Map.Entry<String, Function<Random, SearchRequestDto>> scenario : scenarios.entrySet()) {
+                Random random = new Random(7);
+                long[] latencies = new long[iterations];
+                long hits = 0;
+                for (int i = 0; i < warmup + iterations; i++) {
+                    SearchRequestDto request = SearchQueryNormalizer.normalize(scenario.getValue().apply(random), 20, 100)
+                            .request();
+                    long start = System.nanoTime();
+                    SearchHits<TravelGroupDocument> result = template.search(
+                            service.buildSearch(request, null, null), TravelGroupDocument.class, index);
+                    long elapsed = System.nanoTime() - start;
+                    if (i >= warmup) {
+                        latencies[i - warmup] = elapsed;
+                        hits += result.getSearchHits().size();
+                    }
+                }
+                print(scenario.getKey(), latencies);
+                assertThat(hits).isPositive();
+            }
+        } finally {
+            indexOps.delete();
+            restClient.close();
+        }
+    }
+
+    private static void load(ElasticsearchTemplate template, IndexCoordinates index, int size) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<TravelGroupDocument> batch = new ArrayList<>(5000);
+        for (int i = 1; i <= size; i++) {
+            int place = random.nextInt(DESTINATIONS.length);
+            String theme = THEMES[random.nextInt(THEMES.length)];
+            int maxMembers = 2 + random.nextInt(19);
+            int currentMembers = 1 + random.nextInt(maxMembers);
+            LocalDateTime startDate = now.minusDays(30).plusHours(random.nextInt(24 * 210));
+
+            TravelGroup group = new TravelGroup();
+            group.setId((long) i);
+            group.setTitle(DESTINATIONS[place] + " " + theme + " 같이 가요");
+            group.setDescription(DESTINATIONS[place] + "에서 " + theme + " 함께할 분을 찾습니다.");
+            group.setDestination(DESTINATIONS[place]);
+            group.setMaxMembers(maxMembers);
+            group.setCurrentMembers(currentMembers);
+            group.setStartDate(startDate.toLocalDate());
+            group.setEndDate(startDate.toLocalDate().plusDays(1 + random.nextInt(7)));
+            group.setMeetingLatitude(COORDINATES[place][0] + random.nextGaussian() * 0.2);
+            group.setMeetingLongitude(COORDINATES[place][1] + random.nextGaussian() * 0.2);
+            group.setTravelStyle(STYLES[random.nextInt(STYLES.length)]);
+            group.setIsActive(random.nextInt(20) != 0);
+            group.setIsPublic(random.nextInt(20) != 0);
+            group.setCreatedAt(startDate.minusDays(random.nextInt(60)));
+            batch.add(TravelGroupDocument.from(group));
+
+            if (batch.size() == 5000 || i == size) {
+                template.save(batch, index);
+                batch.clear();
+            }
+        }
+    }
+
+    private static SearchRequestDto request(Random random, String keyword, boolean located, boolean radius,
+                                            String sortBy) {
+        double[] origin = COORDINATES[random.nextInt(COORDINATES.length)];
+        return SearchRequestDto.builder()
+                .keyword(keyword)
+                .latitude(located ? origin[0] + random.nextGaussian() * 0.1 : null)
+                .longitude(located ? origin[1] + random.nextGaussian() * 0.1 : null)
+                .radius(radius ? 50.0 : null)
+                .sortBy(sortBy)
+                .size(20)
+                .build();
+    }
+
+    private static void print(String scenario, long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-20s %6.1fms %6.1fms %6.1fms %6.1fms%n", scenario,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                Arrays.stream(sorted).average().orElse(0) / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,150 @@
+package com.travelmate.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ErrorCause;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.OperationType;
+import co.elastic.clients.util.ObjectBuilder;
+import com.travelmate.entity.TravelGroup;
+import com.travelmate.repository.TravelGroupRepository;
+import com.travelmate.service.search.GroupIndexManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * SearchReindexService 단계 순서 테스트 (적재 -> 설정 복원 -> alias 전환 -> 쓰기 대상 해제 -> 이전 인덱스 삭제)
+ */
+class SearchReindexServiceTest {
+
+    private static final String NEW_INDEX = "travel_groups_20261019120000";
+    private static final String OLD_INDEX = "travel_groups_20260101000000";
+
+    private final TravelGroupRepository travelGroupRepository = mock(TravelGroupRepository.class);
+    private final ElasticsearchClient elasticsearchClient = mock(ElasticsearchClient.class);
+    private final GroupIndexManager groupIndexManager = mock(GroupIndexManager.class);
+    private SearchReindexService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(travelGroupRepository.count()).thenReturn(2L);
+        when(travelGroupRepository.findPageWithCreatorAfter(eq(0L), any())).thenReturn(List.of(group(1L), group(2L)));
+        when(travelGroupRepository.findPageWithCreatorAfter(eq(2L), any())).thenReturn(List.of());
+        when(groupIndexManager.createIndex(true)).thenReturn(NEW_INDEX);
+        when(groupIndexManager.swapAlias(NEW_INDEX)).thenReturn(List.of(OLD_INDEX));
+
+        service = new SearchReindexService(travelGroupRepository, mock(PlatformTransactionManager.class),
+                elasticsearchClient, mock(ElasticsearchOperations.class, RETURNS_DEEP_STUBS), groupIndexManager,
+                mock(ApplicationEventPublisher.class), new SimpleMeterRegistry(), 100, 2, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void 적재가_끝난_뒤에_alias를_전환하고_이전_인덱스를_지운다() throws Exception {
+        when(elasticsearchClient.bulk(anyBulkRequest())).thenReturn(response(200, 201));
+
+        SearchReindexService.ReindexStatus status = runToEnd();
+
+        assertThat(status.getState()).isEqualTo(SearchReindexService.State.COMPLETED);
+        assertThat(status.getProcessed()).isEqualTo(2);
+        InOrder order = inOrder(groupIndexManager, elasticsearchClient);
+        order.verify(groupIndexManager).createIndex(true);
+        order.verify(groupIndexManager).beginBuild(NEW_INDEX);
+        order.verify(elasticsearchClient).bulk(anyBulkRequest());
+        order.verify(groupIndexManager).finishBulkLoad(NEW_INDEX);
+        order.verify(groupIndexManager).swapAlias(NEW_INDEX);
+        // 전환 전에 쓰기 대상에서 빼면 그 사이 변경이 새 인덱스에서 빠짐
+        order.verify(groupIndexManager).endBuild();
+        order.verify(groupIndexManager).deleteIndex(OLD_INDEX);
+    }
+
+    @Test
+    void 버전_충돌은_실패로_보지_않는다() throws Exception {
+        when(elasticsearchClient.bulk(anyBulkRequest())).thenReturn(response(201, 409));
+
+        assertThat(runToEnd().getState()).isEqualTo(SearchReindexService.State.COMPLETED);
+        verify(groupIndexManager).swapAlias(NEW_INDEX);
+    }
+
+    @Test
+    void 적재에_실패한_문서가_있으면_alias를_그대로_두고_새_인덱스를_지운다() throws Exception {
+        when(elasticsearchClient.bulk(anyBulkRequest())).thenReturn(response(201, 400));
+
+        SearchReindexService.ReindexStatus status = runToEnd();
+
+        assertThat(status.getState()).isEqualTo(SearchReindexService.State.FAILED);
+        assertThat(status.getFailed()).isEqualTo(1);
+        verify(groupIndexManager, never()).finishBulkLoad(anyString());
+        verify(groupIndexManager, never()).swapAlias(anyString());
+        InOrder order = inOrder(groupIndexManager);
+        order.verify(groupIndexManager).endBuild();
+        order.verify(groupIndexManager).deleteIndex(NEW_INDEX);
+        verify(groupIndexManager, never()).deleteIndex(OLD_INDEX);
+    }
+
+    private SearchReindexService.ReindexStatus runToEnd() throws InterruptedException {
+        service.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        SearchReindexService.ReindexStatus status = service.getStatus();
+        while (status.getState() == SearchReindexService.State.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            status = service.getStatus();
+        }
+        return status;
+    }
+
+    private static TravelGroup group(Long id) {
+        TravelGroup group = new TravelGroup();
+        group.setId(id);
+        group.setTitle("제주 여행 " + id);
+        return group;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<BulkRequest.Builder, ObjectBuilder<BulkRequest>> anyBulkRequest() {
+        return any(Function.class);
+    }
+
+    private static BulkResponse response(int... statuses) {
+        List<BulkResponseItem> items = new ArrayList<>();
+        for (int i = 0; i < statuses.length; i++) {
+            int status = statuses[i];
+            String id = String.valueOf(i + 1);
+            items.add(BulkResponseItem.of(item -> {
+                item.operationType(OperationType.Index).index(NEW_INDEX).id(id).status(status);
+                if (status >= 400) {
+                    item.error(ErrorCause.of(e -> e.type("error").reason("status " + status)));
+                }
+                return item;
+            }));
+        }
+        return BulkResponse.of(b -> b.took(1).errors(false).items(items));
+    }
+}
@@ -0,0 +1,68 @@
+package com.travelmate.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TrendingTagService 단위 테스트
+ */
+class TrendingTagServiceTest {
+
+    private static final long HALF_LIFE = 60_000;
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void 최근_태그가_오래된_태그보다_앞선다() {
+        TrendingTagService service = service(10);
+        for (int i = 0; i < 5; i++) {
+            service.recordSearch(List.of("제주"));
+        }
+
+        // 반감기 3번 경과: 제주 5 -> 0.625
+        now.set(HALF_LIFE * 3);
+        service.recordSearch(List.of("부산"));
+        service.recordSearch(List.of("부산"));
+
+        assertThat(service.getTrendingTags(10)).containsExactly("부산", "제주");
+    }
+
+    @Test
+    void 참여는_검색보다_가중치가_크다() {
+        TrendingTagService service = service(10);
+        service.recordSearch(List.of("서울", "서울"));
+        service.recordJoin(List.of("강릉"));
+
+        assertThat(service.getTrendingTags(1)).containsExactly("강릉");
+    }
+
+    @Test
+    void 후보가_가득_차면_가장_낮은_태그를_교체한다() {
+        TrendingTagService service = service(2);
+        service.recordSearch(List.of("a", "a", "b"));
+        service.recordSearch(List.of("c", "c", "c"));
+
+        assertThat(service.getTrendingTags(10)).containsExactly("c", "a");
+    }
+
+    @Test
+    void 오래_지나도_감쇠_기준점을_옮겨_순위를_유지한다() {
+        TrendingTagService service = service(10);
+        service.recordSearch(List.of("old"));
+
+        // exp 지수가 기준치를 넘어 기준점 이동이 일어나는 시점
+        now.set(HALF_LIFE * 100);
+        service.recordSearch(List.of("new"));
+
+        assertThat(service.getTrendingTags(10)).containsExactly("new", "old");
+    }
+
+    private TrendingTagService service(int capacity) {
+        return new TrendingTagService(new SimpleMeterRegistry(), HALF_LIFE, capacity, 1.0, 5.0, now::get);
+    }
+}
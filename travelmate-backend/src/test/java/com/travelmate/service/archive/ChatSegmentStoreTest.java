@@ -0,0 +1,63 @@
+package com.travelmate.service.archive;
+
+import com.travelmate.entity.ChatMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ChatSegmentStore 테스트 (공유 디렉터리를 쓰는 노드 두 개는 저장소 인스턴스 두 개로 흉내냄)
+ */
+class ChatSegmentStoreTest {
+
+    private static final Long ROOM_ID = 1L;
+
+    @TempDir
+    Path root;
+
+    @Test
+    void 다른_노드가_나중에_기록한_블록도_갱신_주기가_지나면_읽힌다() throws IOException {
+        ChatSegmentStore writer = new ChatSegmentStore(root, 2, 1024 * 1024, 0);
+        ChatSegmentStore reader = new ChatSegmentStore(root, 2, 1024 * 1024, 0);
+        writer.append(ROOM_ID, List.of(message(1L), message(2L)));
+        assertThat(reader.count(ROOM_ID)).isEqualTo(2);
+
+        writer.append(ROOM_ID, List.of(message(3L), message(4L), message(5L)));
+
+        assertThat(reader.count(ROOM_ID)).isEqualTo(5);
+        assertThat(reader.readNewestFirst(ROOM_ID, 0, 2)).extracting(ArchivedChatMessage::getId).containsExactly(5L, 4L);
+        assertThat(reader.findRoomIdOf(5L)).isEqualTo(Optional.of(ROOM_ID));
+    }
+
+    @Test
+    void 보관된_메시지만_삭제_대상으로_돌려주고_순서_밖_메시지는_건너뛴다() throws IOException {
+        ChatSegmentStore store = new ChatSegmentStore(root, 2, 1024 * 1024, 60_000);
+        assertThat(store.append(ROOM_ID, List.of(message(10L), message(12L)))).containsExactly(10L, 12L);
+
+        // 12 이후에 커밋된 11은 기록하지 않고, 이미 보관된 12는 다시 돌려줌 (삭제 재시도용)
+        List<Long> stored = store.append(ROOM_ID, List.of(message(11L), message(12L), message(13L)));
+
+        assertThat(stored).containsExactly(12L, 13L);
+        assertThat(store.count(ROOM_ID)).isEqualTo(3);
+        assertThat(store.readNewestFirst(ROOM_ID, 0, 10)).extracting(ArchivedChatMessage::getId)
+                .containsExactly(13L, 12L, 10L);
+    }
+
+    private static ArchivedChatMessage message(Long id) {
+        return ArchivedChatMessage.builder()
+                .id(id)
+                .chatRoomId(ROOM_ID)
+                .senderId(100L)
+                .content("메시지 " + id)
+                .messageType(ChatMessage.MessageType.TEXT)
+                .sentAt(LocalDateTime.now().minusDays(200).plusSeconds(id))
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.travelmate.service.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.travelmate.entity.EmailOutbox;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MailBatchSender 테스트 (임베디드 SMTP 서버)
+ */
+class MailBatchSenderTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private MailBatchSender createSender(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        return new MailBatchSender(mailSender, "no-reply@travelmate.app");
+    }
+
+    private EmailOutbox email(long id, String recipient) {
+        return EmailOutbox.builder()
+                .id(id)
+                .recipient(recipient)
+                .subject("TravelMate 이메일 인증")
+                .body("인증 링크: http://localhost:3000/verify-email?token=" + id)
+                .build();
+    }
+
+    @Test
+    void 묶음의_모든_메일을_한_번에_발송한다() throws Exception {
+        MailBatchSender sender = createSender(ServerSetupTest.SMTP.getPort());
+
+        Map<Long, String> failures = sender.send(List.of(
+                email(1L, "a@test.com"),
+                email(2L, "b@test.com"),
+                email(3L, "c@test.com")));
+
+        assertThat(failures).isEmpty();
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(3);
+        assertThat(received[0].getSubject()).isEqualTo("TravelMate 이메일 인증");
+    }
+
+    @Test
+    void 잘못된_주소는_해당_메일만_실패로_반환한다() {
+        MailBatchSender sender = createSender(ServerSetupTest.SMTP.getPort());
+
+        Map<Long, String> failures = sender.send(List.of(
+                email(1L, "ok@test.com"),
+                email(2L, "<broken@test.com")));
+
+        assertThat(failures).containsOnlyKeys(2L);
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+    }
+
+    @Test
+    void 서버에_연결할_수_없으면_모두_실패로_반환한다() {
+        MailBatchSender sender = createSender(1);
+
+        Map<Long, String> failures = sender.send(List.of(email(1L, "a@test.com"), email(2L, "b@test.com")));
+
+        assertThat(failures).containsOnlyKeys(1L, 2L);
+    }
+}
@@ -0,0 +1,135 @@
+package com.travelmate.service.search;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.DeleteAliasRequest;
+import co.elastic.clients.elasticsearch.indices.ElasticsearchIndicesClient;
+import co.elastic.clients.elasticsearch.indices.ExistsAliasRequest;
+import co.elastic.clients.elasticsearch.indices.GetAliasResponse;
+import co.elastic.clients.elasticsearch.indices.UpdateAliasesRequest;
+import co.elastic.clients.elasticsearch.indices.get_alias.IndexAliases;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+import co.elastic.clients.transport.endpoints.BooleanResponse;
+import co.elastic.clients.util.ObjectBuilder;
+import com.travelmate.document.TravelGroupDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * GroupIndexManager alias 전환 테스트 (이전 연결 해제와 새 연결이 한 요청 안에서 순서대로 실행되는지, 재색인 쓰기 대상 공유)
+ */
+class GroupIndexManagerTest {
+
+    private static final String ALIAS = "travel_groups";
+    private static final String OLD_INDEX = "travel_groups_20260101000000";
+    private static final String NEW_INDEX = "travel_groups_20261019120000";
+
+    private final ElasticsearchClient elasticsearchClient = mock(ElasticsearchClient.class);
+    private final ElasticsearchIndicesClient indices = mock(ElasticsearchIndicesClient.class);
+    private final ElasticsearchOperations elasticsearchOperations = mock(ElasticsearchOperations.class);
+    private GroupIndexManager manager;
+
+    @BeforeEach
+    void setUp() {
+        when(elasticsearchOperations.getIndexCoordinatesFor(TravelGroupDocument.class)).thenReturn(IndexCoordinates.of(ALIAS));
+        when(elasticsearchClient.indices()).thenReturn(indices);
+        manager = new GroupIndexManager(elasticsearchClient, elasticsearchOperations, 1);
+    }
+
+    @Test
+    void 기존_alias를_해제하고_새_인덱스를_연결하는_작업을_한_요청으로_보낸다() throws IOException {
+        when(indices.existsAlias(any(Function.class))).thenReturn(new BooleanResponse(true));
+        GetAliasResponse aliases = mock(GetAliasResponse.class);
+        when(aliases.result()).thenReturn(Map.of(OLD_INDEX, mock(IndexAliases.class)));
+        when(indices.getAlias(any(Function.class))).thenReturn(aliases);
+
+        List<String> previous = manager.swapAlias(NEW_INDEX);
+
+        assertThat(previous).containsExactly(OLD_INDEX);
+        assertThat(sentActions()).containsExactly("remove " + OLD_INDEX, "add " + NEW_INDEX);
+    }
+
+    @Test
+    void alias_도입_전의_같은_이름_인덱스는_전환_요청_안에서_삭제한다() throws IOException {
+        when(indices.existsAlias(any(Function.class))).thenReturn(new BooleanResponse(false));
+        when(indices.exists(any(Function.class))).thenReturn(new BooleanResponse(true));
+
+        List<String> previous = manager.swapAlias(NEW_INDEX);
+
+        assertThat(previous).isEmpty();
+        assertThat(sentActions()).containsExactly("remove_index " + ALIAS, "add " + NEW_INDEX);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void 다른_노드에서_시작한_재색인도_쓰기_대상에_포함된다() throws IOException {
+        // ES의 alias 상태를 두 노드가 공유하는 집합으로 흉내냄
+        Set<String> aliases = new HashSet<>();
+        when(indices.exists(any(Function.class))).thenReturn(new BooleanResponse(true));
+        when(indices.existsAlias(any(Function.class))).thenAnswer(invocation -> {
+            Function<ExistsAliasRequest.Builder, ObjectBuilder<ExistsAliasRequest>> request = invocation.getArgument(0);
+            return new BooleanResponse(aliases.containsAll(request.apply(new ExistsAliasRequest.Builder()).build().name()));
+        });
+        when(indices.updateAliases(any(Function.class))).thenAnswer(invocation -> {
+            Function<UpdateAliasesRequest.Builder, ObjectBuilder<UpdateAliasesRequest>> request = invocation.getArgument(0);
+            for (Action action : request.apply(new UpdateAliasesRequest.Builder()).build().actions()) {
+                if (action.isAdd()) {
+                    aliases.add(action.add().alias());
+                } else if (action.isRemove()) {
+                    aliases.remove(action.remove().alias());
+                }
+            }
+            return null;
+        });
+        when(indices.deleteAlias(any(Function.class))).thenAnswer(invocation -> {
+            Function<DeleteAliasRequest.Builder, ObjectBuilder<DeleteAliasRequest>> request = invocation.getArgument(0);
+            aliases.removeAll(request.apply(new DeleteAliasRequest.Builder()).build().name());
+            return null;
+        });
+        GroupIndexManager otherNode = new GroupIndexManager(elasticsearchClient, elasticsearchOperations, 1);
+
+        manager.beginBuild(NEW_INDEX);
+        List<String> building = otherNode.writeTargets();
+        manager.endBuild();
+        List<String> finished = otherNode.writeTargets();
+
+        assertThat(building).containsExactly(ALIAS, ALIAS + "_building");
+        assertThat(finished).containsExactly(ALIAS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> sentActions() throws IOException {
+        ArgumentCaptor<Function<UpdateAliasesRequest.Builder, ObjectBuilder<UpdateAliasesRequest>>> captor =
+                ArgumentCaptor.forClass(Function.class);
+        verify(indices, times(1)).updateAliases(captor.capture());
+        return captor.getValue().apply(new UpdateAliasesRequest.Builder()).build().actions().stream()
+                .map(GroupIndexManagerTest::describe)
+                .toList();
+    }
+
+    private static String describe(Action action) {
+        if (action.isAdd()) {
+            return "add " + action.add().index();
+        }
+        if (action.isRemove()) {
+            return "remove " + action.remove().index();
+        }
+        return "remove_index " + action.removeIndex().index();
+    }
+}
@@ -0,0 +1,67 @@
+package com.travelmate.service.search;
+
+import com.travelmate.dto.SearchRequestDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * SearchQueryNormalizer / SearchCursor 단위 테스트
+ */
+class SearchQueryNormalizerTest {
+
+    @Test
+    void 의미가_같은_요청은_같은_캐시_키가_된다() {
+        SearchRequestDto a = SearchRequestDto.builder()
+                .keyword("  제주   Trip ")
+                .tags(List.of("바다", "Food", "바다"))
+                .latitude(33.49962).longitude(126.53119).radius(4.2)
+                .build();
+        SearchRequestDto b = SearchRequestDto.builder()
+                .keyword("제주 trip")
+                .tags(List.of("food", "바다"))
+                .latitude(33.501).longitude(126.5309).radius(5.0)
+                .page(0).size(20)
+                .cursor("ignored")
+                .build();
+
+        SearchQueryNormalizer.NormalizedSearch na = SearchQueryNormalizer.normalize(a, 20, 100);
+        SearchQueryNormalizer.NormalizedSearch nb = SearchQueryNormalizer.normalize(b, 20, 100);
+
+        assertThat(na.cacheKey()).isEqualTo(nb.cacheKey());
+        assertThat(na.request().getKeyword()).isEqualTo("제주 trip");
+        // 태그는 입력한 대소문자 그대로 검색하고 캐시 키에서만 접음
+        assertThat(na.request().getTags()).containsExactly("Food", "바다");
+        assertThat(nb.request().getTags()).containsExactly("food", "바다");
+    }
+
+    @Test
+    void 허용되지_않은_정렬과_크기는_보정된다() {
+        SearchRequestDto request = SearchRequestDto.builder()
+                .sortBy("description").sortOrder("ASC").size(5000).page(-3)
+                .build();
+
+        SearchRequestDto normalized = SearchQueryNormalizer.normalize(request, 20, 100).request();
+
+        assertThat(normalized.getSortBy()).isEqualTo("createdAt");
+        assertThat(normalized.getSortOrder()).isEqualTo("asc");
+        assertThat(normalized.getSize()).isEqualTo(100);
+        assertThat(normalized.getPage()).isZero();
+    }
+
+    @Test
+    void 커서는_인코딩_후_그대로_복원된다() {
+        SearchCursor cursor = new SearchCursor("pit-1", List.of(1718000000000L, "42"));
+
+        SearchCursor decoded = SearchCursor.decode(cursor.encode());
+
+        assertThat(decoded.pitId()).isEqualTo("pit-1");
+        assertThat(decoded.searchAfter()).hasSize(2);
+        assertThat(decoded.searchAfter().get(1)).isEqualTo("42");
+        assertThatThrownBy(() -> SearchCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,78 @@
+package com.travelmate.service.token;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 미처리 토큰이 수백만 개일 때의 저장/조회/만료 처리 성능 측정
+ *
+ * 이름이 *Test가 아니어서 기본 빌드에서는 실행되지 않는다. 수동 실행:
+ * mvn test -Dtest=InMemoryTokenStoreBenchmark -Dtoken.benchmark.size=3000000
+ */
+class InMemoryTokenStoreBenchmark {
+
+    @Test
+    void 대량_토큰_처리() {
+        int size = Integer.getInteger("token.benchmark.size", 2_000_000);
+        AtomicLong now = new AtomicLong();
+        InMemoryTokenStore store = new InMemoryTokenStore(new SimpleMeterRegistry(), size, 1000, now::get);
+
+        String[] tokens = new String[size];
+        for (int i = 0; i < size; i++) {
+            tokens[i] = UUID.randomUUID().toString();
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long usedBefore = runtime.totalMemory() - runtime.freeMemory();
+
+        // 1시간(재설정)과 24시간(인증) 토큰을 섞어서 저장
+        long start = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            Duration ttl = (i & 1) == 0 ? Duration.ofHours(1) : Duration.ofHours(24);
+            store.put(tokens[i], "user" + i + "@test.com", ttl);
+        }
+        long putNanos = System.nanoTime() - start;
+
+        System.gc();
+        long usedAfter = runtime.totalMemory() - runtime.freeMemory();
+
+        start = System.nanoTime();
+        int hits = 0;
+        for (int i = 0; i < size; i++) {
+            if (store.get(tokens[i]).isPresent()) {
+                hits++;
+            }
+        }
+        long getNanos = System.nanoTime() - start;
+
+        // 첫 1분 처리 (만료 대상 없음, 대기 큐의 토큰을 휠에 배치하는 비용 포함)
+        now.set(Duration.ofMinutes(1).toMillis());
+        start = System.nanoTime();
+        int expiredIdle = store.expireTokens();
+        long idleSweepNanos = System.nanoTime() - start;
+
+        // 1시간 경과: 절반이 만료
+        now.set(Duration.ofHours(1).toMillis() + 1000);
+        start = System.nanoTime();
+        int expired = store.expireTokens();
+        long sweepNanos = System.nanoTime() - start;
+
+        System.out.printf("tokens=%,d%n", size);
+        System.out.printf("put: %,.0f ops/s%n", size / (putNanos / 1e9));
+        System.out.printf("get: %,.0f ops/s (hit %,d)%n", size / (getNanos / 1e9), hits);
+        System.out.printf("memory: ~%,d bytes/token%n", (usedAfter - usedBefore) / size);
+        System.out.printf("idle sweep (1분): %,d ms, 만료 %,d%n", idleSweepNanos / 1_000_000, expiredIdle);
+        System.out.printf("expiry sweep (1시간): %,d ms, 만료 %,d%n", sweepNanos / 1_000_000, expired);
+
+        assertThat(hits).isEqualTo(size);
+        assertThat(expired).isEqualTo(size / 2);
+        assertThat(store.size()).isEqualTo(size - size / 2);
+    }
+}
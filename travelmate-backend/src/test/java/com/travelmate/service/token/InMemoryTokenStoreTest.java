@@ -0,0 +1,77 @@
+package com.travelmate.service.token;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * InMemoryTokenStore 단위 테스트
+ */
+class InMemoryTokenStoreTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void 만료된_토큰은_조회되지_않고_정리된다() {
+        InMemoryTokenStore store = new InMemoryTokenStore(meterRegistry, 100, 100, now::get);
+        store.put("token", "user@test.com", Duration.ofSeconds(1));
+
+        now.set(900);
+        assertThat(store.get("token")).contains("user@test.com");
+        assertThat(store.expireTokens()).isZero();
+
+        now.set(1000);
+        assertThat(store.get("token")).isEmpty();
+        assertThat(store.expireTokens()).isEqualTo(1);
+        assertThat(store.size()).isZero();
+        assertThat(meterRegistry.get("token.store.expired").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void 토큰은_한_번만_사용할_수_있다() {
+        InMemoryTokenStore store = new InMemoryTokenStore(meterRegistry, 100, 100, now::get);
+        store.put("token", "user@test.com", Duration.ofHours(1));
+
+        assertThat(store.consume("token")).contains("user@test.com");
+        assertThat(store.consume("token")).isEmpty();
+
+        // 이미 사용된 토큰은 만료 처리 대상에서 제외
+        now.set(Duration.ofHours(1).toMillis());
+        assertThat(store.expireTokens()).isZero();
+    }
+
+    @Test
+    void 최대_개수를_넘으면_기존_토큰을_밀어낸다() {
+        InMemoryTokenStore store = new InMemoryTokenStore(meterRegistry, 3, 100, now::get);
+        for (int i = 0; i < 5; i++) {
+            store.put("token-" + i, "user" + i + "@test.com", Duration.ofHours(1));
+        }
+
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.get("token-4")).contains("user4@test.com");
+        assertThat(meterRegistry.get("token.store.evicted").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void 사용하거나_밀어낸_토큰은_만료_휠에서도_빠진다() {
+        InMemoryTokenStore store = new InMemoryTokenStore(meterRegistry, 3, 100, now::get);
+        store.put("consumed", "a@test.com", Duration.ofHours(24));
+        store.put("replaced", "b@test.com", Duration.ofHours(24));
+        store.put("replaced", "c@test.com", Duration.ofHours(24));
+        store.consume("consumed");
+        for (int i = 0; i < 3; i++) {
+            store.put("token-" + i, "user" + i + "@test.com", Duration.ofHours(24));
+        }
+
+        now.set(100);
+        store.expireTokens();
+
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.scheduledExpiries()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,51 @@
+package com.travelmate.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CompactPrefixTrie / HangulJamo 단위 테스트
+ */
+class CompactPrefixTrieTest {
+
+    private static final String[] TERMS = {"제주", "제주 한달살기", "부산", "닭갈비 투어", "과천"};
+    private static final long[] WEIGHTS = {10, 3, 8, 4, 1};
+
+    private final CompactPrefixTrie trie = build(false);
+
+    @Test
+    void 가중치_순으로_상위_항목을_반환한다() {
+        assertThat(trie.topItems(HangulJamo.decompose("제"))).containsExactly(0, 1);
+        assertThat(trie.topItems("")).containsExactly(0, 2);
+        assertThat(trie.topItems(HangulJamo.decompose("서울"))).isEmpty();
+    }
+
+    @Test
+    void 입력_중인_한글_음절도_접두어로_매칭한다() {
+        // "제주"를 입력하는 도중의 "젲", 겹받침 "닭", 이중모음 "과"를 입력하는 도중의 "고"
+        assertThat(trie.topItems(HangulJamo.decompose("젲"))).containsExactly(0, 1);
+        assertThat(trie.topItems(HangulJamo.decompose("달"))).containsExactly(3);
+        assertThat(trie.topItems(HangulJamo.decompose("고"))).containsExactly(4);
+    }
+
+    @Test
+    void 초성으로_검색한다() {
+        CompactPrefixTrie choseongTrie = build(true);
+
+        assertThat(HangulJamo.isChoseongOnly("ㅈㅈ")).isTrue();
+        assertThat(HangulJamo.isChoseongOnly("제ㅈ")).isFalse();
+        assertThat(choseongTrie.topItems(HangulJamo.choseong("ㅈㅈ ㅎ"))).containsExactly(1);
+        assertThat(choseongTrie.topItems("ㄷㄱㅂ")).containsExactly(3);
+    }
+
+    private static CompactPrefixTrie build(boolean choseong) {
+        String[] keys = new String[TERMS.length];
+        int[] items = new int[TERMS.length];
+        for (int i = 0; i < TERMS.length; i++) {
+            keys[i] = choseong ? HangulJamo.choseong(TERMS[i]) : HangulJamo.decompose(TERMS[i]);
+            items[i] = i;
+        }
+        return CompactPrefixTrie.build(keys, items, WEIGHTS, 2);
+    }
+}
@@ -0,0 +1,64 @@
+package com.travelmate.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * HashedTimerWheel 단위 테스트
+ */
+class HashedTimerWheelTest {
+
+    @Test
+    void 만료_시각_이전에는_반환하지_않는다() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(100, 8, 0);
+        wheel.schedule("a", 250);
+
+        assertThat(wheel.advance(200)).isEmpty();
+        assertThat(wheel.advance(300)).containsExactly("a");
+        assertThat(wheel.advance(400)).isEmpty();
+    }
+
+    @Test
+    void 휠_한_바퀴를_넘는_만료_시각도_처리한다() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(10, 4, 0);
+        wheel.schedule("short", 20);
+        wheel.schedule("long", 95);
+
+        assertThat(wheel.advance(30)).containsExactly("short");
+        assertThat(wheel.advance(90)).isEmpty();
+        assertThat(wheel.advance(100)).containsExactly("long");
+    }
+
+    @Test
+    void 이미_지난_시각은_다음_tick에서_만료된다() {
+        HashedTimerWheel<Integer> wheel = new HashedTimerWheel<>(50, 16, 0);
+        wheel.advance(500);
+        wheel.schedule(1, 100);
+
+        assertThat(wheel.advance(520)).isEmpty();
+        List<Integer> expired = wheel.advance(550);
+
+        assertThat(expired).containsExactly(1);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void 취소한_엔트리는_만료되지_않고_다음_advance에서_휠에서_빠진다() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(10, 4, 0);
+        HashedTimerWheel.Timeout<String> inBucket = wheel.schedule("in-bucket", 1000);
+        wheel.schedule("kept", 1000);
+        wheel.advance(10);
+        HashedTimerWheel.Timeout<String> inPending = wheel.schedule("in-pending", 1000);
+        assertThat(wheel.size()).isEqualTo(3);
+
+        inBucket.cancel();
+        inPending.cancel();
+        wheel.advance(20);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(1000)).containsExactly("kept");
+    }
+}